@@ -6,6 +6,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.oath.cyclops.react.ProfilingOptimizer;
 import cyclops.function.Cacheable;
 import cyclops.function.Memoize;
 
@@ -21,6 +22,7 @@ public class PipelineBuilder {
     private final Executor optimisingExec;
     private final boolean autoMemoize;
     private final Cacheable memoizeFactory;
+    private final ProfilingOptimizer profilingOptimizer; //fan out then fuse / split subsequent stages by measured cost
 
     public PipelineBuilder() {
         builder = new ExecutionPipeline();
@@ -28,6 +30,7 @@ public class PipelineBuilder {
         optimisingExec = null;
         autoMemoize = false;
         memoizeFactory = null;
+        profilingOptimizer = null;
     }
 
     private <T, R> Function<T, R> memoize(final Function<T, R> fn) {
@@ -40,11 +43,21 @@ public class PipelineBuilder {
     }
 
     public PipelineBuilder(final boolean autoOptimise, final Executor optimisingExec, final boolean autoMemoize, final Cacheable memoizeFactory) {
+        this(autoOptimise, optimisingExec, autoMemoize, memoizeFactory, null);
+    }
+
+    public PipelineBuilder(final boolean autoOptimise, final Executor optimisingExec, final boolean autoMemoize, final Cacheable memoizeFactory,
+                           final ProfilingOptimizer profilingOptimizer) {
         builder = new ExecutionPipeline();
         this.autoOptimise = autoOptimise;
         this.optimisingExec = optimisingExec;
         this.autoMemoize = autoMemoize;
         this.memoizeFactory = memoizeFactory;
+        this.profilingOptimizer = profilingOptimizer;
+    }
+
+    private boolean isProfiling() {
+        return profilingOptimizer != null && builder.functionListSize() > 0;
     }
 
     public <T, R> PipelineBuilder thenCompose(final Function<? super T, CompletableFuture<? extends R>> fn) {
@@ -54,6 +67,10 @@ public class PipelineBuilder {
     }
 
     public <T, R> PipelineBuilder thenComposeAsync(final Function<? super T, CompletableFuture<? extends R>> fn, final Executor exec) {
+        if (isProfiling()) {
+            final ProfiledStage stage = profilingOptimizer.stage(exec);
+            return withBuilder(builder.thenComposeAsync(stage.profile((Function) memoize(fn)), stage));
+        }
         if (autoOptimise) {//if we already have a function present, compose with that
             if (builder.functionListSize() > 0)
                 return thenCompose(fn);
@@ -64,6 +81,10 @@ public class PipelineBuilder {
     }
 
     public <T, R> PipelineBuilder thenApplyAsync(final Function<T, R> fn, final Executor exec) {
+        if (isProfiling()) {
+            final ProfiledStage stage = profilingOptimizer.stage(exec);
+            return withBuilder(builder.thenApplyAsync(stage.profile(memoize(fn)), stage));
+        }
         if (autoOptimise) {//if we already have a function present, compose with that
             if (builder.functionListSize() > 0)
                 return thenApply(fn);
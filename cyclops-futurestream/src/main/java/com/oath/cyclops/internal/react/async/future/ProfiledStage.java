@@ -0,0 +1,68 @@
+package com.oath.cyclops.internal.react.async.future;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.oath.cyclops.react.ProfilingOptimizer;
+
+/**
+ * Executor for a single pipeline stage that tracks the cost of the stage, running the stage on the completing thread
+ * (fusing it with the previous stage) while it is cheap, and submitting it to the task Executor while it is expensive.
+ *
+ * Cost tracking is a heuristic, samples are recorded without synchronization and may occasionally be lost.
+ */
+public class ProfiledStage implements Executor {
+
+    private final Executor exec;
+    private final ProfilingOptimizer optimizer;
+    private final AtomicLong executions = new AtomicLong(0);
+    private volatile double meanNanos = -1;
+    private volatile boolean fused = false;
+
+    public ProfiledStage(final Executor exec, final ProfilingOptimizer optimizer) {
+        this.exec = exec;
+        this.optimizer = optimizer;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (fused)
+            command.run();
+        else
+            exec.execute(command);
+    }
+
+    /**
+     * @param fn Stage function
+     * @return Stage function that records its execution time into this ProfiledStage
+     */
+    public <T, R> Function<T, R> profile(final Function<T, R> fn) {
+        return t -> {
+            final long count = executions.incrementAndGet();
+            if (count % optimizer.getSampleRate() != 0)
+                return fn.apply(t);
+            final long start = System.nanoTime();
+            try {
+                return fn.apply(t);
+            } finally {
+                record(System.nanoTime() - start, count);
+            }
+        };
+    }
+
+    private void record(final long nanos, final long count) {
+        final double mean = meanNanos;
+        meanNanos = mean < 0 ? nanos : mean * 0.8 + nanos * 0.2;
+        if (count % optimizer.getReevaluateEvery() < optimizer.getSampleRate())
+            fused = meanNanos < optimizer.getFuseThresholdNanos();
+    }
+
+    public boolean isFused() {
+        return fused;
+    }
+
+    public double getMeanNanos() {
+        return meanNanos;
+    }
+}
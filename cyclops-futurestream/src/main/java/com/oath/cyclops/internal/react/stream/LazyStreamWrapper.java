@@ -30,7 +30,8 @@ public class LazyStreamWrapper<U> implements StreamWrapper<U> {
 
         this.values = (Supplier)values;
         this.pipeline = new PipelineBuilder(
-                                            react.isAutoOptimize(), react.getExecutor(), react.isAutoMemoize(), react.getMemoizeCache());
+                                            react.isAutoOptimize(), react.getExecutor(), react.isAutoMemoize(), react.getMemoizeCache(),
+                                            react.getProfilingOptimizer());
 
         this.react = react;
         if (react.isPoolingActive())
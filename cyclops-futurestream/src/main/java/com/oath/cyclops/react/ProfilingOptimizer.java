@@ -0,0 +1,72 @@
+package com.oath.cyclops.react;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.oath.cyclops.internal.react.async.future.ProfiledStage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.Wither;
+
+/**
+ * Configuration for cost based stage fusion in FutureStreams.
+ *
+ * When configured on a LazyReact builder, each asynchronous stage after the initial fan out samples its own execution time.
+ * Stages whose average cost falls below the fusion threshold are fused with the preceding stage (executed on the completing
+ * thread, as part of the same task), while slower stages continue to be submitted to the task Executor. The decision
+ * is re-evaluated periodically, so stages whose cost changes over the lifetime of the Stream are re-classified.
+ *
+ * <pre>
+ * {@code
+ *   new LazyReact().autoOptimizeOff()
+ *                  .withProfilingOptimizer(ProfilingOptimizer.defaults())
+ *                  .fromIterable(ids)
+ *                  .map(this::parse)      //cheap : fused
+ *                  .map(this::load)       //expensive : asynchronous
+ *                  .map(this::format)     //cheap : fused
+ *                  .forEach(this::save);
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+@AllArgsConstructor
+@Getter
+@Wither
+@ToString
+public class ProfilingOptimizer {
+
+    /**
+     * Stages with a mean execution time below this threshold are fused with the preceding stage
+     */
+    private final long fuseThresholdNanos;
+    /**
+     * Time 1 out of every sampleRate executions of a stage
+     */
+    private final int sampleRate;
+    /**
+     * Re-evaluate whether a stage should be fused every reevaluateEvery executions of that stage
+     */
+    private final int reevaluateEvery;
+
+    /**
+     * @return ProfilingOptimizer that fuses stages averaging less than 50 microseconds, sampling every 16th execution
+     *          and re-evaluating every 1,024 executions
+     */
+    public static ProfilingOptimizer defaults() {
+        return new ProfilingOptimizer(
+                                      TimeUnit.MICROSECONDS.toNanos(50), 16, 1024);
+    }
+
+    /**
+     * @param exec Executor slow stages should be submitted to
+     * @return Profiled stage that can act as the Executor for a single stage of a pipeline
+     */
+    public ProfiledStage stage(final Executor exec) {
+        return new ProfiledStage(
+                                 exec, this);
+    }
+}
@@ -21,6 +21,8 @@ public class MaxActive {
                                                              .availableProcessors(),
                                                       Runtime.getRuntime()
                                                              .availableProcessors() - 1);
+    public static final MaxActive VIRTUAL_THREADS = new MaxActive(
+                                                                  10_000, 9_000);
     public static final MaxActive SEQUENTIAL = new MaxActive(
                                                              10, 1);
 
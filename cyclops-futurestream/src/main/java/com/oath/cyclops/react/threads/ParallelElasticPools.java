@@ -1,6 +1,7 @@
 package com.oath.cyclops.react.threads;
 
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import cyclops.futurestream.LazyReact;
 import cyclops.futurestream.SimpleReact;
@@ -8,17 +9,25 @@ import cyclops.futurestream.SimpleReact;
 /**
  * A ReactPool of each type for parallel Streams
  * Thread pool will be sized to number of processors
+ * Reactors idle for longer than {@link ParallelElasticPools#IDLE_TIMEOUT_SECONDS} are removed and their ForkJoinPools
+ * shutdown. The pools are not bounded, so that taking a reactor never blocks.
  *
  * @author johnmcclean
  *
  */
 public class ParallelElasticPools {
+    public final static long IDLE_TIMEOUT_SECONDS = 60;
+
     public final static ReactPool<SimpleReact> simpleReact = ReactPool.elasticPool(() -> new SimpleReact(
                                                                                                          new ForkJoinPool(
                                                                                                                           Runtime.getRuntime()
-                                                                                                                                 .availableProcessors())));
+                                                                                                                                 .availableProcessors())),
+                                                                                   Integer.MAX_VALUE, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                                                                                   r -> ((ForkJoinPool) r.getExecutor()).shutdown());
     public final static ReactPool<LazyReact> lazyReact = ReactPool.elasticPool(() -> new LazyReact(
                                                                                                    new ForkJoinPool(
                                                                                                                     Runtime.getRuntime()
-                                                                                                                           .availableProcessors())));
+                                                                                                                           .availableProcessors())),
+                                                                               Integer.MAX_VALUE, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                                                                               r -> ((ForkJoinPool) r.getExecutor()).shutdown());
 }
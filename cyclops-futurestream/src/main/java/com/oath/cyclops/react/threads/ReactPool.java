@@ -1,13 +1,28 @@
 package com.oath.cyclops.react.threads;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.oath.cyclops.internal.react.stream.ReactBuilder;
+import com.oath.cyclops.react.ThreadPools;
 import com.oath.cyclops.util.ExceptionSoftener;
 
 /**
@@ -20,31 +35,61 @@ import com.oath.cyclops.util.ExceptionSoftener;
  *
  * @param <REACTOR> x-react builder type (SimpleReact, EagerReact, LazyReact)
  */
-public class ReactPool<REACTOR extends ReactBuilder> {
+public class ReactPool<REACTOR extends ReactBuilder> implements AutoCloseable {
 
     private final BlockingQueue<REACTOR> queue;
 
     private final Supplier<REACTOR> supplier;
 
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final Consumer<? super REACTOR> onReap;
+    private final Map<REACTOR, Long> idleSince = new IdentityHashMap<>();
+    //every REACTOR created by or added to this pool and not yet reaped, so returning a REACTOR via populate is not counted twice
+    private final Set<REACTOR> members = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ScheduledFuture<?> reaper;
+
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final AtomicLong created = new AtomicLong(0);
+    private final AtomicLong reaped = new AtomicLong(0);
+
     private ReactPool(final int size) {
-        queue = new LinkedBlockingQueue<REACTOR>(
-                                                 size);
-        supplier = null;
+        this(new LinkedBlockingQueue<REACTOR>(
+                                              size));
     }
 
     private ReactPool() {
-        queue = new LinkedBlockingQueue<REACTOR>();
-        supplier = null;
+        this(new LinkedBlockingQueue<REACTOR>());
     }
 
     private ReactPool(final BlockingQueue<REACTOR> queue) {
         this.queue = queue;
         supplier = null;
+        maxSize = Integer.MAX_VALUE;
+        idleTimeoutNanos = -1;
+        onReap = null;
+        reaper = null;
     }
 
     private ReactPool(final Supplier<REACTOR> supplier) {
         this.queue = new LinkedBlockingQueue<REACTOR>();
         this.supplier = supplier;
+        maxSize = Integer.MAX_VALUE;
+        idleTimeoutNanos = -1;
+        onReap = null;
+        reaper = null;
+    }
+
+    private ReactPool(final Supplier<REACTOR> supplier, final int maxSize, final long idleTimeout, final TimeUnit unit,
+                      final Consumer<? super REACTOR> onReap, final ScheduledExecutorService reaper) {
+        //most recently used REACTORs are reused first, so surplus REACTORs stay idle long enough to be reaped
+        this.queue = new LinkedBlockingDeque<REACTOR>();
+        this.supplier = supplier;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.onReap = onReap;
+        final long period = Math.max(1, unit.toMillis(idleTimeout) / 2);
+        this.reaper = reaper.scheduleAtFixedRate(this::reap, period, period, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -86,6 +131,36 @@ public class ReactPool<REACTOR extends ReactBuilder> {
 
     }
 
+    /**
+     * If all REACTORs are in use calling react will create a new REACTOR to handle the extra demand, until maxSize REACTORs
+     * exist, after which calling react will block until a REACTOR is returned to the pool.
+     *
+     * REACTORs that have been idle for longer than the idle timeout are removed from the pool and passed to onReap
+     * (which would typically shutdown the REACTOR's Executor), so bursts of demand do not permanently inflate thread counts.
+     * Idle REACTORs are checked periodically on the common sequential scheduler until the pool is closed.
+     *
+     * <pre>
+     * {@code
+     *  ReactPool<LazyReact> pool = ReactPool.elasticPool(()->new LazyReact(Executors.newFixedThreadPool(1)),
+     *                                                    10,30,TimeUnit.SECONDS,
+     *                                                    r->((ExecutorService)r.getExecutor()).shutdown());
+     * }
+     * </pre>
+     *
+     * @param supplier To create new REACTORs
+     * @param maxSize Maximum number of REACTORs this pool will create (and hold at any one time)
+     * @param idleTimeout Time a REACTOR may be idle before it is reaped
+     * @param unit Time unit for the idle timeout
+     * @param onReap Called with each reaped REACTOR
+     * @return ReactPool
+     */
+    public static <REACTOR extends ReactBuilder> ReactPool<REACTOR> elasticPool(final Supplier<REACTOR> supplier, final int maxSize,
+                                                                                final long idleTimeout, final TimeUnit unit,
+                                                                                final Consumer<? super REACTOR> onReap) {
+        return new ReactPool<>(
+                               supplier, maxSize, idleTimeout, unit, onReap, ThreadPools.getCommonSequentialSchedular());
+    }
+
     /**
      * @return Synchronous pool requires consumers and producers of the ReactPool to be in sync
      */
@@ -98,11 +173,16 @@ public class ReactPool<REACTOR extends ReactBuilder> {
     }
 
     /**
-     * @param next REACTOR to add to the Pool
+     * @param next REACTOR to add to the Pool, or to return to the Pool after {@link #nextReactor()}
      */
     public void populate(final REACTOR next) {
 
         try {
+            synchronized (idleSince) {
+                if (members.add(next))
+                    size.incrementAndGet();
+            }
+            markIdle(next);
             queue.put(next);
         } catch (final InterruptedException e) {
             Thread.currentThread()
@@ -126,7 +206,7 @@ public class ReactPool<REACTOR extends ReactBuilder> {
         } finally {
 
             if (reactor != null)
-                queue.offer(reactor);
+                release(reactor);
 
         }
     }
@@ -139,8 +219,8 @@ public class ReactPool<REACTOR extends ReactBuilder> {
         try {
 
             if (reactor == null) {
-                if (isElastic()) {
-                    reactor = supplier.get();
+                if (isElastic() && reserve()) {
+                    reactor = create();
 
                 } else
                     reactor = queue.take();
@@ -151,9 +231,129 @@ public class ReactPool<REACTOR extends ReactBuilder> {
             throw ExceptionSoftener.throwSoftenedException(e);
 
         }
+        markActive(reactor);
         return reactor;
     }
 
+    /**
+     * @return Snapshot of the number of active, idle, created and reaped REACTORs. Created and reaped counts are only
+     *          tracked for elastic pools
+     */
+    public ReactPoolMetrics metrics() {
+        final int idle = queue.size();
+        return new ReactPoolMetrics(
+                                    Math.max(0, size.get() - idle), idle, created.get(), reaped.get());
+    }
+
+    /**
+     * Remove REACTORs that have been idle for longer than the idle timeout configured for this pool
+     *
+     * @return Number of REACTORs reaped
+     */
+    public int reap() {
+        if (!isReaping())
+            return 0;
+        final long now = System.nanoTime();
+        final List<REACTOR> expired = new ArrayList<>();
+        synchronized (idleSince) {
+            idleSince.forEach((r, since) -> {
+                if (now - since >= idleTimeoutNanos)
+                    expired.add(r);
+            });
+        }
+        int count = 0;
+        for (final REACTOR next : expired) {
+            if (!queue.remove(next)) //REACTOR has been taken from the pool
+                continue;
+            synchronized (idleSince) {
+                final Long since = idleSince.get(next);
+                if (since != null && now - since < idleTimeoutNanos) { //REACTOR was returned since the scan
+                    ((BlockingDeque<REACTOR>) queue).offerLast(next);
+                    continue;
+                }
+                idleSince.remove(next);
+                members.remove(next);
+            }
+            size.decrementAndGet();
+            reaped.incrementAndGet();
+            count++;
+            onReap.accept(next);
+        }
+        return count;
+    }
+
+    /**
+     * Stop reaping idle REACTORs and pass the REACTORs currently idle in this pool to onReap. Has no effect on pools
+     * that do not reap.
+     */
+    @Override
+    public void close() {
+        if (!isReaping())
+            return;
+        reaper.cancel(false);
+        for (REACTOR next = queue.poll(); next != null; next = queue.poll()) {
+            synchronized (idleSince) {
+                idleSince.remove(next);
+                members.remove(next);
+            }
+            size.decrementAndGet();
+            reaped.incrementAndGet();
+            onReap.accept(next);
+        }
+    }
+
+    private void release(final REACTOR reactor) {
+        markIdle(reactor);
+        if (queue instanceof BlockingDeque)
+            ((BlockingDeque<REACTOR>) queue).offerFirst(reactor);
+        else
+            queue.offer(reactor);
+    }
+
+    private boolean reserve() {
+        for (;;) {
+            final int current = size.get();
+            if (current >= maxSize)
+                return false;
+            if (size.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    private REACTOR create() {
+        try {
+            final REACTOR reactor = supplier.get();
+            synchronized (idleSince) {
+                members.add(reactor);
+            }
+            created.incrementAndGet();
+            return reactor;
+        } catch (final RuntimeException e) {
+            size.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void markIdle(final REACTOR reactor) {
+        if (isReaping()) {
+            synchronized (idleSince) {
+                idleSince.put(reactor, System.nanoTime());
+            }
+        }
+    }
+
+    private void markActive(final REACTOR reactor) {
+        if (isReaping()) {
+            synchronized (idleSince) {
+                idleSince.remove(reactor);
+            }
+        }
+    }
+
+    private boolean isReaping() {
+        return idleTimeoutNanos >= 0;
+    }
+
     private boolean isElastic() {
         return supplier != null;
     }
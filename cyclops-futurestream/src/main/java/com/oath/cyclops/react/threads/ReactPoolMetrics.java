@@ -0,0 +1,33 @@
+package com.oath.cyclops.react.threads;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point in time view of the REACTORs managed by a ReactPool
+ *
+ * @author johnmcclean
+ *
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class ReactPoolMetrics {
+    /**
+     * REACTORs currently extracted from the pool
+     */
+    private final int active;
+    /**
+     * REACTORs available in the pool
+     */
+    private final int idle;
+    /**
+     * REACTORs created by an elastic pool over its lifetime
+     */
+    private final long created;
+    /**
+     * REACTORs removed from the pool after exceeding the idle timeout
+     */
+    private final long reaped;
+}
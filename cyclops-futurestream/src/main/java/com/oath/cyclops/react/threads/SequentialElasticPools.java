@@ -1,6 +1,8 @@
 package com.oath.cyclops.react.threads;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import cyclops.futurestream.LazyReact;
 import cyclops.futurestream.SimpleReact;
@@ -8,13 +10,22 @@ import cyclops.futurestream.SimpleReact;
 /**
  *
  * A ReactPool of each type for sequential Streams
+ * Reactors idle for longer than {@link SequentialElasticPools#IDLE_TIMEOUT_SECONDS} are removed and their Executors
+ * shutdown. The pools are not bounded, as callers such as FutureStream.run hold a reactor for the life of a Stream and
+ * must not block waiting for another to be returned.
  *
  * @author johnmcclean
  *
  */
 public class SequentialElasticPools {
+    public final static long IDLE_TIMEOUT_SECONDS = 60;
+
     public final static ReactPool<SimpleReact> simpleReact = ReactPool.elasticPool(() -> new SimpleReact(
-                                                                                                         Executors.newFixedThreadPool(1)));
+                                                                                                         Executors.newFixedThreadPool(1)),
+                                                                                   Integer.MAX_VALUE, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                                                                                   r -> ((ExecutorService) r.getExecutor()).shutdown());
     public final static ReactPool<LazyReact> lazyReact = ReactPool.elasticPool(() -> new LazyReact(
-                                                                                                   Executors.newFixedThreadPool(1)));
+                                                                                                   Executors.newFixedThreadPool(1)),
+                                                                               Integer.MAX_VALUE, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                                                                               r -> ((ExecutorService) r.getExecutor()).shutdown());
 }
@@ -1219,6 +1219,65 @@ public interface FutureStream<U> extends LazySimpleReactStream<U>,
 
     }
 
+    /**
+     * Emit the first element in each time period, dropping all other elements in that time period (leading edge, as
+     * {@link FutureStream#debounce(long, TimeUnit)}). For trailing edge behaviour see
+     * {@link FutureStream#debounceLast(long, TimeUnit)}
+     *
+     * @param time Length of each time period
+     * @param unit Time unit
+     * @return Next stage of stream, with the first element of each time period
+     */
+    @Override
+    default FutureStream<U> throttleFirst(final long time, final TimeUnit unit) {
+        return debounce(time, unit);
+    }
+
+    /**
+     * Emit the most recent element (if any) at the end of each time period, dropping all other elements. No task or
+     * reactor Thread is parked while waiting for the end of the period.
+     *
+     * @param time Length of each time period
+     * @param unit Time unit
+     * @return Next stage of stream, with the latest element of each time period
+     */
+    @Override
+    default FutureStream<U> throttleLast(final long time, final TimeUnit unit) {
+        return fromStream(ReactiveSeq.oneShotStream(stream())
+                                     .throttleLast(time, unit));
+    }
+
+    @Override
+    default FutureStream<U> sample(final long time, final TimeUnit unit) {
+        return throttleLast(time, unit);
+    }
+
+    /**
+     * Emit an element only once the time period has passed without a newer element arriving
+     *
+     * @param time Quiet period
+     * @param unit Time unit
+     * @return Next stage of stream, with the last element of each burst
+     */
+    @Override
+    default FutureStream<U> debounceLast(final long time, final TimeUnit unit) {
+        return fromStream(ReactiveSeq.oneShotStream(stream())
+                                     .debounceLast(time, unit));
+    }
+
+    /**
+     * Signal a TimeoutException and complete if no element arrives within the time period
+     *
+     * @param time Maximum time between elements
+     * @param unit Time unit
+     * @return Next stage of stream, that errors if an element is not received in time
+     */
+    @Override
+    default FutureStream<U> timeout(final long time, final TimeUnit unit) {
+        return fromStream(ReactiveSeq.oneShotStream(stream())
+                                     .timeout(time, unit));
+    }
+
     /**
      * Allows clients to control the emission of data for the next phase of the
      * Stream. The user specified function can delay, drop, or change elements
@@ -1391,7 +1450,10 @@ public interface FutureStream<U> extends LazySimpleReactStream<U>,
     }
 
     /**
-     * Slow emissions down, emiting one element per specified time period
+     * Slow emissions down, emiting one element per specified time period. The first element is emitted immediately.
+     *
+     * Implemented by {@link FutureStream#leakyRateLimit(long, long, TimeUnit)}, so the Stream is consumed as a
+     * ReactiveSeq and no task or reactor Thread is parked between emissions.
      *
      * <pre>
      * {@code
@@ -1411,7 +1473,7 @@ public interface FutureStream<U> extends LazySimpleReactStream<U>,
      */
     @Override
     default FutureStream<U> onePer(final long time, final TimeUnit unit) {
-        return fromStream(Streams.onePer(stream(),time, unit));
+        return leakyRateLimit(1, time, unit);
 
     }
 
@@ -1419,6 +1481,9 @@ public interface FutureStream<U> extends LazySimpleReactStream<U>,
      * Allows x (specified number of) emissions with a time period before
      * stopping emmissions until specified time has elapsed since last emission
      *
+     * Implemented by {@link FutureStream#rateLimit(long, long, TimeUnit)} (a token bucket that starts full, so the first
+     * x elements are emitted immediately), no task or reactor Thread is parked while waiting for the next period.
+     *
      * <pre>
      * {@code
      *    FutureStream.of(1,2,3,4,5,6)
@@ -1439,7 +1504,45 @@ public interface FutureStream<U> extends LazySimpleReactStream<U>,
      */
     @Override
     default FutureStream<U> xPer(final int x, final long time, final TimeUnit unit) {
-        return fromStream(Streams.xPer(stream(),x, time, unit));
+        return rateLimit(x, time, unit);
+    }
+
+    /**
+     * Non-blocking token bucket rate limiter, up to permits elements are emitted per time period. No task or
+     * reactor Thread is parked while the Stream waits for the bucket to be refilled.
+     *
+     * <pre>
+     * {@code
+     *    new LazyReact().fromStream(requests)
+     *                   .rateLimit(100,1,TimeUnit.SECONDS)
+     *                   .map(this::callRemoteService)
+     *                   .run();
+     * }
+     * </pre>
+     *
+     * @param permits Maximum number of elements to emit per time period
+     * @param per Time period
+     * @param unit Time unit
+     * @return Stream with emissions limited to permits per time period
+     */
+    @Override
+    default FutureStream<U> rateLimit(final long permits, final long per, final TimeUnit unit) {
+        return fromStream(ReactiveSeq.oneShotStream(stream())
+                                     .rateLimit(permits, per, unit));
+    }
+
+    /**
+     * Non-blocking leaky bucket rate limiter, elements are emitted evenly spaced at one every per / permits.
+     *
+     * @param permits Number of elements to emit per time period
+     * @param per Time period
+     * @param unit Time unit
+     * @return Stream with evenly spaced emissions
+     */
+    @Override
+    default FutureStream<U> leakyRateLimit(final long permits, final long per, final TimeUnit unit) {
+        return fromStream(ReactiveSeq.oneShotStream(stream())
+                                     .leakyRateLimit(permits, per, unit));
     }
 
     /**
@@ -1539,6 +1642,42 @@ public interface FutureStream<U> extends LazySimpleReactStream<U>,
         return (FutureStream) LazySimpleReactStream.super.then(fn);
     }
 
+    /**
+     * Apply the supplied function asynchronously on this Stream's task executor, processing elements with different
+     * keys concurrently but elements that share a key strictly sequentially, in the order they arrive at this stage.
+     * Throughput scales with the number of distinct keys, while a given key never has more than one task in flight.
+     *
+     * <pre>
+     * {@code
+     *  new LazyReact(Executors.newFixedThreadPool(8)).fromStream(events)
+     *                                               .parallelByKey(Event::getAccountId,this::applyToLedger)
+     *                                               .run();
+     *
+     *  //events for the same account are never applied concurrently or out of order
+     * }
+     * </pre>
+     *
+     * @param keyFn Function to determine the key (and so the serial lane) for each element
+     * @param fn Function to apply to each element
+     * @return Next stage in the Stream
+     */
+    default <K, R> FutureStream<R> parallelByKey(final Function<? super U, ? extends K> keyFn, final Function<? super U, ? extends R> fn) {
+        return parallelByKey(keyFn, fn, getTaskExecutor());
+    }
+
+    @Override
+    default <K, R> FutureStream<R> parallelByKey(final Function<? super U, ? extends K> keyFn, final Function<? super U, ? extends R> fn, final Executor ex) {
+        return fromStream(ReactiveSeq.oneShotStream(stream())
+                                     .parallelByKey(keyFn, fn, ex));
+    }
+
+    @Override
+    default <K, R> FutureStream<R> parallelByKey(final int maxConcurrency, final Function<? super U, ? extends K> keyFn,
+                                                 final Function<? super U, ? extends R> fn, final Executor ex) {
+        return fromStream(ReactiveSeq.oneShotStream(stream())
+                                     .parallelByKey(maxConcurrency, keyFn, fn, ex));
+    }
+
     /**
      * Copy this Stream the specified number of times
      *
@@ -2893,6 +3032,11 @@ public interface FutureStream<U> extends LazySimpleReactStream<U>,
         return fromStream(ReactiveSeq.oneShotStream(stream())
                 .mergeMap(maxConcurrency,fn));
     }
+    @Override
+    default <R> FutureStream<R> mergeMap(int maxConcurrency, int prefetch, final Function<? super U, ? extends Publisher<? extends R>> fn) {
+        return fromStream(ReactiveSeq.oneShotStream(stream())
+                .mergeMap(maxConcurrency,prefetch,fn));
+    }
 
 
     /*
@@ -27,6 +27,7 @@ import org.reactivestreams.Publisher;
 import com.oath.cyclops.internal.react.FutureStreamImpl;
 import com.oath.cyclops.internal.react.stream.InfiniteClosingSpliteratorFromSupplier;
 import com.oath.cyclops.internal.react.stream.ReactBuilder;
+import com.oath.cyclops.react.ProfilingOptimizer;
 import com.oath.cyclops.react.ThreadPools;
 import com.oath.cyclops.react.async.subscription.Subscription;
 import com.oath.cyclops.react.collectors.lazy.MaxActive;
@@ -93,6 +94,8 @@ public class LazyReact implements ReactBuilder {
     private final boolean autoMemoize;
     @Getter
     private final Cacheable<?> memoizeCache;
+    @Getter
+    private final ProfilingOptimizer profilingOptimizer;
 
 
 
@@ -171,6 +174,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        profilingOptimizer = null;
 
     }
 
@@ -190,6 +194,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        profilingOptimizer = null;
 
     }
 
@@ -213,6 +218,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        profilingOptimizer = null;
     }
 
     /**
@@ -365,6 +371,38 @@ public class LazyReact implements ReactBuilder {
         return withAutoOptimize(false);
     }
 
+    /**
+     * Turn on cost based stage fusion, using the default ProfilingOptimizer configuration. Asynchronous stages after the
+     * initial fan out sample their execution time, cheap stages are fused with the preceding stage into a single task,
+     * while expensive stages remain asynchronous. Decisions are re-evaluated periodically as the Stream runs.
+     *
+     * <pre>
+     * {@code
+     * new LazyReact().profilingOptimizerOn()
+     *                .fromIterable(ids)
+     *                .map(this::parse)
+     *                .map(this::loadFromDb)
+     *                .map(this::format)
+     *                .forEach(this::save);
+     * }
+     * </pre>
+     *
+     * @see ProfilingOptimizer#defaults()
+     * @return LazyReact that creates Streams with profiling stage fusion enabled
+     */
+    public LazyReact profilingOptimizerOn() {
+        return withProfilingOptimizer(ProfilingOptimizer.defaults());
+    }
+
+    /**
+     * Turn off cost based stage fusion. By default the profiling optimizer is Off.
+     *
+     * @return LazyReact that creates Streams with profiling stage fusion disabled
+     */
+    public LazyReact profilingOptimizerOff() {
+        return withProfilingOptimizer(null);
+    }
+
     /**
      * Start any created Streams in asyncrhonous mode - that is tasks will be submited to an Executor to be run.
      *
@@ -571,6 +609,17 @@ public class LazyReact implements ReactBuilder {
     public LazyReact(final Executor executor, final Boolean async, final MaxActive maxActive,
             final boolean streamOfFutures, final boolean objectPoolingActive, final boolean autoOptimize, final boolean autoMemoize,
             final Cacheable memoizeCache) {
+        this(executor, async, maxActive, streamOfFutures, objectPoolingActive, autoOptimize, autoMemoize, memoizeCache, null);
+    }
+
+    /**
+     * @param executor Task Executor for concurrent tasks
+     * @param async If true each task will be submitted to an executor service
+     * @param profilingOptimizer Cost based stage fusion configuration, or null to disable
+     */
+    public LazyReact(final Executor executor, final Boolean async, final MaxActive maxActive,
+            final boolean streamOfFutures, final boolean objectPoolingActive, final boolean autoOptimize, final boolean autoMemoize,
+            final Cacheable memoizeCache, final ProfilingOptimizer profilingOptimizer) {
         super();
         this.executor = executor;
         this.async = Optional.ofNullable(async)
@@ -583,6 +632,7 @@ public class LazyReact implements ReactBuilder {
         this.autoOptimize = autoOptimize;
         this.autoMemoize = autoMemoize;
         this.memoizeCache = memoizeCache;
+        this.profilingOptimizer = profilingOptimizer;
 
     }
 
@@ -745,6 +795,31 @@ public class LazyReact implements ReactBuilder {
                         .build();
     }
 
+    /**
+     * Construct a LazyReact builder suited to blocking I/O, where each task is executed on its own virtual thread
+     * (on JDK 21+), allowing tens of thousands of concurrent blocking stages without sizing a thread pool.
+     * On earlier JDKs an unbounded, caching pool of platform threads is used instead.
+     *
+     * <pre>
+     * {@code
+     *  LazyReact.virtualThreads()
+     *           .fromIterable(urls)
+     *           .map(this::load)
+     *           .forEach(this::save);
+     * }
+     * </pre>
+     *
+     * @see ThreadPools#getVirtualThreadExecutor()
+     *
+     * @return LazyReact for executing blocking tasks on virtual threads
+     */
+    public static LazyReact virtualThreads() {
+        return LazyReact.builder()
+                        .maxActive(MaxActive.VIRTUAL_THREADS)
+                        .executor(ThreadPools.getVirtualThreadExecutor())
+                        .build();
+    }
+
     /**
      * @return new LazyReact builder configured to run on a separate thread
      *         (non-blocking current thread), sequentially New ForkJoinPool will
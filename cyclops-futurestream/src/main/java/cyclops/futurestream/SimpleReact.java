@@ -298,6 +298,19 @@ public class SimpleReact implements ReactBuilder {
 
     }
 
+    /**
+     * @return new eager SimpleReact builder that executes each task on its own virtual thread (on JDK 21+),
+     * falling back to an unbounded, caching pool of platform threads on earlier JDKs
+     *
+     * @see ThreadPools#getVirtualThreadExecutor()
+     */
+    public static SimpleReact virtualThreads() {
+        return SimpleReact.builder()
+                          .executor(ThreadPools.getVirtualThreadExecutor())
+                          .async(true)
+                          .build();
+    }
+
     /**
      * @return new eager SimpleReact builder configured to run on a separate thread (non-blocking current thread), sequentially
      * New ForkJoinPool will be created
@@ -0,0 +1,88 @@
+package cyclops.futurestream.react.lazy;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import cyclops.futurestream.LazyReact;
+import cyclops.reactive.ReactiveSeq;
+
+public class ParallelByKeyTest {
+
+	Map<Integer,List<Integer>> processed = new ConcurrentHashMap<>();
+	Map<Integer,AtomicInteger> inFlight = new ConcurrentHashMap<>();
+	AtomicBoolean overlapped = new AtomicBoolean(false);
+	List<Integer> arrived = Collections.synchronizedList(new ArrayList<>());
+	ExecutorService ex = Executors.newFixedThreadPool(8);
+
+	@After
+	public void shutdown(){
+		ex.shutdownNow();
+	}
+
+	private int key(int i){
+		arrived.add(i);
+		return i%4;
+	}
+
+	private int process(int i){
+		int key = i%4;
+		if(inFlight.computeIfAbsent(key,k->new AtomicInteger()).incrementAndGet()>1)
+			overlapped.set(true);
+		try {
+			Thread.sleep(1);
+		} catch (InterruptedException e) {
+		}
+		processed.computeIfAbsent(key,k->Collections.synchronizedList(new ArrayList<>())).add(i);
+		inFlight.get(key).decrementAndGet();
+		return i*10;
+	}
+	private void assertOrderedPerKey(){
+		assertFalse(overlapped.get());
+		for(int key=0;key<4;key++){
+			List<Integer> expected = new ArrayList<>();
+			for(int i : arrived)
+				if(i%4==key)
+					expected.add(i);
+			assertThat(processed.get(key),equalTo(expected));
+		}
+	}
+
+	@Test
+	public void futureStream(){
+		List<Integer> result = new LazyReact(ex)
+										.range(0,100)
+										.parallelByKey(this::key,this::process)
+										.toList();
+		assertThat(result.size(),equalTo(100));
+		assertOrderedPerKey();
+	}
+	@Test
+	public void futureStreamResults(){
+		assertThat(new LazyReact()
+						.of(1,2,3)
+						.parallelByKey(i->i,i->i*2)
+						.toList().stream().sorted().toArray(),equalTo(new Integer[]{2,4,6}));
+	}
+	@Test
+	public void reactiveSeq(){
+		List<Integer> result = ReactiveSeq.range(0,100)
+										.parallelByKey(this::key,this::process,ex)
+										.toList();
+		assertThat(result.size(),equalTo(100));
+		assertOrderedPerKey();
+	}
+}
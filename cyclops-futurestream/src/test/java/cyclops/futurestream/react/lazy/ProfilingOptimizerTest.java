@@ -0,0 +1,81 @@
+package cyclops.futurestream.react.lazy;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.oath.cyclops.internal.react.async.future.ProfiledStage;
+import com.oath.cyclops.react.ProfilingOptimizer;
+import org.junit.Test;
+
+import cyclops.futurestream.LazyReact;
+
+public class ProfilingOptimizerTest {
+
+	ExecutorService pool = Executors.newFixedThreadPool(4);
+	AtomicInteger submitted = new AtomicInteger(0);
+	Executor counting = r->{
+		submitted.incrementAndGet();
+		pool.execute(r);
+	};
+
+	@Test
+	public void results(){
+		long sum = new LazyReact(counting).autoOptimizeOff()
+										 .profilingOptimizerOn()
+										 .range(0,10_000)
+										 .map(i->i+1)
+										 .map(i->i*2)
+										 .map(i->i-1)
+										 .mapToLong(i->i)
+										 .sum();
+		assertThat(sum,equalTo(100_000_000l));
+	}
+	@Test
+	public void cheapStagesFused(){
+		int count = new LazyReact(counting).autoOptimizeOff()
+										   .profilingOptimizerOn()
+										   .range(0,10_000)
+										   .map(i->i+1)
+										   .map(i->i*2)
+										   .map(i->i-1)
+										   .toList().size();
+		assertThat(count,equalTo(10_000));
+		//one task per stage per element without fusion
+		assertThat(submitted.get(),lessThan(30_000));
+	}
+	@Test
+	public void slowStageNotFused(){
+		ProfiledStage stage = new ProfilingOptimizer(TimeUnit.MICROSECONDS.toNanos(50),1,10).stage(pool);
+		Function<Integer,Integer> fn = stage.profile(i->{
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+			}
+			return i;
+		});
+		for(int i=0;i<20;i++)
+			fn.apply(i);
+		assertFalse(stage.isFused());
+	}
+	@Test
+	public void cheapStageFused(){
+		ProfiledStage stage = new ProfilingOptimizer(TimeUnit.MILLISECONDS.toNanos(50),1,10).stage(pool);
+		Function<Integer,Integer> fn = stage.profile(i->i+1);
+		for(int i=0;i<20;i++)
+			fn.apply(i);
+		assertTrue(stage.isFused());
+		Thread[] ran = {null};
+		stage.execute(()->ran[0]=Thread.currentThread());
+		assertThat(ran[0],equalTo(Thread.currentThread()));
+	}
+}
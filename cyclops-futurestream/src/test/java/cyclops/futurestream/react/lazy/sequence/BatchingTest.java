@@ -326,6 +326,26 @@ public class BatchingTest {
 		assertThat(timer.getElapsedNanoseconds(),lessThan(60000000l));
 	}
 	@Test
+	public void onePerEmitsFirstElementImmediately(){
+		long start = System.nanoTime();
+		List<Long> times = DuplicationTest.of(1,2)
+										  .onePer(500,TimeUnit.MILLISECONDS)
+										  .map(i->TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-start))
+										  .toList();
+		assertThat(times.get(0),lessThan(250l));
+		assertThat(times.get(1),greaterThan(400l));
+	}
+	@Test
+	public void xPerEmitsFirstElementsImmediately(){
+		long start = System.nanoTime();
+		List<Long> times = DuplicationTest.of(1,2,3)
+										  .xPer(2,500,TimeUnit.MILLISECONDS)
+										  .map(i->TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-start))
+										  .toList();
+		assertThat(times.get(1),lessThan(250l));
+		assertThat(times.get(2),greaterThan(400l));
+	}
+	@Test
 	public void batchByTime(){
 		assertThat(DuplicationTest.of(1,2,3,4,5,6).groupedByTime(1,TimeUnit.SECONDS).collect(Collectors.toList()).size(),is(1));
 	}
@@ -2,14 +2,22 @@ package cyclops.futurestream.react.threads;
 
 import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
+import com.oath.cyclops.async.adapters.Queue;
 import com.oath.cyclops.react.threads.ReactPool;
 import org.junit.Test;
 
@@ -65,6 +73,131 @@ public class ReactPoolTest {
 		}
 	}
 	@Test
+	public void testElasticMaxSize() throws InterruptedException {
+		ReactPool<LazyReact> pool = ReactPool.elasticPool(()->new LazyReact(),2,1,TimeUnit.MINUTES,r->{});
+		LazyReact r1 = pool.nextReactor();
+		LazyReact r2 = pool.nextReactor();
+		assertThat(pool.metrics().getActive(),is(2));
+		assertThat(pool.metrics().getCreated(),is(2l));
+
+		AtomicReference<LazyReact> r3 = new AtomicReference<>();
+		Thread t = new Thread(()->r3.set(pool.nextReactor()));
+		t.start();
+		Thread.sleep(100);
+		assertThat(r3.get(),nullValue());
+		pool.populate(r1);
+		t.join();
+		assertThat(r3.get(),is(r1));
+		assertThat(pool.metrics().getCreated(),is(2l));
+	}
+	@Test
+	public void testElasticReaping() throws InterruptedException {
+		List<ExecutorService> shutdown = new ArrayList<>();
+		ReactPool<LazyReact> pool = ReactPool.elasticPool(()->new LazyReact(Executors.newFixedThreadPool(1)),10,50,TimeUnit.MILLISECONDS,
+																r->{
+																	ExecutorService ex = (ExecutorService)r.getExecutor();
+																	ex.shutdown();
+																	shutdown.add(ex);
+																});
+		LazyReact r1 = pool.nextReactor();
+		LazyReact r2 = pool.nextReactor();
+		pool.populate(r1);
+		pool.populate(r2);
+		assertThat(pool.metrics().getIdle(),is(2));
+
+		long start = System.currentTimeMillis();
+		while(pool.metrics().getReaped()<2 && System.currentTimeMillis()-start<5000){
+			Thread.sleep(10);
+		}
+		assertThat(pool.metrics().getReaped(),is(2l));
+		assertThat(pool.metrics().getIdle(),is(0));
+		assertThat(shutdown.size(),is(2));
+		assertThat(shutdown.get(0).isShutdown(),is(true));
+
+		List<String> result = pool.react( (er) -> er.ofAsync(()->"hello",()->"world").block() );
+		assertThat(result.size(),is(2));
+		assertThat(pool.metrics().getCreated(),is(3l));
+	}
+	@Test
+	public void testSizeWithinBoundsAfterReaping() throws InterruptedException {
+		ReactPool<LazyReact> pool = ReactPool.elasticPool(()->new LazyReact(),3,20,TimeUnit.MILLISECONDS,r->{});
+		pool.populate(new LazyReact());
+		pool.populate(new LazyReact());
+		List<LazyReact> taken = new ArrayList<>();
+		for(int i=0;i<3;i++)
+			taken.add(pool.nextReactor());
+		assertThat(pool.metrics().getCreated(),is(1l));
+		assertThat(pool.metrics().getActive(),is(3));
+		taken.forEach(pool::populate);
+		assertThat(pool.metrics().getIdle(),is(3));
+
+		long start = System.currentTimeMillis();
+		while(pool.metrics().getReaped()<3 && System.currentTimeMillis()-start<5000){
+			Thread.sleep(10);
+		}
+		assertThat(pool.metrics().getReaped(),is(3l));
+		assertThat(pool.metrics().getActive(),is(0));
+		assertThat(pool.metrics().getIdle(),is(0));
+
+		for(int i=0;i<3;i++)
+			pool.nextReactor();
+		assertThat(pool.metrics().getActive(),is(3));
+		AtomicReference<LazyReact> extra = new AtomicReference<>();
+		Thread t = new Thread(()->extra.set(pool.nextReactor()));
+		t.setDaemon(true);
+		t.start();
+		Thread.sleep(100);
+		assertThat(extra.get(),nullValue());
+		assertThat(pool.metrics().getCreated(),is(4l));
+		pool.close();
+	}
+	@Test
+	public void moreConcurrentRunsThanTheOldPoolBound() throws InterruptedException {
+		//each running FutureStream holds a reactor from SequentialElasticPools until it completes
+		int streams = 150;
+		AtomicInteger received = new AtomicInteger(0);
+		List<Queue<Integer>> queues = new ArrayList<>();
+		for(int i=0;i<streams;i++){
+			Queue<Integer> queue = new Queue<>();
+			queues.add(queue);
+			new LazyReact().fromStream(queue.stream())
+						   .peek(e->received.incrementAndGet())
+						   .run();
+		}
+		for(Queue<Integer> queue : queues){
+			queue.offer(1);
+			queue.close();
+		}
+		long start = System.currentTimeMillis();
+		while(received.get()<streams && System.currentTimeMillis()-start<10000){
+			Thread.sleep(10);
+		}
+		assertThat(received.get(),is(streams));
+	}
+	@Test
+	public void testCloseStopsReaping() throws InterruptedException {
+		List<LazyReact> reaped = new ArrayList<>();
+		ReactPool<LazyReact> pool = ReactPool.elasticPool(()->new LazyReact(),10,20,TimeUnit.MILLISECONDS,reaped::add);
+		LazyReact r1 = pool.nextReactor();
+		LazyReact r2 = pool.nextReactor();
+		pool.populate(r1);
+		pool.close();
+		assertThat(reaped,is(Arrays.asList(r1)));
+		assertThat(pool.metrics().getIdle(),is(0));
+
+		pool.populate(r2);
+		Thread.sleep(100);
+		assertThat(reaped,is(Arrays.asList(r1)));
+		assertThat(pool.metrics().getIdle(),is(1));
+	}
+	@Test
+	public void testReapOnlyExpired(){
+		ReactPool<LazyReact> pool = ReactPool.elasticPool(()->new LazyReact(),10,1,TimeUnit.MINUTES,r->{});
+		pool.populate(pool.nextReactor());
+		assertThat(pool.reap(),is(0));
+		assertThat(pool.metrics().getIdle(),is(1));
+	}
+	@Test
 	public void testUnbounded(){
 
 		ReactPool<LazyReact> pool = ReactPool.unboundedPool(asList(new LazyReact(),new LazyReact()));
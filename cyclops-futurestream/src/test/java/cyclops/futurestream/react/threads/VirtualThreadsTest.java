@@ -0,0 +1,66 @@
+package cyclops.futurestream.react.threads;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oath.cyclops.react.ThreadPools;
+import org.junit.Test;
+
+import cyclops.futurestream.LazyReact;
+import cyclops.futurestream.SimpleReact;
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+
+public class VirtualThreadsTest {
+
+	private int sleepAndGet(int i){
+		try {
+			Thread.sleep(50);
+		} catch (InterruptedException e) {
+		}
+		return i;
+	}
+
+	@Test
+	public void blockingTasksRunConcurrently(){
+		AtomicInteger active = new AtomicInteger(0);
+		AtomicInteger peak = new AtomicInteger(0);
+		long start = System.currentTimeMillis();
+		int sum = LazyReact.virtualThreads()
+						   .range(0,500)
+						   .map(i->{
+							   peak.accumulateAndGet(active.incrementAndGet(),Math::max);
+							   int res = sleepAndGet(i);
+							   active.decrementAndGet();
+							   return res;
+						   })
+						   .reduce(0,(a,b)->a+b);
+		assertThat(sum,equalTo(124750));
+		//500 * 50ms takes 25s sequentially, and 25s / parallelism on a pool sized to the number of processors
+		assertThat(2_000l,greaterThan(System.currentTimeMillis()-start));
+		assertThat(peak.get(),greaterThan(50));
+	}
+	@Test
+	public void simpleReact(){
+		assertThat(SimpleReact.virtualThreads()
+							  .ofAsync(()->sleepAndGet(1),()->sleepAndGet(2))
+							  .block().size(),equalTo(2));
+	}
+	@Test
+	public void spoutsAsync(){
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		AtomicInteger count = new AtomicInteger(0);
+		Spouts.async(ReactiveSeq.range(0,10),ThreadPools.getVirtualThreadExecutor())
+			  .peek(i->threads.add(Thread.currentThread()))
+			  .forEach(i->count.incrementAndGet());
+		while(count.get()<10){
+			Thread.yield();
+		}
+		assertThat(threads.contains(Thread.currentThread()),equalTo(false));
+	}
+}
@@ -0,0 +1,96 @@
+package cyclops.data.hashmap;
+
+import cyclops.data.HashMap;
+import cyclops.data.base.HAMT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Builds HashMap (CHAMP), the previous HAMT layout and vavr's HashMap from empty.
+ *
+ * Run with -prof gc to compare the bytes allocated per build (gc.alloc.rate.norm). The retained size of each
+ * structure (which is what the CHAMP layout reduces) is printed once per trial, measured as the heap growth after a
+ * full GC while holding the structure.
+ */
+@State(Scope.Benchmark)
+public class HashMapFootprint {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Setup(Level.Trial)
+    public void retained() {
+        System.out.println("retained bytes, champ: " + retained(this::champPut)
+                               + " hamt: " + retained(this::hamtPut)
+                               + " vavr: " + retained(this::vavrPut));
+    }
+
+    static volatile Object held;
+
+    private static long retained(Supplier<Object> build) {
+        long before = usedAfterGc();
+        held = build.get();
+        long after = usedAfterGc();
+        held = null;
+        return after - before;
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Object champPut() {
+        HashMap<Integer, Integer> map = HashMap.empty();
+        for (int i = 0; i < size; i++)
+            map = map.put(i, i);
+        return map;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Object hamtPut() {
+        HAMT.Node<Integer, Integer> map = HAMT.empty();
+        for (int i = 0; i < size; i++)
+            map = map.put(i, i);
+        return map;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Object vavrPut() {
+        io.vavr.collection.HashMap<Integer, Integer> map = io.vavr.collection.HashMap.empty();
+        for (int i = 0; i < size; i++)
+            map = map.put(i, i);
+        return map;
+    }
+}
@@ -0,0 +1,80 @@
+package cyclops.data.hashmap;
+
+import cyclops.data.HashMap;
+import cyclops.data.base.HAMT;
+import cyclops.data.tuple.Tuple2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iteration over HashMap (CHAMP) against the previous HAMT layout and vavr's HashMap.
+ */
+@State(Scope.Benchmark)
+public class HashMapIterate {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    HashMap<Integer, Integer> champ;
+    HAMT.Node<Integer, Integer> hamt;
+    io.vavr.collection.HashMap<Integer, Integer> vavr;
+
+    @Setup
+    public void before() {
+        champ = HashMap.empty();
+        hamt = HAMT.empty();
+        vavr = io.vavr.collection.HashMap.empty();
+        for (int i = 0; i < size; i++) {
+            champ = champ.put(i, i);
+            hamt = hamt.put(i, i);
+            vavr = vavr.put(i, i);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public long champIterate() {
+        long total = 0;
+        for (Tuple2<Integer, Integer> next : champ)
+            total += next._2();
+        return total;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public long hamtIterate() {
+        return hamt.stream().mapToLong(t -> t._2()).sum();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public long vavrIterate() {
+        long total = 0;
+        for (io.vavr.Tuple2<Integer, Integer> next : vavr)
+            total += next._2();
+        return total;
+    }
+}
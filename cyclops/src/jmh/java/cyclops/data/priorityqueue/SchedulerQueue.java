@@ -0,0 +1,121 @@
+package cyclops.data.priorityqueue;
+
+import cyclops.data.PriorityQueue;
+import cyclops.data.TreeSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A timer / scheduler queue shared by several threads: each operation schedules a task with a random deadline and
+ * runs (removes) the task with the earliest deadline. The persistent queues are published through an
+ * AtomicReference and updated with compare-and-set, so readers can always take a consistent snapshot without locking.
+ * PriorityQueue is compared against the TreeSet emulation it replaces and a lock based PriorityBlockingQueue.
+ */
+@State(Scope.Benchmark)
+public class SchedulerQueue {
+
+    static final class Task {
+        final long deadline;
+        final long sequence;
+
+        Task(long deadline, long sequence) {
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+    }
+
+    //TreeSet drops elements that compare as equal, so tasks with the same deadline are told apart by sequence
+    static final Comparator<Task> ORDER = Comparator.<Task>comparingLong(t -> t.deadline).thenComparingLong(t -> t.sequence);
+
+    @Param({"1000", "100000"})
+    int pending;
+
+    final AtomicLong sequence = new AtomicLong();
+    AtomicReference<PriorityQueue<Task>> heap;
+    AtomicReference<TreeSet<Task>> treeSet;
+    PriorityBlockingQueue<Task> blocking;
+
+    @Setup
+    public void before() {
+        PriorityQueue<Task> q = PriorityQueue.empty(ORDER);
+        TreeSet<Task> set = TreeSet.empty(ORDER);
+        blocking = new PriorityBlockingQueue<>(pending, ORDER);
+        for (int i = 0; i < pending; i++) {
+            Task task = next();
+            q = q.enqueue(task);
+            set = set.plus(task);
+            blocking.add(task);
+        }
+        heap = new AtomicReference<>(q);
+        treeSet = new AtomicReference<>(set);
+    }
+
+    Task next() {
+        return new Task(ThreadLocalRandom.current().nextLong(1_000_000), sequence.incrementAndGet());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @Threads(4)
+    public Task priorityQueue() {
+        Task task = next();
+        heap.updateAndGet(q -> q.enqueue(task));
+        PriorityQueue<Task> current;
+        do {
+            current = heap.get();
+        } while (!heap.compareAndSet(current, current.deleteMin()));
+        return current.findMin().orElse(null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @Threads(4)
+    public Task treeSet() {
+        Task task = next();
+        treeSet.updateAndGet(s -> s.plus(task));
+        TreeSet<Task> current;
+        Task first;
+        do {
+            current = treeSet.get();
+            first = current.first().orElse(null);
+        } while (!treeSet.compareAndSet(current, current.removeValue(first)));
+        return first;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @Threads(4)
+    public Task priorityBlockingQueue() {
+        blocking.add(next());
+        return blocking.poll();
+    }
+}
@@ -0,0 +1,125 @@
+package cyclops.data.queue;
+
+import cyclops.data.BankersQueue;
+import cyclops.data.RealTimeQueue;
+import cyclops.data.tuple.Tuple2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Latency distribution (SampleTime reports percentiles) of a work queue that is kept at a steady size, each operation
+ * enqueues one item and dequeues another. BankersQueue is fast on average but periodically reverses its whole back list
+ * inside a single dequeue, which shows up in the upper percentiles. RealTimeQueue spreads that reversal over the
+ * following operations.
+ *
+ * The shared benchmarks publish the queue through an AtomicReference updated by compare-and-set from several threads.
+ * A failed compare-and-set retries from a newer version, while another thread may dequeue the same version again.
+ */
+@State(Scope.Benchmark)
+public class QueueLatency {
+
+    @Param({"1000", "100000"})
+    int pending;
+
+    AtomicReference<BankersQueue<Integer>> sharedBankers;
+    AtomicReference<RealTimeQueue<Integer>> sharedRealTime;
+
+    @State(Scope.Thread)
+    public static class Local {
+        BankersQueue<Integer> bankers;
+        RealTimeQueue<Integer> realTime;
+
+        @Setup
+        public void before(QueueLatency shared) {
+            bankers = BankersQueue.empty();
+            realTime = RealTimeQueue.empty();
+            for (int i = 0; i < shared.pending; i++) {
+                bankers = bankers.enqueue(i);
+                realTime = realTime.enqueue(i);
+            }
+        }
+    }
+
+    @Setup
+    public void before() {
+        BankersQueue<Integer> bankers = BankersQueue.empty();
+        RealTimeQueue<Integer> realTime = RealTimeQueue.empty();
+        for (int i = 0; i < pending; i++) {
+            bankers = bankers.enqueue(i);
+            realTime = realTime.enqueue(i);
+        }
+        sharedBankers = new AtomicReference<>(bankers);
+        sharedRealTime = new AtomicReference<>(realTime);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Integer bankersQueue(Local local) {
+        Tuple2<Integer, BankersQueue<Integer>> next = local.bankers.enqueue(local.bankers.size()).dequeue(-1);
+        local.bankers = next._2();
+        return next._1();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Integer realTimeQueue(Local local) {
+        Tuple2<Integer, RealTimeQueue<Integer>> next = local.realTime.enqueue(local.realTime.size()).dequeue(-1);
+        local.realTime = next._2();
+        return next._1();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @Threads(4)
+    public Integer sharedBankersQueue() {
+        BankersQueue<Integer> current;
+        Tuple2<Integer, BankersQueue<Integer>> next;
+        do {
+            current = sharedBankers.get();
+            next = current.enqueue(current.size()).dequeue(-1);
+        } while (!sharedBankers.compareAndSet(current, next._2()));
+        return next._1();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @Threads(4)
+    public Integer sharedRealTimeQueue() {
+        RealTimeQueue<Integer> current;
+        Tuple2<Integer, RealTimeQueue<Integer>> next;
+        do {
+            current = sharedRealTime.get();
+            next = current.enqueue(current.size()).dequeue(-1);
+        } while (!sharedRealTime.compareAndSet(current, next._2()));
+        return next._1();
+    }
+}
@@ -0,0 +1,99 @@
+package cyclops.reactiveSeq;
+
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 10 stage map / filter / peek / skip / limit pipelines, which are collapsed into a single fused push stage
+ */
+@State(Scope.Benchmark)
+public class FusedPipeline {
+
+    Integer[] data;
+
+    @Setup
+    public void setup(){
+        data = IntStream.range(0,10_000).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void streamPipeline(Blackhole bh){
+        bh.consume(java.util.stream.Stream.of(data)
+                                          .map(i -> i + 1)
+                                          .filter(i -> i % 3 != 0)
+                                          .map(i -> i * 2)
+                                          .peek(bh::consume)
+                                          .skip(10)
+                                          .map(i -> i - 1)
+                                          .filter(i -> i % 5 != 0)
+                                          .map(i -> i * 3)
+                                          .limit(5_000)
+                                          .map(i -> i + 7)
+                                          .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void spoutsPipeline(Blackhole bh){
+        bh.consume(Spouts.of(data)
+                         .map(i -> i + 1)
+                         .filter(i -> i % 3 != 0)
+                         .map(i -> i * 2)
+                         .peek(bh::consume)
+                         .skip(10)
+                         .map(i -> i - 1)
+                         .filter(i -> i % 5 != 0)
+                         .map(i -> i * 3)
+                         .limit(5_000)
+                         .map(i -> i + 7)
+                         .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void reactiveSeqPipeline(Blackhole bh){
+        bh.consume(ReactiveSeq.of(data)
+                              .map(i -> i + 1)
+                              .filter(i -> i % 3 != 0)
+                              .map(i -> i * 2)
+                              .peek(bh::consume)
+                              .skip(10)
+                              .map(i -> i - 1)
+                              .filter(i -> i % 5 != 0)
+                              .map(i -> i * 3)
+                              .limit(5_000)
+                              .map(i -> i + 7)
+                              .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,333 @@
+package com.oath.cyclops.async;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A timer optimised for large numbers of short lived, frequently cancelled timeouts (such as the windows of time based
+ * Stream operators). Timeouts are hashed into the buckets of a wheel that is advanced one bucket per tick by a single
+ * worker Thread, so scheduling and cancelling are O(1) and any number of Streams can share one Thread.
+ *
+ * Timeouts fire at the first tick on or after their deadline, so precision is limited to the tick duration. Tasks are
+ * run on the worker Thread and should be short, tasks that run user code (such as emitting to a Subscriber) should be
+ * scheduled with an Executor to run on instead.
+ *
+ * The worker Thread is started on the first call to schedule, and parks while there are no pending timeouts.
+ *
+ * <pre>
+ * {@code
+ *   HashedWheelTimer.Timeout timeout = HashedWheelTimer.shared()
+ *                                                      .schedule(()->flush(),100,TimeUnit.MILLISECONDS);
+ *   ...
+ *   timeout.cancel();
+ * }
+ * </pre>
+ */
+public class HashedWheelTimer {
+
+    private static final int INIT = 0;
+    private static final int STARTED = 1;
+    private static final int STOPPED = 2;
+
+    private static volatile HashedWheelTimer shared;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+    private final ThreadFactory threadFactory;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger state = new AtomicInteger(INIT);
+    private final AtomicLong pending = new AtomicLong(0);
+    private volatile Thread worker;
+    private volatile boolean idle = false;
+    private long tick = 0;
+
+    /**
+     * @param tickDuration Time between ticks of the wheel
+     * @param unit Time unit of the tick duration
+     * @param ticksPerWheel Number of buckets in the wheel (rounded up to a power of 2)
+     * @param threadFactory Factory for the worker Thread
+     */
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel, ThreadFactory threadFactory) {
+        if(tickDuration<=0 || ticksPerWheel<=0)
+            throw new IllegalArgumentException("Tick duration and ticks per wheel must be positive");
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = 1;
+        while(size<ticksPerWheel)
+            size <<= 1;
+        this.wheel = new Bucket[size];
+        for(int i=0;i<size;i++)
+            wheel[i] = new Bucket();
+        this.mask = size-1;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * @return Shared timer (1ms ticks) running on a single daemon Thread, used by the time based push Stream operators
+     */
+    public static HashedWheelTimer shared(){
+        HashedWheelTimer local = shared;
+        if(local==null){
+            synchronized (HashedWheelTimer.class){
+                local = shared;
+                if(local==null){
+                    local = new HashedWheelTimer(1,TimeUnit.MILLISECONDS,512,r->{
+                        Thread t = new Thread(r,"cyclops-wheel-timer");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                    shared = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Schedule a task to run once, after the supplied delay
+     *
+     * @param task Task to run on the timer Thread
+     * @param delay Delay before running the task
+     * @param unit Time unit of the delay
+     * @return Timeout that can be used to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit){
+        start();
+        long deadline = System.nanoTime() - startTime + Math.max(0,unit.toNanos(delay));
+        Timeout timeout = new Timeout(task,deadline);
+        pending.incrementAndGet();
+        incoming.offer(timeout);
+        if(idle)
+            LockSupport.unpark(worker);
+        return timeout;
+    }
+
+    /**
+     * Schedule a task to be submitted to the supplied Executor once, after the supplied delay. Only the hand off runs
+     * on the timer Thread, so the task may block or call out to user code without delaying other timeouts.
+     *
+     * @param task Task to run on the Executor
+     * @param delay Delay before running the task
+     * @param unit Time unit of the delay
+     * @param executor Executor to run the task on
+     * @return Timeout that can be used to cancel the task (before it is submitted to the Executor)
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit, Executor executor){
+        return schedule(()->executor.execute(task),delay,unit);
+    }
+
+    /**
+     * @return Duration of a tick in nanoseconds, the precision of this timer
+     */
+    public long tickNanos(){
+        return tickNanos;
+    }
+
+    /**
+     * @return Number of scheduled timeouts that have neither expired nor been cancelled
+     */
+    public long pending(){
+        return pending.get();
+    }
+
+    /**
+     * Stop the worker Thread, pending timeouts will not be run
+     */
+    public void stop(){
+        if(state.getAndSet(STOPPED)==STARTED)
+            LockSupport.unpark(worker);
+    }
+
+    private void start(){
+        int current = state.get();
+        if(current==STARTED)
+            return;
+        if(current==STOPPED)
+            throw new IllegalStateException("Timer has been stopped");
+        if(state.compareAndSet(INIT,STARTED)){
+            Thread t = threadFactory.newThread(this::run);
+            worker = t;
+            t.start();
+        }
+        while(worker==null)
+            Thread.yield();
+    }
+
+    private void run(){
+        while(state.get()==STARTED){
+            long deadline = waitForNextTick();
+            if(deadline<0)
+                continue;
+            removeCancelled();
+            transferIncoming();
+            wheel[(int)(tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    /*
+     * Parks until the next tick is due, or indefinitely while there are no pending timeouts (in which case the wheel
+     * is fast forwarded to the current time on waking). Returns the deadline of the tick to process, or -1 if the
+     * wait was interrupted by a new timeout or by stop.
+     */
+    private long waitForNextTick(){
+        long deadline = tickNanos * (tick + 1);
+        for(;;){
+            long now = System.nanoTime() - startTime;
+            long sleep = deadline - now;
+            if(sleep<=0)
+                return deadline;
+            if(pending.get()==0){
+                idle = true;
+                if(pending.get()==0 && state.get()==STARTED)
+                    LockSupport.park(this);
+                idle = false;
+                tick = Math.max(tick,(System.nanoTime() - startTime) / tickNanos);
+                return -1;
+            }
+            LockSupport.parkNanos(this,sleep);
+            if(state.get()!=STARTED)
+                return -1;
+        }
+    }
+
+    private void transferIncoming(){
+        //bounded, so that a flood of new timeouts can't stall the wheel
+        for(int i=0;i<100_000;i++){
+            Timeout timeout = incoming.poll();
+            if(timeout==null)
+                return;
+            if(timeout.state.get()!=Timeout.WAITING)
+                continue;
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated,tick);
+            wheel[(int)(ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled(){
+        for(;;){
+            Timeout timeout = cancelled.poll();
+            if(timeout==null)
+                return;
+            if(timeout.bucket!=null)
+                timeout.bucket.remove(timeout);
+        }
+    }
+
+    /**
+     * Handle to a scheduled task
+     */
+    public final class Timeout {
+        static final int WAITING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        long remainingRounds;
+        Timeout next;
+        Timeout prev;
+        Bucket bucket;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return true if the task was cancelled, false if it had already run or been cancelled
+         */
+        public boolean cancel(){
+            if(!state.compareAndSet(WAITING,CANCELLED))
+                return false;
+            pending.decrementAndGet();
+            cancelled.offer(this);
+            return true;
+        }
+
+        public boolean isCancelled(){
+            return state.get()==CANCELLED;
+        }
+
+        public boolean isExpired(){
+            return state.get()==EXPIRED;
+        }
+
+        void expire(){
+            if(!state.compareAndSet(WAITING,EXPIRED))
+                return;
+            pending.decrementAndGet();
+            try {
+                task.run();
+            }catch(Throwable t){
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current,t);
+            }
+        }
+    }
+
+    /*
+     * Doubly linked list of timeouts, only accessed by the worker Thread
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout){
+            timeout.bucket = this;
+            if(head==null){
+                head = tail = timeout;
+            }else{
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline){
+            Timeout timeout = head;
+            while(timeout!=null){
+                Timeout next = timeout.next;
+                if(timeout.isCancelled()){
+                    remove(timeout);
+                }
+                else if(timeout.remainingRounds<=0 && timeout.deadline<=deadline){
+                    remove(timeout);
+                    timeout.expire();
+                }
+                else if(timeout.remainingRounds>0){
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout){
+            if(timeout.bucket!=this)
+                return;
+            Timeout next = timeout.next;
+            if(timeout.prev!=null)
+                timeout.prev.next = next;
+            if(next!=null)
+                next.prev = timeout.prev;
+            if(timeout==head)
+                head = next;
+            if(timeout==tail)
+                tail = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
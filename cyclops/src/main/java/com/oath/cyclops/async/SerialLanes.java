@@ -0,0 +1,132 @@
+package com.oath.cyclops.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Schedules tasks onto key-affine serial lanes over a shared Executor.
+ *
+ * Tasks submitted with different keys may run concurrently, tasks submitted with the same key run one at a time
+ * in submission order. A lane only occupies an Executor thread while it has queued work, and is discarded once
+ * drained, so the number of distinct keys does not need to be bounded.
+ *
+ * <pre>
+ * {@code
+ *   SerialLanes<String> lanes = new SerialLanes<>(Executors.newFixedThreadPool(4));
+ *
+ *   lanes.submit("account-1",()->debit(100));
+ *   lanes.submit("account-2",()->debit(50));   //may run in parallel with account-1
+ *   lanes.submit("account-1",()->credit(20));  //runs after the debit on account-1 has completed
+ * }
+ * </pre>
+ *
+ * @param <K> Key type
+ */
+public class SerialLanes<K> {
+
+    /**
+     * Default limit on the number of tasks in flight (across all lanes) when a stream is processed by key
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 256;
+
+    private final Executor executor;
+    private final ConcurrentHashMap<K, Lane> lanes = new ConcurrentHashMap<>();
+
+    public SerialLanes(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Submit a task to the lane for the supplied key
+     *
+     * @param key Determines the lane the task is executed on
+     * @param task Task to execute
+     * @param <R> Result type
+     * @return CompletableFuture populated with the result of the task once it has executed, or completed with a
+     *          RejectedExecutionException if the Executor refused to run the lane
+     */
+    public <R> CompletableFuture<R> submit(K key, Supplier<? extends R> task) {
+        Task<R> run = new Task<>(task);
+        boolean[] start = {false};
+        Lane lane = lanes.compute(key, (k, current) -> {
+            Lane next = current == null ? new Lane() : current;
+            next.tasks.offer(run);
+            start[0] = next.pending++ == 0;
+            return next;
+        });
+        if (start[0])
+            start(key, lane);
+        return run.result;
+    }
+
+    /**
+     * @return Number of lanes that currently have queued or executing tasks
+     */
+    public int activeLanes() {
+        return lanes.size();
+    }
+
+    private void start(K key, Lane lane) {
+        for (;;) {
+            try {
+                executor.execute(() -> drain(key, lane));
+                return;
+            } catch (RejectedExecutionException e) {
+                //the task at the head of the lane fails, tasks queued behind it try to start the lane again
+                lane.tasks.poll().result.completeExceptionally(e);
+                if (completed(key))
+                    return;
+            }
+        }
+    }
+
+    private void drain(K key, Lane lane) {
+        do {
+            lane.tasks.poll().run();
+        } while (!completed(key));
+    }
+
+    /*
+     * Called once the task at the head of the lane for key has finished, returns true if the lane is now empty (and
+     * has been discarded)
+     */
+    private boolean completed(K key) {
+        boolean[] done = {false};
+        lanes.computeIfPresent(key, (k, current) -> {
+            if (--current.pending == 0) {
+                done[0] = true;
+                return null;
+            }
+            return current;
+        });
+        return done[0];
+    }
+
+    private static class Lane {
+        final ConcurrentLinkedQueue<Task<?>> tasks = new ConcurrentLinkedQueue<>();
+        //guarded by the lanes map entry for this key
+        int pending = 0;
+    }
+
+    private static class Task<R> implements Runnable {
+        final Supplier<? extends R> supplier;
+        final CompletableFuture<R> result = new CompletableFuture<>();
+
+        Task(Supplier<? extends R> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+    }
+}
@@ -4,11 +4,15 @@ import com.oath.cyclops.types.Unwrapable;
 
 import com.oath.cyclops.util.ExceptionSoftener;
 
+import com.oath.cyclops.internal.stream.operators.HashJoinOperator;
+import com.oath.cyclops.internal.stream.operators.MergeJoinOperator;
 import cyclops.companion.Streams;
+import cyclops.control.Option;
 import cyclops.data.Seq;
 import cyclops.function.Monoid;
 import cyclops.function.Reducer;
 
+import cyclops.data.tuple.Tuple2;
 import cyclops.reactive.ReactiveSeq;
 
 import java.util.*;
@@ -302,6 +306,25 @@ public abstract class BaseExtendedStream<T> implements Unwrapable, ReactiveSeq<T
 
     public  abstract <R> ReactiveSeq<R> mapLazyFn(Supplier<Function<? super T, ? extends R>> fn);
     public abstract ReactiveSeq<T> filterLazyPredicate(final Supplier<Predicate<? super T>> fn);
+
+    @Override
+    public <U, K> ReactiveSeq<Tuple2<Option<T>, Option<U>>> fullJoin(Iterable<? extends U> other, int sizeHint, Function<? super T, ? extends K> key,
+                                                                   Function<? super U, ? extends K> otherKey) {
+        ReactiveSeq<Object> marked = ((ReactiveSeq<Object>) this).append(HashJoinOperator.END);
+        if (!(marked instanceof BaseExtendedStream))
+            return ReactiveSeq.super.fullJoin(other, sizeHint, key, otherKey);
+        HashJoinOperator<T, U, K> join = new HashJoinOperator<>(other, sizeHint, key, otherKey);
+        //matched keys are tracked per traversal
+        return ((BaseExtendedStream<Object>) marked).mapLazyFn(join::full)
+                                                    .concatMap(i -> i);
+    }
+
+    @Override
+    public <U, K> ReactiveSeq<Tuple2<T, U>> mergeJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key,
+                                                    Function<? super U, ? extends K> otherKey, Comparator<? super K> comparator) {
+        MergeJoinOperator<T, U, K> join = new MergeJoinOperator<>(other, key, otherKey, comparator);
+        return mapLazyFn(join::probe).concatMap(i -> i);
+    }
     @Override
     public ReactiveSeq<T> onePer(final long time, final TimeUnit t) {
         final long next = t.toNanos(time);
@@ -7,6 +7,8 @@ import com.oath.cyclops.types.persistent.PersistentCollection;
 import com.oath.cyclops.types.stream.Connectable;
 import com.oath.cyclops.util.ExceptionSoftener;
 
+import com.oath.cyclops.internal.stream.operators.ExternalSortOperator;
+import com.oath.cyclops.internal.stream.operators.TopKOperator;
 import com.oath.cyclops.internal.stream.spliterators.push.*;
 import cyclops.control.Future;
 import com.oath.cyclops.async.QueueFactories;
@@ -17,8 +19,12 @@ import cyclops.data.Seq;
 import cyclops.companion.Streams;
 import cyclops.control.*;
 import cyclops.data.Vector;
+import cyclops.function.Codec;
 import cyclops.function.Monoid;
 
+import cyclops.reactive.DoubleSpout;
+import cyclops.reactive.IntSpout;
+import cyclops.reactive.LongSpout;
 import cyclops.reactive.ReactiveSeq;
 import cyclops.reactive.Spouts;
 import lombok.AllArgsConstructor;
@@ -34,6 +40,7 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 
+import java.nio.file.Path;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -375,7 +382,7 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
     public final <R> ReactiveSeq<R> map(final Function<? super T, ? extends R> fn) {
 
 
-        return createSeq(new MapOperator<T, R>(this.source, fn));
+        return createSeq(FusedOperator.map(this.source, fn));
     }
 
 
@@ -408,10 +415,15 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
         return createSeq(pub);
     }
 
+    @Override
+    public final <R> ReactiveSeq<R> mergeMap(int maxConcurency, int prefetch, final Function<? super T, ? extends Publisher<? extends R>> fn) {
+        return createSeq(new FlatMapPublisher<>(source, fn, maxConcurency, prefetch));
+    }
+
 
     @Override
     public final ReactiveSeq<T> filter(final Predicate<? super T> fn) {
-        return createSeq(new FilterOperator<T>(source, fn));
+        return createSeq(FusedOperator.filter(source, fn));
 
     }
 
@@ -767,6 +779,66 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
 
     }
 
+    @Override
+    public ReactiveSeq<T> rateLimit(final long permits, final long per, final TimeUnit unit) {
+        //elements are emitted from the rate limiter's timer thread, so SYNC streams move onto the async path
+        return createSeq(RateLimitOperator.tokenBucket(source, permits, per, unit), async == SYNC ? BACKPRESSURE : async);
+    }
+
+    @Override
+    public ReactiveSeq<T> leakyRateLimit(final long permits, final long per, final TimeUnit unit) {
+        return createSeq(RateLimitOperator.leakyBucket(source, permits, per, unit), async == SYNC ? BACKPRESSURE : async);
+    }
+
+    @Override
+    public ReactiveSeq<T> throttleLast(final long time, final TimeUnit t) {
+        return createSeq(SampleOperator.sample(source, time, t), async == SYNC ? BACKPRESSURE : async);
+    }
+
+    @Override
+    public ReactiveSeq<T> debounceLast(final long time, final TimeUnit t) {
+        return createSeq(SampleOperator.debounce(source, time, t), async == SYNC ? BACKPRESSURE : async);
+    }
+
+    @Override
+    public ReactiveSeq<Vector<T>> topK(final int k, final Comparator<? super T> c, final long time, final TimeUnit t) {
+        if (k < 0)
+            throw new IllegalArgumentException("k must not be negative, was " + k);
+        //each subscription offers into its own heap, throttleLast hands the (shared) heap to the timer for a snapshot
+        Supplier<Function<? super T, ? extends TopKOperator<T>>> offer = () -> {
+            TopKOperator<T> heap = new TopKOperator<>(k, c);
+            return heap::offer;
+        };
+        return mapLazyFn(offer).throttleLast(time, t).map(TopKOperator::snapshot);
+    }
+
+    @Override
+    public ReactiveSeq<T> sortedExternal(final Comparator<? super T> c, final int maxInMemory, final Codec<T> codec, final Path tempDir) {
+        ExternalSortOperator<T> sort = new ExternalSortOperator<>(c, maxInMemory, codec, tempDir);
+        //the merged runs are closed when the subscription is cancelled (e.g. by limit)
+        return createSeq(new IterableSourceOperator<>(() -> sort.sort(iterator())), BACKPRESSURE);
+    }
+
+    @Override
+    public ReactiveSeq<T> timeout(final long time, final TimeUnit t) {
+        return createSeq(new TimeoutOperator<>(source, time, t), async == SYNC ? BACKPRESSURE : async);
+    }
+
+    @Override
+    public ReactiveSeq<T> limitRate(final int prefetch, final int lowTide) {
+        return createSeq(new LimitRateOperator<>(source, prefetch, lowTide));
+    }
+
+    @Override
+    public ReactiveSeq<T> xPer(final int x, final long time, final TimeUnit t) {
+        return rateLimit(x, time, t);
+    }
+
+    @Override
+    public ReactiveSeq<T> onePer(final long time, final TimeUnit t) {
+        return leakyRateLimit(1, time, t);
+    }
+
     @Override
     public ReactiveSeq<Vector<T>> groupedWhile(final Predicate<? super T> predicate) {
         return createSeq(new GroupedWhileOperator<>(source, () -> Vector.empty(), Function.identity(), predicate));
@@ -1074,12 +1146,27 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
 
     @Override
     public ReactiveSeq<T> limit(long num) {
-        return createSeq(new LimitOperator<>(source, num));
+        return createSeq(FusedOperator.limit(source, num));
     }
 
     @Override
     public ReactiveSeq<T> skip(long num) {
-        return createSeq(new SkipOperator<>(source, num));
+        return createSeq(FusedOperator.skip(source, num));
+    }
+
+    @Override
+    public IntSpout mapToInts(ToIntFunction<? super T> fn) {
+        return new IntSpout(new MapToIntOperator<>(source, fn), async);
+    }
+
+    @Override
+    public LongSpout mapToLongs(ToLongFunction<? super T> fn) {
+        return new LongSpout(new MapToLongOperator<>(source, fn), async);
+    }
+
+    @Override
+    public DoubleSpout mapToDoubles(ToDoubleFunction<? super T> fn) {
+        return new DoubleSpout(new MapToDoubleOperator<>(source, fn), async);
     }
 
     @Override
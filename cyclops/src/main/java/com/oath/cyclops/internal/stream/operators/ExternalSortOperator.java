@@ -0,0 +1,350 @@
+package com.oath.cyclops.internal.stream.operators;
+
+import com.oath.cyclops.util.ExceptionSoftener;
+import cyclops.function.Codec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * External merge sort. The source is consumed in runs of at most maxInMemory elements, each run is sorted in memory
+ * and spilled to a temporary file (via a buffered FileChannel), the runs are then merged back lazily with a k-way
+ * merge. If there are too many runs to merge in one pass, consecutive runs are first merged into larger runs on disk.
+ *
+ * The sort is stable. Spill files are never created at all if the whole source fits in memory. Every open run is
+ * closed when the merge completes, fails, or the returned iterator is closed (e.g. when a push Stream is cancelled).
+ * Spill files are deleted on failure, and are unlinked as soon as they are opened for the merge (where the platform
+ * allows it, otherwise they are deleted on close), so a merge that is simply abandoned leaves nothing on disk and its
+ * file handles are released when it is garbage collected.
+ */
+public class ExternalSortOperator<T> {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int MAX_FAN_IN = 64;
+
+    private final Comparator<? super T> comparator;
+    private final int maxInMemory;
+    private final Codec<T> codec;
+    private final Path tempDir;
+
+    /**
+     * @param tempDir Directory for spill files, or null to use the default temporary-file directory
+     */
+    public ExternalSortOperator(Comparator<? super T> comparator, int maxInMemory, Codec<T> codec, Path tempDir) {
+        if (maxInMemory < 1)
+            throw new IllegalArgumentException("maxInMemory must be positive, was " + maxInMemory);
+        this.comparator = comparator;
+        this.maxInMemory = maxInMemory;
+        this.codec = codec;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * @return Iterator over the sorted elements of source, source is not consumed until the Iterator is first used
+     */
+    public SortedIterator sort(Iterator<? extends T> source) {
+        return new SortedIterator(source);
+    }
+
+    /**
+     * Iterator over the merged runs, closing it releases any runs that have not yet been fully read
+     */
+    public class SortedIterator implements Iterator<T>, AutoCloseable {
+        private Iterator<? extends T> source;
+        private PriorityQueue<Run> heap;
+        private boolean closed = false;
+
+        SortedIterator(Iterator<? extends T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed)
+                return false;
+            if (heap == null) {
+                heap = runs(source);
+                source = null;
+            }
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            try {
+                return poll(heap);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            source = null;
+            if (heap != null)
+                closeAll(heap);
+        }
+    }
+
+    private PriorityQueue<Run> runs(Iterator<? extends T> source) {
+        List<Spill> spills = new ArrayList<>();
+        List<Run> runs = new ArrayList<>();
+        boolean opened = false;
+        try {
+            List<T> buffer = new ArrayList<>(Math.min(maxInMemory, 1024));
+            while (source.hasNext()) {
+                buffer.add(source.next());
+                if (buffer.size() == maxInMemory && source.hasNext()) {
+                    buffer.sort(comparator);
+                    spills.add(write(buffer.iterator(), buffer.size()));
+                    buffer.clear();
+                }
+            }
+            buffer.sort(comparator);
+            while (spills.size() >= MAX_FAN_IN)
+                mergePass(spills);
+
+            for (int i = 0; i < spills.size(); i++)
+                runs.add(new FileRun(spills.get(i), i));
+            runs.add(new MemoryRun(buffer.iterator(), spills.size()));
+            PriorityQueue<Run> heap = open(runs);
+            opened = true;
+            return heap;
+        } catch (IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        } finally {
+            //whatever failed (the source, the comparator, the codec or the file system), leave nothing behind
+            if (!opened) {
+                for (Run run : runs)
+                    closeQuietly(run);
+                for (Spill spill : spills)
+                    spill.delete();
+            }
+        }
+    }
+
+    /*
+     * Merges groups of MAX_FAN_IN consecutive runs into single runs, keeping the runs in source order so the sort
+     * remains stable. spills is updated as each group is merged, so that on failure it holds every file that still
+     * needs to be deleted.
+     */
+    private void mergePass(List<Spill> spills) throws IOException {
+        int groups = (spills.size() + MAX_FAN_IN - 1) / MAX_FAN_IN;
+        for (int g = 0; g < groups; g++) {
+            List<Spill> group = spills.subList(g, Math.min(g + MAX_FAN_IN, spills.size()));
+            if (group.size() == 1)
+                continue;
+            List<Run> runs = new ArrayList<>(group.size());
+            long count = 0;
+            try {
+                for (int j = 0; j < group.size(); j++) {
+                    runs.add(new FileRun(group.get(j), j));
+                    count += group.get(j).count;
+                }
+                PriorityQueue<Run> heap = open(runs);
+                Spill merged = write(new Iterator<T>() {
+                    @Override
+                    public boolean hasNext() {
+                        return !heap.isEmpty();
+                    }
+
+                    @Override
+                    public T next() {
+                        return poll(heap);
+                    }
+                }, count);
+                group.clear();
+                group.add(merged);
+            } finally {
+                for (Run run : runs)
+                    closeQuietly(run);
+            }
+        }
+    }
+
+    private PriorityQueue<Run> open(List<Run> runs) {
+        PriorityQueue<Run> heap = new PriorityQueue<>(runs.size(), (a, b) -> {
+            int c = comparator.compare(a.head, b.head);
+            return c != 0 ? c : Integer.compare(a.order, b.order);
+        });
+        for (Run run : runs) {
+            if (run.advance())
+                heap.add(run);
+            else
+                run.close();
+        }
+        return heap;
+    }
+
+    private void closeAll(PriorityQueue<Run> heap) {
+        Run run;
+        while ((run = heap.poll()) != null)
+            closeQuietly(run);
+    }
+
+    private void closeQuietly(Run run) {
+        try {
+            run.close();
+        } catch (RuntimeException e) {
+            //already failing or closing, the original error (if any) is more useful
+        }
+    }
+
+    private T poll(PriorityQueue<Run> heap) {
+        Run run = heap.poll();
+        T result = run.head;
+        if (run.advance())
+            heap.add(run);
+        else
+            run.close();
+        return result;
+    }
+
+    private Spill write(Iterator<T> sorted, long count) throws IOException {
+        Path file = tempDir == null ? Files.createTempFile("cyclops-sort", ".run")
+                                    : Files.createTempFile(tempDir, "cyclops-sort", ".run");
+        Spill spill = new Spill(file, count);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Channels.newOutputStream(FileChannel.open(file, StandardOpenOption.WRITE)), BUFFER_SIZE))) {
+            while (sorted.hasNext())
+                codec.write(sorted.next(), out);
+        } catch (IOException | RuntimeException e) {
+            spill.delete();
+            throw e;
+        }
+        return spill;
+    }
+
+    private static class Spill {
+        final Path file;
+        final long count;
+
+        Spill(Path file, long count) {
+            this.file = file;
+            this.count = count;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+
+        /*
+         * Deleting a file that is open succeeds on POSIX platforms (the data stays readable until it is closed), but
+         * not on Windows, where the file is deleted on close instead
+         */
+        void unlinkIfOpen() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    private abstract class Run {
+        final int order;
+        T head;
+
+        Run(int order) {
+            this.order = order;
+        }
+
+        abstract boolean advance();
+
+        abstract void close();
+    }
+
+    private class MemoryRun extends Run {
+        final Iterator<T> it;
+
+        MemoryRun(Iterator<T> it, int order) {
+            super(order);
+            this.it = it;
+        }
+
+        @Override
+        boolean advance() {
+            if (!it.hasNext())
+                return false;
+            head = it.next();
+            return true;
+        }
+
+        @Override
+        void close() {
+            head = null;
+        }
+    }
+
+    private class FileRun extends Run {
+        final Spill spill;
+        final DataInputStream in;
+        long remaining;
+        boolean closed = false;
+
+        /*
+         * The spill is read through a FileInputStream, which releases its file handle when garbage collected, and is
+         * unlinked as soon as it is open where the platform allows it. So an abandoned merge leaves nothing on disk
+         * and leaks no file handles, even if it is never closed.
+         */
+        FileRun(Spill spill, int order) throws IOException {
+            super(order);
+            this.spill = spill;
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(spill.file.toFile()), BUFFER_SIZE));
+            this.remaining = spill.count;
+            spill.unlinkIfOpen();
+        }
+
+        @Override
+        boolean advance() {
+            if (remaining == 0)
+                return false;
+            remaining--;
+            try {
+                head = codec.read(in);
+            } catch (IOException e) {
+                close();
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+            return true;
+        }
+
+        @Override
+        void close() {
+            if (closed)
+                return;
+            closed = true;
+            head = null;
+            remaining = 0;
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw ExceptionSoftener.throwSoftenedException(e);
+            } finally {
+                spill.delete();
+            }
+        }
+    }
+}
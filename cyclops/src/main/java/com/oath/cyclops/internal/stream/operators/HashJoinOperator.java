@@ -0,0 +1,124 @@
+package com.oath.cyclops.internal.stream.operators;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Hash join of a Stream against an Iterable. The Iterable (the build side, which should be the smaller input) is
+ * loaded into a hash table keyed by otherKey the first time the table is needed, the Stream (the probe side) is then
+ * joined element by element without being buffered.
+ *
+ * Keys are compared with equals / hashCode (null keys match each other).
+ */
+public class HashJoinOperator<T, U, K> {
+
+    /**
+     * Marks the end of the probe side for full outer joins
+     */
+    public static final Object END = new Object();
+
+    private final Iterable<? extends U> other;
+    private final int sizeHint;
+    private final Function<? super T, ? extends K> key;
+    private final Function<? super U, ? extends K> otherKey;
+    private volatile Map<K, List<U>> table;
+
+    public HashJoinOperator(Iterable<? extends U> other, int sizeHint, Function<? super T, ? extends K> key,
+                            Function<? super U, ? extends K> otherKey) {
+        this.other = other;
+        this.sizeHint = sizeHint > 0 ? sizeHint : (other instanceof Collection ? ((Collection<?>) other).size() : 16);
+        this.key = key;
+        this.otherKey = otherKey;
+    }
+
+    private Map<K, List<U>> table() {
+        Map<K, List<U>> local = table;
+        if (local == null) {
+            synchronized (this) {
+                local = table;
+                if (local == null) {
+                    local = new HashMap<>((int) Math.min(1 << 30, sizeHint / 0.75f + 1));
+                    for (U next : other) {
+                        K k = otherKey.apply(next);
+                        List<U> matches = local.get(k);
+                        if (matches == null) {
+                            local.put(k, Collections.singletonList(next));
+                        } else {
+                            if (matches.size() == 1) {
+                                matches = new ArrayList<>(matches);
+                                local.put(k, matches);
+                            }
+                            matches.add(next);
+                        }
+                    }
+                    table = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    public List<Tuple2<T, U>> inner(T next) {
+        List<U> matches = table().get(key.apply(next));
+        if (matches == null)
+            return Collections.emptyList();
+        if (matches.size() == 1)
+            return Collections.singletonList(Tuple.tuple(next, matches.get(0)));
+        List<Tuple2<T, U>> result = new ArrayList<>(matches.size());
+        for (U match : matches)
+            result.add(Tuple.tuple(next, match));
+        return result;
+    }
+
+    public List<Tuple2<T, Option<U>>> left(T next) {
+        List<U> matches = table().get(key.apply(next));
+        if (matches == null)
+            return Collections.singletonList(Tuple.tuple(next, Option.none()));
+        List<Tuple2<T, Option<U>>> result = new ArrayList<>(matches.size());
+        for (U match : matches)
+            result.add(Tuple.tuple(next, Option.some(match)));
+        return result;
+    }
+
+    /**
+     * @return Function for a single traversal of the probe side (followed by END) in a full outer join, elements
+     * of the build side that were not matched are emitted on END
+     */
+    public Function<Object, List<Tuple2<Option<T>, Option<U>>>> full() {
+        Set<K> matched = new HashSet<>();
+        return next -> {
+            Map<K, List<U>> table = table();
+            if (next == END) {
+                List<Tuple2<Option<T>, Option<U>>> result = new ArrayList<>();
+                for (Map.Entry<K, List<U>> entry : table.entrySet()) {
+                    if (!matched.contains(entry.getKey())) {
+                        for (U unmatched : entry.getValue())
+                            result.add(Tuple.tuple(Option.none(), Option.some(unmatched)));
+                    }
+                }
+                return result;
+            }
+            T t = (T) next;
+            K k = key.apply(t);
+            List<U> matches = table.get(k);
+            if (matches == null)
+                return Collections.singletonList(Tuple.tuple(Option.some(t), Option.none()));
+            matched.add(k);
+            List<Tuple2<Option<T>, Option<U>>> result = new ArrayList<>(matches.size());
+            for (U match : matches)
+                result.add(Tuple.tuple(Option.some(t), Option.some(match)));
+            return result;
+        };
+    }
+}
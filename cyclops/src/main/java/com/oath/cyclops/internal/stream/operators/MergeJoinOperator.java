@@ -0,0 +1,94 @@
+package com.oath.cyclops.internal.stream.operators;
+
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sort-merge (inner) join of a Stream against an Iterable, where both are sorted in ascending key order. The Iterable
+ * is advanced in step with the Stream, so only the elements of the Iterable that share the current key are held in
+ * memory.
+ *
+ * If either input is not sorted by key (according to the comparator) some matches will be missed.
+ */
+public class MergeJoinOperator<T, U, K> {
+
+    private final Iterable<? extends U> other;
+    private final Function<? super T, ? extends K> key;
+    private final Function<? super U, ? extends K> otherKey;
+    private final Comparator<? super K> comparator;
+
+    public MergeJoinOperator(Iterable<? extends U> other, Function<? super T, ? extends K> key,
+                             Function<? super U, ? extends K> otherKey, Comparator<? super K> comparator) {
+        this.other = other;
+        this.key = key;
+        this.otherKey = otherKey;
+        this.comparator = comparator;
+    }
+
+    /**
+     * @return Function for a single traversal of the Stream, each call to probe starts a new traversal of the Iterable
+     */
+    public Function<T, List<Tuple2<T, U>>> probe() {
+        return new Probe();
+    }
+
+    private class Probe implements Function<T, List<Tuple2<T, U>>> {
+        Iterator<? extends U> it;
+        U pending;
+        boolean hasPending = false;
+        boolean started = false;
+        K runKey;
+        List<U> run = Collections.emptyList();
+
+        @Override
+        public List<Tuple2<T, U>> apply(T next) {
+            K k = key.apply(next);
+            if (!started || comparator.compare(runKey, k) != 0)
+                advanceTo(k);
+            if (run.isEmpty())
+                return Collections.emptyList();
+            if (run.size() == 1)
+                return Collections.singletonList(Tuple.tuple(next, run.get(0)));
+            List<Tuple2<T, U>> result = new ArrayList<>(run.size());
+            for (U match : run)
+                result.add(Tuple.tuple(next, match));
+            return result;
+        }
+
+        /*
+         * Skip elements of the Iterable with keys below k, and buffer those equal to k. The first element with a
+         * greater key is held back for the next key.
+         */
+        private void advanceTo(K k) {
+            if (!started) {
+                it = other.iterator();
+                started = true;
+            }
+            runKey = k;
+            run = Collections.emptyList();
+            while (hasPending || it.hasNext()) {
+                U u = hasPending ? pending : it.next();
+                hasPending = false;
+                pending = null;
+                int c = comparator.compare(otherKey.apply(u), k);
+                if (c < 0)
+                    continue;
+                if (c > 0) {
+                    pending = u;
+                    hasPending = true;
+                    return;
+                }
+                if (run.isEmpty())
+                    run = new ArrayList<>(1);
+                run.add(u);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.oath.cyclops.internal.stream.operators;
+
+import cyclops.data.Vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k greatest elements offered so far (according to the comparator) in a bounded heap, O(log k) per element
+ * and O(k) memory. The root of the heap is the smallest element kept, so it is the only element a newcomer has to
+ * beat.
+ *
+ * Offers and snapshots are synchronized so the current top k can be read from another thread (e.g. a timer) while
+ * elements are still arriving.
+ */
+public class TopKOperator<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    public TopKOperator(int k, Comparator<? super T> comparator) {
+        if (k < 0)
+            throw new IllegalArgumentException("k must not be negative, was " + k);
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), comparator);
+    }
+
+    public synchronized TopKOperator<T> offer(T next) {
+        if (heap.size() < k) {
+            heap.add(next);
+        } else if (k > 0 && comparator.compare(next, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(next);
+        }
+        return this;
+    }
+
+    /**
+     * @return The elements kept, greatest first
+     */
+    public synchronized List<T> toList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(comparator.reversed());
+        return result;
+    }
+
+    public Vector<T> snapshot() {
+        return Vector.fromIterable(toList());
+    }
+}
@@ -15,26 +15,42 @@ public class BufferingSinkOperator<T> implements Operator<T> {
     private final AtomicBoolean active = new AtomicBoolean(false);
     private final Consumer<? super Subscriber<T>> sub;
     private final BufferOverflowPolicy policy;
+    private final int prefetch;
 
 
 
     public BufferingSinkOperator(Queue<T> q, Consumer<? super Subscriber<T>> sub, BufferOverflowPolicy  policy) {
+        this(q,sub,policy,0);
+    }
+
+    /**
+     * @param prefetch If greater than zero, request prefetch elements from the sink Subscription on the first request,
+     *                 and replenish in batches once 75% of them have been emitted, rather than forwarding each
+     *                 downstream request. Should not exceed the capacity of the Queue
+     */
+    public BufferingSinkOperator(Queue<T> q, Consumer<? super Subscriber<T>> sub, BufferOverflowPolicy  policy, int prefetch) {
         this.q = q;
         this.sub = sub;
         this.policy = policy;
+        this.prefetch = prefetch;
     }
 
     @Override
     public StreamSubscription subscribe(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
 
         Subscription[] delegate = {null};
+        AtomicBoolean started = new AtomicBoolean(false);
+        Replenisher replenisher = new Replenisher(delegate);
         StreamSubscription ss = new StreamSubscription(){
 
             @Override
             public void request(long n) {
                super.request(n);
-               delegate[0].request(n);
-               processQueue(this,onNext);
+               if(prefetch<=0)
+                   delegate[0].request(n);
+               else if(started.compareAndSet(false,true))
+                   delegate[0].request(prefetch);
+               processQueue(this,onNext,replenisher);
             }
         };
 
@@ -53,12 +69,12 @@ public class BufferingSinkOperator<T> implements Operator<T> {
                     policy.match(t).map(v->{
                        while(!q.offer(t)){
                            Thread.yield();
-                           processQueue(ss,onNext);
+                           processQueue(ss,onNext,replenisher);
                        }
                        return v;
                     });
                 }
-                processQueue(ss,onNext);
+                processQueue(ss,onNext,replenisher);
 
             }
 
@@ -74,7 +90,7 @@ public class BufferingSinkOperator<T> implements Operator<T> {
         });
         return ss;
     }
-    private void processQueue(StreamSubscription ss,Consumer<? super T> onNext) {
+    private void processQueue(StreamSubscription ss,Consumer<? super T> onNext,Replenisher replenisher) {
 
         if(active.compareAndSet(false,true)) {
 
@@ -83,18 +99,43 @@ public class BufferingSinkOperator<T> implements Operator<T> {
                 if (next != null) {
                     onNext.accept(next);
                     ss.requested.decrementAndGet();
+                    replenisher.emitted();
                 }
                 else
                     break;
             }
             active.set(false);
             if (!q.isEmpty() && ss.isActive()) {
-                processQueue(ss,onNext);
+                processQueue(ss,onNext,replenisher);
             }
 
         }
 
     }
+
+    /*
+     * Tracks elements emitted since the last batch request to the sink Subscription, only accessed while processing
+     * the queue
+     */
+    private class Replenisher {
+        private final Subscription[] delegate;
+        private final int limit = prefetch - (prefetch>>2);
+        private int emitted = 0;
+
+        Replenisher(Subscription[] delegate) {
+            this.delegate = delegate;
+        }
+
+        void emitted(){
+            if(prefetch<=0)
+                return;
+            if(++emitted>=limit){
+                int n = emitted;
+                emitted = 0;
+                delegate[0].request(n);
+            }
+        }
+    }
     private void processQueue(Consumer<? super T> onNext) {
 
         if(active.compareAndSet(false,true)) {
@@ -1,23 +1,27 @@
 package com.oath.cyclops.internal.stream.spliterators.push;
 
-import cyclops.data.Seq;
-import lombok.AllArgsConstructor;
 import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-
+/**
+ * Merges the output of up to maxConcurrency inner Publishers.
+ *
+ * Active inner subscribers are held in an array backed table, the slots of completed subscribers are recycled via a
+ * free list (so adding and removing an inner subscriber is O(1) and never copies the table). Each inner subscriber
+ * requests prefetch elements up front into its own bounded queue, and requests more once 75% of them have been
+ * emitted. When there is downstream demand and nothing queued, elements are emitted directly without queueing.
+ */
 public class ConcurrentFlatMapper<T, R> {
 
-    volatile Seq<ActiveSubscriber> activeList = Seq.empty();
-    static final AtomicReferenceFieldUpdater<ConcurrentFlatMapper, Seq> queueUpdater =
-            AtomicReferenceFieldUpdater.newUpdater(ConcurrentFlatMapper.class, Seq.class, "activeList");
+    public static final int DEFAULT_PREFETCH = 32;
 
     final Consumer<? super R> onNext;
     final Consumer<? super Throwable> onError;
@@ -28,47 +32,70 @@ public class ConcurrentFlatMapper<T, R> {
 
     final StreamSubscription sub;
     final int maxConcurrency;
+    final int prefetch;
+    final int limit;
     volatile boolean running = true;
 
 
     final AtomicLong requested = new AtomicLong(0);
     final AtomicInteger wip = new AtomicInteger(0);
+    final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
 
+    final Object lock = new Object();
+    volatile ActiveSubscriber[] active;
+    int[] free;
+    int freeCount = 0;
+    int nextSlot = 0;
+    volatile int activeCount = 0;
 
     int subscriberIndex;
-    boolean processAll = false;
 
 
     public ConcurrentFlatMapper(StreamSubscription s, Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete,
                        Function<? super T, ? extends Publisher<? extends R>> mapper,
                        int maxConcurrency) {
+        this(s,onNext,onError,onComplete,mapper,maxConcurrency,DEFAULT_PREFETCH);
+    }
+
+    public ConcurrentFlatMapper(StreamSubscription s, Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete,
+                                Function<? super T, ? extends Publisher<? extends R>> mapper,
+                                int maxConcurrency, int prefetch) {
+        if(maxConcurrency<=0 || prefetch<=0)
+            throw new IllegalArgumentException("Max concurrency and prefetch must be positive");
         this.sub = s;
         this.onNext = onNext;
         this.onError = onError;
         this.onComplete = onComplete;
         this.mapper = mapper;
         this.maxConcurrency = maxConcurrency;
-
-
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+        int initial = Math.min(maxConcurrency,16);
+        this.active = (ActiveSubscriber[]) new ConcurrentFlatMapper.ActiveSubscriber[initial];
+        this.free = new int[initial];
     }
 
     public void request(long n) {
 
         if(!sub.isOpen)
             return;
-        if (processAll)
-            return;
-
-        if(n==Long.MAX_VALUE){
-            processAll =true;
-            requested.set(Long.MAX_VALUE);
-        }
         requested.accumulateAndGet(n,(a,b)->{
             long sum = a+b;
             return sum <0L ? Long.MAX_VALUE : sum;
         });
 
-        handleMainPublisher();
+        drain();
+    }
+
+    public void cancel(){
+        ActiveSubscriber[] a;
+        synchronized (lock){
+            a = active;
+        }
+        for(ActiveSubscriber next : a){
+            if(next!=null)
+                next.cancel();
+        }
     }
 
 
@@ -78,25 +105,64 @@ public class ConcurrentFlatMapper<T, R> {
         try {
             Publisher<? extends R> next = mapper.apply(t);
             ActiveSubscriber inner = new ActiveSubscriber();
-            queueUpdater.getAndUpdate(this, q -> q.plus(inner));
+            add(inner);
             next.subscribe(inner);
         }catch(Throwable e){
-            onError.accept(e);
+            errors.offer(e);
+            //no inner Publisher was created, so request a replacement element
+            if(sub.isOpen)
+                sub.request(1);
+            drain();
         }
 
     }
 
-    private boolean remove(ActiveSubscriber toRemove) {
-        queueUpdater.getAndUpdate(this, q -> q.removeValue(toRemove));
-        return true;
+    private void add(ActiveSubscriber inner){
+        synchronized (lock){
+            ActiveSubscriber[] a = active;
+            int index;
+            if(freeCount>0){
+                index = free[--freeCount];
+            }else{
+                index = nextSlot++;
+                if(index==a.length){
+                    int size = (int)Math.min((long)maxConcurrency,a.length*2l);
+                    if(size<=index)
+                        size = index+1;
+                    ActiveSubscriber[] grown = (ActiveSubscriber[]) new ConcurrentFlatMapper.ActiveSubscriber[size];
+                    System.arraycopy(a,0,grown,0,a.length);
+                    int[] grownFree = new int[size];
+                    System.arraycopy(free,0,grownFree,0,free.length);
+                    a = grown;
+                    free = grownFree;
+                }
+            }
+            inner.index = index;
+            a[index] = inner;
+            active = a;
+            activeCount++;
+        }
+    }
+
+    private void remove(ActiveSubscriber toRemove) {
+        synchronized (lock){
+            ActiveSubscriber[] a = active;
+            if(toRemove.index<0 || a[toRemove.index]!=toRemove)
+                return;
+            a[toRemove.index] = null;
+            free[freeCount++] = toRemove.index;
+            toRemove.index = -1;
+            active = a;
+            activeCount--;
+        }
     }
 
 
     public void onError(Throwable t) {
         if (!running)
             return;
-        onError.accept(t);
-        handleMainPublisher();
+        errors.offer(t);
+        drain();
     }
 
 
@@ -105,195 +171,92 @@ public class ConcurrentFlatMapper<T, R> {
             return;
 
         running = false;
-        handleMainPublisher();
+        drain();
     }
 
-    void handleMainPublisher() {
+    void drain() {
         if (wip.getAndIncrement() != 0) {
             return;
         }
-        populateFromQueuesAndCleanup();
+        drainLoop();
     }
 
-    int incrementActiveIndex(int index, Seq<ActiveSubscriber> active){
-        return index > active.size() ? 0 : subscriberIndex;
-    }
-
-    @AllArgsConstructor
-    class SubscriberRequests {
-
-        boolean completed;
-        long pendingRequests;
-        long requestedLocal;
-        long missing;
-        boolean rerun;
-        ActiveSubscriber nextActive;
-
-        boolean populateRequestsFromQueue(){
-            while (pendingRequests != requestedLocal) {
-                completed = nextActive.done;
-
-                R raw = nextActive.queue.poll();
-
-                if (complete(false)) {
-                    return false;
-                }
-                if(raw == null) {
-                    if (completed)
-                        removeAndReturn();
-
-                    return true;
-                }
-
-                onNext.accept(com.oath.cyclops.async.adapters.Queue.nillSafe(raw));
-
-                pendingRequests++;
-            }
-            return true;
-        }
-
-        void setNextActive(ActiveSubscriber nextActive){
-            this.nextActive = nextActive;
-            completed = nextActive.done;
-        }
-        void handleComplete(){
-            if (pendingRequests == requestedLocal) {
-                completed = nextActive.done;
-                cleanup();
-            }
-        }
-
-        void cleanup() {
-            if (completed && nextActive.queue.isEmpty()) {
-                removeAndReturn();
-            }
-        }
-
-        private void removeAndReturn() {
-            remove(nextActive);
-            rerun = true;
-            missing++;
-        }
-
-        void processPendingRequests(){
-            if (pendingRequests != 0L) {
-                if (!nextActive.done) {
-                    nextActive.sub.get().request(pendingRequests);
-                }
-                if (requestedLocal != Long.MAX_VALUE) {
-                    requestedLocal =  requested.addAndGet(-pendingRequests);
+    void drainLoop() {
+        int missed = 1;
+        for(;;){
+            if(!sub.isOpen)
+                return;
+            Throwable error;
+            while((error=errors.poll())!=null)
+                onError.accept(error);
+
+            boolean mainDone = !running;
+            long r = requested.get();
+            long emitted = 0;
+            long replaced = 0;
+            ActiveSubscriber[] a = active;
+            int n = a.length;
+            int index = subscriberIndex >= n ? 0 : subscriberIndex;
+            int resumeFrom = -1;
+            for(int i=0;i<n;i++){
+                if(!sub.isOpen)
+                    return;
+                ActiveSubscriber inner = a[index];
+                if(inner!=null){
+                    while(emitted!=r){
+                        R raw = inner.queue.poll();
+                        if(raw==null)
+                            break;
+                        onNext.accept(com.oath.cyclops.async.adapters.Queue.nillSafe(raw));
+                        emitted++;
+                        inner.consumed();
+                    }
+                    if(emitted==r && resumeFrom==-1)
+                        resumeFrom = index;
+                    //completed subscribers are removed even without demand, so that completion can be signalled
+                    if(inner.done && inner.queue.isEmpty()){
+                        remove(inner);
+                        replaced++;
+                    }
                 }
-                pendingRequests = 0L;
+                if(++index==n)
+                    index = 0;
             }
-        }
-
-        void sendMissingRequests() {
-
-            if (missing != 0L && running && sub.isOpen) {
+            if(resumeFrom!=-1)
+                index = resumeFrom;
+            subscriberIndex = index;
+            if(emitted!=0 && r!=Long.MAX_VALUE)
+                requested.addAndGet(-emitted);
 
-                sub.request(missing);
-            }
-        }
-
-
-        int recalcConcurrentRequests(int missed) {
-
-            if(!rerun){
-                return wip.addAndGet(-missed);
-            }
-            return missed;
-        }
-        boolean complete(boolean empty) {
-
-            if (!sub.isOpen)
-                return true;
-
-
-            if(completed && empty) {
+            if(mainDone && activeCount==0 && errors.isEmpty()){
                 onComplete.run();
-                return true;
-            }
-
-            return false;
-        }
-    }
-
-    void populateFromQueuesAndCleanup() {
-        int incomingRequests = 1;
-
-        do {
-
-            Seq<ActiveSubscriber> localActiveSubs = activeList;
-            SubscriberRequests state = new SubscriberRequests(!running,0l,requested.get(),0L,false,null);
-
-            if (state.complete(activeList.isEmpty()))
                 return;
-
-            if (activeRequestsAndSubscriptions(state)) {
-                if (processRequests(localActiveSubs, state))
-                    return;
-            }
-
-            if (noActiveRequestsAndSubscriptions(state)) {
-                localActiveSubs = activeList;
-                if (cleanupSubsAndReqs(localActiveSubs, state))
-                    return;
-            }
-            state.sendMissingRequests();
-            incomingRequests =state.recalcConcurrentRequests(incomingRequests);
-
-        } while (incomingRequests != 0);
-    }
-
-    private boolean noActiveRequestsAndSubscriptions(SubscriberRequests state) {
-        return state.requestedLocal == 0L && !activeList.isEmpty();
-    }
-
-    private boolean activeRequestsAndSubscriptions(SubscriberRequests state) {
-        return state.requestedLocal != 0L && !activeList.isEmpty();
-    }
-
-    private boolean cleanupSubsAndReqs(Seq<ActiveSubscriber> localActiveSubs, SubscriberRequests state) {
-        ActiveSubscriber active =null;
-        for (int i = 0; i < localActiveSubs.size() && (active=localActiveSubs.getOrElse(i,null)).queue.isEmpty() && sub.isOpen; i++) {
-            if (!sub.isOpen) {
-                return true;
             }
-            state.setNextActive(active);
-            state.cleanup();
-        }
-        return false;
-    }
-
-    private boolean processRequests(Seq<ActiveSubscriber> localActiveSubs, SubscriberRequests state) {
-        int activeIndex = incrementActiveIndex(subscriberIndex,activeList);
-
-        for (int i = 0; i < localActiveSubs.size() && state.requestedLocal !=0L && sub.isOpen; i++) {
-            state.setNextActive( localActiveSubs.getOrElse(activeIndex,null));
-            if(!state.populateRequestsFromQueue())
-                return true;
-            state.handleComplete();
-            state.processPendingRequests();
-            activeIndex = incrementActiveIndex(activeIndex+1,localActiveSubs);
+            if(replaced!=0 && running && sub.isOpen)
+                sub.request(replaced);
 
+            missed = wip.addAndGet(-missed);
+            if(missed==0)
+                return;
         }
-
-        subscriberIndex = activeIndex;
-        return false;
     }
 
     final class ActiveSubscriber implements Subscriber<R> {
 
 
-        final AtomicReference<Subscription> sub = new AtomicReference();
-        final Queue<R> queue = new OneToOneConcurrentArrayQueue<>(1024);
+        final AtomicReference<Subscription> sub = new AtomicReference<>();
+        final Queue<R> queue = new OneToOneConcurrentArrayQueue<>(prefetch);
         volatile boolean done;
+        int index = -1;
+        int consumed = 0;
 
 
         @Override
         public void onSubscribe(Subscription s) {
             if (this.sub.compareAndSet(null, s)) {
-                s.request(1);
+                s.request(prefetch);
+            }else{
+                s.cancel();
             }
         }
 
@@ -304,41 +267,64 @@ public class ConcurrentFlatMapper<T, R> {
                 long localRequested = requested.get();
 
 
-                if (localRequested != 0L) {
+                if (localRequested != 0L && queue.isEmpty()) {
 
                     onNext.accept(t);
                     if (localRequested != Long.MAX_VALUE) {
                         requested.decrementAndGet();
                     }
-                    sub.get().request(1);
+                    consumed();
                 } else {
-                    queue.offer(com.oath.cyclops.async.adapters.Queue.nullSafe(t)); //queue full! handle somehow
+                    queue.offer(com.oath.cyclops.async.adapters.Queue.nullSafe(t));
                 }
                 if (wip.decrementAndGet() == 0) {
                     return;
                 }
-                populateFromQueuesAndCleanup();
+                drainLoop();
             } else {
-                queue.offer(com.oath.cyclops.async.adapters.Queue.nullSafe(t)); //queue full! handle somehow
-                handleMainPublisher();
+                queue.offer(com.oath.cyclops.async.adapters.Queue.nullSafe(t));
+                drain();
             }
         }
 
+        /*
+         * Called from within the drain loop only, replenishes the prefetch queue once limit elements have been emitted
+         */
+        void consumed(){
+            if(++consumed==limit){
+                consumed = 0;
+                if(!done)
+                    sub.get().request(limit);
+            }
+        }
+
+        void cancel(){
+            Subscription s = sub.getAndSet(CANCELLED);
+            if(s!=null && s!=CANCELLED)
+                s.cancel();
+        }
+
         @Override
         public void onError(Throwable t) {
-            ConcurrentFlatMapper.this.onError(t);
+            errors.offer(t);
+            drain();
         }
 
         @Override
         public void onComplete() {
             done = true;
-            if (wip.getAndIncrement() != 0) {
-                return;
-            }
-            populateFromQueuesAndCleanup();
+            drain();
 
         }
     }
-}
 
+    static final Subscription CANCELLED = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
 
+        @Override
+        public void cancel() {
+        }
+    };
+}
@@ -0,0 +1,216 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Collapses a run of unboxed map / filter / skip / limit stages into a single push stage
+ *
+ * @see FusedOperator
+ */
+public class DoubleFusedOperator implements DoubleOperator {
+
+    private final DoubleOperator source;
+    private final FusedStages stages;
+
+    private DoubleFusedOperator(DoubleOperator source, FusedStages stages){
+        this.source = source;
+        this.stages = stages;
+    }
+
+    public static DoubleOperator map(DoubleOperator source, DoubleUnaryOperator fn){
+        return fuse(source,FusedStages.MAP,fn,0);
+    }
+
+    public static DoubleOperator filter(DoubleOperator source, DoublePredicate fn){
+        return fuse(source,FusedStages.FILTER,fn,0);
+    }
+
+    public static DoubleOperator skip(DoubleOperator source, long num){
+        return fuse(source,FusedStages.SKIP,null,num);
+    }
+
+    public static DoubleOperator limit(DoubleOperator source, long num){
+        return fuse(source,FusedStages.LIMIT,null,num);
+    }
+
+    private static DoubleOperator fuse(DoubleOperator source, byte kind, Object fn, long bound){
+        if(source instanceof DoubleFusedOperator){
+            DoubleFusedOperator fused = (DoubleFusedOperator)source;
+            return new DoubleFusedOperator(fused.source,fused.stages.append(kind,fn,bound));
+        }
+        return new DoubleFusedOperator(source,FusedStages.of(kind,fn,bound));
+    }
+
+    @Override
+    public StreamSubscription subscribe(DoubleConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        boolean[] completed = {false};
+        StreamSubscription[] upstream = {null};
+        Runnable drop = ()->upstream[0].request(1l);
+        Runnable complete = ()->{
+            if(!completed[0]) {
+                completed[0]=true;
+                upstream[0].cancel();
+                onComplete.run();
+            }
+        };
+        Sink head = sinks(onNext,drop,complete);
+        upstream[0] = source.subscribe(e-> {
+                    if(completed[0])
+                        return;
+                    try {
+                        head.accept(e);
+                    } catch (Throwable t) {
+
+                        onError.accept(t);
+                    }
+                }
+                ,onError,()->{
+                    if(!completed[0]) {
+                        completed[0]=true;
+                        onComplete.run();
+                    }
+                });
+        return upstream[0];
+    }
+
+    @Override
+    public void subscribeAll(DoubleConsumer onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        if(stages.limited){
+            //an upstream subscribeAll can't be stopped early, so request everything and cancel once the limit is reached
+            subscribe(onNext,onError,onCompleteDs).request(Long.MAX_VALUE);
+            return;
+        }
+        boolean[] completed = {false};
+        Runnable complete = ()->{
+            if(!completed[0]) {
+                completed[0]=true;
+                onCompleteDs.run();
+            }
+        };
+        Sink head = sinks(onNext,()->{},complete);
+        source.subscribeAll(e-> {
+                    if(completed[0])
+                        return;
+                    try {
+                        head.accept(e);
+                    } catch (Throwable t) {
+
+                        onError.accept(t);
+                    }
+                }
+                ,onError,complete);
+    }
+
+    private Sink sinks(DoubleConsumer onNext, Runnable drop, Runnable complete){
+        Sink next = new Sink(){
+            @Override
+            void accept(double e) {
+                onNext.accept(e);
+            }
+        };
+        for(int i=stages.size()-1;i>=0;i--){
+            switch(stages.kinds[i]){
+                case FusedStages.MAP:
+                    next = new MapSink((DoubleUnaryOperator)stages.fns[i],next);
+                    break;
+                case FusedStages.FILTER:
+                    next = new FilterSink((DoublePredicate)stages.fns[i],drop,next);
+                    break;
+                case FusedStages.SKIP:
+                    next = new SkipSink(stages.bounds[i],drop,next);
+                    break;
+                case FusedStages.LIMIT:
+                    next = new LimitSink(stages.bounds[i],complete,next);
+                    break;
+            }
+        }
+        return next;
+    }
+
+    private static abstract class Sink {
+        abstract void accept(double e);
+    }
+
+    private static final class MapSink extends Sink {
+        private final DoubleUnaryOperator fn;
+        private final Sink next;
+
+        MapSink(DoubleUnaryOperator fn, Sink next) {
+            this.fn = fn;
+            this.next = next;
+        }
+
+        @Override
+        void accept(double e) {
+            next.accept(fn.applyAsDouble(e));
+        }
+    }
+
+    private static final class FilterSink extends Sink {
+        private final DoublePredicate fn;
+        private final Runnable drop;
+        private final Sink next;
+
+        FilterSink(DoublePredicate fn, Runnable drop, Sink next) {
+            this.fn = fn;
+            this.drop = drop;
+            this.next = next;
+        }
+
+        @Override
+        void accept(double e) {
+            if(fn.test(e))
+                next.accept(e);
+            else
+                drop.run();
+        }
+    }
+
+    private static final class SkipSink extends Sink {
+        private final long skip;
+        private final Runnable drop;
+        private final Sink next;
+        private long count = 0;
+
+        SkipSink(long skip, Runnable drop, Sink next) {
+            this.skip = skip;
+            this.drop = drop;
+            this.next = next;
+        }
+
+        @Override
+        void accept(double e) {
+            if(count<skip){
+                count++;
+                drop.run();
+            }
+            else
+                next.accept(e);
+        }
+    }
+
+    private static final class LimitSink extends Sink {
+        private final long limit;
+        private final Runnable complete;
+        private final Sink next;
+        private long count = 0;
+
+        LimitSink(long limit, Runnable complete, Sink next) {
+            this.limit = limit;
+            this.complete = complete;
+            this.next = next;
+        }
+
+        @Override
+        void accept(double e) {
+            //complete as soon as the limit is reached, rather than on the next value (which may never arrive)
+            if(count<limit)
+                next.accept(e);
+            if(++count>=limit)
+                complete.run();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A push based Operator that emits unboxed double values
+ *
+ * @see Operator
+ */
+public interface DoubleOperator {
+
+
+    public StreamSubscription subscribe(DoubleConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete);
+    public void subscribeAll(DoubleConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete);
+
+}
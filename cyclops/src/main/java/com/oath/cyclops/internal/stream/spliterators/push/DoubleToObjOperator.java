@@ -0,0 +1,43 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+
+/**
+ * Boxes (or otherwise maps) the values emitted by an DoubleOperator into a reference typed Operator
+ */
+public class DoubleToObjOperator<R> implements Operator<R> {
+
+
+    final DoubleOperator source;
+    final DoubleFunction<? extends R> mapper;
+
+    public DoubleToObjOperator(DoubleOperator source, DoubleFunction<? extends R> mapper){
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        return source.subscribe(e-> {
+                    try {
+                        onNext.accept(mapper.apply(e));
+                    } catch (Throwable t) {
+                        onError.accept(t);
+                    }
+                }
+                ,onError,onComplete);
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        source.subscribeAll(e-> {
+                    try {
+                        onNext.accept(mapper.apply(e));
+                    } catch (Throwable t) {
+                        onError.accept(t);
+                    }
+                }
+                ,onError,onCompleteDs);
+    }
+}
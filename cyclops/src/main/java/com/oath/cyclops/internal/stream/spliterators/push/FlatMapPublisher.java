@@ -10,14 +10,24 @@ public class FlatMapPublisher<T, R> extends BaseOperator<T, R> {
 
     final Function<? super T, ? extends Publisher<? extends R>> mapper;
     final int maxConcurrency;
+    final int prefetch;
 
 
     public FlatMapPublisher(Operator<? extends T> source,
                             Function<? super T, ? extends Publisher<? extends R>> mapper,
                             int maxConcurrency) {
+        this(source,mapper,maxConcurrency,ConcurrentFlatMapper.DEFAULT_PREFETCH);
+    }
+
+    public FlatMapPublisher(Operator<? extends T> source,
+                            Function<? super T, ? extends Publisher<? extends R>> mapper,
+                            int maxConcurrency, int prefetch) {
         super((Operator<T>) source);
+        if(maxConcurrency<=0 || prefetch<=0)
+            throw new IllegalArgumentException("Max concurrency and prefetch must be positive");
         this.mapper = mapper;
         this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
 
 
     }
@@ -42,6 +52,7 @@ public class FlatMapPublisher<T, R> extends BaseOperator<T, R> {
             @Override
             public void cancel() {
                 sub[0].cancel();
+                ref[0].cancel();
                 super.cancel();
 
             }
@@ -59,7 +70,7 @@ public class FlatMapPublisher<T, R> extends BaseOperator<T, R> {
                });
         ref[0] = new ConcurrentFlatMapper<T, R>(sub[0], onNext, onError, onComplete,
                 mapper,
-                maxConcurrency);
+                maxConcurrency, prefetch);
 
 
 
@@ -0,0 +1,241 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Collapses a run of map / filter / limit / skip stages into a single push stage.
+ *
+ * Rather than each operator subscribing to the one before it and wrapping the downstream Consumer in its own lambda
+ * (and try / catch), the fused stage subscribes once to the source and pushes each element through a chain of
+ * light-weight sinks guarded by a single try / catch. Appending a stage returns a new FusedOperator (stages are never
+ * mutated), so a ReactiveSeq can still be safely extended in more than one direction.
+ *
+ * Per-subscription state (limit and skip counters) is created on each subscribe.
+ */
+public class FusedOperator<T,R> extends BaseOperator<T,R> {
+
+    private static final int MAP = 0;
+    private static final int FILTER = 1;
+    private static final int SKIP = 2;
+    private static final int LIMIT = 3;
+
+    private final int[] kinds;
+    private final Object[] fns;
+    private final long[] bounds;
+
+    private FusedOperator(Operator<T> source, int[] kinds, Object[] fns, long[] bounds){
+        super(source);
+        this.kinds = kinds;
+        this.fns = fns;
+        this.bounds = bounds;
+    }
+
+    public static <T,R> Operator<R> map(Operator<T> source, Function<? super T, ? extends R> fn){
+        return fuse(source,MAP,fn,0);
+    }
+
+    public static <T> Operator<T> filter(Operator<T> source, Predicate<? super T> fn){
+        return fuse(source,FILTER,fn,0);
+    }
+
+    public static <T> Operator<T> skip(Operator<T> source, long num){
+        return fuse(source,SKIP,null,num);
+    }
+
+    public static <T> Operator<T> limit(Operator<T> source, long num){
+        return fuse(source,LIMIT,null,num);
+    }
+
+    /**
+     * @return Number of stages collapsed into this operator
+     */
+    public int stages(){
+        return kinds.length;
+    }
+
+    private static <T,R> Operator<R> fuse(Operator<T> source, int kind, Object fn, long bound){
+        if(source instanceof FusedOperator){
+            FusedOperator<?,T> fused = (FusedOperator<?,T>)source;
+            int size = fused.kinds.length;
+            int[] kinds = Arrays.copyOf(fused.kinds,size+1);
+            Object[] fns = Arrays.copyOf(fused.fns,size+1);
+            long[] bounds = Arrays.copyOf(fused.bounds,size+1);
+            kinds[size] = kind;
+            fns[size] = fn;
+            bounds[size] = bound;
+            return new FusedOperator(fused.source,kinds,fns,bounds);
+        }
+        return new FusedOperator<T,R>(source,new int[]{kind},new Object[]{fn},new long[]{bound});
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        boolean[] completed = {false};
+        StreamSubscription[] upstream = {null};
+        Runnable drop = ()->upstream[0].request(1l);
+        Runnable complete = ()->{
+            if(!completed[0]) {
+                completed[0]=true;
+                upstream[0].cancel();
+                onComplete.run();
+            }
+        };
+        Sink head = sinks((Consumer<Object>)onNext,drop,complete);
+        upstream[0] = source.subscribe(e-> {
+                    if(completed[0])
+                        return;
+                    try {
+                        head.accept(e);
+                    } catch (Throwable t) {
+
+                        onError.accept(t);
+                    }
+                }
+                ,onError,()->{
+                    if(!completed[0]) {
+                        completed[0]=true;
+                        onComplete.run();
+                    }
+                });
+        return upstream[0];
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        boolean[] completed = {false};
+        Runnable complete = ()->{
+            if(!completed[0]) {
+                completed[0]=true;
+                onCompleteDs.run();
+            }
+        };
+        Sink head = sinks((Consumer<Object>)onNext,()->{},complete);
+        source.subscribeAll(e-> {
+                    if(completed[0])
+                        return;
+                    try {
+                        head.accept(e);
+                    } catch (Throwable t) {
+
+                        onError.accept(t);
+                    }
+                }
+                ,onError,complete);
+    }
+
+    /*
+     * Builds the per-subscription chain of stages, last stage first. Each stage is a small final class so the JIT
+     * sees a distinct call site per stage type, with a single try / catch for the whole chain.
+     */
+    private Sink sinks(Consumer<Object> onNext, Runnable drop, Runnable complete){
+        Sink next = new Sink(){
+            @Override
+            void accept(Object e) {
+                onNext.accept(e);
+            }
+        };
+        for(int i=kinds.length-1;i>=0;i--){
+            switch(kinds[i]){
+                case MAP:
+                    next = new MapSink((Function<Object,Object>)fns[i],next);
+                    break;
+                case FILTER:
+                    next = new FilterSink((Predicate<Object>)fns[i],drop,next);
+                    break;
+                case SKIP:
+                    next = new SkipSink(bounds[i],drop,next);
+                    break;
+                case LIMIT:
+                    next = new LimitSink(bounds[i],complete,next);
+                    break;
+            }
+        }
+        return next;
+    }
+
+    private static abstract class Sink {
+        abstract void accept(Object e);
+    }
+
+    private static final class MapSink extends Sink {
+        private final Function<Object,Object> fn;
+        private final Sink next;
+
+        MapSink(Function<Object,Object> fn, Sink next) {
+            this.fn = fn;
+            this.next = next;
+        }
+
+        @Override
+        void accept(Object e) {
+            next.accept(fn.apply(e));
+        }
+    }
+
+    private static final class FilterSink extends Sink {
+        private final Predicate<Object> fn;
+        private final Runnable drop;
+        private final Sink next;
+
+        FilterSink(Predicate<Object> fn, Runnable drop, Sink next) {
+            this.fn = fn;
+            this.drop = drop;
+            this.next = next;
+        }
+
+        @Override
+        void accept(Object e) {
+            if(fn.test(e))
+                next.accept(e);
+            else
+                drop.run();
+        }
+    }
+
+    private static final class SkipSink extends Sink {
+        private final long skip;
+        private final Runnable drop;
+        private final Sink next;
+        private long count = 0;
+
+        SkipSink(long skip, Runnable drop, Sink next) {
+            this.skip = skip;
+            this.drop = drop;
+            this.next = next;
+        }
+
+        @Override
+        void accept(Object e) {
+            if(count<skip){
+                count++;
+                drop.run();
+            }
+            else
+                next.accept(e);
+        }
+    }
+
+    private static final class LimitSink extends Sink {
+        private final long limit;
+        private final Runnable complete;
+        private final Sink next;
+        private long count = 0;
+
+        LimitSink(long limit, Runnable complete, Sink next) {
+            this.limit = limit;
+            this.complete = complete;
+            this.next = next;
+        }
+
+        @Override
+        void accept(Object e) {
+            if(count++<limit)
+                next.accept(e);
+            else
+                complete.run();
+        }
+    }
+}
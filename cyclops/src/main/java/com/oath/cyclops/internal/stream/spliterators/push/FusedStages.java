@@ -0,0 +1,46 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.Arrays;
+
+/**
+ * The run of map / filter / skip / limit stages collapsed by a primitive fused operator. Shared by IntFusedOperator,
+ * LongFusedOperator and DoubleFusedOperator, which each build their own unboxed sinks from it.
+ */
+final class FusedStages {
+
+    static final byte MAP = 0;
+    static final byte FILTER = 1;
+    static final byte SKIP = 2;
+    static final byte LIMIT = 3;
+
+    final byte[] kinds;
+    final Object[] fns;
+    final long[] bounds;
+    final boolean limited;
+
+    private FusedStages(byte[] kinds, Object[] fns, long[] bounds, boolean limited){
+        this.kinds = kinds;
+        this.fns = fns;
+        this.bounds = bounds;
+        this.limited = limited;
+    }
+
+    static FusedStages of(byte kind, Object fn, long bound){
+        return new FusedStages(new byte[]{kind},new Object[]{fn},new long[]{bound},kind==LIMIT);
+    }
+
+    FusedStages append(byte kind, Object fn, long bound){
+        int size = kinds.length;
+        byte[] kinds = Arrays.copyOf(this.kinds,size+1);
+        Object[] fns = Arrays.copyOf(this.fns,size+1);
+        long[] bounds = Arrays.copyOf(this.bounds,size+1);
+        kinds[size] = kind;
+        fns[size] = fn;
+        bounds[size] = bound;
+        return new FusedStages(kinds,fns,bounds,limited || kind==LIMIT);
+    }
+
+    int size(){
+        return kinds.length;
+    }
+}
@@ -1,15 +1,23 @@
 package com.oath.cyclops.internal.stream.spliterators.push;
 
+import com.oath.cyclops.async.HashedWheelTimer;
+import com.oath.cyclops.react.ThreadPools;
 import com.oath.cyclops.types.persistent.PersistentCollection;
 
-import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
- * Created by johnmcclean on 12/01/2017.
+ * Groups elements into windows that are closed once they reach groupSize elements, or once the time period has
+ * elapsed. The elapsed time is checked as each element arrives, and windows are also closed by the shared
+ * HashedWheelTimer, so a partial window is emitted on time even if no further elements arrive (if there is no
+ * outstanding demand at that point, it is emitted on the next request).
+ *
+ * Window state is guarded by a per subscription lock, as windows may be closed on either the emitting Thread or (via
+ * the shared virtual Thread executor) by the timer. Closed windows are queued while holding the lock and delivered after it
+ * is released, so a slow Subscriber never blocks the timer or the other Thread.
  */
 public class GroupedByTimeAndSizeOperator<T,C extends PersistentCollection<? super T>,R> extends BaseOperator<T,R> {
 
@@ -40,10 +48,8 @@ public class GroupedByTimeAndSizeOperator<T,C extends PersistentCollection<? sup
 
     @Override
     public StreamSubscription subscribe(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
-        long toRun = t.toNanos(time);
-        PersistentCollection[] next = {factory.get()};
-        long[] start ={System.nanoTime()};
         StreamSubscription[] upstream = {null};
+        Window window = new Window(onNext,onError,onComplete);
         StreamSubscription sub = new StreamSubscription(){
             @Override
             public void request(long n) {
@@ -54,52 +60,32 @@ public class GroupedByTimeAndSizeOperator<T,C extends PersistentCollection<? sup
                 if(!isOpen)
                     return;
                 super.request(n);
-
-                    upstream[0].request(n);
+                window.flushIfDue();
+                upstream[0].request(n);
 
 
             }
 
             @Override
             public void cancel() {
+                window.stop();
                 if(upstream[0]!=null)
                      upstream[0].cancel();
                 super.cancel();
             }
         };
+        window.start(sub);
         upstream[0] = source.subscribe(e-> {
-                    try {
-
-                        next[0] = next[0].plus(e);
-                        if(next[0].size()==groupSize || System.nanoTime()-start[0] > toRun){
-                            onNext.accept(finalizer.apply((C)next[0]));
-                            next[0] = factory.get();
-                            start[0] = System.nanoTime();
-                            sub.requested.decrementAndGet();
-                        }else{
-                            upstream[0].request(1l);
-                        }
-
-                    } catch (Throwable t) {
-
-                        onError.accept(t);
-                    }
+                    if(!window.add(e) && sub.isActive())
+                        upstream[0].request(1l);
                 }
-                ,t->{onError.accept(t);
+                ,t->{window.error(t);
                     sub.requested.decrementAndGet();
                     if(sub.isActive())
                         upstream[0].request(1);
                 },()->{
-                    if(next[0].size()>0) {
-                        try {
-                            onNext.accept(finalizer.apply((C) next[0]));
-                        } catch(Throwable t){
-                            onError.accept(t);
-                        }
-                        sub.requested.decrementAndGet();
-                    }
-                    sub.cancel();
-                    onComplete.run();
+                    sub.isOpen = false;
+                    window.complete();
                 });
 
         return sub;
@@ -107,33 +93,141 @@ public class GroupedByTimeAndSizeOperator<T,C extends PersistentCollection<? sup
 
     @Override
     public void subscribeAll(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
-        long toRun = t.toNanos(time);
-        PersistentCollection[] next = {factory.get()};
-        long[] start ={System.nanoTime()};
-        source.subscribeAll(e-> {
-                    try {
-
-                        next[0]=next[0].plus(e);
-                        if(next[0].size()==groupSize || System.nanoTime()-start[0] > toRun){
-                            onNext.accept(finalizer.apply((C)next[0]));
-                            next[0] = factory.get();
-                            start[0] = System.nanoTime();
-                        }
-
-                    } catch (Throwable t) {
-
-                        onError.accept(t);
+        Window window = new Window(onNext,onError,onCompleteDs);
+        window.start(null);
+        source.subscribeAll(window::add
+                ,window::error,window::complete);
+    }
+
+    /*
+     * The open window for a single subscription. demand is null when subscribed without backpressure. Methods update
+     * the window while holding its lock and then drain the signals they queued, outside of it.
+     */
+    private class Window {
+        private final SignalQueue<R> signals;
+        private StreamSubscription demand;
+        private final long toRun = t.toNanos(time);
+        private PersistentCollection next = factory.get();
+        private long start = System.nanoTime();
+        private HashedWheelTimer.Timeout timeout;
+        private boolean due = false;
+        private boolean done = false;
+
+        Window(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            this.signals = new SignalQueue<>(onNext,onError,onComplete);
+        }
+
+        void start(StreamSubscription demand){
+            synchronized (this) {
+                this.demand = demand;
+                schedule();
+            }
+        }
+
+        private void schedule(){
+            timeout = HashedWheelTimer.shared().schedule(this::onTimeout,toRun,TimeUnit.NANOSECONDS,ThreadPools.getCommonVirtualThreadExecutor());
+        }
+
+        /*
+         * returns true if the window was emitted
+         */
+        boolean add(T e){
+            boolean emitted = false;
+            synchronized (this) {
+                if (done)
+                    return false;
+                try {
+                    next = next.plus(e);
+                    if (next.size() == groupSize || due || System.nanoTime() - start > toRun) {
+                        emit();
+                        emitted = true;
                     }
+                } catch (Throwable t) {
+                    signals.offerError(t);
                 }
-                ,onError,()->{
-                    if(next[0].size()>0) {
-                        try {
-                            onNext.accept(finalizer.apply((C) next[0]));
-                        } catch(Throwable t){
-                            onError.accept(t);
-                        }
-                    }
-                    onCompleteDs.run();
-                });
+            }
+            signals.drain();
+            return emitted;
+        }
+
+        void onTimeout(){
+            synchronized (this) {
+                if (done)
+                    return;
+                if (next.size() == 0) {
+                    schedule();
+                    return;
+                }
+                if (demand != null && demand.requested.get() <= 0) {
+                    due = true;
+                    return;
+                }
+                emit();
+            }
+            signals.drain();
+        }
+
+        void flushIfDue(){
+            synchronized (this) {
+                if (due && !done && next.size() > 0)
+                    emit();
+            }
+            signals.drain();
+        }
+
+        void error(Throwable t){
+            synchronized (this) {
+                if (done)
+                    return;
+                signals.offerError(t);
+            }
+            signals.drain();
+        }
+
+        void complete(){
+            synchronized (this) {
+                if (done)
+                    return;
+                done = true;
+                if (timeout != null)
+                    timeout.cancel();
+                if (next.size() > 0) {
+                    offer(next);
+                    if (demand != null)
+                        demand.requested.decrementAndGet();
+                }
+                signals.offerComplete();
+            }
+            signals.drain();
+        }
+
+        void stop(){
+            synchronized (this) {
+                done = true;
+                if (timeout != null)
+                    timeout.cancel();
+            }
+            signals.cancel();
+        }
+
+        private void emit(){
+            PersistentCollection window = next;
+            next = factory.get();
+            start = System.nanoTime();
+            due = false;
+            timeout.cancel();
+            schedule();
+            if(demand!=null)
+                demand.requested.decrementAndGet();
+            offer(window);
+        }
+
+        private void offer(PersistentCollection window){
+            try {
+                signals.offerNext(finalizer.apply((C) window));
+            }catch(Throwable t){
+                signals.offerError(t);
+            }
+        }
     }
 }
@@ -0,0 +1,44 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.function.Function;
+
+/**
+ * A value tagged with its position in the original Stream, used to restore ordering when merging parallel rails.
+ *
+ * Elements removed on a rail (by filter, or a concatMap that expands to nothing) are replaced by a skipped marker
+ * carrying their index, so the rail still reports progress and an ordered merge never waits on it indefinitely.
+ */
+public final class Indexed<T> {
+    private static final Object SKIPPED = new Object();
+
+    public final long index;
+    public final T value;
+
+    public Indexed(long index, T value) {
+        this.index = index;
+        this.value = value;
+    }
+
+    /**
+     * @param index Index of the removed element
+     * @return Marker standing in for an element that was removed from a rail
+     */
+    public static <T> Indexed<T> skipped(long index){
+        return new Indexed<>(index,(T)SKIPPED);
+    }
+
+    public boolean isSkipped(){
+        return value==SKIPPED;
+    }
+
+    public <R> Indexed<R> map(Function<? super T, ? extends R> fn){
+        if(isSkipped())
+            return (Indexed<R>)this;
+        return new Indexed<>(index,fn.apply(value));
+    }
+
+    @Override
+    public String toString() {
+        return isSkipped() ? "Indexed[" + index + ",skipped]" : "Indexed[" + index + "," + value + "]";
+    }
+}
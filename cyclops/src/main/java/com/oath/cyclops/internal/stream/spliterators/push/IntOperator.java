@@ -0,0 +1,17 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * A push based Operator that emits unboxed int values
+ *
+ * @see Operator
+ */
+public interface IntOperator {
+
+
+    public StreamSubscription subscribe(IntConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete);
+    public void subscribeAll(IntConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete);
+
+}
@@ -0,0 +1,43 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Boxes (or otherwise maps) the values emitted by an IntOperator into a reference typed Operator
+ */
+public class IntToObjOperator<R> implements Operator<R> {
+
+
+    final IntOperator source;
+    final IntFunction<? extends R> mapper;
+
+    public IntToObjOperator(IntOperator source, IntFunction<? extends R> mapper){
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        return source.subscribe(e-> {
+                    try {
+                        onNext.accept(mapper.apply(e));
+                    } catch (Throwable t) {
+                        onError.accept(t);
+                    }
+                }
+                ,onError,onComplete);
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        source.subscribeAll(e-> {
+                    try {
+                        onNext.accept(mapper.apply(e));
+                    } catch (Throwable t) {
+                        onError.accept(t);
+                    }
+                }
+                ,onError,onCompleteDs);
+    }
+}
@@ -85,6 +85,14 @@ public class IterableSourceOperator<T> implements Operator<T> {
             @Override
             public void cancel() {
                 super.cancel();
+                //release any resources held by a partially consumed Iterator (e.g. the runs of an external sort)
+                if(it instanceof AutoCloseable){
+                    try {
+                        ((AutoCloseable)it).close();
+                    } catch (Exception e) {
+                        onError.accept(e);
+                    }
+                }
             }
         };
         return sub;
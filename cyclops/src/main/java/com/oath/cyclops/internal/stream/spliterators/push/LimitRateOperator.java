@@ -0,0 +1,150 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Decouples downstream demand from the demand signalled upstream. Elements are requested upstream in batches of up to
+ * prefetch elements, and topped back up to prefetch once the number of outstanding (requested but not yet emitted)
+ * elements falls to lowTide. Elements received ahead of downstream demand are buffered (at most prefetch elements).
+ *
+ * A downstream request(Long.MAX_VALUE) or a stream of request(1) calls both result in upstream requests of
+ * prefetch - lowTide elements at a time, rather than a single unbounded or per element request.
+ */
+public class LimitRateOperator<T> extends BaseOperator<T,T> {
+
+    private static final Object NULL = new Object();
+
+    private final long prefetch;
+    private final long lowTide;
+
+    public LimitRateOperator(Operator<T> source, int prefetch, int lowTide){
+        super(source);
+        if(prefetch<=0 || lowTide<0 || lowTide>=prefetch)
+            throw new IllegalArgumentException("Prefetch must be positive and lowTide must be between 0 (inclusive) and prefetch (exclusive)");
+        this.prefetch = prefetch;
+        this.lowTide = lowTide;
+    }
+
+    public LimitRateOperator(Operator<T> source, int prefetch){
+        this(source,prefetch,prefetch>>2);
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        PrefetchSubscription sub = new PrefetchSubscription(onNext,onError,onComplete);
+        sub.upstream = source.subscribe(e-> {
+                    sub.buffer.offer(e==null ? NULL : e);
+                    sub.drain();
+                }
+                ,t->{
+                    sub.buffer.offer(new ErrorSignal(t));
+                    sub.drain();
+                },()->{
+                    sub.done = true;
+                    sub.drain();
+                });
+        return sub;
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        //no demand is signalled when subscribing to all elements
+        source.subscribeAll(onNext,onError,onCompleteDs);
+    }
+
+    private class PrefetchSubscription extends StreamSubscription {
+        final Queue<Object> buffer = new ConcurrentLinkedQueue<>();
+        final AtomicInteger wip = new AtomicInteger(0);
+        final Consumer<? super T> onNext;
+        final Consumer<? super Throwable> onError;
+        final Runnable onComplete;
+        volatile StreamSubscription upstream;
+        volatile boolean done = false;
+        long outstanding = 0;
+
+        PrefetchSubscription(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public void request(long n) {
+            if(n<=0) {
+                onError.accept(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                return;
+            }
+            if(!isOpen)
+                return;
+            super.request(n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            upstream.cancel();
+            buffer.clear();
+        }
+
+        void drain(){
+            if(wip.getAndIncrement()!=0)
+                return;
+            int missed = 1;
+            for(;;){
+                for(;;){
+                    if(!isOpen)
+                        return;
+                    Object next = buffer.peek();
+                    if(next==null)
+                        break;
+                    if(next instanceof ErrorSignal){
+                        buffer.poll();
+                        outstanding--;
+                        onError.accept(((ErrorSignal)next).error);
+                        continue;
+                    }
+                    if(requested.get()<=0)
+                        break;
+                    buffer.poll();
+                    outstanding--;
+                    requested.decrementAndGet();
+                    try {
+                        onNext.accept(next == NULL ? null : (T) next);
+                    }catch(Throwable t){
+                        onError.accept(t);
+                    }
+                    if(!done && outstanding<=lowTide)
+                        replenish();
+                }
+                if(done && buffer.isEmpty()){
+                    isOpen = false;
+                    onComplete.run();
+                    return;
+                }
+                //initial batch, only requested once there is downstream demand
+                if(!done && requested.get()>0 && outstanding<=lowTide)
+                    replenish();
+                missed = wip.addAndGet(-missed);
+                if(missed==0)
+                    return;
+            }
+        }
+
+        private void replenish(){
+            long want = prefetch - outstanding;
+            outstanding = prefetch;
+            upstream.request(want);
+        }
+    }
+
+    private static class ErrorSignal{
+        final Throwable error;
+        ErrorSignal(Throwable error){
+            this.error = error;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.oath.cyclops.internal.stream.spliterators.push;
 
+import com.oath.cyclops.async.HashedWheelTimer;
+import com.oath.cyclops.react.ThreadPools;
+
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
- * Created by johnmcclean on 12/01/2017.
+ * Emits elements until the time period has elapsed, and then completes. Completion is triggered either by the next
+ * element to arrive after the period, or by the shared HashedWheelTimer (via the shared virtual Thread executor), so the
+ * Stream completes on time even if no further elements arrive.
  */
 public class LimitWhileTimeOperator<T,R> extends BaseOperator<T,T> {
 
@@ -23,49 +28,117 @@ public class LimitWhileTimeOperator<T,R> extends BaseOperator<T,T> {
 
     @Override
     public StreamSubscription subscribe(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
-        final  long toRun = t.toNanos(time);
-        final  long start = System.nanoTime();
         StreamSubscription sub[] = {null};
-        sub[0] = source.subscribe(e-> {
-                    try {
-
-                        if(System.nanoTime()-start < toRun)
-                            onNext.accept(e);
-                        else{
-
-                            sub[0].cancel();
-                            onComplete.run();
-                        }
-                    } catch (Throwable t) {
-
-                        onError.accept(t);
-                    }
-                }
-                ,onError,onComplete);
-        return sub[0];
+        Expiry expiry = new Expiry(onNext,onError,onComplete,()->sub[0].cancel());
+        sub[0] = source.subscribe(expiry::onNext,expiry::onError,expiry::complete);
+        //the timer may cancel the upstream subscription, so it is only started once that has been assigned
+        expiry.start();
+        return new StreamSubscription(){
+            @Override
+            public void request(long n) {
+                sub[0].request(n);
+            }
+
+            @Override
+            public void cancel() {
+                expiry.stop();
+                sub[0].cancel();
+            }
+        };
     }
 
     @Override
     public void subscribeAll(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        Expiry expiry = new Expiry(onNext,onError,onCompleteDs,()->{});
+        expiry.start();
+        source.subscribeAll(expiry::onNext,expiry::onError,expiry::complete);
 
-        final  long toRun = t.toNanos(time);
-        final  long start = System.nanoTime();
-        source.subscribeAll(e-> {
-                    try {
-
-                        if(System.nanoTime()-start < toRun)
-                            onNext.accept(e);
-                        else{
-
-
-                            onCompleteDs.run();
-                        }
-                    } catch (Throwable t) {
-
-                        onError.accept(t);
-                    }
-                }
-                ,onError,onCompleteDs);
+    }
 
+    /*
+     * Completes once, either when the source completes or the timer fires. State changes are made while holding the
+     * lock, and the resulting signals are delivered after it is released.
+     */
+    private class Expiry {
+        private final SignalQueue<T> signals;
+        private final Runnable cancelUpstream;
+        private final long toRun = t.toNanos(time);
+        private final long start = System.nanoTime();
+        private HashedWheelTimer.Timeout timeout;
+        private boolean done = false;
+
+        Expiry(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete, Runnable cancelUpstream) {
+            this.signals = new SignalQueue<>(onNext,onError,onComplete);
+            this.cancelUpstream = cancelUpstream;
+        }
+
+        void start(){
+            HashedWheelTimer.Timeout scheduled = HashedWheelTimer.shared().schedule(this::expire,toRun-(System.nanoTime()-start),
+                                                                                    TimeUnit.NANOSECONDS,ThreadPools.getCommonVirtualThreadExecutor());
+            synchronized (this){
+                timeout = scheduled;
+                if(done)
+                    timeout.cancel();
+            }
+        }
+
+        void onNext(T e){
+            boolean expired = false;
+            synchronized (this){
+                if(done)
+                    return;
+                if(System.nanoTime()-start < toRun)
+                    signals.offerNext(e);
+                else
+                    expired = true;
+            }
+            if(expired)
+                expire();
+            else
+                signals.drain();
+        }
+
+        void onError(Throwable t){
+            synchronized (this){
+                if(done)
+                    return;
+                signals.offerError(t);
+            }
+            signals.drain();
+        }
+
+        void expire(){
+            if(!finish())
+                return;
+            cancelUpstream.run();
+            signals.drain();
+        }
+
+        void complete(){
+            if(finish())
+                signals.drain();
+        }
+
+        void stop(){
+            synchronized (this){
+                done = true;
+                if(timeout!=null)
+                    timeout.cancel();
+            }
+            signals.cancel();
+        }
+
+        /*
+         * returns true if this call completed the Stream
+         */
+        private synchronized boolean finish(){
+            if(done)
+                return false;
+            done = true;
+            if(timeout!=null)
+                timeout.cancel();
+            signals.offerComplete();
+            return true;
+        }
     }
 }
@@ -0,0 +1,216 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Collapses a run of unboxed map / filter / skip / limit stages into a single push stage
+ *
+ * @see FusedOperator
+ */
+public class LongFusedOperator implements LongOperator {
+
+    private final LongOperator source;
+    private final FusedStages stages;
+
+    private LongFusedOperator(LongOperator source, FusedStages stages){
+        this.source = source;
+        this.stages = stages;
+    }
+
+    public static LongOperator map(LongOperator source, LongUnaryOperator fn){
+        return fuse(source,FusedStages.MAP,fn,0);
+    }
+
+    public static LongOperator filter(LongOperator source, LongPredicate fn){
+        return fuse(source,FusedStages.FILTER,fn,0);
+    }
+
+    public static LongOperator skip(LongOperator source, long num){
+        return fuse(source,FusedStages.SKIP,null,num);
+    }
+
+    public static LongOperator limit(LongOperator source, long num){
+        return fuse(source,FusedStages.LIMIT,null,num);
+    }
+
+    private static LongOperator fuse(LongOperator source, byte kind, Object fn, long bound){
+        if(source instanceof LongFusedOperator){
+            LongFusedOperator fused = (LongFusedOperator)source;
+            return new LongFusedOperator(fused.source,fused.stages.append(kind,fn,bound));
+        }
+        return new LongFusedOperator(source,FusedStages.of(kind,fn,bound));
+    }
+
+    @Override
+    public StreamSubscription subscribe(LongConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        boolean[] completed = {false};
+        StreamSubscription[] upstream = {null};
+        Runnable drop = ()->upstream[0].request(1l);
+        Runnable complete = ()->{
+            if(!completed[0]) {
+                completed[0]=true;
+                upstream[0].cancel();
+                onComplete.run();
+            }
+        };
+        Sink head = sinks(onNext,drop,complete);
+        upstream[0] = source.subscribe(e-> {
+                    if(completed[0])
+                        return;
+                    try {
+                        head.accept(e);
+                    } catch (Throwable t) {
+
+                        onError.accept(t);
+                    }
+                }
+                ,onError,()->{
+                    if(!completed[0]) {
+                        completed[0]=true;
+                        onComplete.run();
+                    }
+                });
+        return upstream[0];
+    }
+
+    @Override
+    public void subscribeAll(LongConsumer onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        if(stages.limited){
+            //an upstream subscribeAll can't be stopped early, so request everything and cancel once the limit is reached
+            subscribe(onNext,onError,onCompleteDs).request(Long.MAX_VALUE);
+            return;
+        }
+        boolean[] completed = {false};
+        Runnable complete = ()->{
+            if(!completed[0]) {
+                completed[0]=true;
+                onCompleteDs.run();
+            }
+        };
+        Sink head = sinks(onNext,()->{},complete);
+        source.subscribeAll(e-> {
+                    if(completed[0])
+                        return;
+                    try {
+                        head.accept(e);
+                    } catch (Throwable t) {
+
+                        onError.accept(t);
+                    }
+                }
+                ,onError,complete);
+    }
+
+    private Sink sinks(LongConsumer onNext, Runnable drop, Runnable complete){
+        Sink next = new Sink(){
+            @Override
+            void accept(long e) {
+                onNext.accept(e);
+            }
+        };
+        for(int i=stages.size()-1;i>=0;i--){
+            switch(stages.kinds[i]){
+                case FusedStages.MAP:
+                    next = new MapSink((LongUnaryOperator)stages.fns[i],next);
+                    break;
+                case FusedStages.FILTER:
+                    next = new FilterSink((LongPredicate)stages.fns[i],drop,next);
+                    break;
+                case FusedStages.SKIP:
+                    next = new SkipSink(stages.bounds[i],drop,next);
+                    break;
+                case FusedStages.LIMIT:
+                    next = new LimitSink(stages.bounds[i],complete,next);
+                    break;
+            }
+        }
+        return next;
+    }
+
+    private static abstract class Sink {
+        abstract void accept(long e);
+    }
+
+    private static final class MapSink extends Sink {
+        private final LongUnaryOperator fn;
+        private final Sink next;
+
+        MapSink(LongUnaryOperator fn, Sink next) {
+            this.fn = fn;
+            this.next = next;
+        }
+
+        @Override
+        void accept(long e) {
+            next.accept(fn.applyAsLong(e));
+        }
+    }
+
+    private static final class FilterSink extends Sink {
+        private final LongPredicate fn;
+        private final Runnable drop;
+        private final Sink next;
+
+        FilterSink(LongPredicate fn, Runnable drop, Sink next) {
+            this.fn = fn;
+            this.drop = drop;
+            this.next = next;
+        }
+
+        @Override
+        void accept(long e) {
+            if(fn.test(e))
+                next.accept(e);
+            else
+                drop.run();
+        }
+    }
+
+    private static final class SkipSink extends Sink {
+        private final long skip;
+        private final Runnable drop;
+        private final Sink next;
+        private long count = 0;
+
+        SkipSink(long skip, Runnable drop, Sink next) {
+            this.skip = skip;
+            this.drop = drop;
+            this.next = next;
+        }
+
+        @Override
+        void accept(long e) {
+            if(count<skip){
+                count++;
+                drop.run();
+            }
+            else
+                next.accept(e);
+        }
+    }
+
+    private static final class LimitSink extends Sink {
+        private final long limit;
+        private final Runnable complete;
+        private final Sink next;
+        private long count = 0;
+
+        LimitSink(long limit, Runnable complete, Sink next) {
+            this.limit = limit;
+            this.complete = complete;
+            this.next = next;
+        }
+
+        @Override
+        void accept(long e) {
+            //complete as soon as the limit is reached, rather than on the next value (which may never arrive)
+            if(count<limit)
+                next.accept(e);
+            if(++count>=limit)
+                complete.run();
+        }
+    }
+}
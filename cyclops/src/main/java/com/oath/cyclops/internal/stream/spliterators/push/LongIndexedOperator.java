@@ -0,0 +1,120 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Emits size unboxed long values, the value at each index is computed by the supplied function (e.g. reading from an
+ * array or offsetting from the start of a range)
+ */
+public class LongIndexedOperator implements LongOperator {
+
+
+    final long size;
+    final LongUnaryOperator valueAt;
+
+    public LongIndexedOperator(long size, LongUnaryOperator valueAt){
+        this.size = size;
+        this.valueAt = valueAt;
+    }
+
+    public static LongIndexedOperator range(long start, long end){
+        return new LongIndexedOperator(Math.max(0,end-start),i->start+i);
+    }
+
+    public static LongIndexedOperator of(long... values){
+        return new LongIndexedOperator(values.length,i->values[(int)i]);
+    }
+
+    @Override
+    public StreamSubscription subscribe(LongConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        long[] index = {0};
+        AtomicBoolean completed = new AtomicBoolean(false);
+        StreamSubscription sub = new StreamSubscription(){
+            LongConsumer work =  n ->{
+                if(n==Long.MAX_VALUE) {
+                    pushAll();
+                    return;
+                }
+                long reqs = n;
+                long delivered = 0;
+                do {
+
+                    while (delivered < reqs && index[0] < size) {
+                        if (!isOpen)
+                            return;
+                        try {
+                            onNext.accept(valueAt.applyAsLong(index[0]++));
+                            delivered++;
+                        } catch (Throwable t) {
+                            onError.accept(t);
+                        }
+
+                    }
+                    if (index[0] == size) {
+                        if (!completed.get()) {
+                            completed.set(true);
+                            onComplete.run();
+
+                            return;
+                        }
+
+                    }
+                    reqs = requested.get();
+                    if(reqs==delivered) {
+                        reqs = requested.accumulateAndGet(delivered, (a, b) -> a - b);
+                        if(reqs==0)
+                            return;
+                        delivered=0;
+                    }
+                }while(true);
+
+            };
+            @Override
+            public void request(long n) {
+                if(n<=0) {
+                    onError.accept(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                    return;
+                }
+                singleActiveRequest(n,work);
+            }
+            private void pushAll() {
+                for(;index[0]<size;index[0]++){
+
+                    try {
+                        if(isOpen)
+                            onNext.accept(valueAt.applyAsLong(index[0]));
+                        else
+                            break;
+                    }catch(Throwable t){
+                        onError.accept(t);
+                    }
+                }
+                if(index[0]==size){
+                    if (!completed.get()) {
+                        completed.set(true);
+                        onComplete.run();
+                    }
+
+                }
+                requested.set(0);
+            }
+
+        };
+        return sub;
+    }
+
+    @Override
+    public void subscribeAll(LongConsumer onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        for (long i = 0; i < size; i++) {
+            try {
+                onNext.accept(valueAt.applyAsLong(i));
+            }catch(Throwable t){
+                onError.accept(t);
+            }
+        }
+        onCompleteDs.run();
+    }
+}
@@ -0,0 +1,17 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * A push based Operator that emits unboxed long values
+ *
+ * @see Operator
+ */
+public interface LongOperator {
+
+
+    public StreamSubscription subscribe(LongConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete);
+    public void subscribeAll(LongConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete);
+
+}
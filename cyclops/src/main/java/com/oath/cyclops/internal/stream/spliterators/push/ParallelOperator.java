@@ -0,0 +1,226 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.internal.stream.ReactiveStreamX;
+import cyclops.reactive.ReactiveSeq;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Splits the source into rails (via a RailSplitter), applies the rail pipeline to each rail and merges the rails
+ * back into a single Stream. Each rail is requested from in batches of prefetch elements.
+ *
+ * An unordered merge emits elements as soon as any rail has one available. An ordered merge restores the order of
+ * the source Stream, by only emitting once every active rail has an element available (and then emitting the element
+ * with the lowest source index). Rails emit a skipped marker in place of each element they remove, which the merge
+ * consumes without emitting, so a rail whose elements are all filtered out still lets the ordered merge advance.
+ */
+public class ParallelOperator<T,R> implements Operator<R> {
+
+    private final Operator<T> source;
+    private final int rails;
+    private final Function<? super T, ?> key;
+    private final Executor executor;
+    private final int prefetch;
+    private final Function<? super ReactiveSeq<Indexed<T>>, ? extends ReactiveSeq<Indexed<R>>> pipeline;
+    private final boolean ordered;
+
+    public ParallelOperator(Operator<T> source, int rails, Function<? super T, ?> key, Executor executor, int prefetch,
+                            Function<? super ReactiveSeq<Indexed<T>>, ? extends ReactiveSeq<Indexed<R>>> pipeline,
+                            boolean ordered) {
+        this.source = source;
+        this.rails = rails;
+        this.key = key;
+        this.executor = executor;
+        this.prefetch = prefetch;
+        this.pipeline = pipeline;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        RailSplitter<T> splitter = new RailSplitter<>(source,rails,key,executor,prefetch);
+        MergeSubscription merge = new MergeSubscription(onNext,onError,onComplete);
+        for(int i=0;i<rails;i++){
+            ReactiveSeq<Indexed<R>> rail = pipeline.apply(new ReactiveStreamX<>(splitter.rail(i), ReactiveStreamX.Type.BACKPRESSURE));
+            Operator<Indexed<R>> op = rail instanceof ReactiveStreamX ? ((ReactiveStreamX<Indexed<R>>)rail).getSource()
+                                                                       : new PublisherToOperator<>(rail);
+            RailInput input = merge.inputs[i];
+            input.sub = op.subscribe(e->{
+                input.queue.offer(e);
+                merge.drain();
+            },t->{
+                input.queue.offer(new ErrorSignal(t));
+                merge.drain();
+            },()->{
+                input.done = true;
+                merge.drain();
+            });
+        }
+        splitter.connect();
+        return merge;
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        subscribe(onNext,onError,onCompleteDs).request(Long.MAX_VALUE);
+    }
+
+    private class RailInput {
+        final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+        volatile StreamSubscription sub;
+        volatile boolean done = false;
+        long emitted = 0;
+    }
+
+    private class MergeSubscription extends StreamSubscription {
+        final RailInput[] inputs = new ParallelOperator.RailInput[rails];
+        final AtomicInteger wip = new AtomicInteger(0);
+        final AtomicBoolean started = new AtomicBoolean(false);
+        final int limit = Math.max(1,prefetch - (prefetch>>2));
+        final Consumer<? super R> onNext;
+        final Consumer<? super Throwable> onError;
+        final Runnable onComplete;
+        int next = 0;
+
+        MergeSubscription(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+            for(int i=0;i<rails;i++)
+                inputs[i] = new RailInput();
+        }
+
+        @Override
+        public void request(long n) {
+            if(n<=0) {
+                onError.accept(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                return;
+            }
+            if(!isOpen)
+                return;
+            super.request(n);
+            if(started.compareAndSet(false,true)){
+                for(RailInput input : inputs)
+                    input.sub.request(prefetch);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            for(RailInput input : inputs) {
+                input.sub.cancel();
+                input.queue.clear();
+            }
+        }
+
+        void drain(){
+            if(wip.getAndIncrement()!=0)
+                return;
+            int missed = 1;
+            for(;;){
+                for(;;){
+                    if(!isOpen)
+                        return;
+                    if(!forwardErrors())
+                        continue;
+                    if(requested.get()<=0)
+                        break;
+                    RailInput input = ordered ? lowestIndex() : nextAvailable();
+                    if(input==null)
+                        break;
+                    Indexed<R> value = (Indexed<R>)input.queue.poll();
+                    if(!value.isSkipped()) {
+                        requested.decrementAndGet();
+                        onNext.accept(value.value);
+                    }
+                    if(++input.emitted==limit){
+                        input.emitted = 0;
+                        input.sub.request(limit);
+                    }
+                }
+                if(allDone()){
+                    isOpen = false;
+                    onComplete.run();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+                if(missed==0)
+                    return;
+            }
+        }
+
+        /*
+         * Errors are forwarded as soon as they reach the head of a rail queue, returns true if none were found
+         */
+        private boolean forwardErrors(){
+            boolean none = true;
+            for(RailInput input : inputs){
+                Object head = input.queue.peek();
+                if(head instanceof ErrorSignal){
+                    input.queue.poll();
+                    onError.accept(((ErrorSignal)head).error);
+                    none = false;
+                }
+            }
+            return none;
+        }
+
+        private RailInput nextAvailable(){
+            for(int i=0;i<rails;i++){
+                RailInput input = inputs[next];
+                next = next+1==rails ? 0 : next+1;
+                Object head = input.queue.peek();
+                if(head!=null && !(head instanceof ErrorSignal))
+                    return input;
+            }
+            return null;
+        }
+
+        private RailInput lowestIndex(){
+            RailInput lowest = null;
+            long lowestIndex = Long.MAX_VALUE;
+            for(RailInput input : inputs){
+                //check done before peeking, so that an element emitted just before completion is not missed
+                boolean done = input.done;
+                Object head = input.queue.peek();
+                if(head==null){
+                    if(done)
+                        continue;
+                    return null;
+                }
+                //an error arrived after errors were forwarded, it will be picked up on the next pass
+                if(head instanceof ErrorSignal)
+                    return null;
+                long index = ((Indexed<R>)head).index;
+                if(index<lowestIndex){
+                    lowestIndex = index;
+                    lowest = input;
+                }
+            }
+            return lowest;
+        }
+
+        private boolean allDone(){
+            for(RailInput input : inputs){
+                if(!input.done || !input.queue.isEmpty())
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    private static class ErrorSignal{
+        final Throwable error;
+        ErrorSignal(Throwable error){
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Splits a single subscription to a source Operator across a fixed number of rails, either round-robin or by key.
+ * Each rail buffers the elements assigned to it and emits them according to its own demand, on the supplied Executor
+ * if there is one (or on the calling thread otherwise).
+ *
+ * Upstream demand is shared : rails * prefetch elements are requested up front, and replenished in batches as rails
+ * emit, so a stalled rail eventually stalls the source rather than buffering without bound.
+ *
+ * A RailSplitter is single use, a new instance should be created for each subscription.
+ */
+public class RailSplitter<T> {
+
+    private final Operator<T> source;
+    private final Function<? super T, ?> key;
+    private final Executor executor;
+    private final Rail[] rails;
+    private final long total;
+    private final long limit;
+    private final AtomicLong consumed = new AtomicLong(0);
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicInteger cancelled = new AtomicInteger(0);
+    private volatile StreamSubscription upstream;
+    private long index = 0;
+
+    /**
+     * @param source Source to split
+     * @param rails Number of rails
+     * @param key Key used to assign elements to rails, or null for round-robin assignment
+     * @param executor Executor to emit on, or null to emit on the calling thread
+     * @param prefetch Number of elements to buffer per rail
+     */
+    public RailSplitter(Operator<T> source, int rails, Function<? super T, ?> key, Executor executor, int prefetch) {
+        this.source = source;
+        this.key = key;
+        this.executor = executor;
+        this.rails = new RailSplitter.Rail[rails];
+        this.total = (long)rails * prefetch;
+        this.limit = Math.max(1,total - (total>>2));
+    }
+
+    public Operator<Indexed<T>> rail(int index){
+        return new RailOperator(index);
+    }
+
+    /**
+     * Subscribe to the source, should be called once subscriptions to every rail have been made
+     */
+    public void connect(){
+        upstream = source.subscribe(e->{
+            long next = index++;
+            int rail = key == null ? (int)(next % rails.length) : Math.floorMod(Objects.hashCode(key.apply(e)), rails.length);
+            rails[rail].offer(new Indexed<>(next,e));
+        },t->{
+            rails[(int)(index % rails.length)].offer(new ErrorSignal(t));
+        },()->{
+            for(Rail rail : rails)
+                rail.complete();
+        });
+    }
+
+    private void start(){
+        if(started.compareAndSet(false,true))
+            upstream.request(total);
+    }
+
+    private void consumed(){
+        if(consumed.incrementAndGet() % limit == 0)
+            upstream.request(limit);
+    }
+
+    private class RailOperator implements Operator<Indexed<T>> {
+        private final int index;
+
+        RailOperator(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public StreamSubscription subscribe(Consumer<? super Indexed<T>> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            Rail rail = new Rail(onNext,onError,onComplete);
+            rails[index] = rail;
+            return rail;
+        }
+
+        @Override
+        public void subscribeAll(Consumer<? super Indexed<T>> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+            subscribe(onNext,onError,onCompleteDs).request(Long.MAX_VALUE);
+        }
+    }
+
+    private class Rail extends StreamSubscription implements Runnable {
+        final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger wip = new AtomicInteger(0);
+        final Consumer<? super Indexed<T>> onNext;
+        final Consumer<? super Throwable> onError;
+        final Runnable onComplete;
+        volatile boolean done = false;
+
+        Rail(Consumer<? super Indexed<T>> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+        }
+
+        void offer(Object next){
+            queue.offer(next);
+            signal();
+        }
+
+        void complete(){
+            done = true;
+            signal();
+        }
+
+        @Override
+        public void request(long n) {
+            if(n<=0) {
+                onError.accept(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                return;
+            }
+            if(!isOpen)
+                return;
+            super.request(n);
+            start();
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            queue.clear();
+            if(cancelled.incrementAndGet()==rails.length)
+                upstream.cancel();
+        }
+
+        void signal(){
+            if(wip.getAndIncrement()!=0)
+                return;
+            if(executor==null)
+                run();
+            else
+                executor.execute(this);
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for(;;){
+                for(;;){
+                    if(!isOpen)
+                        return;
+                    Object next = queue.peek();
+                    if(next==null)
+                        break;
+                    if(next instanceof ErrorSignal){
+                        queue.poll();
+                        onError.accept(((ErrorSignal)next).error);
+                        consumed();
+                        continue;
+                    }
+                    if(requested.get()<=0)
+                        break;
+                    queue.poll();
+                    requested.decrementAndGet();
+                    try {
+                        onNext.accept((Indexed<T>)next);
+                    }catch(Throwable t){
+                        onError.accept(t);
+                    }
+                    consumed();
+                }
+                if(done && queue.isEmpty()){
+                    isOpen = false;
+                    onComplete.run();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+                if(missed==0)
+                    return;
+            }
+        }
+    }
+
+    private static class ErrorSignal{
+        final Throwable error;
+        ErrorSignal(Throwable error){
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.async.HashedWheelTimer;
+import com.oath.cyclops.react.ThreadPools;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking rate limiter : elements are only emitted while tokens remain in a bucket that is refilled
+ * periodically by the shared HashedWheelTimer. No Thread is parked while waiting for the next permit, instead emission
+ * resumes on ThreadPools' shared virtual Thread executor (never on the timer Thread) once the bucket has been refilled.
+ *
+ * A token bucket (starts full, capacity = permits, refilled in full each period) allows bursts of up to permits elements.
+ * A leaky bucket (starts with a single token, capacity = 1, refilled every period / permits) spaces elements out evenly.
+ * Both emit the first element immediately, as the blocking onePer / xPer operators they replace did.
+ *
+ * Refills are calculated from the time elapsed. Where the refill period is shorter than the timer tick (e.g. a leaky
+ * bucket of more than 1000 permits per second) the timer refills once per tick, releasing every token earned since
+ * the previous refill, so the rate is honoured with elements spaced evenly from tick to tick.
+ *
+ * Upstream demand is capped at the bucket capacity (or the tokens earned per tick, if larger), so at most one bucket's
+ * worth of elements is buffered.
+ */
+public class RateLimitOperator<T> extends BaseOperator<T,T> {
+
+    private static final Object NULL = new Object();
+
+    private final long capacity;
+    private final long initialTokens;
+    private final long refillAmount;
+    private final long refillNanos;
+    private final boolean subTick;
+    private final long burst;
+
+    public RateLimitOperator(Operator<T> source, long capacity, long initialTokens, long refillAmount, long refillNanos){
+        super(source);
+        if(capacity<=0 || refillAmount<=0 || refillNanos<=0)
+            throw new IllegalArgumentException("Rate limit capacity, refill amount and refill period must be positive");
+        this.capacity = capacity;
+        this.initialTokens = Math.min(capacity,Math.max(0,initialTokens));
+        this.refillAmount = refillAmount;
+        this.refillNanos = refillNanos;
+        long tickNanos = HashedWheelTimer.shared().tickNanos();
+        this.subTick = refillNanos < tickNanos;
+        long perTick = (tickNanos + refillNanos - 1) / refillNanos;
+        this.burst = subTick ? Math.max(capacity, perTick > Long.MAX_VALUE / refillAmount ? Long.MAX_VALUE
+                                                                                             : perTick * refillAmount)
+                             : capacity;
+    }
+
+    public static <T> RateLimitOperator<T> tokenBucket(Operator<T> source, long permits, long per, TimeUnit unit){
+        return new RateLimitOperator<>(source,permits,permits,permits,unit.toNanos(per));
+    }
+
+    public static <T> RateLimitOperator<T> leakyBucket(Operator<T> source, long permits, long per, TimeUnit unit){
+        return new RateLimitOperator<>(source,1,1,1,Math.max(1,unit.toNanos(per)/permits));
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        RateLimitedSubscription sub = new RateLimitedSubscription(onNext,onError,onComplete);
+        sub.upstream = source.subscribe(e-> {
+                    sub.buffer.offer(e==null ? NULL : e);
+                    sub.drain();
+                }
+                ,t->{
+                    sub.buffer.offer(new ErrorSignal(t));
+                    sub.drain();
+                },()->{
+                    sub.done = true;
+                    sub.drain();
+                });
+        sub.startTimer();
+        return sub;
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        subscribe(onNext,onError,onCompleteDs).request(Long.MAX_VALUE);
+    }
+
+    private class RateLimitedSubscription extends StreamSubscription {
+        final Queue<Object> buffer = new ConcurrentLinkedQueue<>();
+        final AtomicLong tokens = new AtomicLong(initialTokens);
+        final AtomicLong inFlight = new AtomicLong(0);
+        final AtomicInteger wip = new AtomicInteger(0);
+        final Consumer<? super T> onNext;
+        final Consumer<? super Throwable> onError;
+        final Runnable onComplete;
+        volatile StreamSubscription upstream;
+        volatile HashedWheelTimer.Timeout refill;
+        volatile boolean done = false;
+        //only accessed from timer tasks, which run one at a time as each schedules the next
+        long lastRefill;
+
+        RateLimitedSubscription(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public void request(long n) {
+            if(n<=0) {
+                onError.accept(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                return;
+            }
+            if(!isOpen)
+                return;
+            super.request(n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            stopTimer();
+            upstream.cancel();
+            buffer.clear();
+        }
+
+        void startTimer(){
+            lastRefill = System.nanoTime();
+            scheduleRefill(refillNanos);
+        }
+
+        private void scheduleRefill(long delayNanos){
+            if(!isOpen)
+                return;
+            refill = HashedWheelTimer.shared().schedule(this::refill,delayNanos,TimeUnit.NANOSECONDS,
+                                                        ThreadPools.getCommonVirtualThreadExecutor());
+            if(!isOpen)
+                stopTimer();
+        }
+
+        void refill(){
+            long now = System.nanoTime();
+            long periods = (now - lastRefill) / refillNanos;
+            if(periods>0){
+                lastRefill += periods * refillNanos;
+                long earned = periods > Long.MAX_VALUE / refillAmount ? Long.MAX_VALUE : periods * refillAmount;
+                //sub-tick refills release everything earned since the last refill, which may exceed the capacity
+                long limit = subTick ? Math.max(burst,earned) : capacity;
+                tokens.accumulateAndGet(earned,(current,amount)->amount >= limit - current ? limit : current+amount);
+            }
+            scheduleRefill(lastRefill + refillNanos - now);
+            drain();
+        }
+
+        void stopTimer(){
+            HashedWheelTimer.Timeout t = refill;
+            if(t!=null)
+                t.cancel();
+        }
+
+        void drain(){
+            if(wip.getAndIncrement()!=0)
+                return;
+            int missed = 1;
+            for(;;){
+                for(;;){
+                    if(!isOpen)
+                        return;
+                    Object next = buffer.peek();
+                    if(next==null)
+                        break;
+                    if(next instanceof ErrorSignal){
+                        buffer.poll();
+                        inFlight.decrementAndGet();
+                        onError.accept(((ErrorSignal)next).error);
+                        continue;
+                    }
+                    if(requested.get()<=0 || tokens.get()<=0)
+                        break;
+                    buffer.poll();
+                    tokens.decrementAndGet();
+                    inFlight.decrementAndGet();
+                    requested.decrementAndGet();
+                    try {
+                        onNext.accept(next == NULL ? null : (T) next);
+                    }catch(Throwable t){
+                        onError.accept(t);
+                    }
+                }
+                if(done && buffer.isEmpty()){
+                    isOpen = false;
+                    stopTimer();
+                    onComplete.run();
+                    return;
+                }
+                if(!done){
+                    long want = Math.min(requested.get(), burst) - inFlight.get();
+                    if(want>0){
+                        inFlight.addAndGet(want);
+                        upstream.request(want);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if(missed==0)
+                    return;
+            }
+        }
+    }
+
+    private static class ErrorSignal{
+        final Throwable error;
+        ErrorSignal(Throwable error){
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.async.HashedWheelTimer;
+import com.oath.cyclops.react.ThreadPools;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Emits only the latest element received, at points in time determined by the shared HashedWheelTimer.
+ *
+ * When sampling (throttleLast) the latest element (if any) is emitted at the end of each fixed time period.
+ * When debouncing (debounceLast) an element is only emitted once the time period has passed without a newer element
+ * arriving, each new element restarts the period.
+ *
+ * Elements are requested from upstream without bound (elements that are superseded are dropped). A due element that
+ * can't be emitted for lack of demand is held until requested (when sampling it is replaced by the next sample). The
+ * latest element is emitted before completion.
+ *
+ * Timer driven emissions are made on ThreadPools' shared virtual Thread executor rather than the timer Thread, and are
+ * serialised with those made on request or completion by a drain loop.
+ */
+public class SampleOperator<T> extends BaseOperator<T,T> {
+
+    private static final Object NULL = new Object();
+    private static final Object EMPTY = new Object();
+
+    private final long periodNanos;
+    private final boolean restartOnElement;
+
+    private SampleOperator(Operator<T> source, long time, TimeUnit unit, boolean restartOnElement){
+        super(source);
+        if(time<=0)
+            throw new IllegalArgumentException("Time period must be positive");
+        this.periodNanos = unit.toNanos(time);
+        this.restartOnElement = restartOnElement;
+    }
+
+    public static <T> SampleOperator<T> sample(Operator<T> source, long time, TimeUnit unit){
+        return new SampleOperator<>(source,time,unit,false);
+    }
+
+    public static <T> SampleOperator<T> debounce(Operator<T> source, long time, TimeUnit unit){
+        return new SampleOperator<>(source,time,unit,true);
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        SampleSubscription sub = new SampleSubscription(onNext,onError,onComplete);
+        sub.upstream = source.subscribe(sub::onNext
+                ,t->{
+                    sub.errors.offer(t);
+                    sub.drain();
+                },()->{
+                    sub.done = true;
+                    sub.drain();
+                });
+        return sub;
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        subscribe(onNext,onError,onCompleteDs).request(Long.MAX_VALUE);
+    }
+
+    private class SampleSubscription extends StreamSubscription {
+        final AtomicReference<Object> latest = new AtomicReference<>(EMPTY);
+        final AtomicReference<Object> due = new AtomicReference<>(EMPTY);
+        final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        final AtomicInteger wip = new AtomicInteger(0);
+        final Consumer<? super T> onNext;
+        final Consumer<? super Throwable> onError;
+        final Runnable onComplete;
+        volatile StreamSubscription upstream;
+        volatile HashedWheelTimer.Timeout timeout;
+        volatile boolean done = false;
+        final AtomicBoolean started = new AtomicBoolean(false);
+        final Object lock = new Object();
+        long generation = 0;
+
+        SampleSubscription(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public void request(long n) {
+            if(n<=0) {
+                onError.accept(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                return;
+            }
+            if(!isOpen)
+                return;
+            super.request(n);
+            start();
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            stopTimer();
+            upstream.cancel();
+            latest.set(EMPTY);
+            due.set(EMPTY);
+        }
+
+        void onNext(T e){
+            Object next = e==null ? NULL : e;
+            if(restartOnElement){
+                long generation;
+                synchronized (lock){
+                    generation = ++this.generation;
+                    latest.set(next);
+                }
+                stopTimer();
+                schedule(generation);
+            }else{
+                latest.set(next);
+            }
+        }
+
+        private void start(){
+            if(!started.compareAndSet(false,true))
+                return;
+            if(!restartOnElement)
+                schedule(0);
+            upstream.request(Long.MAX_VALUE);
+        }
+
+        private void schedule(long expected){
+            if(!isOpen || done)
+                return;
+            timeout = HashedWheelTimer.shared().schedule(()->fire(expected),periodNanos,TimeUnit.NANOSECONDS,
+                                                         ThreadPools.getCommonVirtualThreadExecutor());
+        }
+
+        private void fire(long expected){
+            if(restartOnElement){
+                //only emit if no newer element has arrived since this timer was scheduled
+                synchronized (lock){
+                    if(generation==expected)
+                        due.set(latest.getAndSet(EMPTY));
+                }
+            }else{
+                Object next = latest.getAndSet(EMPTY);
+                if(next!=EMPTY)
+                    due.set(next);
+                schedule(0);
+            }
+            drain();
+        }
+
+        private void stopTimer(){
+            HashedWheelTimer.Timeout t = timeout;
+            if(t!=null)
+                t.cancel();
+        }
+
+        void drain(){
+            if(wip.getAndIncrement()!=0)
+                return;
+            int missed = 1;
+            for(;;){
+                if(!isOpen)
+                    return;
+                Throwable error;
+                while((error=errors.poll())!=null)
+                    onError.accept(error);
+                while(requested.get()>0){
+                    Object next = due.getAndSet(EMPTY);
+                    if(next==EMPTY && done)
+                        next = latest.getAndSet(EMPTY);
+                    if(next==EMPTY)
+                        break;
+                    requested.decrementAndGet();
+                    try {
+                        onNext.accept(next == NULL ? null : (T) next);
+                    } catch (Throwable t) {
+                        onError.accept(t);
+                    }
+                }
+                if(done && due.get()==EMPTY && latest.get()==EMPTY && errors.isEmpty()){
+                    isOpen = false;
+                    stopTimer();
+                    onComplete.run();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+                if(missed==0)
+                    return;
+            }
+        }
+    }
+}
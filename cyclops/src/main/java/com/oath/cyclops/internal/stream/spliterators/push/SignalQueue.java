@@ -0,0 +1,90 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Serialises the downstream signals of an operator that emits from more than one Thread (e.g. the emitting Thread
+ * and a timer task), without holding a lock while they are delivered.
+ *
+ * Signals are offered (typically while holding the operator's own lock, so they are queued in the order its state
+ * changed) and then delivered by drain, outside of the lock. drain acts as a trampoline : the first Thread to call it
+ * delivers every queued signal, including those offered concurrently by other Threads, which return immediately.
+ * Nothing is delivered after onComplete or cancel.
+ */
+final class SignalQueue<T> {
+
+    private static final Object NULL = new Object();
+    private static final Object COMPLETE = new Object();
+
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger(0);
+    private final Consumer<? super T> onNext;
+    private final Consumer<? super Throwable> onError;
+    private final Runnable onComplete;
+    private volatile boolean terminated = false;
+
+    SignalQueue(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        this.onNext = onNext;
+        this.onError = onError;
+        this.onComplete = onComplete;
+    }
+
+    void offerNext(T value){
+        queue.offer(value==null ? NULL : value);
+    }
+
+    void offerError(Throwable error){
+        queue.offer(new ErrorSignal(error));
+    }
+
+    void offerComplete(){
+        queue.offer(COMPLETE);
+    }
+
+    /**
+     * Discard queued signals and stop delivering
+     */
+    void cancel(){
+        terminated = true;
+        queue.clear();
+    }
+
+    void drain(){
+        if(wip.getAndIncrement()!=0)
+            return;
+        int missed = 1;
+        for(;;){
+            Object next;
+            while((next=queue.poll())!=null){
+                if(terminated)
+                    continue;
+                if(next==COMPLETE){
+                    terminated = true;
+                    onComplete.run();
+                }else if(next instanceof ErrorSignal){
+                    onError.accept(((ErrorSignal)next).error);
+                }else{
+                    try {
+                        onNext.accept(next == NULL ? null : (T) next);
+                    } catch (Throwable t) {
+                        onError.accept(t);
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if(missed==0)
+                return;
+        }
+    }
+
+    private static final class ErrorSignal {
+        final Throwable error;
+
+        ErrorSignal(Throwable error) {
+            this.error = error;
+        }
+    }
+}
@@ -4,7 +4,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
- * Created by johnmcclean on 12/01/2017.
+ * Drops elements until the time period has elapsed. Once the period has elapsed the system clock is no longer checked
+ * for each element.
  */
 public class SkipWhileTimeOperator<T,R> extends BaseOperator<T,T> {
 
@@ -26,7 +27,7 @@ public class SkipWhileTimeOperator<T,R> extends BaseOperator<T,T> {
     public StreamSubscription subscribe(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
         final  long toRun = t.toNanos(time);
         long start = System.nanoTime();
-
+        boolean[] open = {false};
         StreamSubscription sub[] = {null};
         StreamSubscription res = new StreamSubscription(){
             @Override
@@ -43,7 +44,7 @@ public class SkipWhileTimeOperator<T,R> extends BaseOperator<T,T> {
         };
         sub[0] = source.subscribe(e-> {
                     try {
-                        if(System.nanoTime()-start >= toRun){
+                        if(open[0] || (open[0] = System.nanoTime()-start >= toRun)){
                             onNext.accept(e);
                         }else{
                             sub[0].request(1l);
@@ -63,9 +64,10 @@ public class SkipWhileTimeOperator<T,R> extends BaseOperator<T,T> {
     public void subscribeAll(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
         final  long toRun = t.toNanos(time);
         long start = System.nanoTime();
+        boolean[] open = {false};
         source.subscribeAll(e->{
             try {
-                if (System.nanoTime() - start >= toRun) {
+                if (open[0] || (open[0] = System.nanoTime() - start >= toRun)) {
                     onNext.accept(e);
                 }
             }catch (Throwable t) {
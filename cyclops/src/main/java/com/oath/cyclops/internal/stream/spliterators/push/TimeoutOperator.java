@@ -0,0 +1,139 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.async.HashedWheelTimer;
+import com.oath.cyclops.react.ThreadPools;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Signals a TimeoutException (and then completes) if the time period passes without an element arriving, measured
+ * from subscription and then from each element. The timeouts are tracked by the shared HashedWheelTimer (and handled
+ * on ThreadPools' shared virtual Thread executor, rather than the timer Thread), and the upstream subscription is
+ * cancelled when one fires.
+ */
+public class TimeoutOperator<T> extends BaseOperator<T,T> {
+
+    private final long time;
+    private final TimeUnit unit;
+
+    public TimeoutOperator(Operator<T> source, long time, TimeUnit unit){
+        super(source);
+        if(time<=0)
+            throw new IllegalArgumentException("Timeout must be positive");
+        this.time = time;
+        this.unit = unit;
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        StreamSubscription sub[] = {null};
+        Watchdog watchdog = new Watchdog(onNext,onError,onComplete,()->sub[0].cancel());
+        sub[0] = source.subscribe(watchdog::onNext,watchdog::onError,watchdog::complete);
+        watchdog.start();
+        return new StreamSubscription(){
+            @Override
+            public void request(long n) {
+                sub[0].request(n);
+            }
+
+            @Override
+            public void cancel() {
+                watchdog.stop();
+                sub[0].cancel();
+            }
+        };
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        subscribe(onNext,onError,onCompleteDs).request(Long.MAX_VALUE);
+    }
+
+    /*
+     * Restarts the timeout on each element. State changes are made under the lock, as the timeout fires on another
+     * Thread, and the resulting signals are delivered via a SignalQueue once it has been released.
+     */
+    private class Watchdog {
+        private final SignalQueue<T> signals;
+        private final Runnable cancelUpstream;
+        private HashedWheelTimer.Timeout timeout;
+        private long generation = 0;
+        private boolean done = false;
+
+        Watchdog(Consumer<? super T> onNext, Consumer<? super Throwable> onError, Runnable onComplete, Runnable cancelUpstream) {
+            this.signals = new SignalQueue<>(onNext,onError,onComplete);
+            this.cancelUpstream = cancelUpstream;
+        }
+
+        /*
+         * Starts the first timeout, called once the upstream subscription has been assigned (so that it can be
+         * cancelled if the timeout fires)
+         */
+        synchronized void start(){
+            if(!done && timeout==null)
+                schedule();
+        }
+
+        private void schedule(){
+            long expected = ++generation;
+            timeout = HashedWheelTimer.shared().schedule(()->expire(expected),time,unit,
+                                                         ThreadPools.getCommonVirtualThreadExecutor());
+        }
+
+        void onNext(T e){
+            synchronized (this) {
+                if (done)
+                    return;
+                if (timeout != null)
+                    timeout.cancel();
+                signals.offerNext(e);
+                schedule();
+            }
+            signals.drain();
+        }
+
+        void onError(Throwable t){
+            synchronized (this) {
+                if (done)
+                    return;
+                signals.offerError(t);
+            }
+            signals.drain();
+        }
+
+        void expire(long expected){
+            synchronized (this) {
+                if (done || expected != generation)
+                    return;
+                done = true;
+                signals.offerError(new TimeoutException("No element received within " + time + " " + unit));
+                signals.offerComplete();
+            }
+            cancelUpstream.run();
+            signals.drain();
+        }
+
+        void complete(){
+            synchronized (this) {
+                if (done)
+                    return;
+                done = true;
+                if (timeout != null)
+                    timeout.cancel();
+                signals.offerComplete();
+            }
+            signals.drain();
+        }
+
+        void stop(){
+            synchronized (this) {
+                done = true;
+                if (timeout != null)
+                    timeout.cancel();
+            }
+            signals.cancel();
+        }
+    }
+}
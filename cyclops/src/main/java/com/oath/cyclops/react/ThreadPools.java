@@ -1,9 +1,14 @@
 package com.oath.cyclops.react;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import com.oath.cyclops.util.ExceptionSoftener;
 
 import lombok.Getter;
 
@@ -22,6 +27,11 @@ public class ThreadPools {
                                                                         1);
 
 
+    private static final Supplier<ExecutorService> virtualThreadFactory = virtualThreadFactory();
+
+    @Getter
+    private static final ExecutorService commonVirtualThreadExecutor = virtualThreadFactory.get();
+
     @Getter
     private static final ScheduledExecutorService commonSchedular = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
     @Getter
@@ -73,6 +83,50 @@ public class ThreadPools {
     }
 
 
+    /**
+     * @return Executor that runs each task on its own virtual thread when running on JDK 21+.
+     *         On earlier JDKs an unbounded, caching Executor of daemon platform threads is used instead.
+     *         Uses a shared instance if @see {@link ThreadPools#isUseCommon()} is true
+     */
+    public static ExecutorService getVirtualThreadExecutor() {
+        if (useCommon)
+            return commonVirtualThreadExecutor;
+        return virtualThreadFactory.get();
+    }
+
+    /**
+     * @return true if tasks submitted to {@link ThreadPools#getVirtualThreadExecutor()} will run on virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return virtualThreadMethod() != null;
+    }
+
+    private static Method virtualThreadMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (final NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Supplier<ExecutorService> virtualThreadFactory() {
+        final Method virtual = virtualThreadMethod();
+        if (virtual != null) {
+            return () -> {
+                try {
+                    return (ExecutorService) virtual.invoke(null);
+                } catch (final ReflectiveOperationException e) {
+                    throw ExceptionSoftener.throwSoftenedException(e);
+                }
+            };
+        }
+        return () -> Executors.newCachedThreadPool(r -> {
+            final Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
     public static Executor getLazyExecutor() {
         if (useCommon)
             return commonLazyExecutor;
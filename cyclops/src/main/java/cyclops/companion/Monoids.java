@@ -74,6 +74,9 @@ public interface Monoids {
     static <T> Monoid<LazyString> lazyStringConcat() {
         return Monoid.of(LazyString.empty(),Semigroups.persistentCollectionConcat());
     }
+    static Monoid<Rope> ropeConcat() {
+        return Monoid.of(Rope.empty(),Semigroups.ropeConcat());
+    }
 
     /**
      * Example sum integer Maybes
@@ -206,4 +206,88 @@ public class Reducers {
         return Reducer.of(0.0, a -> b -> a + 1, (x) -> Double.valueOf("" + x));
     }
 
+    /**
+     * Reducer that keeps the k greatest values (according to the comparator) in O(n log k) time and O(k) space.
+     * Partial results can be combined in any order, so it can be used to fold parallel Streams.
+     *
+     * The result is a binary heap stored in a Vector: the element at index 0 is the smallest of those kept, the
+     * rest are not sorted.
+     *
+     * <pre>
+     * {@code
+     * Vector<Integer> top3 = Reducers.<Integer>topK(3,Comparator.naturalOrder())
+     *                                .foldMap(Stream.of(5,1,9,3,7).parallel());
+     *
+     * top3.sorted(Comparator.reverseOrder());
+     * //[9,7,5]
+     * }
+     * </pre>
+     *
+     * @param k Number of values to keep
+     * @param c Comparator to rank values with
+     * @return Reducer to a heap of the k greatest values
+     * @throws IllegalArgumentException if k is negative
+     */
+    public static <T> Reducer<Vector<T>,T> topK(final int k, final Comparator<? super T> c) {
+        if (k < 0)
+            throw new IllegalArgumentException("k must not be negative, was " + k);
+        if (k == 0)
+            return Reducer.of(Vector.empty(), (a, b) -> a, x -> Vector.empty());
+        return Reducer.of(Vector.empty(), (a, b) -> {
+            Vector<T> heap = a.size() >= b.size() ? a : b;
+            for (T next : (heap == a ? b : a))
+                heap = offer(heap, next, k, c);
+            return heap;
+        }, x -> Vector.of(x));
+    }
+
+    /**
+     * @see Reducers#topK(int, Comparator)
+     * @return Reducer to a heap of the k smallest values (the element at index 0 is the greatest of them)
+     */
+    public static <T> Reducer<Vector<T>,T> bottomK(final int k, final Comparator<? super T> c) {
+        return topK(k, c.reversed());
+    }
+
+    /*
+     * Adds next to a persistent min-heap of at most k values, displacing the smallest value once the heap is full
+     */
+    private static <T> Vector<T> offer(Vector<T> heap, final T next, final int k, final Comparator<? super T> c) {
+        int size = heap.size();
+        if (size < k) {
+            int pos = size;
+            heap = heap.plus(next);
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                T p = heap.getOrElse(parent, null);
+                if (c.compare(next, p) >= 0)
+                    break;
+                heap = heap.updateAt(pos, p);
+                pos = parent;
+            }
+            return heap.updateAt(pos, next);
+        }
+        if (c.compare(next, heap.getOrElse(0, null)) <= 0)
+            return heap;
+        int pos = 0;
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size)
+                break;
+            T smallest = heap.getOrElse(child, null);
+            if (child + 1 < size) {
+                T right = heap.getOrElse(child + 1, null);
+                if (c.compare(right, smallest) < 0) {
+                    smallest = right;
+                    child++;
+                }
+            }
+            if (c.compare(next, smallest) <= 0)
+                break;
+            heap = heap.updateAt(pos, smallest);
+            pos = child;
+        }
+        return heap.updateAt(pos, next);
+    }
+
 }
@@ -88,6 +88,9 @@ public interface Semigroups {
     static <T> Semigroup<LazyString> lazyStringConcat() {
       return Semigroups.persistentCollectionConcat();
     }
+    static Semigroup<Rope> ropeConcat() {
+      return Rope::concat;
+    }
 
 
     /**
@@ -1,7 +1,6 @@
 package cyclops.companion;
 
 import com.oath.cyclops.internal.stream.*;
-import com.oath.cyclops.internal.stream.operators.DebounceOperator;
 import com.oath.cyclops.internal.stream.operators.MultiReduceOperator;
 import com.oath.cyclops.internal.stream.operators.OnePerOperator;
 import com.oath.cyclops.internal.stream.operators.RecoverOperator;
@@ -2693,9 +2692,13 @@ public class Streams {
 
     /**
      * Allow one element through per time period, drop all other elements in
-     * that time period
+     * that time period (leading edge, the first element to arrive after each period ends is kept).
+     *
+     * Elements are filtered as they are pulled (the Stream is not read ahead), so the consuming Thread is never tied up
+     * waiting for a period to end.
      *
      * @see ReactiveSeq#debounce(long, TimeUnit)
+     * @see ReactiveSeq#throttleFirst(long, TimeUnit)
      *
      * @param stream Stream to debounce
      * @param time Time to applyHKT debouncing over
@@ -2703,8 +2706,18 @@ public class Streams {
      * @return Stream with debouncing applied
      */
     public final static <T> Stream<T> debounce(final Stream<T> stream, final long time, final TimeUnit t) {
-        return new DebounceOperator<>(
-                                      stream).debounce(time, t);
+        final long timeNanos = t.toNanos(time);
+        final long[] last = {0};
+        final boolean[] first = {true};
+        return stream.sequential().filter(a->{
+            long now = System.nanoTime();
+            if(first[0] || now - last[0] >= timeNanos){
+                first[0] = false;
+                last[0] = now;
+                return true;
+            }
+            return false;
+        });
     }
 
     /**
@@ -0,0 +1,712 @@
+package cyclops.data;
+
+import com.oath.cyclops.types.foldable.Folds;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.function.Monoid;
+import cyclops.reactive.ReactiveSeq;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A persistent 2-3 finger tree (Hinze and Paterson, "Finger trees: a simple general-purpose data structure") whose
+ * subtrees are annotated with a monoidal measure of their elements.
+ *
+ * Elements can be added to and removed from either end in amortized O(1) time (O(log n) worst case), two trees can be
+ * concatenated in O(log(min(n1,n2))) and a tree can be split at the point where a predicate over the measure of the
+ * elements to the left first holds in O(log n). The measure decides what a split finds - counting elements gives
+ * positional access (see {@link IndexedDeque}), tracking the greatest key gives ordered search and priority
+ * queries (see {@link IntervalTree}) and summing weights finds the element at which a running total is reached.
+ *
+ * Predicates passed to split, find, takeUntil and dropUntil must be monotonic: once they hold for a measure, they hold
+ * for that measure combined with any other. The middle tree is strict, so the O(1) bounds are amortized and do not
+ * hold when the same version of a tree is repeatedly extended or shortened.
+ *
+ * <pre>
+ * {@code
+ *  FingerTree<Integer,String> tree = FingerTree.of(Monoids.intSum, s->1, "a","b","c","d");
+ *  tree.split(count->count>2); //([a,b],[c,d])
+ *
+ *  FingerTree<Integer,Integer> running = FingerTree.of(Monoids.intSum, i->i, 5,10,20);
+ *  running.find(total->total>12); //Option[10]
+ * }
+ * </pre>
+ *
+ * @param <V> Measure type
+ * @param <T> Element type
+ */
+public abstract class FingerTree<V,T> implements Folds<T>, Iterable<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final Object[] NO_ITEMS = new Object[0];
+
+    final Measured<V,T> measured;
+
+    FingerTree(Measured<V,T> measured) {
+        this.measured = measured;
+    }
+
+    /**
+     * @param monoid Combines the measures of adjacent elements
+     * @param measure Measures a single element
+     * @return An empty FingerTree
+     */
+    public static <V,T> FingerTree<V,T> empty(Monoid<V> monoid, Function<? super T, ? extends V> measure){
+        return new Empty<>(new Measured<>(monoid,measure));
+    }
+
+    @SafeVarargs
+    public static <V,T> FingerTree<V,T> of(Monoid<V> monoid, Function<? super T, ? extends V> measure, T... values){
+        return FingerTree.<V,T>empty(monoid,measure).appendAll(Arrays.asList(values));
+    }
+
+    public static <V,T> FingerTree<V,T> fromIterable(Monoid<V> monoid, Function<? super T, ? extends V> measure, Iterable<? extends T> values){
+        return FingerTree.<V,T>empty(monoid,measure).appendAll(values);
+    }
+
+    public static <V,T> FingerTree<V,T> fromStream(Monoid<V> monoid, Function<? super T, ? extends V> measure, Stream<? extends T> values){
+        return fromIterable(monoid,measure,ReactiveSeq.fromStream(values));
+    }
+
+    /**
+     * @return The measure of all elements in this tree (the monoid zero when empty), in O(1)
+     */
+    public abstract V measure();
+
+    public abstract boolean isEmpty();
+
+    public abstract FingerTree<V,T> prepend(T value);
+
+    public abstract FingerTree<V,T> append(T value);
+
+    /**
+     * @return This tree without its first element (or this tree if empty)
+     */
+    public abstract FingerTree<V,T> tail();
+
+    /**
+     * @return This tree without its last element (or this tree if empty)
+     */
+    public abstract FingerTree<V,T> init();
+
+    abstract T first();
+
+    abstract T last();
+
+    abstract Split<V,T> splitTree(Predicate<? super V> p, V acc);
+
+    abstract Tuple2<V,T> lookupTree(Predicate<? super V> p, V acc);
+
+    @Override
+    public Option<T> headOption() {
+        return isEmpty() ? Option.none() : Option.some(first());
+    }
+
+    public Option<T> lastOption() {
+        return isEmpty() ? Option.none() : Option.some(last());
+    }
+
+    public FingerTree<V,T> prependAll(Iterable<? extends T> values){
+        FingerTree<V,T> result = this;
+        for(T next : ReactiveSeq.fromIterable(values).reverse())
+            result = result.prepend(next);
+        return result;
+    }
+
+    public FingerTree<V,T> appendAll(Iterable<? extends T> values){
+        FingerTree<V,T> result = this;
+        for(T next : values)
+            result = result.append(next);
+        return result;
+    }
+
+    /**
+     * Concatenate two trees sharing the same measure in O(log(min(n1,n2)))
+     *
+     * @param other Tree to append
+     * @return A tree with the elements of this tree followed by those of other
+     */
+    public FingerTree<V,T> appendTree(FingerTree<V,T> other){
+        return concat(this, NO_ITEMS, other);
+    }
+
+    /**
+     * Split this tree at the first element where the predicate holds for the measure of all the elements up to and
+     * including it.
+     *
+     * <pre>
+     * {@code
+     *  FingerTree.of(Monoids.intSum, s->1, "a","b","c","d")
+     *            .split(count->count>2); //([a,b],[c,d])
+     * }
+     * </pre>
+     *
+     * @param p Monotonic predicate over measures
+     * @return The elements before the split point and those from it onwards. If the predicate never holds all
+     *          elements are in the first tree
+     */
+    public Tuple2<FingerTree<V,T>,FingerTree<V,T>> split(Predicate<? super V> p){
+        if(isEmpty() || !p.test(measure()))
+            return Tuple.tuple(this,new Empty<>(measured));
+        Split<V,T> split = splitTree(p,measured.monoid.zero());
+        return Tuple.tuple(split.left,split.right.prepend(split.value));
+    }
+
+    public FingerTree<V,T> takeUntil(Predicate<? super V> p){
+        return split(p)._1();
+    }
+
+    public FingerTree<V,T> dropUntil(Predicate<? super V> p){
+        return split(p)._2();
+    }
+
+    /**
+     * Find the element at which the predicate first holds for the measure of all elements up to and including it,
+     * without building the trees either side of it.
+     *
+     * @param p Monotonic predicate over measures
+     * @return The first element at which the predicate holds, or None if it never holds
+     */
+    public Option<T> find(Predicate<? super V> p){
+        return lookup(p).map(Tuple2::_2);
+    }
+
+    /**
+     * As {@link #find(Predicate)}, also returning the measure of the elements before the one found
+     */
+    public Option<Tuple2<V,T>> lookup(Predicate<? super V> p){
+        if(isEmpty() || !p.test(measure()))
+            return Option.none();
+        return Option.some(lookupTree(p,measured.monoid.zero()));
+    }
+
+    public <V2,R> FingerTree<V2,R> map(Function<? super T, ? extends R> fn, Monoid<V2> monoid, Function<? super R, ? extends V2> measure){
+        return fromIterable(monoid,measure,ReactiveSeq.fromIterable(this).map(fn));
+    }
+
+    public FingerTree<V,T> filter(Predicate<? super T> p){
+        FingerTree<V,T> result = new Empty<>(measured);
+        for(T next : this){
+            if(p.test(next))
+                result = result.append(next);
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new TreeIterator<>(this);
+    }
+
+    @Override
+    public ReactiveSeq<T> stream() {
+        return ReactiveSeq.fromIterable(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(o==this)
+            return true;
+        if(!(o instanceof FingerTree))
+            return false;
+        Iterator<T> it = iterator();
+        Iterator<?> other = ((FingerTree<?,?>)o).iterator();
+        while(it.hasNext() && other.hasNext()){
+            T next = it.next();
+            Object otherNext = other.next();
+            if(next==null ? otherNext!=null : !next.equals(otherNext))
+                return false;
+        }
+        return !it.hasNext() && !other.hasNext();
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for(T next : this)
+            hash = 31 * hash + (next==null ? 0 : next.hashCode());
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return stream().join(", ", "[", "]");
+    }
+
+    static final class Empty<V,T> extends FingerTree<V,T> {
+        private static final long serialVersionUID = 1L;
+
+        Empty(Measured<V,T> measured) {
+            super(measured);
+        }
+
+        @Override
+        public V measure() {
+            return measured.monoid.zero();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @Override
+        public FingerTree<V,T> prepend(T value) {
+            return new Single<>(measured,value);
+        }
+
+        @Override
+        public FingerTree<V,T> append(T value) {
+            return new Single<>(measured,value);
+        }
+
+        @Override
+        public FingerTree<V,T> tail() {
+            return this;
+        }
+
+        @Override
+        public FingerTree<V,T> init() {
+            return this;
+        }
+
+        @Override
+        T first() {
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        T last() {
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        Split<V,T> splitTree(Predicate<? super V> p, V acc) {
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        Tuple2<V,T> lookupTree(Predicate<? super V> p, V acc) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    static final class Single<V,T> extends FingerTree<V,T> {
+        private static final long serialVersionUID = 1L;
+        final T value;
+
+        Single(Measured<V,T> measured, T value) {
+            super(measured);
+            this.value = value;
+        }
+
+        @Override
+        public V measure() {
+            return measured.measure(value);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public FingerTree<V,T> prepend(T value) {
+            return deep(measured,new Object[]{value},new Empty<>(measured.nodes()),new Object[]{this.value});
+        }
+
+        @Override
+        public FingerTree<V,T> append(T value) {
+            return deep(measured,new Object[]{this.value},new Empty<>(measured.nodes()),new Object[]{value});
+        }
+
+        @Override
+        public FingerTree<V,T> tail() {
+            return new Empty<>(measured);
+        }
+
+        @Override
+        public FingerTree<V,T> init() {
+            return new Empty<>(measured);
+        }
+
+        @Override
+        T first() {
+            return value;
+        }
+
+        @Override
+        T last() {
+            return value;
+        }
+
+        @Override
+        Split<V,T> splitTree(Predicate<? super V> p, V acc) {
+            return new Split<>(new Empty<>(measured),value,new Empty<>(measured));
+        }
+
+        @Override
+        Tuple2<V,T> lookupTree(Predicate<? super V> p, V acc) {
+            return Tuple.tuple(acc,value);
+        }
+    }
+
+    static final class Deep<V,T> extends FingerTree<V,T> {
+        private static final long serialVersionUID = 1L;
+        private final V measure;
+        final Object[] prefix;
+        final FingerTree<V,Node<V,T>> middle;
+        final Object[] suffix;
+
+        Deep(Measured<V,T> measured, V measure, Object[] prefix, FingerTree<V,Node<V,T>> middle, Object[] suffix) {
+            super(measured);
+            this.measure = measure;
+            this.prefix = prefix;
+            this.middle = middle;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public V measure() {
+            return measure;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public FingerTree<V,T> prepend(T value) {
+            V measure = measured.monoid.apply(measured.measure(value),this.measure);
+            if(prefix.length==4){
+                Node<V,T> node = measured.node(prefix[1],prefix[2],prefix[3]);
+                return new Deep<>(measured,measure,new Object[]{value,prefix[0]},middle.prepend(node),suffix);
+            }
+            Object[] newPrefix = new Object[prefix.length+1];
+            newPrefix[0]=value;
+            System.arraycopy(prefix,0,newPrefix,1,prefix.length);
+            return new Deep<>(measured,measure,newPrefix,middle,suffix);
+        }
+
+        @Override
+        public FingerTree<V,T> append(T value) {
+            V measure = measured.monoid.apply(this.measure,measured.measure(value));
+            if(suffix.length==4){
+                Node<V,T> node = measured.node(suffix[0],suffix[1],suffix[2]);
+                return new Deep<>(measured,measure,prefix,middle.append(node),new Object[]{suffix[3],value});
+            }
+            Object[] newSuffix = Arrays.copyOf(suffix,suffix.length+1);
+            newSuffix[suffix.length]=value;
+            return new Deep<>(measured,measure,prefix,middle,newSuffix);
+        }
+
+        @Override
+        public FingerTree<V,T> tail() {
+            return deepLeft(measured,Arrays.copyOfRange(prefix,1,prefix.length),middle,suffix);
+        }
+
+        @Override
+        public FingerTree<V,T> init() {
+            return deepRight(measured,prefix,middle,Arrays.copyOf(suffix,suffix.length-1));
+        }
+
+        @Override
+        T first() {
+            return (T)prefix[0];
+        }
+
+        @Override
+        T last() {
+            return (T)suffix[suffix.length-1];
+        }
+
+        @Override
+        Split<V,T> splitTree(Predicate<? super V> p, V acc) {
+            Monoid<V> monoid = measured.monoid;
+            V accPrefix = monoid.apply(acc,measured.measure(prefix));
+            if(p.test(accPrefix)){
+                int i = measured.splitDigit(p,acc,prefix);
+                return new Split<>(fromDigit(measured,Arrays.copyOf(prefix,i)),(T)prefix[i],
+                                    deepLeft(measured,Arrays.copyOfRange(prefix,i+1,prefix.length),middle,suffix));
+            }
+            V accMiddle = monoid.apply(accPrefix,middle.measure());
+            if(p.test(accMiddle)){
+                Split<V,Node<V,T>> split = middle.splitTree(p,accPrefix);
+                Object[] items = split.value.items;
+                int i = measured.splitDigit(p,monoid.apply(accPrefix,split.left.measure()),items);
+                return new Split<>(deepRight(measured,prefix,split.left,Arrays.copyOf(items,i)),(T)items[i],
+                                    deepLeft(measured,Arrays.copyOfRange(items,i+1,items.length),split.right,suffix));
+            }
+            int i = measured.splitDigit(p,accMiddle,suffix);
+            return new Split<>(deepRight(measured,prefix,middle,Arrays.copyOf(suffix,i)),(T)suffix[i],
+                                fromDigit(measured,Arrays.copyOfRange(suffix,i+1,suffix.length)));
+        }
+
+        @Override
+        Tuple2<V,T> lookupTree(Predicate<? super V> p, V acc) {
+            Monoid<V> monoid = measured.monoid;
+            V accPrefix = monoid.apply(acc,measured.measure(prefix));
+            if(p.test(accPrefix))
+                return measured.lookupDigit(p,acc,prefix);
+            V accMiddle = monoid.apply(accPrefix,middle.measure());
+            if(p.test(accMiddle)){
+                Tuple2<V,Node<V,T>> node = middle.lookupTree(p,accPrefix);
+                return measured.lookupDigit(p,node._1(),node._2().items);
+            }
+            return measured.lookupDigit(p,accMiddle,suffix);
+        }
+    }
+
+    static <V,T> FingerTree<V,T> deep(Measured<V,T> measured, Object[] prefix, FingerTree<V,Node<V,T>> middle, Object[] suffix){
+        Monoid<V> monoid = measured.monoid;
+        V measure = monoid.apply(monoid.apply(measured.measure(prefix),middle.measure()),measured.measure(suffix));
+        return new Deep<>(measured,measure,prefix,middle,suffix);
+    }
+
+    //prefix may be empty, in which case it is refilled from the middle tree
+    static <V,T> FingerTree<V,T> deepLeft(Measured<V,T> measured, Object[] prefix, FingerTree<V,Node<V,T>> middle, Object[] suffix){
+        if(prefix.length>0)
+            return deep(measured,prefix,middle,suffix);
+        if(middle.isEmpty())
+            return fromDigit(measured,suffix);
+        return deep(measured,middle.first().items,middle.tail(),suffix);
+    }
+
+    //suffix may be empty, in which case it is refilled from the middle tree
+    static <V,T> FingerTree<V,T> deepRight(Measured<V,T> measured, Object[] prefix, FingerTree<V,Node<V,T>> middle, Object[] suffix){
+        if(suffix.length>0)
+            return deep(measured,prefix,middle,suffix);
+        if(middle.isEmpty())
+            return fromDigit(measured,prefix);
+        return deep(measured,prefix,middle.init(),middle.last().items);
+    }
+
+    static <V,T> FingerTree<V,T> fromDigit(Measured<V,T> measured, Object[] items){
+        FingerTree<V,T> result = new Empty<>(measured);
+        for(Object next : items)
+            result = result.append((T)next);
+        return result;
+    }
+
+    static <V,T> FingerTree<V,T> concat(FingerTree<V,T> left, Object[] items, FingerTree<V,T> right){
+        if(left.isEmpty()){
+            FingerTree<V,T> result = right;
+            for(int i=items.length-1;i>=0;i--)
+                result = result.prepend((T)items[i]);
+            return result;
+        }
+        if(right.isEmpty()){
+            FingerTree<V,T> result = left;
+            for(Object next : items)
+                result = result.append((T)next);
+            return result;
+        }
+        if(left instanceof Single)
+            return concat(new Empty<>(left.measured),items,right).prepend(((Single<V,T>)left).value);
+        if(right instanceof Single)
+            return concat(left,items,new Empty<>(right.measured)).append(((Single<V,T>)right).value);
+        Deep<V,T> l = (Deep<V,T>)left;
+        Deep<V,T> r = (Deep<V,T>)right;
+        Object[] middleItems = new Object[l.suffix.length+items.length+r.prefix.length];
+        System.arraycopy(l.suffix,0,middleItems,0,l.suffix.length);
+        System.arraycopy(items,0,middleItems,l.suffix.length,items.length);
+        System.arraycopy(r.prefix,0,middleItems,l.suffix.length+items.length,r.prefix.length);
+        FingerTree<V,Node<V,T>> middle = concat(l.middle,l.measured.nodes(middleItems),r.middle);
+        return deep(l.measured,l.prefix,middle,r.suffix);
+    }
+
+    static final class Split<V,T> {
+        final FingerTree<V,T> left;
+        final T value;
+        final FingerTree<V,T> right;
+
+        Split(FingerTree<V,T> left, T value, FingerTree<V,T> right) {
+            this.left = left;
+            this.value = value;
+            this.right = right;
+        }
+    }
+
+    //a 2-3 node of the next level down, caching the measure of its items
+    static final class Node<V,T> implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final V measure;
+        final Object[] items;
+
+        Node(V measure, Object[] items) {
+            this.measure = measure;
+            this.items = items;
+        }
+    }
+
+    static class Measured<V,T> implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final Monoid<V> monoid;
+        private final Function<? super T, ? extends V> fn;
+        private transient Measured<V,Node<V,T>> nodes;
+
+        Measured(Monoid<V> monoid, Function<? super T, ? extends V> fn) {
+            this.monoid = monoid;
+            this.fn = fn;
+        }
+
+        V measure(T value){
+            return fn.apply(value);
+        }
+
+        V measure(Object[] items){
+            V result = measure((T)items[0]);
+            for(int i=1;i<items.length;i++)
+                result = monoid.apply(result,measure((T)items[i]));
+            return result;
+        }
+
+        Measured<V,Node<V,T>> nodes(){
+            if(nodes==null)
+                nodes = new NodeMeasured<>(monoid);
+            return nodes;
+        }
+
+        Node<V,T> node(Object... items){
+            return new Node<>(measure(items),items);
+        }
+
+        //group 2 to 12 items into 2-3 nodes
+        Object[] nodes(Object[] items){
+            int n = items.length;
+            Object[] result = new Object[(n+2)/3];
+            int i=0;
+            int count=0;
+            while(n-i>4){
+                result[count++]=node(items[i],items[i+1],items[i+2]);
+                i+=3;
+            }
+            if(n-i==4){
+                result[count++]=node(items[i],items[i+1]);
+                result[count++]=node(items[i+2],items[i+3]);
+            }else if(n-i==3){
+                result[count++]=node(items[i],items[i+1],items[i+2]);
+            }else{
+                result[count++]=node(items[i],items[i+1]);
+            }
+            return count==result.length ? result : Arrays.copyOf(result,count);
+        }
+
+        int splitDigit(Predicate<? super V> p, V acc, Object[] items){
+            for(int i=0;i<items.length-1;i++){
+                acc = monoid.apply(acc,measure((T)items[i]));
+                if(p.test(acc))
+                    return i;
+            }
+            return items.length-1;
+        }
+
+        Tuple2<V,T> lookupDigit(Predicate<? super V> p, V acc, Object[] items){
+            for(int i=0;i<items.length-1;i++){
+                V next = monoid.apply(acc,measure((T)items[i]));
+                if(p.test(next))
+                    return Tuple.tuple(acc,(T)items[i]);
+                acc = next;
+            }
+            return Tuple.tuple(acc,(T)items[items.length-1]);
+        }
+    }
+
+    static final class NodeMeasured<V,T> extends Measured<V,Node<V,T>> {
+        private static final long serialVersionUID = 1L;
+
+        NodeMeasured(Monoid<V> monoid) {
+            super(monoid,null);
+        }
+
+        @Override
+        V measure(Node<V,T> node) {
+            return node.measure;
+        }
+    }
+
+    static final class TreeIterator<T> implements Iterator<T> {
+        //digits and node items still to visit, each with the depth of nesting of its items (0 for elements)
+        private final ArrayDeque<Object[]> items = new ArrayDeque<>();
+        private final ArrayDeque<int[]> positions = new ArrayDeque<>();
+        private final ArrayDeque<FingerTree<?,?>> trees = new ArrayDeque<>();
+        private final ArrayDeque<Integer> treeDepths = new ArrayDeque<>();
+        private T next;
+        private boolean ready;
+
+        TreeIterator(FingerTree<?,T> tree) {
+            pushTree(tree,0);
+        }
+
+        private void pushTree(FingerTree<?,?> tree, int depth){
+            trees.push(tree);
+            treeDepths.push(depth);
+            //marks that the middle tree should be expanded once the items pushed before it are exhausted
+            items.push(NO_ITEMS);
+            positions.push(new int[]{0,-1});
+        }
+
+        private void pushItems(Object[] array, int depth){
+            items.push(array);
+            positions.push(new int[]{0,depth});
+        }
+
+        private boolean advance(){
+            while(!items.isEmpty()){
+                Object[] array = items.peek();
+                int[] position = positions.peek();
+                if(position[1]==-1){
+                    items.pop();
+                    positions.pop();
+                    FingerTree<?,?> tree = trees.pop();
+                    int depth = treeDepths.pop();
+                    if(tree instanceof Single){
+                        pushItems(new Object[]{((Single<?,?>)tree).value},depth);
+                    }else if(tree instanceof Deep){
+                        Deep<?,?> deep = (Deep<?,?>)tree;
+                        pushItems(deep.suffix,depth);
+                        pushTree(deep.middle,depth+1);
+                        pushItems(deep.prefix,depth);
+                    }
+                }else if(position[0]==array.length){
+                    items.pop();
+                    positions.pop();
+                }else{
+                    Object item = array[position[0]++];
+                    if(position[1]==0){
+                        next = (T)item;
+                        return true;
+                    }
+                    pushItems(((Node<?,?>)item).items,position[1]-1);
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(!ready)
+                ready = advance();
+            return ready;
+        }
+
+        @Override
+        public T next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            ready = false;
+            T result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -2,14 +2,14 @@ package cyclops.data;
 
 import com.oath.cyclops.types.persistent.PersistentMap;
 import com.oath.cyclops.hkt.Higher2;
+import cyclops.control.Ior;
 import cyclops.control.Option;
 import cyclops.control.Trampoline;
 import cyclops.function.Function3;
 import cyclops.function.Function4;
 import com.oath.cyclops.hkt.DataWitness.hashMap;
-import cyclops.data.base.HAMT;
+import cyclops.data.base.CHAMP;
 import cyclops.reactive.ReactiveSeq;
-import lombok.AllArgsConstructor;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
 
@@ -23,14 +23,32 @@ import java.util.stream.Stream;
 
 
 
-@AllArgsConstructor
 public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,Higher2<hashMap,K,V>, Serializable{
 
-    private final HAMT.Node<K,V> map;
-    private static final long serialVersionUID = 1L;
+    private final CHAMP.Node<K,V> map;
+    //2L since the backing trie changed from HAMT to CHAMP
+    private static final long serialVersionUID = 2L;
+
+    public HashMap(CHAMP.Node<K, V> map) {
+        this.map = map;
+    }
+
+    /**
+     * @deprecated HashMap is backed by a {@link CHAMP} trie, the entries of the supplied HAMT are copied into one.
+     * Use {@link #HashMap(CHAMP.Node)} instead
+     * @param map HAMT with the entries of the new HashMap
+     */
+    @Deprecated
+    public HashMap(cyclops.data.base.HAMT.Node<K, V> map) {
+        CHAMP.Node<K,V> tree = CHAMP.empty();
+        for(Tuple2<K,V> e : map.lazyList()){
+            tree = tree.plus(0,e._1().hashCode(),e._1(),e._2());
+        }
+        this.map = tree;
+    }
 
     public static <K,V> HashMap<K,V> empty(){
-        return new HashMap<>(HAMT.empty());
+        return new HashMap<>(CHAMP.empty());
     }
     public static <K,V> HashMap<K,V> of(K k,V v){
         HashMap<K,V> res = empty();
@@ -154,9 +172,9 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
     @Override
     public HashMap<K, V> removeAll(K... keys) {
-        HAMT.Node<K,V> cur = map;
+        CHAMP.Node<K,V> cur = map;
         for(K key : keys){
-            cur = map.minus(0,key.hashCode(),key);
+            cur = cur.minus(0,key.hashCode(),key);
         }
         return new HashMap<>(cur);
     }
@@ -169,7 +187,7 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
     @Override
     public boolean containsKey(K key) {
-        return map.get(0,key.hashCode(),key).isPresent();
+        return map.containsKey(0,key.hashCode(),key);
     }
 
 
@@ -197,6 +215,11 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
     @Override
     public HashMap<K, V> putAll(PersistentMap<? extends K, ? extends V> map) {
+        if(map instanceof HashMap){
+            //last wins, so sub-tries shared by both maps can be reused without being traversed
+            CHAMP.Node<K,V> merged = CHAMP.union(this.map,((HashMap<K,V>)map).map,false);
+            return merged == this.map ? this : new HashMap<>(merged);
+        }
         HashMap<K,V> res = this;
         for(Tuple2<? extends K, ? extends V> e : map){
             res = res.put(e._1(),e._2());
@@ -208,16 +231,52 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
     @Override
     public HashMap<K, V> removeAllKeys(Iterable<? extends K> keys) {
+        if(keys instanceof HashSet){
+            CHAMP.Node<K,V> kept = CHAMP.difference(map,((HashSet<K>)keys).getChampMap());
+            return kept == map ? this : new HashMap<>(kept);
+        }
         HashMap<K,V> res = this;
         for(K e : keys){
-            res = this.remove(e);
+            res = res.remove(e);
         }
         return res;
     }
 
+    /**
+     * Merge two HashMaps structurally, walking both tries in lockstep
+     *
+     * @param map HashMap to merge with this one
+     * @param merger Computes the value for every key present in both maps (value in this map, value in map)
+     * @return HashMap with the entries of both maps
+     */
+    public HashMap<K, V> merge(HashMap<K, V> map, BinaryOperator<V> merger) {
+        CHAMP.Node<K,V> merged = CHAMP.union(this.map,map.map,merger);
+        return merged == this.map ? this : new HashMap<>(merged);
+    }
+
+    /**
+     * Keep only the entries whose keys are also present in map, computed structurally
+     *
+     * @param map HashMap whose keys should be retained
+     * @return HashMap with the entries of this map whose keys are in map
+     */
+    public HashMap<K, V> retainKeys(HashMap<K, ?> map) {
+        CHAMP.Node<K,V> kept = CHAMP.intersection(this.map,map.map);
+        return kept == this.map ? this : new HashMap<>(kept);
+    }
+
+    @Override
+    public ReactiveSeq<Tuple2<K, Ior<V, V>>> diffStream(ImmutableMap<K, V> other) {
+        if(other instanceof HashMap){
+            CHAMP.Node<K,V> to = ((HashMap<K,V>)other).map;
+            return ReactiveSeq.fromIterable(()->CHAMP.diff(map,to));
+        }
+        return ImmutableMap.super.diffStream(other);
+    }
+
     @Override
     public Iterator<Tuple2<K, V>> iterator() {
-        return stream().iterator();
+        return map.iterator();
     }
 
     @Override
@@ -6,7 +6,7 @@ import com.oath.cyclops.types.persistent.PersistentSet;
 import com.oath.cyclops.hkt.Higher;
 import cyclops.control.Option;
 import com.oath.cyclops.hkt.DataWitness.hashSet;
-import cyclops.data.base.HAMT;
+import cyclops.data.base.CHAMP;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
 import cyclops.data.tuple.Tuple3;
@@ -18,7 +18,6 @@ import cyclops.reactive.Generator;
 import cyclops.reactive.ReactiveSeq;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
-import lombok.Getter;
 import org.reactivestreams.Publisher;
 
 import java.io.Serializable;
@@ -30,9 +29,30 @@ import java.util.stream.Stream;
 
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Serializable {
-    private static final long serialVersionUID = 1L;
-    @Getter
-    private final HAMT.Node<T,T> map;
+    //2L since the backing trie changed from HAMT to CHAMP
+    private static final long serialVersionUID = 2L;
+    private final CHAMP.Node<T,T> map;
+
+    /**
+     * @return CHAMP trie backing this HashSet
+     */
+    public CHAMP.Node<T,T> getChampMap(){
+        return map;
+    }
+
+    /**
+     * @deprecated HashSet is backed by a {@link CHAMP} trie, this copies its elements into a new HAMT on each call.
+     * Use {@link #getChampMap()} instead
+     * @return HAMT with the elements of this HashSet
+     */
+    @Deprecated
+    public cyclops.data.base.HAMT.Node<T,T> getMap(){
+        cyclops.data.base.HAMT.Node<T,T> tree = cyclops.data.base.HAMT.empty();
+        for(T value : this){
+            tree = tree.plus(0,value.hashCode(),value,value);
+        }
+        return tree;
+    }
 
     static <T> Collector<T, Set<T>, HashSet<T>> collector() {
         Collector<T, ?, Set<T>> c  = Collectors.toSet();
@@ -40,15 +60,15 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
     }
 
     public static <T> HashSet<T> empty(){
-        return new HashSet<T>( HAMT.empty());
+        return new HashSet<T>( CHAMP.empty());
     }
     public static <T> HashSet<T> singleton(T value){
-        HAMT.Node<T, T> tree = HAMT.empty();
+        CHAMP.Node<T, T> tree = CHAMP.empty();
         tree = tree.plus(0,value.hashCode(),value,value);
         return new HashSet<>(tree);
     }
     public static <T> HashSet<T> of(T... values){
-        HAMT.Node<T, T> tree = HAMT.empty();
+        CHAMP.Node<T, T> tree = CHAMP.empty();
         for(T value : values){
             tree = tree.plus(0,value.hashCode(),value,value);
         }
@@ -111,7 +131,7 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
 
     public boolean containsValue(T value){
-        return map.get(0,value.hashCode(),value).isPresent();
+        return map.containsKey(0,value.hashCode(),value);
     }
 
     @Override
@@ -207,8 +227,43 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
           return new HashSet<>(map.plus(0,value.hashCode(),value,value));
       }
 
+      /**
+       * Union computed structurally, sub-tries shared by both sets are reused without being traversed
+       *
+       * @param other Set to merge with this one, where both contain an element the instance from this set is kept
+       * @return Set containing the elements of both sets
+       */
+      public HashSet<T> union(HashSet<? extends T> other) {
+          CHAMP.Node<T, T> merged = CHAMP.union(map, (CHAMP.Node<T, T>) other.map, true);
+          return merged == map ? this : new HashSet<>(merged);
+      }
+
+      /**
+       * Intersection computed structurally, sub-tries shared by both sets are reused without being traversed
+       *
+       * @param other Set to intersect with this one
+       * @return Set containing the elements of this set that are also in other
+       */
+      public HashSet<T> intersection(HashSet<?> other) {
+          CHAMP.Node<T, T> kept = CHAMP.intersection(map, (CHAMP.Node<T, ?>) other.map);
+          return kept == map ? this : new HashSet<>(kept);
+      }
+
+      /**
+       * Difference computed structurally, sub-tries shared by both sets are removed without being traversed
+       *
+       * @param other Set of elements to remove
+       * @return Set containing the elements of this set that are not in other
+       */
+      public HashSet<T> difference(HashSet<?> other) {
+          CHAMP.Node<T, T> kept = CHAMP.difference(map, (CHAMP.Node<T, ?>) other.map);
+          return kept == map ? this : new HashSet<>(kept);
+      }
+
       @Override
       public HashSet<T> plusAll(Iterable<? extends T> list) {
+          if(list instanceof HashSet)
+              return union((HashSet<? extends T>)list);
           HashSet<T> res = this;
           for(T next : list){
               res = res.plus(next);
@@ -219,6 +274,8 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
       @Override
       public HashSet<T> removeAll(Iterable<? extends T> list) {
+          if(list instanceof HashSet)
+              return difference((HashSet<?>)list);
           HashSet<T> res = this;
           for(T next : list){
               res = res.removeValue(next);
@@ -233,7 +290,18 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
       @Override
       public Iterator<T> iterator() {
-          return stream().iterator();
+          Iterator<Tuple2<T, T>> it = map.iterator();
+          return new Iterator<T>() {
+              @Override
+              public boolean hasNext() {
+                  return it.hasNext();
+              }
+
+              @Override
+              public T next() {
+                  return it.next()._1();
+              }
+          };
       }
 
       @Override
@@ -343,6 +411,8 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
       @Override
       public HashSet<T> retainAll(Iterable<? extends T> it) {
+          if(it instanceof HashSet)
+              return intersection((HashSet<?>)it);
           return (HashSet<T>)ImmutableSet.super.retainAll(it);
       }
 
@@ -8,6 +8,7 @@ import com.oath.cyclops.types.functor.BiTransformable;
 import com.oath.cyclops.types.functor.Transformable;
 import com.oath.cyclops.types.recoverable.OnEmpty;
 import com.oath.cyclops.types.recoverable.OnEmptySwitch;
+import cyclops.control.Ior;
 import cyclops.control.Option;
 import cyclops.control.Try;
 import cyclops.function.Function3;
@@ -140,6 +141,46 @@ public interface ImmutableMap<K,V> extends Iterable<Tuple2<K,V>>,
         return stream().map(t->"{"+t._1()+"="+t._2()+"}").join(", ","[","]");
     }
 
+    /**
+     * Compute the entries that differ between this map and a newer version of it
+     *
+     * <pre>
+     * {@code
+     *  MapDiff<String,Integer> diff = HashMap.of("a",1,"b",2).diff(HashMap.of("b",3,"c",4));
+     *  //diff.added()   : [("c",4)]
+     *  //diff.removed() : [("a",1)]
+     *  //diff.changed() : [("b",2,3)]
+     * }
+     * </pre>
+     *
+     * @param other Newer version of this map
+     * @return Entries added, removed and changed in other
+     */
+    default MapDiff<K,V> diff(ImmutableMap<K,V> other){
+        return MapDiff.fromIterable(diffStream(other));
+    }
+
+    /**
+     * Lazily compute the entries that differ between this map and a newer version of it. Values are compared with
+     * equals. The default implementation scans both maps, HashMap and TreeMap skip structure they share with other
+     * maps of the same type, so comparing snapshots of the same map costs time proportional to their differences.
+     *
+     * @param other Newer version of this map
+     * @return Changed keys, with Ior.left(old value) for entries removed in other, Ior.right(new value) for entries
+     * added in other and Ior.both(old value, new value) for entries whose value changed
+     */
+    default ReactiveSeq<Tuple2<K,Ior<V,V>>> diffStream(ImmutableMap<K,V> other){
+        ReactiveSeq<Tuple2<K,Ior<V,V>>> removedOrChanged = stream().flatMap(t->{
+            if(!other.containsKey(t._1()))
+                return ReactiveSeq.of(Tuple.tuple(t._1(),Ior.<V,V>left(t._2())));
+            V value = other.getOrElse(t._1(),null);
+            return Objects.equals(t._2(),value) ? ReactiveSeq.empty() : ReactiveSeq.of(Tuple.tuple(t._1(),Ior.both(t._2(),value)));
+        });
+        ReactiveSeq<Tuple2<K,Ior<V,V>>> added = other.stream().filter(t->!containsKey(t._1()))
+                                                    .map(t->Tuple.tuple(t._1(),Ior.<V,V>right(t._2())));
+        return removedOrChanged.appendStream(added);
+    }
+
     <K2,V2> DMap.Two<K,V,K2,V2> merge(ImmutableMap<K2, V2> one);
     <K2,V2,K3,V3> DMap.Three<K,V,K2,V2,K3,V3> merge(DMap.Two<K2, V2, K3, V3> two);
 
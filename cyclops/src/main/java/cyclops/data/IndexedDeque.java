@@ -0,0 +1,251 @@
+package cyclops.data;
+
+import com.oath.cyclops.types.foldable.Folds;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.function.Monoid;
+import cyclops.reactive.ReactiveSeq;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A persistent double ended queue with positional access, backed by a {@link FingerTree} measured by element count.
+ *
+ * Adding or removing at either end is amortized O(1), while get, updateAt, insertAt, removeAt, splitAt and
+ * concatenation with another IndexedDeque are O(log n). Compared with {@link BankersQueue} this adds indexed access and
+ * cheap concatenation, and compared with {@link Vector} cheap prepends, at the cost of a larger per element overhead.
+ *
+ * Like {@link IntervalTree}, this is a focused view over a FingerTree rather than a member of the
+ * ImmutableList / ImmutableQueue family, so it only exposes the operations the tree supports efficiently. Use the
+ * {@link Folds} conversions (vector(), seq(), lazySeq() ...) where a full ImmutableList is needed.
+ *
+ * <pre>
+ * {@code
+ *  IndexedDeque<Integer> deque = IndexedDeque.of(1,2,3)
+ *                                            .prepend(0)
+ *                                            .append(4);  //[0,1,2,3,4]
+ *  deque.get(2);          //Option[2]
+ *  deque.insertAt(1,10);  //[0,10,1,2,3,4]
+ * }
+ * </pre>
+ *
+ * @param <T> Element type
+ */
+public final class IndexedDeque<T> implements Folds<T>, Iterable<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final IndexedDeque EMPTY = new IndexedDeque<>(FingerTree.empty(Size.INSTANCE,One.INSTANCE));
+
+    private final FingerTree<Integer,T> tree;
+
+    private IndexedDeque(FingerTree<Integer,T> tree) {
+        this.tree = tree;
+    }
+
+    //enum singletons keep the measure serializable along with the tree
+    private enum Size implements Monoid<Integer> {
+        INSTANCE;
+
+        @Override
+        public Integer zero() {
+            return 0;
+        }
+
+        @Override
+        public Integer apply(Integer a, Integer b) {
+            return a + b;
+        }
+    }
+
+    private enum One implements Function<Object,Integer> {
+        INSTANCE;
+
+        @Override
+        public Integer apply(Object o) {
+            return 1;
+        }
+    }
+
+    public static <T> IndexedDeque<T> empty(){
+        return EMPTY;
+    }
+
+    @SafeVarargs
+    public static <T> IndexedDeque<T> of(T... values){
+        return fromIterable(Arrays.asList(values));
+    }
+
+    public static <T> IndexedDeque<T> fromIterable(Iterable<? extends T> values){
+        if(values instanceof IndexedDeque)
+            return (IndexedDeque<T>)values;
+        return IndexedDeque.<T>empty().appendAll(values);
+    }
+
+    public static <T> IndexedDeque<T> fromStream(Stream<? extends T> values){
+        return fromIterable(ReactiveSeq.fromStream(values));
+    }
+
+    public int size(){
+        return tree.measure();
+    }
+
+    public boolean isEmpty(){
+        return tree.isEmpty();
+    }
+
+    public IndexedDeque<T> prepend(T value){
+        return new IndexedDeque<>(tree.prepend(value));
+    }
+
+    public IndexedDeque<T> append(T value){
+        return new IndexedDeque<>(tree.append(value));
+    }
+
+    public IndexedDeque<T> prependAll(Iterable<? extends T> values){
+        if(values instanceof IndexedDeque)
+            return ((IndexedDeque<T>)values).appendAll(this);
+        return new IndexedDeque<>(tree.prependAll(values));
+    }
+
+    /**
+     * Append all values, in O(log(min(n1,n2))) when values is itself an IndexedDeque
+     */
+    public IndexedDeque<T> appendAll(Iterable<? extends T> values){
+        if(values instanceof IndexedDeque)
+            return new IndexedDeque<>(tree.appendTree(((IndexedDeque<T>)values).tree));
+        return new IndexedDeque<>(tree.appendAll(values));
+    }
+
+    @Override
+    public Option<T> headOption(){
+        return tree.headOption();
+    }
+
+    public Option<T> lastOption(){
+        return tree.lastOption();
+    }
+
+    public IndexedDeque<T> tail(){
+        return isEmpty() ? this : new IndexedDeque<>(tree.tail());
+    }
+
+    public IndexedDeque<T> init(){
+        return isEmpty() ? this : new IndexedDeque<>(tree.init());
+    }
+
+    public Option<T> get(int index){
+        if(index<0 || index>=size())
+            return Option.none();
+        return tree.find(count->count>index);
+    }
+
+    public T getOrElse(int index, T alt){
+        return get(index).orElse(alt);
+    }
+
+    public T getOrElseGet(int index, Supplier<? extends T> alt){
+        return get(index).orElseGet(alt);
+    }
+
+    /**
+     * @return The elements before index and those from index onwards
+     */
+    public Tuple2<IndexedDeque<T>,IndexedDeque<T>> splitAt(int index){
+        Tuple2<FingerTree<Integer,T>,FingerTree<Integer,T>> split = tree.split(count->count>index);
+        return Tuple.tuple(new IndexedDeque<>(split._1()),new IndexedDeque<>(split._2()));
+    }
+
+    public IndexedDeque<T> take(long n){
+        if(n<=0)
+            return empty();
+        if(n>=size())
+            return this;
+        return splitAt((int)n)._1();
+    }
+
+    public IndexedDeque<T> drop(long n){
+        if(n<=0)
+            return this;
+        if(n>=size())
+            return empty();
+        return splitAt((int)n)._2();
+    }
+
+    public IndexedDeque<T> updateAt(int index, T value){
+        if(index<0 || index>=size())
+            return this;
+        Tuple2<FingerTree<Integer,T>,FingerTree<Integer,T>> split = tree.split(count->count>index);
+        return new IndexedDeque<>(split._1().append(value).appendTree(split._2().tail()));
+    }
+
+    /**
+     * Insert value at index, indexes beyond the bounds of this deque are clamped to its start or end
+     */
+    public IndexedDeque<T> insertAt(int index, T value){
+        if(index<=0)
+            return prepend(value);
+        if(index>=size())
+            return append(value);
+        Tuple2<FingerTree<Integer,T>,FingerTree<Integer,T>> split = tree.split(count->count>index);
+        return new IndexedDeque<>(split._1().append(value).appendTree(split._2()));
+    }
+
+    public IndexedDeque<T> removeAt(int index){
+        if(index<0 || index>=size())
+            return this;
+        Tuple2<FingerTree<Integer,T>,FingerTree<Integer,T>> split = tree.split(count->count>index);
+        return new IndexedDeque<>(split._1().appendTree(split._2().tail()));
+    }
+
+    public <R> IndexedDeque<R> map(Function<? super T, ? extends R> fn){
+        return IndexedDeque.<R>empty().appendAll(stream().map(fn));
+    }
+
+    public IndexedDeque<T> filter(Predicate<? super T> p){
+        return new IndexedDeque<>(tree.filter(p));
+    }
+
+    public IndexedDeque<T> reverse(){
+        FingerTree<Integer,T> result = IndexedDeque.<T>empty().tree;
+        for(T next : this)
+            result = result.prepend(next);
+        return new IndexedDeque<>(result);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return tree.iterator();
+    }
+
+    @Override
+    public ReactiveSeq<T> stream() {
+        return tree.stream();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(o==this)
+            return true;
+        if(!(o instanceof IndexedDeque))
+            return false;
+        IndexedDeque<?> other = (IndexedDeque<?>)o;
+        return size()==other.size() && tree.equals(other.tree);
+    }
+
+    @Override
+    public int hashCode() {
+        return tree.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return tree.toString();
+    }
+}
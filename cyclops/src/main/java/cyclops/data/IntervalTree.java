@@ -0,0 +1,235 @@
+package cyclops.data;
+
+import com.oath.cyclops.types.foldable.Folds;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.data.tuple.Tuple3;
+import cyclops.function.Monoid;
+import cyclops.reactive.ReactiveSeq;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A persistent collection of closed intervals [low, high], each with an associated value, backed by a
+ * {@link FingerTree}. Intervals are kept ordered by their low endpoint (intervals with equal low endpoints in insertion
+ * order) and the measure of each subtree records its size, greatest low endpoint and greatest high endpoint.
+ *
+ * Insertion is O(log n). Finding an interval that overlaps a range, or the interval with the greatest high endpoint
+ * (which makes an IntervalTree usable as a max-priority queue keyed by high), is also O(log n), and all m overlapping
+ * intervals can be streamed in O(m log n).
+ *
+ * <pre>
+ * {@code
+ *  IntervalTree<Integer,String> meetings = IntervalTree.<Integer,String>empty()
+ *                                                     .insert(9,10,"standup")
+ *                                                     .insert(11,13,"review")
+ *                                                     .insert(12,14,"lunch");
+ *  meetings.stabbing(12);  //[(11,13,review),(12,14,lunch)]
+ *  meetings.highest();     //Option[(12,14,lunch)]
+ * }
+ * </pre>
+ *
+ * @param <K> Endpoint type
+ * @param <V> Value type
+ */
+public final class IntervalTree<K,V> implements Folds<Tuple3<K,K,V>>, Iterable<Tuple3<K,K,V>>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FingerTree<Bounds<K>,Tuple3<K,K,V>> tree;
+    private final Comparator<? super K> comp;
+
+    private IntervalTree(FingerTree<Bounds<K>,Tuple3<K,K,V>> tree, Comparator<? super K> comp) {
+        this.tree = tree;
+        this.comp = comp;
+    }
+
+    public static <K extends Comparable<? super K>,V> IntervalTree<K,V> empty(){
+        return empty(Comparator.naturalOrder());
+    }
+
+    public static <K,V> IntervalTree<K,V> empty(Comparator<? super K> comp){
+        return new IntervalTree<>(FingerTree.empty(new BoundsMonoid<>(comp),new Measure<>()),comp);
+    }
+
+    /**
+     * Add the interval [low, high] with the associated value, after any intervals already present with the same
+     * low endpoint
+     *
+     * @throws IllegalArgumentException if low is greater than high
+     */
+    public IntervalTree<K,V> insert(K low, K high, V value){
+        if(comp.compare(low,high)>0)
+            throw new IllegalArgumentException("Interval low endpoint " + low + " is greater than high endpoint " + high);
+        Tuple2<FingerTree<Bounds<K>,Tuple3<K,K,V>>,FingerTree<Bounds<K>,Tuple3<K,K,V>>> split = tree.split(lowAbove(low));
+        return new IntervalTree<>(split._1().append(Tuple.tuple(low,high,value)).appendTree(split._2()),comp);
+    }
+
+    /**
+     * Remove the first interval [low, high] associated with value (compared with equals)
+     */
+    public IntervalTree<K,V> remove(K low, K high, V value){
+        Tuple2<FingerTree<Bounds<K>,Tuple3<K,K,V>>,FingerTree<Bounds<K>,Tuple3<K,K,V>>> split = tree.split(lowAtLeast(low));
+        FingerTree<Bounds<K>,Tuple3<K,K,V>> skipped = split._1();
+        FingerTree<Bounds<K>,Tuple3<K,K,V>> rest = split._2();
+        while(!rest.isEmpty()){
+            Tuple3<K,K,V> next = rest.headOption().orElse(null);
+            if(comp.compare(next._1(),low)!=0)
+                return this;
+            if(comp.compare(next._2(),high)==0 && Objects.equals(next._3(),value))
+                return new IntervalTree<>(skipped.appendTree(rest.tail()),comp);
+            skipped = skipped.append(next);
+            rest = rest.tail();
+        }
+        return this;
+    }
+
+    public int size(){
+        return tree.measure().size;
+    }
+
+    public boolean isEmpty(){
+        return tree.isEmpty();
+    }
+
+    /**
+     * @return The first interval (in order of low endpoint) that overlaps [low, high]
+     */
+    public Option<Tuple3<K,K,V>> anyOverlapping(K low, K high){
+        return tree.find(highAtLeast(low))
+                   .filter(t->comp.compare(t._1(),high)<=0);
+    }
+
+    /**
+     * @return All intervals that overlap [low, high], in order of low endpoint
+     */
+    public ReactiveSeq<Tuple3<K,K,V>> overlapping(K low, K high){
+        FingerTree<Bounds<K>,Tuple3<K,K,V>> candidates = tree.takeUntil(lowAbove(high));
+        return ReactiveSeq.unfold(candidates,t->{
+            FingerTree<Bounds<K>,Tuple3<K,K,V>> rest = t.dropUntil(highAtLeast(low));
+            return rest.headOption().map(next->Tuple.tuple(next,rest.tail()));
+        });
+    }
+
+    /**
+     * @return All intervals that contain point, in order of low endpoint
+     */
+    public ReactiveSeq<Tuple3<K,K,V>> stabbing(K point){
+        return overlapping(point,point);
+    }
+
+    /**
+     * @return The interval with the greatest high endpoint (the first such interval if there are several)
+     */
+    public Option<Tuple3<K,K,V>> highest(){
+        if(isEmpty())
+            return Option.none();
+        return tree.find(highAtLeast(tree.measure().maxHigh));
+    }
+
+    /**
+     * @return This tree without the interval returned by {@link #highest()}
+     */
+    public IntervalTree<K,V> removeHighest(){
+        if(isEmpty())
+            return this;
+        Tuple2<FingerTree<Bounds<K>,Tuple3<K,K,V>>,FingerTree<Bounds<K>,Tuple3<K,K,V>>> split = tree.split(highAtLeast(tree.measure().maxHigh));
+        return new IntervalTree<>(split._1().appendTree(split._2().tail()),comp);
+    }
+
+    private Predicate<Bounds<K>> lowAbove(K low){
+        return b->b.size>0 && comp.compare(b.maxLow,low)>0;
+    }
+
+    private Predicate<Bounds<K>> lowAtLeast(K low){
+        return b->b.size>0 && comp.compare(b.maxLow,low)>=0;
+    }
+
+    private Predicate<Bounds<K>> highAtLeast(K high){
+        return b->b.size>0 && comp.compare(b.maxHigh,high)>=0;
+    }
+
+    @Override
+    public Iterator<Tuple3<K,K,V>> iterator() {
+        return tree.iterator();
+    }
+
+    @Override
+    public ReactiveSeq<Tuple3<K,K,V>> stream() {
+        return tree.stream();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(o==this)
+            return true;
+        if(!(o instanceof IntervalTree))
+            return false;
+        return tree.equals(((IntervalTree<?,?>)o).tree);
+    }
+
+    @Override
+    public int hashCode() {
+        return tree.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return tree.toString();
+    }
+
+    static final class Bounds<K> implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final int size;
+        final K maxLow;
+        final K maxHigh;
+
+        Bounds(int size, K maxLow, K maxHigh) {
+            this.size = size;
+            this.maxLow = maxLow;
+            this.maxHigh = maxHigh;
+        }
+    }
+
+    static final class Measure<K,V> implements Function<Tuple3<K,K,V>,Bounds<K>>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Bounds<K> apply(Tuple3<K,K,V> interval) {
+            return new Bounds<>(1,interval._1(),interval._2());
+        }
+    }
+
+    //combines the measures of adjacent runs of intervals
+    static final class BoundsMonoid<K> implements Monoid<Bounds<K>>, Serializable {
+        private static final long serialVersionUID = 1L;
+        private final Comparator<? super K> comp;
+        private final Bounds<K> zero = new Bounds<>(0,null,null);
+
+        BoundsMonoid(Comparator<? super K> comp) {
+            this.comp = comp;
+        }
+
+        @Override
+        public Bounds<K> zero() {
+            return zero;
+        }
+
+        @Override
+        public Bounds<K> apply(Bounds<K> left, Bounds<K> right) {
+            if(left.size==0)
+                return right;
+            if(right.size==0)
+                return left;
+            //intervals are ordered by low endpoint, so the right hand side holds the greatest
+            K maxHigh = comp.compare(left.maxHigh,right.maxHigh)>=0 ? left.maxHigh : right.maxHigh;
+            return new Bounds<>(left.size+right.size,right.maxLow,maxHigh);
+        }
+    }
+}
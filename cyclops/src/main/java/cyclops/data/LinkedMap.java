@@ -14,6 +14,7 @@ import lombok.AllArgsConstructor;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
@@ -21,14 +22,19 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.*;
 import java.util.stream.Stream;
 
+/*
+ * Insertion order is tracked by giving each new key the next sequence number, entries are indexed by sequence number
+ * in a TreeMap so put / remove are O(log n) and iteration in insertion order is O(1) amortized per entry.
+ */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class LinkedMap<K,V> implements ImmutableMap<K,V>, Higher2<linkedHashMap,K,V> {
 
-    private final ImmutableMap<K, V> map;
-    private final Vector<Tuple2<K, V>> order;
+    private final HashMap<K, Tuple2<V,Long>> map;
+    private final TreeMap<Long, Tuple2<K, V>> order;
+    private final long nextSequence;
 
     public static <K,V> LinkedMap<K,V> empty(){
-        return new LinkedMap<>(HashMap.empty(),Vector.empty());
+        return new LinkedMap<>(HashMap.empty(),TreeMap.empty(Comparator.<Long>naturalOrder()),0L);
     }
     public static <K,V> LinkedMap<K,V> of(K k,V v){
         LinkedMap<K,V> res = empty();
@@ -50,22 +56,24 @@ public final class LinkedMap<K,V> implements ImmutableMap<K,V>, Higher2<linkedHa
         return ReactiveSeq.fromStream(stream).foldLeft(empty(),(m,t2)->m.put(t2._1(),t2._2()));
     }
     public Option<V> get(K key){
-        return map.get(key);
+        return map.get(key).map(Tuple2::_1);
     }
 
     @Override
     public V getOrElse(K key, V alt) {
-        return map.getOrElse(key,alt);
+        Tuple2<V,Long> entry = map.getOrElse(key,null);
+        return entry==null ? alt : entry._1();
     }
 
     @Override
     public V getOrElseGet(K key, Supplier<? extends V> alt) {
-        return map.getOrElseGet(key,alt);
+        Tuple2<V,Long> entry = map.getOrElse(key,null);
+        return entry==null ? alt.get() : entry._1();
     }
 
     @Override
     public int size() {
-        return order.size();
+        return map.size();
     }
 
     @Override
@@ -80,7 +88,7 @@ public final class LinkedMap<K,V> implements ImmutableMap<K,V>, Higher2<linkedHa
 
     @Override
     public ReactiveSeq<Tuple2<K, V>> stream() {
-        return order.stream();
+        return ReactiveSeq.fromIterable(this);
     }
 
     @Override
@@ -139,13 +147,16 @@ public final class LinkedMap<K,V> implements ImmutableMap<K,V>, Higher2<linkedHa
 
     @Override
     public boolean contains(Tuple2<K, V> t) {
-        return map.contains(t);
+        return get(t._1()).filter(v->Objects.equals(v,t._2())).isPresent();
     }
 
     public LinkedMap<K, V> put(K key, V value) {
-        Vector<Tuple2<K, V>> newOrder = get(key).map(v -> order.replaceFirst(Tuple.tuple(key, v), Tuple.tuple(key, value)))
-                .orElseGet(() -> order.plus(Tuple.tuple(key, value)));
-        return new LinkedMap<>(map.put(key,value),newOrder);
+        Tuple2<V,Long> entry = map.getOrElse(key,null);
+        if(entry!=null){
+            Long sequence = entry._2();
+            return new LinkedMap<>(map.put(key,Tuple.tuple(value,sequence)),order.put(sequence,Tuple.tuple(key,value)),nextSequence);
+        }
+        return new LinkedMap<>(map.put(key,Tuple.tuple(value,nextSequence)),order.put(nextSequence,Tuple.tuple(key,value)),nextSequence+1);
 
     }
 
@@ -156,23 +167,18 @@ public final class LinkedMap<K,V> implements ImmutableMap<K,V>, Higher2<linkedHa
     }
 
     @Override
-    public ImmutableMap<K, V> putAll(PersistentMap<? extends K,? extends V> map) {
+    public LinkedMap<K, V> putAll(PersistentMap<? extends K,? extends V> map) {
         PersistentMap< K,V> narrow = (PersistentMap<K,V>)map;
-        ImmutableMap<K,V> res = HashMap.empty();
-        Vector<Tuple2<K,V>> ordering =order;
+        LinkedMap<K,V> res = this;
         for(Tuple2<K,V> t : narrow){
-            if(containsKey(t._1()))
-                ordering = ordering.replaceFirst(Tuple.tuple(t._1(),getOrElse(t._1(),null)),t);
-            else
-                ordering =ordering.plus(t);
-            res = res.put(t);
-
+            res = res.put(t._1(),t._2());
         }
-        return new LinkedMap<K,V>(res,ordering);
+        return res;
     }
 
     public LinkedMap<K, V> remove(K key) {
-       return containsKey(key) ? new LinkedMap<K,V>(map.remove(key),order.removeFirst(t -> Objects.equals(key, t._1()))) : this;
+        Tuple2<V,Long> entry = map.getOrElse(key,null);
+        return entry==null ? this : new LinkedMap<K,V>(map.remove(key),order.remove(entry._2()),nextSequence);
     }
 
     @Override
@@ -193,7 +199,18 @@ public final class LinkedMap<K,V> implements ImmutableMap<K,V>, Higher2<linkedHa
 
     @Override
     public Iterator<Tuple2<K, V>> iterator() {
-        return stream().iterator();
+        Iterator<Tuple2<Long, Tuple2<K, V>>> it = order.iterator();
+        return new Iterator<Tuple2<K, V>>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Tuple2<K, V> next() {
+                return it.next()._2();
+            }
+        };
     }
 
   @Override
@@ -0,0 +1,98 @@
+package cyclops.data;
+
+import cyclops.control.Ior;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.data.tuple.Tuple3;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * The entries that differ between two versions of an ImmutableMap, see {@link ImmutableMap#diff(ImmutableMap)}
+ *
+ * <pre>
+ * {@code
+ *  HashMap<String,Integer> v1 = HashMap.of("a",1,"b",2);
+ *  HashMap<String,Integer> v2 = v1.put("b",3).put("c",4).remove("a");
+ *
+ *  MapDiff<String,Integer> diff = v1.diff(v2);
+ *  //diff.added()   : [("c",4)]
+ *  //diff.removed() : [("a",1)]
+ *  //diff.changed() : [("b",2,3)]
+ * }
+ * </pre>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@ToString
+public final class MapDiff<K, V> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Vector<Tuple2<K, V>> added;
+    private final Vector<Tuple2<K, V>> removed;
+    private final Vector<Tuple3<K, V, V>> changed;
+
+    public static <K, V> MapDiff<K, V> empty() {
+        return new MapDiff<>(Vector.empty(), Vector.empty(), Vector.empty());
+    }
+
+    /**
+     * Collect a stream of changes, as produced by {@link ImmutableMap#diffStream(ImmutableMap)}
+     *
+     * @param changes Changed keys, with Ior.left for removed entries (old value), Ior.right for added entries (new
+     *                value) and Ior.both for changed entries (old value, new value)
+     * @return MapDiff containing the supplied changes
+     */
+    public static <K, V> MapDiff<K, V> fromIterable(Iterable<? extends Tuple2<? extends K, ? extends Ior<? extends V, ? extends V>>> changes) {
+        Vector<Tuple2<K, V>> added = Vector.empty();
+        Vector<Tuple2<K, V>> removed = Vector.empty();
+        Vector<Tuple3<K, V, V>> changed = Vector.empty();
+        for (Tuple2<? extends K, ? extends Ior<? extends V, ? extends V>> next : changes) {
+            K key = next._1();
+            Ior<? extends V, ? extends V> change = next._2();
+            if (change.isBoth())
+                changed = changed.plus(Tuple.tuple(key, change.getLeft().orElse(null), change.orElse(null)));
+            else if (change.isLeft())
+                removed = removed.plus(Tuple.tuple(key, change.getLeft().orElse(null)));
+            else
+                added = added.plus(Tuple.tuple(key, change.orElse(null)));
+        }
+        return new MapDiff<>(added, removed, changed);
+    }
+
+    /**
+     * @return Entries present only in the newer map
+     */
+    public Vector<Tuple2<K, V>> added() {
+        return added;
+    }
+
+    /**
+     * @return Entries present only in the older map
+     */
+    public Vector<Tuple2<K, V>> removed() {
+        return removed;
+    }
+
+    /**
+     * @return Keys present in both maps with different values, as (key, old value, new value)
+     */
+    public Vector<Tuple3<K, V, V>> changed() {
+        return changed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    public int size() {
+        return added.size() + removed.size() + changed.size();
+    }
+}
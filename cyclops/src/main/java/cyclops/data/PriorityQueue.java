@@ -0,0 +1,907 @@
+package cyclops.data;
+
+import com.oath.cyclops.types.persistent.PersistentCollection;
+import com.oath.cyclops.types.persistent.PersistentQueue;
+import cyclops.companion.Comparators;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.data.tuple.Tuple3;
+import cyclops.data.tuple.Tuple4;
+import cyclops.function.Function3;
+import cyclops.function.Function4;
+import cyclops.function.Monoid;
+import cyclops.reactive.ReactiveSeq;
+import org.reactivestreams.Publisher;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent priority queue, implemented as a pairing heap. Elements are dequeued (and iterated) in ascending order
+ * according to the queue's Comparator, and unlike a TreeSet used as a heap, duplicates are retained.
+ *
+ * findMin (head), insert (enqueue / append / plus) and meld are O(1), deleteMin (tail) is O(log n) amortized. The
+ * amortized bound assumes each version is dequeued once, dequeuing the same version repeatedly repeats its
+ * restructuring pass.
+ *
+ * <pre>
+ * {@code
+ *  PriorityQueue<Integer> q = PriorityQueue.of(5,1,3,1);
+ *  q.findMin();            //Option[1]
+ *  q.deleteMin().toList(); //[1,3,5]
+ * }
+ * </pre>
+ *
+ * @param <T> Element type
+ */
+public interface PriorityQueue<T> extends ImmutableQueue<T>, Serializable {
+
+    static <T> Collector<T, List<T>, PriorityQueue<T>> collector(Comparator<? super T> comp) {
+        Collector<T, ?, List<T>> c  = Collectors.toList();
+        return Collectors.<T, List<T>, Iterable<T>,PriorityQueue<T>>collectingAndThen((Collector)c,it->fromIterable(it,comp));
+    }
+
+    static <T extends Comparable<? super T>> PriorityQueue<T> empty(){
+        return new Nil<>(Comparators.naturalComparator());
+    }
+    static <T> PriorityQueue<T> empty(Comparator<? super T> comp){
+        return new Nil<>(comp);
+    }
+    static <T extends Comparable<? super T>> PriorityQueue<T> of(T... values){
+        return of(Comparators.naturalComparator(),values);
+    }
+    static <T> PriorityQueue<T> of(Comparator<? super T> comp, T... values){
+        PriorityQueue<T> result = empty(comp);
+        for(T next : values){
+            result = result.enqueue(next);
+        }
+        return result;
+    }
+    static <T extends Comparable<? super T>> PriorityQueue<T> fromIterable(Iterable<? extends T> iterable){
+        return fromIterable(iterable,Comparators.naturalComparator());
+    }
+    static <T> PriorityQueue<T> fromIterable(Iterable<? extends T> iterable, Comparator<? super T> comp){
+        PriorityQueue<T> result = empty(comp);
+        for(T next : iterable){
+            result = result.enqueue(next);
+        }
+        return result;
+    }
+    static <T extends Comparable<? super T>> PriorityQueue<T> fromStream(Stream<? extends T> stream){
+        return fromIterable(ReactiveSeq.fromStream(stream));
+    }
+    static <T> PriorityQueue<T> fromStream(Stream<? extends T> stream, Comparator<? super T> comp){
+        return fromIterable(ReactiveSeq.fromStream(stream),comp);
+    }
+
+    Comparator<? super T> comparator();
+
+    /**
+     * Insert a value, O(1)
+     */
+    PriorityQueue<T> enqueue(T value);
+
+    /**
+     * Combine two priority queues in O(1). If other is ordered by a different Comparator its elements are inserted
+     * one at a time.
+     */
+    PriorityQueue<T> meld(PriorityQueue<T> other);
+
+    /**
+     * @return Least element according to the Comparator, O(1)
+     */
+    default Option<T> findMin(){
+        return foldPriorityQueue(c->Option.some(c.head()),n->Option.none());
+    }
+
+    /**
+     * @return This queue without its least element, O(log n) amortized
+     */
+    PriorityQueue<T> deleteMin();
+
+    default Tuple2<T,PriorityQueue<T>> dequeue(T defaultValue){
+        return foldPriorityQueue(c->Tuple.tuple(c.head(),c.deleteMin()), n->Tuple.tuple(defaultValue,this));
+    }
+
+    <R> R foldPriorityQueue(Function<? super Cons<T>, ? extends R> fn1, Function<? super Nil<T>, ? extends R> fn2);
+
+    /**
+     * @return A PriorityQueue with the elements of this queue ordered by comp
+     */
+    default PriorityQueue<T> withComparator(Comparator<? super T> comp){
+        return fromIterable(this,comp);
+    }
+
+    default <R> PriorityQueue<R> map(Function<? super T, ? extends R> fn, Comparator<? super R> comp){
+        return fromStream(stream().map(fn),comp);
+    }
+
+    @Override
+    default <R> PriorityQueue<R> unitStream(Stream<R> stream){
+        return fromStream(stream,Comparators.naturalOrderIdentityComparator());
+    }
+
+    @Override
+    default <R> PriorityQueue<R> unitIterable(Iterable<R> it){
+        return fromIterable(it,Comparators.naturalOrderIdentityComparator());
+    }
+
+    @Override
+    default PriorityQueue<T> emptyUnit(){
+        return empty(comparator());
+    }
+
+    @Override
+    default Iterator<T> iterator() {
+        return new Iterator<T>() {
+            PriorityQueue<T> current = PriorityQueue.this;
+            @Override
+            public boolean hasNext() {
+                return !current.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                return current.foldPriorityQueue(c->{
+                    current = c.deleteMin();
+                    return c.head();
+                },n->{throw new NoSuchElementException();});
+            }
+        };
+    }
+
+    @Override
+    default ReactiveSeq<T> stream(){
+        return ReactiveSeq.fromIterable(this);
+    }
+
+    @Override
+    default Option<T> get(int pos){
+        return pos<0 ? Option.none() : stream().elementAt(pos);
+    }
+
+    @Override
+    default T getOrElse(int pos, T alt){
+        return get(pos).orElse(alt);
+    }
+
+    @Override
+    default T getOrElseGet(int pos, Supplier<? extends T> alt){
+        return get(pos).orElseGet(alt);
+    }
+
+    @Override
+    default PriorityQueue<T> drop(long num){
+        PriorityQueue<T> result = this;
+        for(long i=0;i<num && !result.isEmpty();i++)
+            result = result.deleteMin();
+        return result;
+    }
+
+    @Override
+    default PriorityQueue<T> take(long num){
+        return fromStream(stream().take(num),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> prepend(T value){
+        return enqueue(value);
+    }
+
+    @Override
+    default PriorityQueue<T> prependAll(Iterable<? extends T> value){
+        return appendAll(value);
+    }
+
+    @Override
+    default PriorityQueue<T> append(T value){
+        return enqueue(value);
+    }
+
+    @Override
+    default PriorityQueue<T> appendAll(Iterable<? extends T> value){
+        if(value instanceof PriorityQueue)
+            return meld((PriorityQueue<T>)value);
+        PriorityQueue<T> result = this;
+        for(T next : value)
+            result = result.enqueue(next);
+        return result;
+    }
+
+    @Override
+    default PriorityQueue<T> plus(T value){
+        return enqueue(value);
+    }
+
+    @Override
+    default PriorityQueue<T> plusAll(Iterable<? extends T> list){
+        return appendAll(list);
+    }
+
+    /**
+     * @return The elements of this queue in descending order, i.e. ordered by the reverse of this queue's Comparator
+     */
+    @Override
+    default PriorityQueue<T> reverse(){
+        Comparator<T> comp = (Comparator<T>)comparator();
+        return withComparator(comp.reversed());
+    }
+
+    @Override
+    default PriorityQueue<T> minus(){
+        return deleteMin();
+    }
+
+    @Override
+    default PriorityQueue<T> removeValue(T value){
+        return removeAll(value);
+    }
+
+    @Override
+    default PriorityQueue<T> removeFirst(Predicate<? super T> pred){
+        return fromStream(stream().removeFirst(pred),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> replace(T currentElement, T newElement){
+        if(!containsValue(currentElement))
+            return this;
+        return removeFirst(e->Objects.equals(e,currentElement)).enqueue(newElement);
+    }
+
+    @Override
+    default PriorityQueue<T> filter(Predicate<? super T> fn){
+        return fromStream(stream().filter(fn),comparator());
+    }
+
+    @Override
+    default <R> PriorityQueue<R> map(Function<? super T, ? extends R> fn){
+        return unitStream(stream().map(fn));
+    }
+
+    @Override
+    default <R> PriorityQueue<R> flatMap(Function<? super T, ? extends ImmutableQueue<? extends R>> fn){
+        return unitStream(stream().concatMap(fn));
+    }
+
+    @Override
+    default <R> PriorityQueue<R> concatMap(Function<? super T, ? extends Iterable<? extends R>> fn){
+        return unitStream(stream().concatMap(fn));
+    }
+
+    @Override
+    default <R> PriorityQueue<R> mergeMap(Function<? super T, ? extends Publisher<? extends R>> fn){
+        return unitStream(stream().mergeMap(fn));
+    }
+
+    @Override
+    default <R> PriorityQueue<R> mergeMap(int maxConcurecy, Function<? super T, ? extends Publisher<? extends R>> fn){
+        return unitStream(stream().mergeMap(maxConcurecy,fn));
+    }
+
+    final class Cons<T> implements PriorityQueue<T>, ImmutableQueue.Some<T> {
+        private static final long serialVersionUID = 1L;
+        private final T head;
+        private final Seq<Cons<T>> children;
+        private final int size;
+        private final Comparator<? super T> comp;
+
+        private Cons(T head, Seq<Cons<T>> children, int size, Comparator<? super T> comp) {
+            this.head = head;
+            this.children = children;
+            this.size = size;
+            this.comp = comp;
+        }
+
+        /*
+         * The root with the larger element becomes the first child of the other, ties keep a as the root
+         */
+        private static <T> Cons<T> link(Cons<T> a, Cons<T> b){
+            if(a.comp.compare(a.head,b.head)<=0)
+                return new Cons<>(a.head,a.children.prepend(b),a.size+b.size,a.comp);
+            return new Cons<>(b.head,b.children.prepend(a),a.size+b.size,a.comp);
+        }
+
+        @Override
+        public T head() {
+            return head;
+        }
+
+        @Override
+        public PriorityQueue<T> tail() {
+            return deleteMin();
+        }
+
+        /*
+         * Two pass pairing, link the children in pairs from left to right and then fold the pairs into a single heap
+         * from right to left
+         */
+        @Override
+        public PriorityQueue<T> deleteMin() {
+            if(children.isEmpty())
+                return new Nil<>(comp);
+            List<Cons<T>> pairs = new ArrayList<>((children.size()+1)/2);
+            Iterator<Cons<T>> it = children.iterator();
+            while(it.hasNext()){
+                Cons<T> first = it.next();
+                pairs.add(it.hasNext() ? link(first,it.next()) : first);
+            }
+            Cons<T> result = pairs.get(pairs.size()-1);
+            for(int i=pairs.size()-2;i>=0;i--)
+                result = link(pairs.get(i),result);
+            return result;
+        }
+
+        @Override
+        public PriorityQueue<T> enqueue(T value) {
+            return link(this,new Cons<>(value,Seq.empty(),1,comp));
+        }
+
+        @Override
+        public PriorityQueue<T> meld(PriorityQueue<T> other) {
+            if(other.comparator()!=comp)
+                return other.foldLeft((PriorityQueue<T>)this,(q,next)->q.enqueue(next));
+            return other.foldPriorityQueue(c->link(this,c),n->this);
+        }
+
+        @Override
+        public Comparator<? super T> comparator() {
+            return comp;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public <R> R fold(Function<? super Some<T>, ? extends R> fn1, Function<? super None<T>, ? extends R> fn2) {
+            return fn1.apply(this);
+        }
+
+        @Override
+        public <R> R foldPriorityQueue(Function<? super Cons<T>, ? extends R> fn1, Function<? super Nil<T>, ? extends R> fn2) {
+            return fn1.apply(this);
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmpty(T value) {
+            return this;
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmptyGet(Supplier<? extends T> supplier) {
+            return this;
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmptySwitch(Supplier<? extends ImmutableQueue<T>> supplier) {
+            return this;
+        }
+
+        @Override
+        public Tuple2<T, ImmutableQueue<T>> unapply() {
+            return Tuple.tuple(head,deleteMin());
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = 1;
+            for (T next : this)
+                hashCode = 31*hashCode + (next==null ? 0 : next.hashCode());
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(obj==null)
+                return false;
+            if (obj == this)
+                return true;
+            if(obj instanceof PersistentQueue) {
+                return equalToIteration((Iterable)obj);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString(){
+            return seq().toString();
+        }
+    }
+
+    final class Nil<T> implements PriorityQueue<T>, ImmutableQueue.None<T> {
+        private static final long serialVersionUID = 1L;
+        private final Comparator<? super T> comp;
+
+        private Nil(Comparator<? super T> comp) {
+            this.comp = comp;
+        }
+
+        @Override
+        public PriorityQueue<T> deleteMin() {
+            return this;
+        }
+
+        @Override
+        public PriorityQueue<T> enqueue(T value) {
+            return new Cons<>(value,Seq.empty(),1,comp);
+        }
+
+        @Override
+        public PriorityQueue<T> meld(PriorityQueue<T> other) {
+            return other.comparator()==comp ? other : other.withComparator(comp);
+        }
+
+        @Override
+        public Comparator<? super T> comparator() {
+            return comp;
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @Override
+        public <R> R fold(Function<? super Some<T>, ? extends R> fn1, Function<? super None<T>, ? extends R> fn2) {
+            return fn2.apply(this);
+        }
+
+        @Override
+        public <R> R foldPriorityQueue(Function<? super Cons<T>, ? extends R> fn1, Function<? super Nil<T>, ? extends R> fn2) {
+            return fn2.apply(this);
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmpty(T value) {
+            return enqueue(value);
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmptyGet(Supplier<? extends T> supplier) {
+            return enqueue(supplier.get());
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmptySwitch(Supplier<? extends ImmutableQueue<T>> supplier) {
+            return supplier.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(obj instanceof PersistentQueue){
+                return ((PersistentQueue)obj).size()==0;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString(){
+            return seq().toString();
+        }
+    }
+
+    default PriorityQueue<T> takeWhile(Predicate<? super T> p) {
+        return fromStream(stream().takeWhile(p),comparator());
+    }
+    default PriorityQueue<T> dropWhile(Predicate<? super T> p) {
+        return fromStream(stream().dropWhile(p),comparator());
+    }
+
+    default <R1, R2> Tuple2<PriorityQueue<R1>, PriorityQueue<R2>> unzip(Function<? super T, Tuple2<? extends R1, ? extends R2>> fn) {
+        return Tuple.tuple(unitStream(stream().map(t->fn.apply(t)._1())),unitStream(stream().map(t->fn.apply(t)._2())));
+    }
+
+    default <R> R foldLeft(R zero, BiFunction<R, ? super T, R> f){
+        R acc= zero;
+        for(T next : this){
+            acc= f.apply(acc,next);
+        }
+        return acc;
+    }
+
+    @Override
+    default <U> PriorityQueue<U> ofType(Class<? extends U> type) {
+        return (PriorityQueue<U>)ImmutableQueue.super.ofType(type);
+    }
+
+    @Override
+    default PriorityQueue<T> filterNot(Predicate<? super T> predicate) {
+        return filter(predicate.negate());
+    }
+
+    @Override
+    default PriorityQueue<T> notNull() {
+        return filter(Objects::nonNull);
+    }
+
+    @Override
+    default PriorityQueue<T> peek(Consumer<? super T> c) {
+        return fromStream(stream().peek(c),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> removeStream(Stream<? extends T> stream) {
+        return fromStream(stream().removeStream(stream),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> removeAll(T... values) {
+        return fromStream(stream().removeAll(values),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> removeAll(Iterable<? extends T> it) {
+        return fromStream(stream().removeAll(it),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> retainAll(Iterable<? extends T> it) {
+        return fromStream(stream().retainAll(it),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> retainStream(Stream<? extends T> stream) {
+        return fromStream(stream().retainStream(stream),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> retainAll(T... values) {
+        return fromStream(stream().retainAll(values),comparator());
+    }
+
+    @Override
+    default PriorityQueue<ReactiveSeq<T>> permutations() {
+        return (PriorityQueue<ReactiveSeq<T>>)ImmutableQueue.super.permutations();
+    }
+
+    @Override
+    default PriorityQueue<ReactiveSeq<T>> combinations(int size) {
+        return (PriorityQueue<ReactiveSeq<T>>)ImmutableQueue.super.combinations(size);
+    }
+
+    @Override
+    default PriorityQueue<ReactiveSeq<T>> combinations() {
+        return (PriorityQueue<ReactiveSeq<T>>)ImmutableQueue.super.combinations();
+    }
+
+    @Override
+    default <T2, R> PriorityQueue<R> zip(BiFunction<? super T, ? super T2, ? extends R> fn, Publisher<? extends T2> publisher) {
+        return (PriorityQueue<R>)ImmutableQueue.super.zip(fn, publisher);
+    }
+
+    @Override
+    default <U, R> PriorityQueue<R> zipWithStream(Stream<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return (PriorityQueue<R>)ImmutableQueue.super.zipWithStream(other,zipper);
+    }
+
+    @Override
+    default <U> PriorityQueue<Tuple2<T, U>> zipWithPublisher(Publisher<? extends U> other) {
+        return (PriorityQueue)ImmutableQueue.super.zipWithPublisher(other);
+    }
+
+    @Override
+    default <U> PriorityQueue<Tuple2<T, U>> zip(Iterable<? extends U> other) {
+        return (PriorityQueue)ImmutableQueue.super.zip(other);
+    }
+
+    @Override
+    default <S, U, R> PriorityQueue<R> zip3(Iterable<? extends S> second, Iterable<? extends U> third, Function3<? super T, ? super S, ? super U, ? extends R> fn3) {
+        return (PriorityQueue<R>)ImmutableQueue.super.zip3(second,third,fn3);
+    }
+
+    @Override
+    default <T2, T3, T4, R> PriorityQueue<R> zip4(Iterable<? extends T2> second, Iterable<? extends T3> third, Iterable<? extends T4> fourth, Function4<? super T, ? super T2, ? super T3, ? super T4, ? extends R> fn) {
+        return (PriorityQueue<R>)ImmutableQueue.super.zip4(second,third,fourth,fn);
+    }
+
+    @Override
+    default PriorityQueue<T> combine(BiPredicate<? super T, ? super T> predicate, BinaryOperator<T> op) {
+        return fromStream(stream().combine(predicate,op),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> combine(Monoid<T> op, BiPredicate<? super T, ? super T> predicate) {
+        return fromStream(stream().combine(op,predicate),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> cycle(long times) {
+        return fromStream(stream().cycle(times),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> cycle(Monoid<T> m, long times) {
+        return fromStream(stream().cycle(m,times),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> cycleWhile(Predicate<? super T> predicate) {
+        return fromStream(stream().cycleWhile(predicate),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> cycleUntil(Predicate<? super T> predicate) {
+        return fromStream(stream().cycleUntil(predicate),comparator());
+    }
+
+    @Override
+    default <U, R> PriorityQueue<R> zip(Iterable<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return (PriorityQueue<R>) ImmutableQueue.super.zip(other,zipper);
+    }
+
+    @Override
+    default <S, U> PriorityQueue<Tuple3<T, S, U>> zip3(Iterable<? extends S> second, Iterable<? extends U> third) {
+        return (PriorityQueue) ImmutableQueue.super.zip3(second,third);
+    }
+
+    @Override
+    default <T2, T3, T4> PriorityQueue<Tuple4<T, T2, T3, T4>> zip4(Iterable<? extends T2> second, Iterable<? extends T3> third, Iterable<? extends T4> fourth) {
+        return (PriorityQueue) ImmutableQueue.super.zip4(second,third,fourth);
+    }
+
+    @Override
+    default PriorityQueue<Tuple2<T, Long>> zipWithIndex() {
+        return (PriorityQueue<Tuple2<T,Long>>) ImmutableQueue.super.zipWithIndex();
+    }
+
+    @Override
+    default PriorityQueue<Seq<T>> sliding(int windowSize) {
+        return (PriorityQueue<Seq<T>>) ImmutableQueue.super.sliding(windowSize);
+    }
+
+    @Override
+    default PriorityQueue<Seq<T>> sliding(int windowSize, int increment) {
+        return (PriorityQueue<Seq<T>>) ImmutableQueue.super.sliding(windowSize,increment);
+    }
+
+    @Override
+    default <C extends PersistentCollection<? super T>> PriorityQueue<C> grouped(int size, Supplier<C> supplier) {
+        return (PriorityQueue<C>) ImmutableQueue.super.grouped(size,supplier);
+    }
+
+    @Override
+    default PriorityQueue<Vector<T>> groupedUntil(Predicate<? super T> predicate) {
+        return (PriorityQueue<Vector<T>>) ImmutableQueue.super.groupedUntil(predicate);
+    }
+
+    @Override
+    default PriorityQueue<Vector<T>> groupedUntil(BiPredicate<Vector<? super T>, ? super T> predicate) {
+        return (PriorityQueue<Vector<T>>) ImmutableQueue.super.groupedUntil(predicate);
+    }
+
+    @Override
+    default <U> PriorityQueue<Tuple2<T, U>> zipWithStream(Stream<? extends U> other) {
+        return (PriorityQueue) ImmutableQueue.super.zipWithStream(other);
+    }
+
+    @Override
+    default PriorityQueue<Vector<T>> groupedWhile(Predicate<? super T> predicate) {
+        return (PriorityQueue<Vector<T>>) ImmutableQueue.super.groupedWhile(predicate);
+    }
+
+    @Override
+    default <C extends PersistentCollection<? super T>> PriorityQueue<C> groupedWhile(Predicate<? super T> predicate, Supplier<C> factory) {
+        return (PriorityQueue<C>) ImmutableQueue.super.groupedWhile(predicate,factory);
+    }
+
+    @Override
+    default <C extends PersistentCollection<? super T>> PriorityQueue<C> groupedUntil(Predicate<? super T> predicate, Supplier<C> factory) {
+        return (PriorityQueue<C>) ImmutableQueue.super.groupedUntil(predicate,factory);
+    }
+
+    @Override
+    default PriorityQueue<Vector<T>> grouped(int groupSize) {
+        return (PriorityQueue<Vector<T>>) ImmutableQueue.super.grouped(groupSize);
+    }
+
+    @Override
+    default PriorityQueue<T> distinct() {
+        return fromStream(stream().distinct(),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> scanLeft(Monoid<T> monoid) {
+        return fromStream(stream().scanLeft(monoid),comparator());
+    }
+
+    @Override
+    default <U> PriorityQueue<U> scanLeft(U seed, BiFunction<? super U, ? super T, ? extends U> function) {
+        return (PriorityQueue<U>) ImmutableQueue.super.scanLeft(seed,function);
+    }
+
+    @Override
+    default PriorityQueue<T> scanRight(Monoid<T> monoid) {
+        return fromStream(stream().scanRight(monoid),comparator());
+    }
+
+    @Override
+    default <U> PriorityQueue<U> scanRight(U identity, BiFunction<? super T, ? super U, ? extends U> combiner) {
+        return (PriorityQueue<U>) ImmutableQueue.super.scanRight(identity,combiner);
+    }
+
+    /**
+     * @return The elements of this queue ordered by their natural order
+     */
+    @Override
+    default PriorityQueue<T> sorted() {
+        return withComparator(Comparators.naturalOrderIdentityComparator());
+    }
+
+    /**
+     * @return The elements of this queue ordered by c
+     */
+    @Override
+    default PriorityQueue<T> sorted(Comparator<? super T> c) {
+        return withComparator(c);
+    }
+
+    @Override
+    default PriorityQueue<T> takeUntil(Predicate<? super T> p) {
+        return fromStream(stream().takeUntil(p),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> dropUntil(Predicate<? super T> p) {
+        return fromStream(stream().dropUntil(p),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> dropRight(int num) {
+        return fromStream(stream().dropRight(num),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> takeRight(int num) {
+        return fromStream(stream().takeRight(num),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> intersperse(T value) {
+        return fromStream(stream().intersperse(value),comparator());
+    }
+
+    /**
+     * Elements are always dequeued in priority order, so shuffling returns this queue
+     */
+    @Override
+    default PriorityQueue<T> shuffle() {
+        return this;
+    }
+
+    @Override
+    default PriorityQueue<T> shuffle(Random random) {
+        return this;
+    }
+
+    @Override
+    default PriorityQueue<T> slice(long from, long to) {
+        return fromStream(stream().slice(from,to),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> prependStream(Stream<? extends T> stream) {
+        return appendAll(ReactiveSeq.fromStream(stream));
+    }
+
+    @Override
+    default PriorityQueue<T> appendAll(T... values) {
+        return appendAll(ReactiveSeq.of(values));
+    }
+
+    @Override
+    default PriorityQueue<T> prependAll(T... values) {
+        return appendAll(ReactiveSeq.of(values));
+    }
+
+    @Override
+    default PriorityQueue<T> deleteBetween(int start, int end) {
+        return fromStream(stream().deleteBetween(start,end),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> insertStreamAt(int pos, Stream<T> stream) {
+        return appendAll(ReactiveSeq.fromStream(stream));
+    }
+
+    @Override
+    default <U extends Comparable<? super U>> PriorityQueue<T> sorted(Function<? super T, ? extends U> function) {
+        return withComparator(Comparator.comparing(function));
+    }
+
+    @Override
+    default <R1, R2, R3, R> PriorityQueue<R> forEach4(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends Iterable<R2>> iterable2, Function3<? super T, ? super R1, ? super R2, ? extends Iterable<R3>> iterable3, Function4<? super T, ? super R1, ? super R2, ? super R3, ? extends R> yieldingFunction) {
+        return (PriorityQueue<R>) ImmutableQueue.super.forEach4(iterable1,iterable2,iterable3,yieldingFunction);
+    }
+
+    @Override
+    default <R1, R2, R3, R> PriorityQueue<R> forEach4(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends Iterable<R2>> iterable2, Function3<? super T, ? super R1, ? super R2, ? extends Iterable<R3>> iterable3, Function4<? super T, ? super R1, ? super R2, ? super R3, Boolean> filterFunction, Function4<? super T, ? super R1, ? super R2, ? super R3, ? extends R> yieldingFunction) {
+        return (PriorityQueue<R>) ImmutableQueue.super.forEach4(iterable1,iterable2,iterable3,filterFunction,yieldingFunction);
+    }
+
+    @Override
+    default <R1, R2, R> PriorityQueue<R> forEach3(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends Iterable<R2>> iterable2, Function3<? super T, ? super R1, ? super R2, ? extends R> yieldingFunction) {
+        return (PriorityQueue<R>) ImmutableQueue.super.forEach3(iterable1,iterable2,yieldingFunction);
+    }
+
+    @Override
+    default <R1, R2, R> PriorityQueue<R> forEach3(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends Iterable<R2>> iterable2, Function3<? super T, ? super R1, ? super R2, Boolean> filterFunction, Function3<? super T, ? super R1, ? super R2, ? extends R> yieldingFunction) {
+        return (PriorityQueue<R>) ImmutableQueue.super.forEach3(iterable1,iterable2,filterFunction,yieldingFunction);
+    }
+
+    @Override
+    default <R1, R> PriorityQueue<R> forEach2(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends R> yieldingFunction) {
+        return (PriorityQueue<R>) ImmutableQueue.super.forEach2(iterable1,yieldingFunction);
+    }
+
+    @Override
+    default <R1, R> PriorityQueue<R> forEach2(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, Boolean> filterFunction, BiFunction<? super T, ? super R1, ? extends R> yieldingFunction) {
+        return (PriorityQueue<R>) ImmutableQueue.super.forEach2(iterable1,filterFunction,yieldingFunction);
+    }
+
+    @Override
+    default PriorityQueue<T> removeAt(long pos) {
+        return fromStream(stream().removeAt(pos),comparator());
+    }
+
+    @Override
+    default PriorityQueue<T> removeAt(int pos) {
+        return fromStream(stream().removeAt(pos),comparator());
+    }
+
+    /**
+     * Elements are always dequeued in priority order, so this removes the element at pos and inserts value
+     */
+    @Override
+    default PriorityQueue<T> updateAt(int pos, T value) {
+        return pos<0 || pos>=size() ? this : removeAt(pos).enqueue(value);
+    }
+
+    @Override
+    default PriorityQueue<T> insertAt(int pos, Iterable<? extends T> values) {
+        return appendAll(values);
+    }
+
+    @Override
+    default PriorityQueue<T> insertAt(int i, T value) {
+        return enqueue(value);
+    }
+
+    @Override
+    default PriorityQueue<T> insertAt(int pos, T... values) {
+        return appendAll(values);
+    }
+}
@@ -0,0 +1,950 @@
+package cyclops.data;
+
+import com.oath.cyclops.types.persistent.PersistentCollection;
+import com.oath.cyclops.types.persistent.PersistentQueue;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.data.tuple.Tuple3;
+import cyclops.data.tuple.Tuple4;
+import cyclops.function.Function3;
+import cyclops.function.Function4;
+import cyclops.function.Monoid;
+import cyclops.reactive.ReactiveSeq;
+import org.reactivestreams.Publisher;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent FIFO queue with worst-case O(1) enqueue, dequeue, head and prepend (Okasaki's real-time queue,
+ * "Simple and efficient purely functional queues and deques").
+ *
+ * Like {@link BankersQueue} the queue keeps a front list and a reversed back list, but rather than reversing the back
+ * list in one step when it outgrows the front, the reversal is started as a lazy rotation and advanced by one step on
+ * every subsequent operation. No single operation ever has to reverse a large back list, so there are no latency spikes,
+ * and because the rotation is memoized, old versions of the queue can be reused (for example after a failed
+ * compare-and-set) without repeating work. Each step is computed at most once per thread and the steps are
+ * deterministic, so versions can be safely shared between threads.
+ *
+ * Positional access (get) and bulk operations are O(n) as for BankersQueue.
+ *
+ * <pre>
+ * {@code
+ *  RealTimeQueue<Integer> q = RealTimeQueue.of(1,2,3)
+ *                                          .enqueue(4);
+ *  q.dequeue(-1);  //(1,[2,3,4])
+ * }
+ * </pre>
+ *
+ * @param <T> Element type
+ */
+public interface RealTimeQueue<T> extends ImmutableQueue<T>, Serializable {
+
+    static <T> Collector<T, List<T>, RealTimeQueue<T>> collector() {
+        Collector<T, ?, List<T>> c  = Collectors.toList();
+        return Collectors.<T, List<T>, Iterable<T>,RealTimeQueue<T>>collectingAndThen((Collector)c,RealTimeQueue::fromIterable);
+    }
+
+    static <T> RealTimeQueue<T> empty(){
+        return Nil.Instance;
+    }
+    static <T> RealTimeQueue<T> of(T... values){
+        RealTimeQueue<T> result = empty();
+        for(T next : values){
+            result = result.enqueue(next);
+        }
+        return result;
+    }
+    static <T> RealTimeQueue<T> fromIterable(Iterable<? extends T> iterable){
+        if(iterable instanceof RealTimeQueue)
+            return (RealTimeQueue<T>)iterable;
+        RealTimeQueue<T> result = empty();
+        for(T next : iterable){
+            result = result.enqueue(next);
+        }
+        return result;
+    }
+    static <T> RealTimeQueue<T> fromStream(Stream<? extends T> stream){
+        return fromIterable(ReactiveSeq.fromStream(stream));
+    }
+    static <T> RealTimeQueue<T> fromIterator(Iterator<? extends T> it){
+        return fromIterable(()->(Iterator<T>)it);
+    }
+
+    /**
+     * Add a value to the back of the queue, O(1)
+     */
+    RealTimeQueue<T> enqueue(T value);
+
+    /**
+     * Add a value to the front of the queue, O(1)
+     */
+    @Override
+    RealTimeQueue<T> prepend(T value);
+
+    /**
+     * @return This queue without its first element, O(1)
+     */
+    RealTimeQueue<T> tail();
+
+    default Tuple2<T,RealTimeQueue<T>> dequeue(T defaultValue){
+        return foldRealTimeQueue(c->Tuple.tuple(c.head(),c.tail()), n->Tuple.tuple(defaultValue,this));
+    }
+
+    <R> R foldRealTimeQueue(Function<? super Cons<T>, ? extends R> fn1, Function<? super Nil<T>, ? extends R> fn2);
+
+    @Override
+    default <R> RealTimeQueue<R> unitStream(Stream<R> stream){
+        return fromStream(stream);
+    }
+
+    @Override
+    default <R> RealTimeQueue<R> unitIterable(Iterable<R> it){
+        return fromIterable(it);
+    }
+
+    @Override
+    default RealTimeQueue<T> emptyUnit(){
+        return empty();
+    }
+
+    @Override
+    default Iterator<T> iterator() {
+        return new Iterator<T>() {
+            RealTimeQueue<T> current = RealTimeQueue.this;
+            @Override
+            public boolean hasNext() {
+                return !current.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                return current.foldRealTimeQueue(c->{
+                    current = c.tail();
+                    return c.head();
+                },n->{throw new NoSuchElementException();});
+            }
+        };
+    }
+
+    @Override
+    default ReactiveSeq<T> stream(){
+        return ReactiveSeq.fromIterable(this);
+    }
+
+    @Override
+    default Option<T> get(int pos){
+        return pos<0 ? Option.none() : stream().elementAt(pos);
+    }
+
+    @Override
+    default T getOrElse(int pos, T alt){
+        return get(pos).orElse(alt);
+    }
+
+    @Override
+    default T getOrElseGet(int pos, Supplier<? extends T> alt){
+        return get(pos).orElseGet(alt);
+    }
+
+    @Override
+    default RealTimeQueue<T> drop(long num){
+        RealTimeQueue<T> result = this;
+        for(long i=0;i<num && !result.isEmpty();i++)
+            result = result.tail();
+        return result;
+    }
+
+    @Override
+    default RealTimeQueue<T> take(long num){
+        return unitStream(stream().take(num));
+    }
+
+    @Override
+    default RealTimeQueue<T> prependAll(Iterable<? extends T> value){
+        RealTimeQueue<T> result = this;
+        for(T next : ReactiveSeq.fromIterable(value).reverse())
+            result = result.prepend(next);
+        return result;
+    }
+
+    @Override
+    default RealTimeQueue<T> append(T value){
+        return enqueue(value);
+    }
+
+    @Override
+    default RealTimeQueue<T> appendAll(Iterable<? extends T> value){
+        RealTimeQueue<T> result = this;
+        for(T next : value)
+            result = result.enqueue(next);
+        return result;
+    }
+
+    @Override
+    default RealTimeQueue<T> plus(T value){
+        return enqueue(value);
+    }
+
+    @Override
+    default RealTimeQueue<T> plusAll(Iterable<? extends T> list){
+        return appendAll(list);
+    }
+
+    @Override
+    default RealTimeQueue<T> reverse(){
+        return unitStream(stream().reverse());
+    }
+
+    @Override
+    default RealTimeQueue<T> minus(){
+        return tail();
+    }
+
+    @Override
+    default RealTimeQueue<T> removeValue(T value){
+        return removeAll(value);
+    }
+
+    @Override
+    default RealTimeQueue<T> removeAll(T... values){
+        return (RealTimeQueue<T>)ImmutableQueue.super.removeAll(values);
+    }
+
+    @Override
+    default RealTimeQueue<T> removeAll(Iterable<? extends T> it){
+        return (RealTimeQueue<T>)ImmutableQueue.super.removeAll(it);
+    }
+
+    @Override
+    default RealTimeQueue<T> removeFirst(Predicate<? super T> pred){
+        return unitStream(stream().removeFirst(pred));
+    }
+
+    @Override
+    default RealTimeQueue<T> replace(T currentElement, T newElement){
+        return fromIterable(seq().replaceFirst(currentElement,newElement));
+    }
+
+    @Override
+    default RealTimeQueue<T> filter(Predicate<? super T> fn){
+        return unitStream(stream().filter(fn));
+    }
+
+    @Override
+    default <R> RealTimeQueue<R> map(Function<? super T, ? extends R> fn){
+        return unitStream(stream().map(fn));
+    }
+
+    @Override
+    default <R> RealTimeQueue<R> flatMap(Function<? super T, ? extends ImmutableQueue<? extends R>> fn){
+        return unitStream(stream().concatMap(fn));
+    }
+
+    @Override
+    default <R> RealTimeQueue<R> concatMap(Function<? super T, ? extends Iterable<? extends R>> fn){
+        return unitStream(stream().concatMap(fn));
+    }
+
+    @Override
+    default <R> RealTimeQueue<R> mergeMap(Function<? super T, ? extends Publisher<? extends R>> fn){
+        return unitStream(stream().mergeMap(fn));
+    }
+
+    @Override
+    default <R> RealTimeQueue<R> mergeMap(int maxConcurecy, Function<? super T, ? extends Publisher<? extends R>> fn){
+        return unitStream(stream().mergeMap(maxConcurecy,fn));
+    }
+
+    /*
+     * A cell of a lazily built list. The tail is either another Cell once evaluated, or a pending Rotation step that is
+     * evaluated (at most once per thread, all threads computing equal results) the first time the tail is requested
+     */
+    final class Cell<T> {
+        static final Cell NIL = new Cell<>(null,null);
+
+        final T head;
+        private volatile Object tail;
+
+        Cell(T head, Object tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        Cell<T> tail(){
+            Object next = tail;
+            if(next instanceof Rotation){
+                Cell<T> evaluated = ((Rotation<T>)next).step();
+                tail = evaluated;
+                return evaluated;
+            }
+            return (Cell<T>)next;
+        }
+
+        boolean isEmpty(){
+            return this==NIL;
+        }
+    }
+
+    /*
+     * rotate(front, back, acc) = front ++ reverse(back) ++ acc, where back has exactly one more element than front.
+     * Each step emits one element of front and moves one element of back onto the accumulator
+     */
+    final class Rotation<T> {
+        private final Cell<T> front;
+        private final Seq<T> back;
+        private final Cell<T> acc;
+
+        Rotation(Cell<T> front, Seq<T> back, Cell<T> acc) {
+            this.front = front;
+            this.back = back;
+            this.acc = acc;
+        }
+
+        Cell<T> step(){
+            Cell<T> nextAcc = new Cell<>(back.headOrElse(null),acc);
+            if(front.isEmpty())
+                return nextAcc;
+            return new Cell<>(front.head,new Rotation<>(front.tail(),back.tailOrElse(Seq.empty()),nextAcc));
+        }
+    }
+
+    final class Cons<T> implements RealTimeQueue<T>, ImmutableQueue.Some<T> {
+        private static final long serialVersionUID = 1L;
+        private final Cell<T> front;
+        private final int sizeFront;
+        private final Seq<T> back;
+        private final int sizeBack;
+        //the first unevaluated cell of front, the schedule is never longer than sizeFront - sizeBack
+        private final Cell<T> schedule;
+
+        private Cons(Cell<T> front, int sizeFront, Seq<T> back, int sizeBack, Cell<T> schedule) {
+            this.front = front;
+            this.sizeFront = sizeFront;
+            this.back = back;
+            this.sizeBack = sizeBack;
+            this.schedule = schedule;
+        }
+
+        /*
+         * Advance the schedule by one step, or once it is exhausted and the back list has become longer than the front,
+         * start rotating the back list onto the front
+         */
+        private static <T> RealTimeQueue<T> exec(Cell<T> front, int sizeFront, Seq<T> back, int sizeBack, Cell<T> schedule){
+            if(sizeFront+sizeBack==0)
+                return empty();
+            if(!schedule.isEmpty())
+                return new Cons<>(front,sizeFront,back,sizeBack,schedule.tail());
+            if(sizeBack<=sizeFront)
+                return new Cons<>(front,sizeFront,back,sizeBack,schedule);
+            Cell<T> rotated = new Rotation<>(front,back,Cell.NIL).step();
+            return new Cons<>(rotated,sizeFront+sizeBack,Seq.empty(),0,rotated);
+        }
+
+        @Override
+        public T head() {
+            return front.head;
+        }
+
+        @Override
+        public RealTimeQueue<T> tail() {
+            return exec(front.tail(),sizeFront-1,back,sizeBack,schedule);
+        }
+
+        @Override
+        public RealTimeQueue<T> enqueue(T value) {
+            return exec(front,sizeFront,back.prepend(value),sizeBack+1,schedule);
+        }
+
+        @Override
+        public RealTimeQueue<T> prepend(T value) {
+            return new Cons<>(new Cell<>(value,front),sizeFront+1,back,sizeBack,schedule);
+        }
+
+        @Override
+        public int size() {
+            return sizeFront+sizeBack;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public <R> R fold(Function<? super Some<T>, ? extends R> fn1, Function<? super None<T>, ? extends R> fn2) {
+            return fn1.apply(this);
+        }
+
+        @Override
+        public <R> R foldRealTimeQueue(Function<? super Cons<T>, ? extends R> fn1, Function<? super Nil<T>, ? extends R> fn2) {
+            return fn1.apply(this);
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmpty(T value) {
+            return this;
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmptyGet(Supplier<? extends T> supplier) {
+            return this;
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmptySwitch(Supplier<? extends ImmutableQueue<T>> supplier) {
+            return this;
+        }
+
+        @Override
+        public Tuple2<T, ImmutableQueue<T>> unapply() {
+            return Tuple.tuple(head(),tail());
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = 1;
+            for (T next : this)
+                hashCode = 31*hashCode + (next==null ? 0 : next.hashCode());
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(obj==null)
+                return false;
+            if (obj == this)
+                return true;
+            if(obj instanceof PersistentQueue) {
+                return equalToIteration((Iterable)obj);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString(){
+            return seq().toString();
+        }
+
+        private Object writeReplace() {
+            return new Proxy<>(this);
+        }
+        private Object readResolve() throws InvalidObjectException {
+            throw new InvalidObjectException("Use Serialization Proxy instead.");
+        }
+    }
+
+    final class Nil<T> implements RealTimeQueue<T>, ImmutableQueue.None<T> {
+        private static final long serialVersionUID = 1L;
+        static Nil Instance = new Nil();
+
+        private Nil() {
+        }
+
+        @Override
+        public RealTimeQueue<T> tail() {
+            return this;
+        }
+
+        @Override
+        public RealTimeQueue<T> enqueue(T value) {
+            return prepend(value);
+        }
+
+        @Override
+        public RealTimeQueue<T> prepend(T value) {
+            return new Cons<>(new Cell<>(value,Cell.NIL),1,Seq.empty(),0,Cell.NIL);
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @Override
+        public <R> R fold(Function<? super Some<T>, ? extends R> fn1, Function<? super None<T>, ? extends R> fn2) {
+            return fn2.apply(this);
+        }
+
+        @Override
+        public <R> R foldRealTimeQueue(Function<? super Cons<T>, ? extends R> fn1, Function<? super Nil<T>, ? extends R> fn2) {
+            return fn2.apply(this);
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmpty(T value) {
+            return enqueue(value);
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmptyGet(Supplier<? extends T> supplier) {
+            return enqueue(supplier.get());
+        }
+
+        @Override
+        public ImmutableQueue<T> onEmptySwitch(Supplier<? extends ImmutableQueue<T>> supplier) {
+            return supplier.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(obj instanceof PersistentQueue){
+                return ((PersistentQueue)obj).size()==0;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString(){
+            return seq().toString();
+        }
+
+        private Object readResolve() {
+            return Instance;
+        }
+    }
+
+    final class Proxy<T> implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private transient RealTimeQueue<T> q;
+
+        Proxy(RealTimeQueue<T> q) {
+            this.q = q;
+        }
+
+        private void writeObject(ObjectOutputStream s) throws IOException {
+            s.defaultWriteObject();
+            s.writeInt(q.size());
+            for(T next : q){
+                s.writeObject(next);
+            }
+        }
+
+        private void readObject(ObjectInputStream s) throws ClassNotFoundException, IOException {
+            s.defaultReadObject();
+            final int size = s.readInt();
+            RealTimeQueue<T> res = empty();
+            for (int i = 0; i < size; i++) {
+                res = res.enqueue((T) s.readObject());
+            }
+            q=res;
+        }
+
+        private Object readResolve() {
+            return q;
+        }
+    }
+
+    default RealTimeQueue<T> takeWhile(Predicate<? super T> p) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.takeWhile(p);
+    }
+    default RealTimeQueue<T> dropWhile(Predicate<? super T> p) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.dropWhile(p);
+    }
+
+    default Tuple2<RealTimeQueue<T>,RealTimeQueue<T>> duplicate(){
+        return Tuple.tuple(this,this);
+    }
+    default <R1, R2> Tuple2<RealTimeQueue<R1>, RealTimeQueue<R2>> unzip(Function<? super T, Tuple2<? extends R1, ? extends R2>> fn) {
+        Tuple2<RealTimeQueue<R1>, RealTimeQueue<Tuple2<? extends R1, ? extends R2>>> x = map(fn).duplicate().map1(s -> s.map(Tuple2::_1));
+        return x.map2(s -> s.map(Tuple2::_2));
+    }
+
+
+
+    default <R> R foldLeft(R zero, BiFunction<R, ? super T, R> f){
+        R acc= zero;
+        for(T next : this){
+            acc= f.apply(acc,next);
+        }
+        return acc;
+    }
+    @Override
+    default <U> RealTimeQueue<U> ofType(Class<? extends U> type) {
+        return (RealTimeQueue<U>)ImmutableQueue.super.ofType(type);
+    }
+
+    @Override
+    default RealTimeQueue<T> filterNot(Predicate<? super T> predicate) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.filterNot(predicate);
+    }
+
+    @Override
+    default RealTimeQueue<T> notNull() {
+        return (RealTimeQueue<T>)ImmutableQueue.super.notNull();
+    }
+
+    @Override
+    default RealTimeQueue<T> peek(Consumer<? super T> c) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.peek(c);
+    }
+
+
+
+    @Override
+    default RealTimeQueue<T> removeStream(Stream<? extends T> stream) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.removeStream(stream);
+    }
+
+    @Override
+    default RealTimeQueue<T> retainAll(Iterable<? extends T> it) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.retainAll(it);
+    }
+
+    @Override
+    default RealTimeQueue<T> retainStream(Stream<? extends T> stream) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.retainStream(stream);
+    }
+
+    @Override
+    default RealTimeQueue<T> retainAll(T... values) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.retainAll(values);
+    }
+
+    @Override
+    default RealTimeQueue<ReactiveSeq<T>> permutations() {
+        return (RealTimeQueue<ReactiveSeq<T>>)ImmutableQueue.super.permutations();
+    }
+
+    @Override
+    default RealTimeQueue<ReactiveSeq<T>> combinations(int size) {
+        return (RealTimeQueue<ReactiveSeq<T>>)ImmutableQueue.super.combinations(size);
+    }
+
+    @Override
+    default RealTimeQueue<ReactiveSeq<T>> combinations() {
+        return (RealTimeQueue<ReactiveSeq<T>>)ImmutableQueue.super.combinations();
+    }
+
+    @Override
+    default <T2, R> RealTimeQueue<R> zip(BiFunction<? super T, ? super T2, ? extends R> fn, Publisher<? extends T2> publisher) {
+        return (RealTimeQueue<R>)ImmutableQueue.super.zip(fn, publisher);
+    }
+
+    @Override
+    default <U, R> RealTimeQueue<R> zipWithStream(Stream<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return (RealTimeQueue<R>)ImmutableQueue.super.zipWithStream(other,zipper);
+    }
+
+    @Override
+    default <U> RealTimeQueue<Tuple2<T, U>> zipWithPublisher(Publisher<? extends U> other) {
+        return (RealTimeQueue)ImmutableQueue.super.zipWithPublisher(other);
+    }
+
+    @Override
+    default <U> RealTimeQueue<Tuple2<T, U>> zip(Iterable<? extends U> other) {
+        return (RealTimeQueue)ImmutableQueue.super.zip(other);
+    }
+
+    @Override
+    default <S, U, R> RealTimeQueue<R> zip3(Iterable<? extends S> second, Iterable<? extends U> third, Function3<? super T, ? super S, ? super U, ? extends R> fn3) {
+        return (RealTimeQueue<R>)ImmutableQueue.super.zip3(second,third,fn3);
+    }
+
+    @Override
+    default <T2, T3, T4, R> RealTimeQueue<R> zip4(Iterable<? extends T2> second, Iterable<? extends T3> third, Iterable<? extends T4> fourth, Function4<? super T, ? super T2, ? super T3, ? super T4, ? extends R> fn) {
+        return (RealTimeQueue<R>)ImmutableQueue.super.zip4(second,third,fourth,fn);
+    }
+
+    @Override
+    default RealTimeQueue<T> combine(BiPredicate<? super T, ? super T> predicate, BinaryOperator<T> op) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.combine(predicate,op);
+    }
+
+    @Override
+    default RealTimeQueue<T> combine(Monoid<T> op, BiPredicate<? super T, ? super T> predicate) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.combine(op,predicate);
+    }
+
+    @Override
+    default RealTimeQueue<T> cycle(long times) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.cycle(times);
+    }
+
+    @Override
+    default RealTimeQueue<T> cycle(Monoid<T> m, long times) {
+        return (RealTimeQueue<T>)ImmutableQueue.super.cycle(m,times);
+    }
+
+    @Override
+    default RealTimeQueue<T> cycleWhile(Predicate<? super T> predicate) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.cycleWhile(predicate);
+    }
+
+    @Override
+    default RealTimeQueue<T> cycleUntil(Predicate<? super T> predicate) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.cycleUntil(predicate);
+    }
+
+    @Override
+    default <U, R> RealTimeQueue<R> zip(Iterable<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return (RealTimeQueue<R>) ImmutableQueue.super.zip(other,zipper);
+    }
+
+    @Override
+    default <S, U> RealTimeQueue<Tuple3<T, S, U>> zip3(Iterable<? extends S> second, Iterable<? extends U> third) {
+        return (RealTimeQueue) ImmutableQueue.super.zip3(second,third);
+    }
+
+    @Override
+    default <T2, T3, T4> RealTimeQueue<Tuple4<T, T2, T3, T4>> zip4(Iterable<? extends T2> second, Iterable<? extends T3> third, Iterable<? extends T4> fourth) {
+        return (RealTimeQueue) ImmutableQueue.super.zip4(second,third,fourth);
+    }
+
+    @Override
+    default RealTimeQueue<Tuple2<T, Long>> zipWithIndex() {
+        return (RealTimeQueue<Tuple2<T,Long>>) ImmutableQueue.super.zipWithIndex();
+    }
+
+    @Override
+    default RealTimeQueue<Seq<T>> sliding(int windowSize) {
+        return (RealTimeQueue<Seq<T>>) ImmutableQueue.super.sliding(windowSize);
+    }
+
+    @Override
+    default RealTimeQueue<Seq<T>> sliding(int windowSize, int increment) {
+        return (RealTimeQueue<Seq<T>>) ImmutableQueue.super.sliding(windowSize,increment);
+    }
+
+    @Override
+    default <C extends PersistentCollection<? super T>> RealTimeQueue<C> grouped(int size, Supplier<C> supplier) {
+        return (RealTimeQueue<C>) ImmutableQueue.super.grouped(size,supplier);
+    }
+
+    @Override
+    default RealTimeQueue<Vector<T>> groupedUntil(Predicate<? super T> predicate) {
+        return (RealTimeQueue<Vector<T>>) ImmutableQueue.super.groupedUntil(predicate);
+    }
+
+    @Override
+    default RealTimeQueue<Vector<T>> groupedUntil(BiPredicate<Vector<? super T>, ? super T> predicate) {
+        return (RealTimeQueue<Vector<T>>) ImmutableQueue.super.groupedUntil(predicate);
+    }
+
+    @Override
+    default <U> RealTimeQueue<Tuple2<T, U>> zipWithStream(Stream<? extends U> other) {
+        return (RealTimeQueue) ImmutableQueue.super.zipWithStream(other);
+    }
+
+    @Override
+    default RealTimeQueue<Vector<T>> groupedWhile(Predicate<? super T> predicate) {
+        return (RealTimeQueue<Vector<T>>) ImmutableQueue.super.groupedWhile(predicate);
+    }
+
+    @Override
+    default <C extends PersistentCollection<? super T>> RealTimeQueue<C> groupedWhile(Predicate<? super T> predicate, Supplier<C> factory) {
+        return (RealTimeQueue<C>) ImmutableQueue.super.groupedWhile(predicate,factory);
+    }
+
+    @Override
+    default <C extends PersistentCollection<? super T>> RealTimeQueue<C> groupedUntil(Predicate<? super T> predicate, Supplier<C> factory) {
+        return (RealTimeQueue<C>) ImmutableQueue.super.groupedUntil(predicate,factory);
+    }
+
+    @Override
+    default RealTimeQueue<Vector<T>> grouped(int groupSize) {
+        return (RealTimeQueue<Vector<T>>) ImmutableQueue.super.grouped(groupSize);
+    }
+
+    @Override
+    default RealTimeQueue<T> distinct() {
+        return (RealTimeQueue<T>) ImmutableQueue.super.distinct();
+    }
+
+    @Override
+    default RealTimeQueue<T> scanLeft(Monoid<T> monoid) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.scanLeft(monoid);
+    }
+
+    @Override
+    default <U> RealTimeQueue<U> scanLeft(U seed, BiFunction<? super U, ? super T, ? extends U> function) {
+        return (RealTimeQueue<U>) ImmutableQueue.super.scanLeft(seed,function);
+    }
+
+    @Override
+    default RealTimeQueue<T> scanRight(Monoid<T> monoid) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.scanRight(monoid);
+    }
+
+    @Override
+    default <U> RealTimeQueue<U> scanRight(U identity, BiFunction<? super T, ? super U, ? extends U> combiner) {
+        return (RealTimeQueue<U>) ImmutableQueue.super.scanRight(identity,combiner);
+    }
+
+    @Override
+    default RealTimeQueue<T> sorted() {
+        return (RealTimeQueue<T>) ImmutableQueue.super.sorted();
+    }
+
+    @Override
+    default RealTimeQueue<T> sorted(Comparator<? super T> c) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.sorted(c);
+    }
+
+
+
+    @Override
+    default RealTimeQueue<T> takeUntil(Predicate<? super T> p) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.takeUntil(p);
+    }
+
+    @Override
+    default RealTimeQueue<T> dropUntil(Predicate<? super T> p) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.dropUntil(p);
+    }
+
+    @Override
+    default RealTimeQueue<T> dropRight(int num) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.dropRight(num);
+    }
+
+    @Override
+    default RealTimeQueue<T> takeRight(int num) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.takeRight(num);
+    }
+
+
+
+    @Override
+    default RealTimeQueue<T> intersperse(T value) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.intersperse(value);
+    }
+
+    @Override
+    default RealTimeQueue<T> shuffle() {
+        return (RealTimeQueue<T>) ImmutableQueue.super.shuffle();
+    }
+
+    @Override
+    default RealTimeQueue<T> shuffle(Random random) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.shuffle(random);
+    }
+
+    @Override
+    default RealTimeQueue<T> slice(long from, long to) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.slice(from,to);
+    }
+
+
+    @Override
+    default RealTimeQueue<T> prependStream(Stream<? extends T> stream) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.prependStream(stream);
+    }
+
+    @Override
+    default RealTimeQueue<T> appendAll(T... values) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.appendAll(values);
+    }
+
+    @Override
+    default RealTimeQueue<T> prependAll(T... values) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.prependAll(values);
+    }
+
+    @Override
+    default RealTimeQueue<T> deleteBetween(int start, int end) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.deleteBetween(start,end);
+    }
+
+    @Override
+    default RealTimeQueue<T> insertStreamAt(int pos, Stream<T> stream) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.insertStreamAt(pos,stream);
+    }
+
+
+
+    @Override
+    default <U extends Comparable<? super U>> RealTimeQueue<T> sorted(Function<? super T, ? extends U> function) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.sorted(function);
+    }
+
+    @Override
+  default <R1, R2, R3, R> RealTimeQueue<R> forEach4(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends Iterable<R2>> iterable2, Function3<? super T, ? super R1, ? super R2, ? extends Iterable<R3>> iterable3, Function4<? super T, ? super R1, ? super R2, ? super R3, ? extends R> yieldingFunction) {
+    return (RealTimeQueue< R>) ImmutableQueue.super.forEach4(iterable1,iterable2,iterable3,yieldingFunction);
+  }
+
+    @Override
+  default <R1, R2, R3, R> RealTimeQueue<R> forEach4(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends Iterable<R2>> iterable2, Function3<? super T, ? super R1, ? super R2, ? extends Iterable<R3>> iterable3, Function4<? super T, ? super R1, ? super R2, ? super R3, Boolean> filterFunction, Function4<? super T, ? super R1, ? super R2, ? super R3, ? extends R> yieldingFunction) {
+    return (RealTimeQueue< R>) ImmutableQueue.super.forEach4(iterable1,iterable2,iterable3,filterFunction,yieldingFunction);
+  }
+
+    @Override
+  default <R1, R2, R> RealTimeQueue<R> forEach3(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends Iterable<R2>> iterable2, Function3<? super T, ? super R1, ? super R2, ? extends R> yieldingFunction) {
+    return (RealTimeQueue< R>) ImmutableQueue.super.forEach3(iterable1,iterable2,yieldingFunction);
+  }
+
+    @Override
+  default <R1, R2, R> RealTimeQueue<R> forEach3(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends Iterable<R2>> iterable2, Function3<? super T, ? super R1, ? super R2, Boolean> filterFunction, Function3<? super T, ? super R1, ? super R2, ? extends R> yieldingFunction) {
+    return (RealTimeQueue< R>) ImmutableQueue.super.forEach3(iterable1,iterable2,filterFunction,yieldingFunction);
+  }
+
+    @Override
+  default <R1, R> RealTimeQueue<R> forEach2(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, ? extends R> yieldingFunction) {
+    return (RealTimeQueue< R>) ImmutableQueue.super.forEach2(iterable1,yieldingFunction);
+  }
+
+    @Override
+  default <R1, R> RealTimeQueue<R> forEach2(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, Boolean> filterFunction, BiFunction<? super T, ? super R1, ? extends R> yieldingFunction) {
+    return (RealTimeQueue< R>) ImmutableQueue.super.forEach2(iterable1,filterFunction,yieldingFunction);
+  }
+
+    @Override
+    default RealTimeQueue<T> removeAt(long pos) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.removeAt(pos);
+    }
+
+    @Override
+    default RealTimeQueue<T> removeAt(int pos) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.removeAt(pos);
+    }
+
+
+    @Override
+    default RealTimeQueue<T> updateAt(int pos, T value) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.updateAt(pos,value);
+    }
+
+    @Override
+    default RealTimeQueue<T> insertAt(int pos, Iterable<? extends T> values) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.insertAt(pos,values);
+    }
+
+    @Override
+    default RealTimeQueue<T> insertAt(int i, T value) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.insertAt(i,value);
+    }
+
+    @Override
+    default RealTimeQueue<T> insertAt(int pos, T... values) {
+        return (RealTimeQueue<T>) ImmutableQueue.super.insertAt(pos,values);
+    }
+}
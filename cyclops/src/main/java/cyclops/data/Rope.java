@@ -0,0 +1,879 @@
+package cyclops.data;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.reactive.ReactiveSeq;
+import org.reactivestreams.Publisher;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A persistent string stored as a rope: a height balanced binary tree of concatenations whose leaves are chunks of a
+ * char[]. Unlike {@link LazyString}, characters are stored unboxed (about 2 bytes per character plus a small per chunk
+ * overhead) and the content is strict rather than lazy.
+ *
+ * charAt, concatenation (concat / appendAll / prependAll with another Rope), substring, subSequence, take, drop,
+ * insertAt, updateAt and removeAt are O(log n). substring and subSequence share the underlying chunks rather than copying
+ * characters, so a Rope can be used as a zero-copy {@link CharSequence} view over part of a larger text (which also
+ * keeps the larger text reachable).
+ *
+ * <pre>
+ * {@code
+ *  Rope rope = Rope.of("hello ")
+ *                  .concat(Rope.of("world"));  //hello world
+ *  rope.charAt(4);                             //'o'
+ *  rope.substring(6);                          //world
+ *  Pattern.compile("w.r").matcher(rope).find();
+ * }
+ * </pre>
+ */
+public final class Rope implements ImmutableList<Character>, CharSequence, Serializable {
+
+    private static final long serialVersionUID = 1L;
+    //maximum chunk size when slicing a CharSequence into leaves
+    private static final int LEAF_SIZE = 256;
+    //adjacent leaves whose combined length is at most this are copied into a single leaf when concatenated
+    private static final int MERGE_SIZE = 64;
+    private static final char[] NO_CHARS = new char[0];
+
+    private static final Rope EMPTY = new Rope(new Leaf(NO_CHARS,0,0));
+
+    private final Node root;
+
+    private Rope(Node root) {
+        this.root = root;
+    }
+
+    public static Rope empty(){
+        return EMPTY;
+    }
+
+    public static Rope of(CharSequence seq){
+        if(seq instanceof Rope)
+            return (Rope)seq;
+        int length = seq.length();
+        if(length==0)
+            return EMPTY;
+        char[] chars = new char[length];
+        if(seq instanceof String) {
+            ((String) seq).getChars(0, length, chars, 0);
+        }else {
+            for (int i = 0; i < length; i++)
+                chars[i] = seq.charAt(i);
+        }
+        return fromChars(chars,length);
+    }
+
+    public static Rope of(char... chars){
+        return fromChars(chars.clone(),chars.length);
+    }
+
+    public static Rope fromIterable(Iterable<Character> it){
+        if(it instanceof Rope)
+            return (Rope)it;
+        StringBuilder builder = new StringBuilder();
+        for(Character next : it)
+            builder.append(next.charValue());
+        return of(builder);
+    }
+
+    public static Rope fromStream(Stream<Character> stream){
+        return fromIterable(ReactiveSeq.fromStream(stream));
+    }
+
+    static Collector<Character, List<Character>, Rope> collector() {
+        Collector<Character, ?, List<Character>> c  = Collectors.toList();
+        return Collectors.<Character, List<Character>, Iterable<Character>,Rope>collectingAndThen((Collector)c,Rope::fromIterable);
+    }
+
+    //chars is owned by the new Rope
+    private static Rope fromChars(char[] chars, int length){
+        if(length==0)
+            return EMPTY;
+        return new Rope(build(chars,0,(length+LEAF_SIZE-1)/LEAF_SIZE,length));
+    }
+
+    //leaves lo (inclusive) to hi (exclusive) of chars, split in half recursively so sibling heights differ by at most one
+    private static Node build(char[] chars, int lo, int hi, int length){
+        if(hi-lo==1){
+            int offset = lo*LEAF_SIZE;
+            return new Leaf(chars,offset,Math.min(LEAF_SIZE,length-offset));
+        }
+        int mid = (lo+hi)>>>1;
+        return new Concat(build(chars,lo,mid,length),build(chars,mid,hi,length));
+    }
+
+    @Override
+    public int length(){
+        return root.length();
+    }
+
+    @Override
+    public int size(){
+        return length();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.length()==0;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if index is negative or not less than the length of this Rope
+     */
+    @Override
+    public char charAt(int index) {
+        if(index<0 || index>=length())
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length());
+        return root.charAt(index);
+    }
+
+    /**
+     * A view of the characters from start (inclusive) to end (exclusive) that shares this Rope's storage, O(log n)
+     *
+     * @throws IndexOutOfBoundsException if start or end are out of bounds or start is greater than end
+     */
+    @Override
+    public Rope subSequence(int start, int end) {
+        if(start<0 || end>length() || start>end)
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + length());
+        if(start==0 && end==length())
+            return this;
+        return new Rope(slice(root,start,end));
+    }
+
+    public Rope substring(int start){
+        return drop(start);
+    }
+
+    public Rope substring(int start, int end){
+        return drop(start).take(end-start);
+    }
+
+    /**
+     * Concatenate two Ropes in O(log n) without copying their characters
+     */
+    public Rope concat(Rope other){
+        return new Rope(concat(root,other.root));
+    }
+
+    public Rope append(CharSequence s){
+        return concat(of(s));
+    }
+
+    public Rope prepend(CharSequence s){
+        return of(s).concat(this);
+    }
+
+    public Rope toUpperCase(){
+        return of(toString().toUpperCase());
+    }
+
+    public Rope toLowerCase(){
+        return of(toString().toLowerCase());
+    }
+
+    public LazySeq<Rope> words() {
+        return split(' ');
+    }
+
+    public LazySeq<Rope> lines() {
+        return split('\n');
+    }
+
+    private LazySeq<Rope> split(char separator){
+        return LazySeq.unfold(0,start->{
+            if(start>length())
+                return Option.none();
+            int end = indexOf(separator,start);
+            Rope next = subSequence(start,end<0 ? length() : end);
+            return Option.some(Tuple.tuple(next,end<0 ? length()+1 : end+1));
+        });
+    }
+
+    /**
+     * @return The index of the first occurrence of c at or after from, or -1 if there is none
+     */
+    public int indexOf(char c, int from){
+        int index = 0;
+        Iterator<Leaf> it = new LeafIterator(root);
+        while(it.hasNext()){
+            Leaf leaf = it.next();
+            if(index+leaf.length>from){
+                for(int i=Math.max(0,from-index);i<leaf.length;i++){
+                    if(leaf.chars[leaf.offset+i]==c)
+                        return index+i;
+                }
+            }
+            index+=leaf.length;
+        }
+        return -1;
+    }
+
+    public Rope mapChar(Function<Character,Character> fn){
+        char[] chars = new char[length()];
+        int i=0;
+        for(Character next : this)
+            chars[i++]=fn.apply(next);
+        return fromChars(chars,chars.length);
+    }
+
+    public Rope flatMapChar(Function<Character,Rope> fn){
+        Node result = EMPTY.root;
+        for(Character next : this)
+            result = concat(result,fn.apply(next).root);
+        return new Rope(result);
+    }
+
+    @Override
+    public IntStream chars() {
+        return StreamSupport.intStream(Spliterators.spliterator(new CharIterator(root),length(),Spliterator.ORDERED),false);
+    }
+
+    @Override
+    public Iterator<Character> iterator() {
+        CharIterator chars = new CharIterator(root);
+        return new Iterator<Character>() {
+            @Override
+            public boolean hasNext() {
+                return chars.hasNext();
+            }
+
+            @Override
+            public Character next() {
+                return (char)chars.nextInt();
+            }
+        };
+    }
+
+    @Override
+    public ReactiveSeq<Character> stream(){
+        return ReactiveSeq.fromIterable(this);
+    }
+
+    @Override
+    public <R> ImmutableList<R> unitStream(Stream<R> stream) {
+        return LazySeq.fromStream(stream);
+    }
+
+    @Override
+    public <R> ImmutableList<R> unitIterable(Iterable<R> it) {
+        if(it instanceof LazySeq){
+            return (LazySeq<R>)it;
+        }
+        return LazySeq.fromIterable(it);
+    }
+
+    @Override
+    public Rope emptyUnit() {
+        return empty();
+    }
+
+    @Override
+    public <R> R fold(Function<? super Some<Character>, ? extends R> fn1, Function<? super None<Character>, ? extends R> fn2) {
+        return LazySeq.fromIterable(this).fold(fn1,fn2);
+    }
+
+    @Override
+    public Option<Character> get(int pos){
+        return pos<0 || pos>=length() ? Option.none() : Option.some(root.charAt(pos));
+    }
+
+    @Override
+    public Character getOrElse(int pos, Character alt) {
+        return pos<0 || pos>=length() ? alt : root.charAt(pos);
+    }
+
+    @Override
+    public Character getOrElseGet(int pos, Supplier<? extends Character> alt) {
+        return pos<0 || pos>=length() ? alt.get() : root.charAt(pos);
+    }
+
+    @Override
+    public Rope take(long n) {
+        if(n<=0)
+            return EMPTY;
+        return n>=length() ? this : subSequence(0,(int)n);
+    }
+
+    @Override
+    public Rope drop(long n) {
+        if(n<=0)
+            return this;
+        return n>=length() ? EMPTY : subSequence((int)n,length());
+    }
+
+    @Override
+    public Rope takeRight(int num) {
+        return drop(length()-num);
+    }
+
+    @Override
+    public Rope dropRight(int num) {
+        return take(length()-num);
+    }
+
+    @Override
+    public Rope subList(int start, int end) {
+        return substring(start,end);
+    }
+
+    @Override
+    public Rope slice(long from, long to) {
+        return drop(from).take(to-Math.max(0,from));
+    }
+
+    @Override
+    public Rope prepend(Character value){
+        return new Rope(concat(new Leaf(new char[]{value},0,1),root));
+    }
+
+    @Override
+    public Rope append(Character value) {
+        return new Rope(concat(root,new Leaf(new char[]{value},0,1)));
+    }
+
+    @Override
+    public Rope prependAll(Iterable<? extends Character> value) {
+        return fromIterable((Iterable<Character>)value).concat(this);
+    }
+
+    @Override
+    public Rope appendAll(Iterable<? extends Character> value) {
+        return concat(fromIterable((Iterable<Character>)value));
+    }
+
+    @Override
+    public Rope appendAll(Character... values) {
+        return appendAll(ReactiveSeq.of(values));
+    }
+
+    @Override
+    public Rope prependAll(Character... values) {
+        return prependAll(ReactiveSeq.of(values));
+    }
+
+    @Override
+    public Rope prependStream(Stream<? extends Character> stream) {
+        return prependAll(ReactiveSeq.fromStream(stream));
+    }
+
+    @Override
+    public Rope plus(Character value) {
+        return append(value);
+    }
+
+    @Override
+    public Rope plusAll(Iterable<? extends Character> list) {
+        return appendAll(list);
+    }
+
+    @Override
+    public Rope insertAt(int pos, Iterable<? extends Character> values) {
+        Rope inserted = fromIterable((Iterable<Character>)values);
+        if(pos<=0)
+            return inserted.concat(this);
+        if(pos>=length())
+            return concat(inserted);
+        return take(pos).concat(inserted).concat(drop(pos));
+    }
+
+    @Override
+    public Rope insertAt(int i, Character value) {
+        return insertAt(i,(Iterable<Character>)ReactiveSeq.of(value));
+    }
+
+    @Override
+    public Rope insertAt(int pos, Character... values) {
+        return insertAt(pos,(Iterable<Character>)ReactiveSeq.of(values));
+    }
+
+    @Override
+    public Rope insertStreamAt(int pos, Stream<Character> stream) {
+        return insertAt(pos,(Iterable<Character>)ReactiveSeq.fromStream(stream));
+    }
+
+    @Override
+    public Rope updateAt(int pos, Character value) {
+        if(pos<0 || pos>=length())
+            return this;
+        return take(pos).append(value).concat(drop(pos+1));
+    }
+
+    @Override
+    public Rope removeAt(int pos) {
+        if(pos<0 || pos>=length())
+            return this;
+        return take(pos).concat(drop(pos+1));
+    }
+
+    @Override
+    public Rope removeAt(long pos) {
+        return pos>Integer.MAX_VALUE ? this : removeAt((int)pos);
+    }
+
+    @Override
+    public Rope deleteBetween(int start, int end) {
+        if(start>=end)
+            return this;
+        return take(start).concat(drop(end));
+    }
+
+    @Override
+    public Rope reverse() {
+        char[] chars = new char[length()];
+        int i = chars.length;
+        for(Character next : this)
+            chars[--i] = next;
+        return fromChars(chars,chars.length);
+    }
+
+    @Override
+    public Rope filter(Predicate<? super Character> predicate) {
+        return fromStream(stream().filter(predicate));
+    }
+
+    @Override
+    public Rope filterNot(Predicate<? super Character> predicate) {
+        return filter(predicate.negate());
+    }
+
+    @Override
+    public Rope notNull() {
+        return this;
+    }
+
+    @Override
+    public Rope peek(Consumer<? super Character> c) {
+        return fromStream(stream().peek(c));
+    }
+
+    @Override
+    public <R> ImmutableList<R> map(Function<? super Character, ? extends R> fn) {
+        return LazySeq.fromIterable(this).map(fn);
+    }
+
+    @Override
+    public <R> ImmutableList<R> flatMap(Function<? super Character, ? extends ImmutableList<? extends R>> fn) {
+        return LazySeq.fromIterable(this).flatMap(fn);
+    }
+
+    @Override
+    public <R> ImmutableList<R> concatMap(Function<? super Character, ? extends Iterable<? extends R>> fn) {
+        return LazySeq.fromIterable(this).concatMap(fn);
+    }
+
+    @Override
+    public <R> ImmutableList<R> mergeMap(Function<? super Character, ? extends Publisher<? extends R>> fn) {
+        return LazySeq.fromIterable(this).mergeMap(fn);
+    }
+
+    @Override
+    public <R> ImmutableList<R> mergeMap(int maxConcurecy, Function<? super Character, ? extends Publisher<? extends R>> fn) {
+        return LazySeq.fromIterable(this).mergeMap(maxConcurecy,fn);
+    }
+
+    @Override
+    public Rope onEmpty(Character value) {
+        return isEmpty() ? of(value) : this;
+    }
+
+    @Override
+    public Rope onEmptyGet(Supplier<? extends Character> supplier) {
+        return isEmpty() ? of(supplier.get()) : this;
+    }
+
+    @Override
+    public ImmutableList<Character> onEmptySwitch(Supplier<? extends ImmutableList<Character>> supplier) {
+        return isEmpty() ? supplier.get() : this;
+    }
+
+    @Override
+    public Rope tailOrElse(ImmutableList<Character> tail) {
+        return isEmpty() ? fromIterable(tail) : drop(1);
+    }
+
+    @Override
+    public Rope replaceFirst(Character currentElement, Character newElement) {
+        int index = currentElement==null ? -1 : indexOf(currentElement,0);
+        return index<0 ? this : updateAt(index,newElement);
+    }
+
+    @Override
+    public Rope removeFirst(Predicate<? super Character> pred) {
+        return fromStream(stream().removeFirst(pred));
+    }
+
+    @Override
+    public Rope removeValue(Character value) {
+        return removeAll(value);
+    }
+
+    @Override
+    public Rope removeStream(Stream<? extends Character> stream) {
+        return fromStream(stream().removeStream(stream));
+    }
+
+    @Override
+    public Rope removeAll(Character... values) {
+        return fromStream(stream().removeAll(values));
+    }
+
+    @Override
+    public Rope removeAll(Iterable<? extends Character> value) {
+        return fromStream(stream().removeAll(value));
+    }
+
+    @Override
+    public Rope retainAll(Iterable<? extends Character> it) {
+        return fromStream(stream().retainAll(it));
+    }
+
+    @Override
+    public Rope retainStream(Stream<? extends Character> stream) {
+        return fromStream(stream().retainStream(stream));
+    }
+
+    @Override
+    public Rope retainAll(Character... values) {
+        return fromStream(stream().retainAll(values));
+    }
+
+    @Override
+    public Rope distinct() {
+        return fromStream(stream().distinct());
+    }
+
+    @Override
+    public Rope sorted() {
+        char[] chars = toString().toCharArray();
+        java.util.Arrays.sort(chars);
+        return fromChars(chars,chars.length);
+    }
+
+    @Override
+    public Rope sorted(Comparator<? super Character> c) {
+        return fromStream(stream().sorted(c));
+    }
+
+    @Override
+    public <U extends Comparable<? super U>> Rope sorted(Function<? super Character, ? extends U> function) {
+        return fromStream(stream().sorted(function));
+    }
+
+    @Override
+    public Rope takeWhile(Predicate<? super Character> p) {
+        return take(stream().takeWhile(p).count());
+    }
+
+    @Override
+    public Rope dropWhile(Predicate<? super Character> p) {
+        return drop(stream().takeWhile(p).count());
+    }
+
+    @Override
+    public Rope takeUntil(Predicate<? super Character> p) {
+        return takeWhile(p.negate());
+    }
+
+    @Override
+    public Rope dropUntil(Predicate<? super Character> p) {
+        return dropWhile(p.negate());
+    }
+
+    @Override
+    public Rope shuffle() {
+        return fromStream(stream().shuffle());
+    }
+
+    @Override
+    public Rope shuffle(Random random) {
+        return fromStream(stream().shuffle(random));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(o==this)
+            return true;
+        if(o instanceof Rope){
+            Rope other = (Rope)o;
+            if(length()!=other.length())
+                return false;
+            CharIterator it = new CharIterator(root);
+            CharIterator otherIt = new CharIterator(other.root);
+            while(it.hasNext()){
+                if(it.nextInt()!=otherIt.nextInt())
+                    return false;
+            }
+            return true;
+        }
+        if(o instanceof ImmutableList)
+            return equalToDirectAccess((Iterable<Character>)o);
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        CharIterator it = new CharIterator(root);
+        while(it.hasNext())
+            hashCode = 31*hashCode + it.nextInt();
+        return hashCode;
+    }
+
+    @Override
+    public String toString(){
+        char[] chars = new char[length()];
+        int pos = 0;
+        Iterator<Leaf> it = new LeafIterator(root);
+        while(it.hasNext()){
+            Leaf leaf = it.next();
+            System.arraycopy(leaf.chars,leaf.offset,chars,pos,leaf.length);
+            pos+=leaf.length;
+        }
+        return new String(chars);
+    }
+
+    private Object writeReplace() {
+        return new Proxy(toString());
+    }
+    private void readObject(ObjectInputStream s) throws InvalidObjectException {
+        throw new InvalidObjectException("Use Serialization Proxy instead.");
+    }
+
+    private static final class Proxy implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String value;
+
+        Proxy(String value) {
+            this.value = value;
+        }
+
+        private Object readResolve() {
+            return of(value);
+        }
+    }
+
+    private static abstract class Node implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        abstract int length();
+
+        abstract int height();
+
+        abstract char charAt(int index);
+    }
+
+    //length characters of chars starting at offset, possibly shared with other leaves
+    private static final class Leaf extends Node {
+        private static final long serialVersionUID = 1L;
+        final char[] chars;
+        final int offset;
+        final int length;
+
+        Leaf(char[] chars, int offset, int length) {
+            this.chars = chars;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        int height() {
+            return 0;
+        }
+
+        @Override
+        char charAt(int index) {
+            return chars[offset+index];
+        }
+    }
+
+    private static final class Concat extends Node {
+        private static final long serialVersionUID = 1L;
+        final Node left;
+        final Node right;
+        final int length;
+        final int height;
+
+        Concat(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+            this.length = left.length()+right.length();
+            this.height = Math.max(left.height(),right.height())+1;
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        int height() {
+            return height;
+        }
+
+        @Override
+        char charAt(int index) {
+            Node node = this;
+            while(node instanceof Concat){
+                Concat concat = (Concat)node;
+                if(index<concat.left.length()){
+                    node = concat.left;
+                }else{
+                    index-=concat.left.length();
+                    node = concat.right;
+                }
+            }
+            return node.charAt(index);
+        }
+    }
+
+    private static Leaf merge(Leaf left, Leaf right){
+        char[] chars = new char[left.length+right.length];
+        System.arraycopy(left.chars,left.offset,chars,0,left.length);
+        System.arraycopy(right.chars,right.offset,chars,left.length,right.length);
+        return new Leaf(chars,0,chars.length);
+    }
+
+    /*
+     * Join two height balanced trees (AVL join): descend the taller tree along its inner edge until the heights are
+     * within one of each other, then rebalance with a single or double rotation on the way back up. Takes
+     * O(|height(left) - height(right)|) steps.
+     */
+    private static Node concat(Node left, Node right){
+        if(left.length()==0)
+            return right;
+        if(right.length()==0)
+            return left;
+        if(left instanceof Leaf && right instanceof Leaf && left.length()+right.length()<=MERGE_SIZE)
+            return merge((Leaf)left,(Leaf)right);
+        if(left instanceof Concat && right instanceof Leaf){
+            Concat l = (Concat)left;
+            if(l.right instanceof Leaf && l.right.length()+right.length()<=MERGE_SIZE)
+                return concat(l.left,merge((Leaf)l.right,(Leaf)right));
+        }
+        if(left instanceof Leaf && right instanceof Concat){
+            Concat r = (Concat)right;
+            if(r.left instanceof Leaf && left.length()+r.left.length()<=MERGE_SIZE)
+                return concat(merge((Leaf)left,(Leaf)r.left),r.right);
+        }
+        int hl = left.height();
+        int hr = right.height();
+        if(hl>hr+1){
+            Concat l = (Concat)left;
+            Node joined = concat(l.right,right);
+            if(joined.height()<=l.left.height()+1)
+                return new Concat(l.left,joined);
+            Concat j = (Concat)joined;
+            if(j.right.height()>=j.left.height())
+                return new Concat(new Concat(l.left,j.left),j.right);
+            Concat jl = (Concat)j.left;
+            return new Concat(new Concat(l.left,jl.left),new Concat(jl.right,j.right));
+        }
+        if(hr>hl+1){
+            Concat r = (Concat)right;
+            Node joined = concat(left,r.left);
+            if(joined.height()<=r.right.height()+1)
+                return new Concat(joined,r.right);
+            Concat j = (Concat)joined;
+            if(j.left.height()>=j.right.height())
+                return new Concat(j.left,new Concat(j.right,r.right));
+            Concat jr = (Concat)j.right;
+            return new Concat(new Concat(j.left,jr.left),new Concat(jr.right,r.right));
+        }
+        return new Concat(left,right);
+    }
+
+    //characters start (inclusive) to end (exclusive) of node, sharing its leaves
+    private static Node slice(Node node, int start, int end){
+        if(start==0 && end==node.length())
+            return node;
+        if(node instanceof Leaf){
+            Leaf leaf = (Leaf)node;
+            return new Leaf(leaf.chars,leaf.offset+start,end-start);
+        }
+        Concat concat = (Concat)node;
+        int split = concat.left.length();
+        if(end<=split)
+            return slice(concat.left,start,end);
+        if(start>=split)
+            return slice(concat.right,start-split,end-split);
+        return concat(slice(concat.left,start,split),slice(concat.right,0,end-split));
+    }
+
+    private static final class LeafIterator implements Iterator<Leaf> {
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+
+        LeafIterator(Node root) {
+            if(root.length()>0)
+                stack.push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public Leaf next() {
+            if(stack.isEmpty())
+                throw new NoSuchElementException();
+            Node node = stack.pop();
+            while(node instanceof Concat){
+                Concat concat = (Concat)node;
+                stack.push(concat.right);
+                node = concat.left;
+            }
+            return (Leaf)node;
+        }
+    }
+
+    private static final class CharIterator implements PrimitiveIterator.OfInt {
+        private final LeafIterator leaves;
+        private Leaf leaf;
+        private int index;
+
+        CharIterator(Node root) {
+            this.leaves = new LeafIterator(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return (leaf!=null && index<leaf.length) || leaves.hasNext();
+        }
+
+        @Override
+        public int nextInt() {
+            if(leaf==null || index==leaf.length){
+                leaf = leaves.next();
+                index = 0;
+            }
+            return leaf.chars[leaf.offset+index++];
+        }
+    }
+}
@@ -3,6 +3,7 @@ package cyclops.data;
 import com.oath.cyclops.types.persistent.PersistentMap;
 import com.oath.cyclops.hkt.Higher2;
 import cyclops.companion.Comparators;
+import cyclops.control.Ior;
 import cyclops.control.Option;
 import cyclops.function.Function3;
 import cyclops.function.Function4;
@@ -38,6 +39,21 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
         return map.stream();
     }
 
+    /**
+     * Lazily compute the entries that differ between this map and a newer version of it, in key order. Where other
+     * is a TreeMap with the same Comparator subtrees shared by both maps are skipped.
+     *
+     * @see ImmutableMap#diffStream(ImmutableMap)
+     */
+    @Override
+    public ReactiveSeq<Tuple2<K, Ior<V, V>>> diffStream(ImmutableMap<K, V> other) {
+        if(other instanceof TreeMap && ((TreeMap<K,V>)other).comparator==comparator){
+            RedBlackTree.Tree<K,V> to = ((TreeMap<K,V>)other).map;
+            return ReactiveSeq.fromIterable(()->RedBlackTree.diff(map,to));
+        }
+        return ImmutableMap.super.diffStream(other);
+    }
+
     public static <K,V> TreeMap<K,V> empty(Comparator<K> comp){
         return new TreeMap<>( RedBlackTree.empty(comp),comp);
     }
@@ -51,9 +67,26 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
     public static <K,V> TreeMap<K,V> fromStream(Stream<Tuple2<K,V>> stream, Comparator<K> comp){
         return ReactiveSeq.fromStream(stream).foldLeft(empty(comp),(m,t2)->m.put(t2._1(),t2._2()));
     }
+
+    /**
+     * Build a TreeMap in O(n) from entries already in ascending key order (according to comp), without the
+     * rebalancing cost of inserting them one at a time
+     *
+     * <pre>
+     * {@code
+     *  TreeMap<Integer,String> map = TreeMap.fromSorted(Seq.of(tuple(1,"a"),tuple(2,"b")),Comparator.naturalOrder());
+     * }
+     * </pre>
+     *
+     * @param entries Entries in ascending key order, where keys repeat the last value wins
+     * @throws IllegalArgumentException if the entries are not in ascending key order
+     */
+    public static <K,V> TreeMap<K,V> fromSorted(Iterable<? extends Tuple2<? extends K, ? extends V>> entries, Comparator<K> comp){
+        return new TreeMap<>(RedBlackTree.fromSorted(comp,entries.iterator()),comp);
+    }
     @Override
     public <R> TreeMap<K, R> mapValues(Function<? super V, ? extends R> map) {
-        return fromStream(stream().map(t->t.map2(map)), comparator);
+        return fromSorted(stream().map(t->t.map2(map)), comparator);
     }
 
     @Override
@@ -115,23 +148,23 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
     }
     @Override
     public TreeMap<K, V> filter(Predicate<? super Tuple2<K, V>> predicate) {
-        return fromStream(stream().filter(predicate), comparator);
+        return fromSorted(stream().filter(predicate), comparator);
     }
 
     @Override
     public TreeMap<K, V> filterKeys(Predicate<? super K> predicate) {
-        return fromStream(stream().filter(t->predicate.test(t._1())), comparator);
+        return fromSorted(stream().filter(t->predicate.test(t._1())), comparator);
     }
 
     @Override
     public TreeMap<K, V> filterValues(Predicate<? super V> predicate) {
-        return fromStream(stream().filter(t->predicate.test(t._2())), comparator);
+        return fromSorted(stream().filter(t->predicate.test(t._2())), comparator);
     }
 
 
     @Override
     public <R> TreeMap<K, R> map(Function<? super V, ? extends R> fn) {
-        return fromStream(stream().map(t-> Tuple.tuple(t._1(),fn.apply(t._2()))), comparator);
+        return fromSorted(stream().map(t-> Tuple.tuple(t._1(),fn.apply(t._2()))), comparator);
     }
 
     @Override
@@ -163,29 +196,44 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
 
     @Override
     public TreeMap<K, V> put(K key, V value) {
-        return new TreeMap<K,V>(map.plus(key,value), comparator);
+        return new TreeMap<K,V>(RedBlackTree.rootIsBlack(map.plus(key,value)), comparator);
     }
 
     @Override
     public TreeMap<K, V> put(Tuple2<K, V> keyAndValue) {
-        return new TreeMap<K, V>(map.plus(keyAndValue._1(), keyAndValue._2()), comparator);
+        return new TreeMap<K, V>(RedBlackTree.rootIsBlack(map.plus(keyAndValue._1(), keyAndValue._2())), comparator);
     }
 
+    /**
+     * Where map is a TreeMap with the same Comparator the two trees are merged in O(m + n), unless map is small enough
+     * that inserting its entries one at a time is cheaper
+     */
     @Override
     public TreeMap<K, V> putAll(PersistentMap<? extends K, ? extends V> map) {
+        if(map instanceof TreeMap && ((TreeMap<?,?>)map).comparator==comparator){
+            TreeMap<K,V> other = (TreeMap<K,V>)map;
+            if(other.isEmpty())
+                return this;
+            if(isEmpty())
+                return other;
+            int m = other.size();
+            int n = size();
+            if((long)m*(32-Integer.numberOfLeadingZeros(n)) >= n+m)
+                return new TreeMap<>(RedBlackTree.merge(this.map,other.map),comparator);
+        }
         return map.stream().foldLeft(this,(m,next)->m.put(next._1(),next._2()));
     }
 
     @Override
     public TreeMap<K, V> remove(K key) {
-        return new TreeMap<>(map.minus(key), comparator);
+        return new TreeMap<>(RedBlackTree.rootIsBlack(map.minus(key)), comparator);
     }
 
     @Override
     public TreeMap<K, V> removeAll(K... keys) {
         RedBlackTree.Tree<K,V> cur = map;
         for(K key : keys){
-            cur = map.minus(key);
+            cur = RedBlackTree.rootIsBlack(cur.minus(key));
         }
         return new TreeMap<>(cur, comparator);
     }
@@ -219,6 +267,110 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
         return map.size();
     }
 
+    /**
+     * @return Entries with keys from fromKey (inclusive) to toKey (exclusive), built in O(log n)
+     */
+    public TreeMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey,true,toKey,false);
+    }
+
+    /**
+     * @return Entries with keys between fromKey and toKey, built in O(log n) sharing structure with this map
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     */
+    public TreeMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        if(comparator.compare(fromKey,toKey)>0)
+            throw new IllegalArgumentException("fromKey > toKey");
+        return new TreeMap<>(map.headTree(toKey,toInclusive).tailTree(fromKey,fromInclusive), comparator);
+    }
+
+    /**
+     * @return Entries with keys less than toKey, built in O(log n)
+     */
+    public TreeMap<K, V> headMap(K toKey) {
+        return headMap(toKey,false);
+    }
+
+    public TreeMap<K, V> headMap(K toKey, boolean inclusive) {
+        return new TreeMap<>(map.headTree(toKey,inclusive), comparator);
+    }
+
+    /**
+     * @return Entries with keys greater than or equal to fromKey, built in O(log n)
+     */
+    public TreeMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey,true);
+    }
+
+    public TreeMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        return new TreeMap<>(map.tailTree(fromKey,inclusive), comparator);
+    }
+
+    /**
+     * Lazily stream the entries with keys between fromKey and toKey, without building a new map
+     */
+    public ReactiveSeq<Tuple2<K, V>> rangeStream(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        return ReactiveSeq.fromIterable(()->map.iterator(fromKey,fromInclusive,toKey,toInclusive));
+    }
+
+    public ReactiveSeq<Tuple2<K, V>> streamFrom(K fromKey, boolean inclusive) {
+        return ReactiveSeq.fromIterable(()->map.iteratorFrom(fromKey,inclusive));
+    }
+
+    public ReactiveSeq<Tuple2<K, V>> streamTo(K toKey, boolean inclusive) {
+        return ReactiveSeq.fromIterable(()->map.iteratorTo(toKey,inclusive));
+    }
+
+    /**
+     * @return Entry with the greatest key less than or equal to key
+     */
+    public Option<Tuple2<K, V>> floor(K key) {
+        return map.floor(key);
+    }
+
+    /**
+     * @return Entry with the least key greater than or equal to key
+     */
+    public Option<Tuple2<K, V>> ceiling(K key) {
+        return map.ceiling(key);
+    }
+
+    /**
+     * @return Entry with the greatest key strictly less than key
+     */
+    public Option<Tuple2<K, V>> lower(K key) {
+        return map.lower(key);
+    }
+
+    /**
+     * @return Entry with the least key strictly greater than key
+     */
+    public Option<Tuple2<K, V>> higher(K key) {
+        return map.higher(key);
+    }
+
+    public Option<Tuple2<K, V>> first() {
+        return map.min();
+    }
+
+    public Option<Tuple2<K, V>> last() {
+        return map.max();
+    }
+
+    /**
+     * @return Number of keys in this map strictly less than key, O(log n)
+     */
+    public int rank(K key) {
+        return map.rank(key);
+    }
+
+    /**
+     * @return Entry at (zero based) position index in key order, O(log n)
+     */
+    public Option<Tuple2<K, V>> select(int index) {
+        return map.select(index);
+    }
+
     @Override
     public <K2, V2> DMap.Two<K, V, K2, V2> merge(ImmutableMap<K2, V2> one) {
         return DMap.two(this,one);
@@ -233,7 +385,7 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
 
     @Override
     public Iterator<Tuple2<K, V>> iterator() {
-        return stream().iterator();
+        return map.iterator();
     }
 
     @Override
@@ -62,6 +62,16 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
     public static <T> TreeSet<T> fromIterable(Iterable<T> it,Comparator<? super T> comp){
         return ReactiveSeq.fromIterable(it).foldLeft(empty(comp),(m, t2)->m.plus(t2));
     }
+    /**
+     * Build a TreeSet in O(n) from values already in ascending order (according to comp), without the rebalancing
+     * cost of inserting them one at a time
+     *
+     * @param values Values in ascending order, where values repeat the last one is kept
+     * @throws IllegalArgumentException if the values are not in ascending order
+     */
+    public static <T> TreeSet<T> fromSorted(Iterable<? extends T> values, Comparator<? super T> comp){
+        return new TreeSet<>(RedBlackTree.fromSorted(comp,ReactiveSeq.fromIterable(values).map(e->Tuple.<T,T>tuple(e,e)).iterator()),comp);
+    }
     public static <T extends Comparable<? super T>> TreeSet<T> fromIterable(Iterable<T> it){
       return ReactiveSeq.fromIterable(it).foldLeft(empty(Comparators.naturalComparator()),(m, t2)->m.plus(t2));
     }
@@ -131,8 +141,8 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
         return new TreeSet<>(tree,Comparator.naturalOrder());
     }
     public static <T> TreeSet<T> fromSortedSet(SortedSet<T> set, Comparator<? super T> comp){
-        Stream<Tuple2<T,T>> s = set.stream().map(e -> Tuple.tuple(e,e));
-        return new TreeSet<T>(RedBlackTree.fromStream(set.comparator(),s),comp);
+        Iterator<Tuple2<T,T>> it = set.stream().map(e -> Tuple.tuple(e,e)).iterator();
+        return new TreeSet<T>(RedBlackTree.fromSorted(set.comparator(),it),comp);
     }
 
     public boolean containsValue(T value){
@@ -216,8 +226,23 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
         return new TreeSet<>(map.plus(value,value),comp);
     }
 
+    /**
+     * Where list is a TreeSet with the same Comparator the two trees are merged in O(m + n), unless list is small
+     * enough that inserting its values one at a time is cheaper
+     */
     @Override
     public TreeSet<T> plusAll(Iterable<? extends T> list) {
+        if(list instanceof TreeSet && ((TreeSet<?>)list).comp==comp){
+            TreeSet<T> other = (TreeSet<T>)list;
+            if(other.isEmpty())
+                return this;
+            if(isEmpty())
+                return other;
+            int m = other.size();
+            int n = size();
+            if((long)m*(32-Integer.numberOfLeadingZeros(n)) >= n+m)
+                return new TreeSet<>(RedBlackTree.merge(map,other.map),comp);
+        }
         TreeSet<T> res = this;
         for(T next : list){
             res = res.plus(next);
@@ -237,7 +262,7 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
 
     @Override
     public Option<T> get(int index) {
-        return stream().elementAt(index);
+        return map.select(index).map(Tuple2::_1);
     }
 
 
@@ -253,33 +278,113 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
         return comp;
     }
 
+    /**
+     * @return Elements from fromElement (inclusive) to toElement (exclusive), built in O(log n)
+     */
     @Override
-    public ImmutableSortedSet<T> subSet(T fromElement, T toElement) {
+    public TreeSet<T> subSet(T fromElement, T toElement) {
+        return subSet(fromElement,true,toElement,false);
+    }
+
+    /**
+     * @return Elements between fromElement and toElement, built in O(log n) sharing structure with this set
+     * @throws IllegalArgumentException if fromElement is greater than toElement
+     */
+    public TreeSet<T> subSet(T fromElement, boolean fromInclusive, T toElement, boolean toInclusive) {
+        if(comp.compare(fromElement,toElement)>0)
+            throw new IllegalArgumentException("fromElement > toElement");
+        return new TreeSet<>(map.headTree(toElement,toInclusive).tailTree(fromElement,fromInclusive),comp);
+    }
+
+    /**
+     * @return Elements less than toElement, built in O(log n)
+     */
+    public TreeSet<T> headSet(T toElement) {
+        return headSet(toElement,false);
+    }
+
+    public TreeSet<T> headSet(T toElement, boolean inclusive) {
+        return new TreeSet<>(map.headTree(toElement,inclusive),comp);
+    }
 
-       return fromStream(stream().dropWhile(e-> !Objects.equals(e,fromElement))
-                                 .takeUntil(e->Objects.equals(e,toElement)),comp);
+    /**
+     * @return Elements greater than or equal to fromElement, built in O(log n)
+     */
+    public TreeSet<T> tailSet(T fromElement) {
+        return tailSet(fromElement,true);
+    }
+
+    public TreeSet<T> tailSet(T fromElement, boolean inclusive) {
+        return new TreeSet<>(map.tailTree(fromElement,inclusive),comp);
+    }
 
+    /**
+     * Lazily stream the elements between fromElement and toElement, without building a new set
+     */
+    public ReactiveSeq<T> rangeStream(T fromElement, boolean fromInclusive, T toElement, boolean toInclusive) {
+        return ReactiveSeq.fromIterable(()->map.iterator(fromElement,fromInclusive,toElement,toInclusive)).map(Tuple2::_1);
     }
 
+    /**
+     * @return Greatest element less than or equal to value
+     */
+    public Option<T> floor(T value) {
+        return map.floor(value).map(Tuple2::_1);
+    }
+
+    /**
+     * @return Least element greater than or equal to value
+     */
+    public Option<T> ceiling(T value) {
+        return map.ceiling(value).map(Tuple2::_1);
+    }
+
+    /**
+     * @return Greatest element strictly less than value
+     */
+    public Option<T> lower(T value) {
+        return map.lower(value).map(Tuple2::_1);
+    }
+
+    /**
+     * @return Least element strictly greater than value
+     */
+    public Option<T> higher(T value) {
+        return map.higher(value).map(Tuple2::_1);
+    }
+
+    /**
+     * @return Number of elements in this set strictly less than value, O(log n)
+     */
+    public int rank(T value) {
+        return map.rank(value);
+    }
+
+    /**
+     * @return Element at (zero based) position index in sorted order, O(log n)
+     */
+    public Option<T> select(int index) {
+        return get(index);
+    }
 
     @Override
     public Option<T> first() {
-        return Option.fromIterable(this);
+        return map.min().map(Tuple2::_1);
     }
 
     @Override
     public Option<T> last() {
-        return stream().takeRight(1).takeOne();
+        return map.max().map(Tuple2::_1);
     }
 
     @Override
     public ImmutableSortedSet<T> drop(int num) {
-        return fromStream(stream().drop(num),comp);
+        return fromSorted(stream().drop(num),comp);
     }
 
     @Override
     public ImmutableSortedSet<T> take(int num) {
-        return fromStream(stream().take(num),comp);
+        return fromSorted(stream().take(num),comp);
     }
 
     public String printTree(){
@@ -163,6 +163,50 @@ public final class TrieSet<T> implements ImmutableSet<T>,
         return new TrieSet<>(map.minus(value.hashCode(),value));
     }
 
+    /**
+     * Union computed structurally, sub-tries shared by both sets are reused without being traversed
+     *
+     * @param other Set to merge with this one, where both contain an element the instance from this set is kept
+     * @return Set containing the elements of both sets
+     */
+    public TrieSet<T> union(TrieSet<? extends T> other) {
+        HashedPatriciaTrie.Node<T, T> merged = HashedPatriciaTrie.union(map, (HashedPatriciaTrie.Node<T, T>) other.map);
+        return merged == map ? this : new TrieSet<>(merged);
+    }
+
+    /**
+     * Intersection computed structurally, sub-tries shared by both sets are reused without being traversed
+     *
+     * @param other Set to intersect with this one
+     * @return Set containing the elements of this set that are also in other
+     */
+    public TrieSet<T> intersection(TrieSet<?> other) {
+        HashedPatriciaTrie.Node<T, T> kept = HashedPatriciaTrie.intersection(map, (HashedPatriciaTrie.Node<T, ?>) other.map);
+        return kept == map ? this : new TrieSet<>(kept);
+    }
+
+    /**
+     * Difference computed structurally, sub-tries shared by both sets are removed without being traversed
+     *
+     * @param other Set of elements to remove
+     * @return Set containing the elements of this set that are not in other
+     */
+    public TrieSet<T> difference(TrieSet<?> other) {
+        HashedPatriciaTrie.Node<T, T> kept = HashedPatriciaTrie.difference(map, (HashedPatriciaTrie.Node<T, ?>) other.map);
+        return kept == map ? this : new TrieSet<>(kept);
+    }
+
+    @Override
+    public TrieSet<T> plusAll(Iterable<? extends T> list) {
+        if(list instanceof TrieSet)
+            return union((TrieSet<? extends T>)list);
+        TrieSet<T> res = this;
+        for(T next : list){
+            res = res.plus(next);
+        }
+        return res;
+    }
+
     @Override
     public <R> TrieSet<R> unitIterable(Iterable<R> it) {
         return fromIterable(it);
@@ -284,6 +328,8 @@ public final class TrieSet<T> implements ImmutableSet<T>,
 
     @Override
     public TrieSet<T> retainAll(Iterable<? extends T> it) {
+        if(it instanceof TrieSet)
+            return intersection((TrieSet<?>)it);
         return (TrieSet<T>)ImmutableSet.super.retainAll(it);
     }
 
@@ -567,6 +613,8 @@ public final class TrieSet<T> implements ImmutableSet<T>,
 
     @Override
     public TrieSet<T> removeAll(Iterable<? extends T> it) {
+        if(it instanceof TrieSet)
+            return difference((TrieSet<?>)it);
         return (TrieSet<T>) ImmutableSet.super.removeAll(it);
     }
 
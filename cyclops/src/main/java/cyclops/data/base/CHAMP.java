@@ -0,0 +1,1042 @@
+package cyclops.data.base;
+
+
+import cyclops.control.Ior;
+import cyclops.control.Option;
+import cyclops.data.LazySeq;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Compressed Hash-Array Mapped Prefix-tree (Steindorfer &amp; Vinju, OOPSLA 2015).
+ *
+ * Each BitmapIndexedNode keeps two bitmaps, one for key / value pairs stored inline and one for sub-nodes. Both share a
+ * single array: pairs from the front, sub-nodes (in reverse) from the back. Deletion is canonical: a sub-node that is
+ * left holding a single pair is inlined into its parent, so a given set of keys always has the same structure
+ * regardless of the order of updates (which keeps equals / hashCode structural and iteration compact).
+ *
+ * Hashes are not stored, the hash passed in must always be the hashCode of the key.
+ */
+public final class CHAMP<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    static final int BITS_IN_INDEX = 5;
+    static final int HASH_CODE_LENGTH = 32;
+    static final int MAX_DEPTH = 8;
+
+    private CHAMP() {
+    }
+
+    public static <K, V> Node<K, V> empty() {
+        return BitmapIndexedNode.EMPTY;
+    }
+
+    static int hash(Object key) {
+        return Objects.hashCode(key);
+    }
+
+    static int mask(int hash, int shift) {
+        return (hash >>> shift) & ((1 << BITS_IN_INDEX) - 1);
+    }
+
+    static int bitpos(int mask) {
+        return 1 << mask;
+    }
+
+    public interface Node<K, V> extends Iterable<Tuple2<K, V>>, Serializable {
+
+        default Node<K, V> put(K key, V value) {
+            return plus(0, hash(key), key, value);
+        }
+
+        default Option<V> get(K key) {
+            return get(0, hash(key), key);
+        }
+
+        default V getOrElse(K key, V alt) {
+            return getOrElse(0, hash(key), key, alt);
+        }
+
+        default boolean containsKey(K key) {
+            return containsKey(0, hash(key), key);
+        }
+
+        default Node<K, V> minus(K key) {
+            return minus(0, hash(key), key);
+        }
+
+        Node<K, V> plus(int bitShiftDepth, int hash, K key, V value);
+
+        Option<V> get(int bitShiftDepth, int hash, K key);
+
+        V getOrElse(int bitShiftDepth, int hash, K key, V alt);
+
+        V getOrElseGet(int bitShiftDepth, int hash, K key, Supplier<? extends V> alt);
+
+        boolean containsKey(int bitShiftDepth, int hash, K key);
+
+        Node<K, V> minus(int bitShiftDepth, int hash, K key);
+
+        int size();
+
+        /**
+         * @return Number of key / value pairs stored directly in this node
+         */
+        int payloadArity();
+
+        K keyAt(int index);
+
+        V valueAt(int index);
+
+        /**
+         * @return Number of sub-nodes of this node
+         */
+        int nodeArity();
+
+        Node<K, V> nodeAt(int index);
+
+        @Override
+        default Iterator<Tuple2<K, V>> iterator() {
+            return new NodeIterator<>(this);
+        }
+
+        default LazySeq<Tuple2<K, V>> lazyList() {
+            return LazySeq.fromIterable(this);
+        }
+
+        default ReactiveSeq<Tuple2<K, V>> stream() {
+            return ReactiveSeq.fromIterable(this);
+        }
+    }
+
+    public static final class BitmapIndexedNode<K, V> implements Node<K, V> {
+        private static final long serialVersionUID = 1L;
+        static final BitmapIndexedNode EMPTY = new BitmapIndexedNode(0, 0, new Object[0], 0);
+
+        final int dataMap;
+        final int nodeMap;
+        final Object[] content;
+        private final int size;
+
+        BitmapIndexedNode(int dataMap, int nodeMap, Object[] content, int size) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+            this.size = size;
+        }
+
+        public int dataMap() {
+            return dataMap;
+        }
+
+        public int nodeMap() {
+            return nodeMap;
+        }
+
+        int dataIndex(int bitpos) {
+            return Integer.bitCount(dataMap & (bitpos - 1));
+        }
+
+        int nodeIndex(int bitpos) {
+            return Integer.bitCount(nodeMap & (bitpos - 1));
+        }
+
+        @Override
+        public int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        public K keyAt(int index) {
+            return (K) content[2 * index];
+        }
+
+        @Override
+        public V valueAt(int index) {
+            return (V) content[2 * index + 1];
+        }
+
+        @Override
+        public int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        public Node<K, V> nodeAt(int index) {
+            return (Node<K, V>) content[content.length - 1 - index];
+        }
+
+        Node<K, V> nodeAtBit(int bitpos) {
+            return nodeAt(nodeIndex(bitpos));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Node<K, V> plus(int bitShiftDepth, int hash, K key, V value) {
+            int bitpos = bitpos(mask(hash, bitShiftDepth));
+            if ((dataMap & bitpos) != 0) {
+                int index = dataIndex(bitpos);
+                K current = keyAt(index);
+                if (Objects.equals(current, key)) {
+                    if (valueAt(index) == value)
+                        return this;
+                    Object[] updated = content.clone();
+                    updated[2 * index + 1] = value;
+                    return new BitmapIndexedNode<>(dataMap, nodeMap, updated, size);
+                }
+                Node<K, V> sub = mergeTwo(current, valueAt(index), hash(current), key, value, hash,
+                                          bitShiftDepth + BITS_IN_INDEX);
+                return copyAndMigrateFromInlineToNode(bitpos, sub);
+            }
+            if ((nodeMap & bitpos) != 0) {
+                Node<K, V> sub = nodeAtBit(bitpos);
+                Node<K, V> updatedSub = sub.plus(bitShiftDepth + BITS_IN_INDEX, hash, key, value);
+                if (updatedSub == sub)
+                    return this;
+                return copyAndSetNode(bitpos, updatedSub, size - sub.size() + updatedSub.size());
+            }
+            return copyAndInsertValue(bitpos, key, value);
+        }
+
+        @Override
+        public Option<V> get(int bitShiftDepth, int hash, K key) {
+            int bitpos = bitpos(mask(hash, bitShiftDepth));
+            if ((dataMap & bitpos) != 0) {
+                int index = dataIndex(bitpos);
+                return Objects.equals(keyAt(index), key) ? Option.of(valueAt(index)) : Option.none();
+            }
+            if ((nodeMap & bitpos) != 0)
+                return nodeAtBit(bitpos).get(bitShiftDepth + BITS_IN_INDEX, hash, key);
+            return Option.none();
+        }
+
+        @Override
+        public V getOrElse(int bitShiftDepth, int hash, K key, V alt) {
+            int bitpos = bitpos(mask(hash, bitShiftDepth));
+            if ((dataMap & bitpos) != 0) {
+                int index = dataIndex(bitpos);
+                return Objects.equals(keyAt(index), key) ? valueAt(index) : alt;
+            }
+            if ((nodeMap & bitpos) != 0)
+                return nodeAtBit(bitpos).getOrElse(bitShiftDepth + BITS_IN_INDEX, hash, key, alt);
+            return alt;
+        }
+
+        @Override
+        public V getOrElseGet(int bitShiftDepth, int hash, K key, Supplier<? extends V> alt) {
+            int bitpos = bitpos(mask(hash, bitShiftDepth));
+            if ((dataMap & bitpos) != 0) {
+                int index = dataIndex(bitpos);
+                return Objects.equals(keyAt(index), key) ? valueAt(index) : alt.get();
+            }
+            if ((nodeMap & bitpos) != 0)
+                return nodeAtBit(bitpos).getOrElseGet(bitShiftDepth + BITS_IN_INDEX, hash, key, alt);
+            return alt.get();
+        }
+
+        @Override
+        public boolean containsKey(int bitShiftDepth, int hash, K key) {
+            int bitpos = bitpos(mask(hash, bitShiftDepth));
+            if ((dataMap & bitpos) != 0)
+                return Objects.equals(keyAt(dataIndex(bitpos)), key);
+            if ((nodeMap & bitpos) != 0)
+                return nodeAtBit(bitpos).containsKey(bitShiftDepth + BITS_IN_INDEX, hash, key);
+            return false;
+        }
+
+        @Override
+        public Node<K, V> minus(int bitShiftDepth, int hash, K key) {
+            int bitpos = bitpos(mask(hash, bitShiftDepth));
+            if ((dataMap & bitpos) != 0) {
+                int index = dataIndex(bitpos);
+                if (!Objects.equals(keyAt(index), key))
+                    return this;
+                if (size == 1)
+                    return EMPTY;
+                if (bitShiftDepth > 0 && payloadArity() == 2 && nodeArity() == 0) {
+                    //the remaining pair will be inlined by the parent (or become the root)
+                    int remaining = index == 0 ? 1 : 0;
+                    K k = keyAt(remaining);
+                    return new BitmapIndexedNode<>(bitpos(mask(hash(k), 0)), 0,
+                                                   new Object[]{k, valueAt(remaining)}, 1);
+                }
+                return copyAndRemoveValue(bitpos);
+            }
+            if ((nodeMap & bitpos) != 0) {
+                Node<K, V> sub = nodeAtBit(bitpos);
+                Node<K, V> updatedSub = sub.minus(bitShiftDepth + BITS_IN_INDEX, hash, key);
+                if (updatedSub == sub)
+                    return this;
+                if (updatedSub.size() == 1) {
+                    if (payloadArity() == 0 && nodeArity() == 1)
+                        return updatedSub;
+                    return copyAndMigrateFromNodeToInline(bitpos, updatedSub);
+                }
+                return copyAndSetNode(bitpos, updatedSub, size - 1);
+            }
+            return this;
+        }
+
+        private Node<K, V> copyAndInsertValue(int bitpos, K key, V value) {
+            int index = 2 * dataIndex(bitpos);
+            Object[] dst = new Object[content.length + 2];
+            System.arraycopy(content, 0, dst, 0, index);
+            dst[index] = key;
+            dst[index + 1] = value;
+            System.arraycopy(content, index, dst, index + 2, content.length - index);
+            return new BitmapIndexedNode<>(dataMap | bitpos, nodeMap, dst, size + 1);
+        }
+
+        private Node<K, V> copyAndRemoveValue(int bitpos) {
+            int index = 2 * dataIndex(bitpos);
+            Object[] dst = new Object[content.length - 2];
+            System.arraycopy(content, 0, dst, 0, index);
+            System.arraycopy(content, index + 2, dst, index, content.length - index - 2);
+            return new BitmapIndexedNode<>(dataMap ^ bitpos, nodeMap, dst, size - 1);
+        }
+
+        private Node<K, V> copyAndSetNode(int bitpos, Node<K, V> node, int newSize) {
+            Object[] dst = content.clone();
+            dst[content.length - 1 - nodeIndex(bitpos)] = node;
+            return new BitmapIndexedNode<>(dataMap, nodeMap, dst, newSize);
+        }
+
+        private Node<K, V> copyAndMigrateFromInlineToNode(int bitpos, Node<K, V> node) {
+            int indexOld = 2 * dataIndex(bitpos);
+            int indexNew = content.length - 2 - nodeIndex(bitpos);
+            Object[] dst = new Object[content.length - 1];
+            System.arraycopy(content, 0, dst, 0, indexOld);
+            System.arraycopy(content, indexOld + 2, dst, indexOld, indexNew - indexOld);
+            dst[indexNew] = node;
+            System.arraycopy(content, indexNew + 2, dst, indexNew + 1, content.length - indexNew - 2);
+            return new BitmapIndexedNode<>(dataMap ^ bitpos, nodeMap | bitpos, dst, size + 1);
+        }
+
+        private Node<K, V> copyAndMigrateFromNodeToInline(int bitpos, Node<K, V> node) {
+            int indexOld = content.length - 1 - nodeIndex(bitpos);
+            int indexNew = 2 * dataIndex(bitpos);
+            Object[] dst = new Object[content.length + 1];
+            System.arraycopy(content, 0, dst, 0, indexNew);
+            dst[indexNew] = node.keyAt(0);
+            dst[indexNew + 1] = node.valueAt(0);
+            System.arraycopy(content, indexNew, dst, indexNew + 2, indexOld - indexNew);
+            System.arraycopy(content, indexOld + 1, dst, indexOld + 2, content.length - indexOld - 1);
+            return new BitmapIndexedNode<>(dataMap | bitpos, nodeMap ^ bitpos, dst, size - 1);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof BitmapIndexedNode))
+                return false;
+            BitmapIndexedNode<?, ?> that = (BitmapIndexedNode<?, ?>) o;
+            return dataMap == that.dataMap && nodeMap == that.nodeMap && size == that.size
+                    && Arrays.equals(content, that.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * dataMap + nodeMap) + Arrays.hashCode(content);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder("{d:" + Integer.toBinaryString(dataMap) + ",n:"
+                                                    + Integer.toBinaryString(nodeMap) + ",s:" + size);
+            for (int i = 0; i < payloadArity(); i++)
+                s.append(",[k:" + keyAt(i) + ",v:" + valueAt(i) + "]");
+            for (int i = 0; i < nodeArity(); i++)
+                s.append("," + nodeAt(i));
+            return s.append("}").toString();
+        }
+    }
+
+    /**
+     * Keys with identical hashCodes, found below the deepest level of BitmapIndexedNodes
+     */
+    public static final class HashCollisionNode<K, V> implements Node<K, V> {
+        private static final long serialVersionUID = 1L;
+        final int hash;
+        final Object[] keys;
+        final Object[] values;
+
+        HashCollisionNode(int hash, Object[] keys, Object[] values) {
+            this.hash = hash;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        private int indexOf(K key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (Objects.equals(keys[i], key))
+                    return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public Node<K, V> plus(int bitShiftDepth, int hash, K key, V value) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (values[index] == value)
+                    return this;
+                Object[] updated = values.clone();
+                updated[index] = value;
+                return new HashCollisionNode<>(this.hash, keys, updated);
+            }
+            Object[] k = Arrays.copyOf(keys, keys.length + 1);
+            Object[] v = Arrays.copyOf(values, values.length + 1);
+            k[keys.length] = key;
+            v[values.length] = value;
+            return new HashCollisionNode<>(this.hash, k, v);
+        }
+
+        @Override
+        public Option<V> get(int bitShiftDepth, int hash, K key) {
+            int index = this.hash == hash ? indexOf(key) : -1;
+            return index >= 0 ? Option.of((V) values[index]) : Option.none();
+        }
+
+        @Override
+        public V getOrElse(int bitShiftDepth, int hash, K key, V alt) {
+            int index = this.hash == hash ? indexOf(key) : -1;
+            return index >= 0 ? (V) values[index] : alt;
+        }
+
+        @Override
+        public V getOrElseGet(int bitShiftDepth, int hash, K key, Supplier<? extends V> alt) {
+            int index = this.hash == hash ? indexOf(key) : -1;
+            return index >= 0 ? (V) values[index] : alt.get();
+        }
+
+        @Override
+        public boolean containsKey(int bitShiftDepth, int hash, K key) {
+            return this.hash == hash && indexOf(key) >= 0;
+        }
+
+        @Override
+        public Node<K, V> minus(int bitShiftDepth, int hash, K key) {
+            int index = this.hash == hash ? indexOf(key) : -1;
+            if (index < 0)
+                return this;
+            if (keys.length == 2) {
+                int remaining = index == 0 ? 1 : 0;
+                return new BitmapIndexedNode<>(bitpos(mask(hash, 0)), 0,
+                                               new Object[]{keys[remaining], values[remaining]}, 1);
+            }
+            Object[] k = new Object[keys.length - 1];
+            Object[] v = new Object[values.length - 1];
+            System.arraycopy(keys, 0, k, 0, index);
+            System.arraycopy(keys, index + 1, k, index, keys.length - index - 1);
+            System.arraycopy(values, 0, v, 0, index);
+            System.arraycopy(values, index + 1, v, index, values.length - index - 1);
+            return new HashCollisionNode<>(hash, k, v);
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public int payloadArity() {
+            return keys.length;
+        }
+
+        @Override
+        public K keyAt(int index) {
+            return (K) keys[index];
+        }
+
+        @Override
+        public V valueAt(int index) {
+            return (V) values[index];
+        }
+
+        @Override
+        public int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        public Node<K, V> nodeAt(int index) {
+            throw new IndexOutOfBoundsException("Collision nodes have no sub-nodes");
+        }
+
+        /*
+         * Entries are kept in insertion order, so equality ignores their order
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof HashCollisionNode))
+                return false;
+            HashCollisionNode<K, V> that = (HashCollisionNode<K, V>) o;
+            if (hash != that.hash || keys.length != that.keys.length)
+                return false;
+            for (int i = 0; i < keys.length; i++) {
+                int index = that.indexOf((K) keys[i]);
+                if (index < 0 || !Objects.equals(values[i], that.values[index]))
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = hash;
+            for (int i = 0; i < keys.length; i++)
+                result += Objects.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder("[COLLISION : h:" + hash);
+            for (int i = 0; i < keys.length; i++)
+                s.append(",[k:" + keys[i] + ",v:" + values[i] + "]");
+            return s.append("]").toString();
+        }
+    }
+
+    /**
+     * Structural union, walking both tries in lockstep. Nodes whose content is unchanged are returned as-is.
+     *
+     * @param resolve Computes the value for every key present in both tries (left value, right value). Returning one
+     *                of its arguments unchanged allows the corresponding node to be reused
+     */
+    public static <K, V> Node<K, V> union(Node<K, V> left, Node<K, V> right,
+                                          BiFunction<? super V, ? super V, ? extends V> resolve) {
+        return union(left, right, 0, resolve, false);
+    }
+
+    /**
+     * Structural union that keeps the value of one side for keys present in both tries. As the choice doesn't depend
+     * on the values, sub-tries that are shared by reference (e.g. two versions of the same map) are reused without
+     * being visited, so the union of two mostly-shared snapshots costs time proportional to the parts that differ.
+     *
+     * @param preferLeft true to keep the values of left for keys present in both tries, false to keep those of right
+     */
+    public static <K, V> Node<K, V> union(Node<K, V> left, Node<K, V> right, boolean preferLeft) {
+        return union(left, right, 0, preferLeft ? (a, b) -> a : (a, b) -> b, true);
+    }
+
+    /**
+     * Structural intersection, keeping the keys and values of left whose keys are also present in right
+     */
+    public static <K, V> Node<K, V> intersection(Node<K, V> left, Node<K, ?> right) {
+        return intersection(left, (Node<K, Object>) right, 0);
+    }
+
+    /**
+     * Structural difference, keeping the entries of left whose keys are not present in right
+     */
+    public static <K, V> Node<K, V> difference(Node<K, V> left, Node<K, ?> right) {
+        return difference(left, (Node<K, Object>) right, 0);
+    }
+
+    /**
+     * Lazily compute the changes that turn from into to, walking both tries in lockstep. Sub-tries shared by
+     * reference are skipped, so comparing two snapshots that share most of their structure costs time proportional
+     * to their differences.
+     *
+     * @return Changed keys with Ior.left(old value) for removed entries, Ior.right(new value) for added entries and
+     * Ior.both(old value, new value) for entries whose values are not equal
+     */
+    public static <K, V> Iterator<Tuple2<K, Ior<V, V>>> diff(Node<K, V> from, Node<K, V> to) {
+        return new DiffIterator<>(from, to);
+    }
+
+    /*
+     * When skipShared, resolve must return one of its arguments without looking at them, so that it can be skipped for
+     * sub-tries and values that both sides share
+     */
+    static <K, V> Node<K, V> union(Node<K, V> a, Node<K, V> b, int shift,
+                                   BiFunction<? super V, ? super V, ? extends V> resolve, boolean skipShared) {
+        if ((a == b && skipShared) || b.size() == 0)
+            return a;
+        if (a.size() == 0)
+            return b;
+        if (!(a instanceof BitmapIndexedNode) || !(b instanceof BitmapIndexedNode)) {
+            Node<K, V> result = a;
+            for (Tuple2<K, V> next : b)
+                result = plusResolved(result, shift, next._1(), next._2(), resolve, false, skipShared);
+            return result;
+        }
+        BitmapIndexedNode<K, V> left = (BitmapIndexedNode<K, V>) a;
+        BitmapIndexedNode<K, V> right = (BitmapIndexedNode<K, V>) b;
+        int bits = left.dataMap | left.nodeMap | right.dataMap | right.nodeMap;
+        Builder<K, V> builder = new Builder<>(bits);
+        boolean sameAsLeft = true;
+        boolean sameAsRight = true;
+        for (int remaining = bits; remaining != 0; remaining &= remaining - 1) {
+            int bitpos = Integer.lowestOneBit(remaining);
+            if ((left.dataMap & bitpos) != 0) {
+                int index = left.dataIndex(bitpos);
+                K key = left.keyAt(index);
+                V value = left.valueAt(index);
+                if ((right.dataMap & bitpos) != 0) {
+                    int rightIndex = right.dataIndex(bitpos);
+                    K rightKey = right.keyAt(rightIndex);
+                    V rightValue = right.valueAt(rightIndex);
+                    if (Objects.equals(key, rightKey)) {
+                        V resolved = value == rightValue && skipShared ? value : resolve.apply(value, rightValue);
+                        builder.pair(bitpos, key, resolved);
+                        sameAsLeft &= resolved == value;
+                        sameAsRight &= resolved == rightValue && key == rightKey;
+                    } else {
+                        builder.node(bitpos, mergeTwo(key, value, hash(key), rightKey, rightValue, hash(rightKey),
+                                                      shift + BITS_IN_INDEX));
+                        sameAsLeft = sameAsRight = false;
+                    }
+                } else if ((right.nodeMap & bitpos) != 0) {
+                    Node<K, V> sub = right.nodeAtBit(bitpos);
+                    Node<K, V> merged = plusResolved(sub, shift + BITS_IN_INDEX, key, value, resolve, true, skipShared);
+                    builder.node(bitpos, merged);
+                    sameAsLeft = false;
+                    sameAsRight &= merged == sub;
+                } else {
+                    builder.pair(bitpos, key, value);
+                    sameAsRight = false;
+                }
+            } else if ((left.nodeMap & bitpos) != 0) {
+                Node<K, V> sub = left.nodeAtBit(bitpos);
+                Node<K, V> merged;
+                if ((right.dataMap & bitpos) != 0) {
+                    int rightIndex = right.dataIndex(bitpos);
+                    merged = plusResolved(sub, shift + BITS_IN_INDEX, right.keyAt(rightIndex),
+                                          right.valueAt(rightIndex), resolve, false, skipShared);
+                    sameAsRight = false;
+                } else if ((right.nodeMap & bitpos) != 0) {
+                    Node<K, V> rightSub = right.nodeAtBit(bitpos);
+                    merged = union(sub, rightSub, shift + BITS_IN_INDEX, resolve, skipShared);
+                    sameAsRight &= merged == rightSub;
+                } else {
+                    merged = sub;
+                    sameAsRight = false;
+                }
+                builder.node(bitpos, merged);
+                sameAsLeft &= merged == sub;
+            } else {
+                if ((right.dataMap & bitpos) != 0) {
+                    int rightIndex = right.dataIndex(bitpos);
+                    builder.pair(bitpos, right.keyAt(rightIndex), right.valueAt(rightIndex));
+                } else {
+                    builder.node(bitpos, right.nodeAtBit(bitpos));
+                }
+                sameAsLeft = false;
+            }
+        }
+        if (sameAsLeft)
+            return left;
+        if (sameAsRight)
+            return right;
+        return builder.build(shift);
+    }
+
+    /*
+     * Adds key / value to node, resolving against any existing value for key. When existingIsLeft the value already
+     * in node is the left hand argument to resolve.
+     */
+    private static <K, V> Node<K, V> plusResolved(Node<K, V> node, int shift, K key, V value,
+                                                  BiFunction<? super V, ? super V, ? extends V> resolve,
+                                                  boolean existingIsLeft, boolean skipShared) {
+        int hash = hash(key);
+        if (!node.containsKey(shift, hash, key))
+            return node.plus(shift, hash, key, value);
+        V existing = node.getOrElse(shift, hash, key, null);
+        if (existing == value && skipShared)
+            return node;
+        V resolved = existingIsLeft ? resolve.apply(value, existing) : resolve.apply(existing, value);
+        return resolved == existing ? node : node.plus(shift, hash, key, resolved);
+    }
+
+    static <K, V> Node<K, V> intersection(Node<K, V> a, Node<K, Object> b, int shift) {
+        if (a == b)
+            return a;
+        if (a.size() == 0 || b.size() == 0)
+            return empty();
+        if (a instanceof HashCollisionNode)
+            return filterCollision((HashCollisionNode<K, V>) a, b, shift, true);
+        if (!(b instanceof BitmapIndexedNode)) {
+            Node<K, V> result = a;
+            for (Tuple2<K, V> next : a) {
+                K key = next._1();
+                if (!b.containsKey(shift, hash(key), key))
+                    result = result.minus(shift, hash(key), key);
+            }
+            return result;
+        }
+        BitmapIndexedNode<K, V> left = (BitmapIndexedNode<K, V>) a;
+        BitmapIndexedNode<K, Object> right = (BitmapIndexedNode<K, Object>) b;
+        int leftBits = left.dataMap | left.nodeMap;
+        int bits = leftBits & (right.dataMap | right.nodeMap);
+        Builder<K, V> builder = new Builder<>(bits);
+        boolean sameAsLeft = bits == leftBits;
+        for (int remaining = bits; remaining != 0; remaining &= remaining - 1) {
+            int bitpos = Integer.lowestOneBit(remaining);
+            if ((left.dataMap & bitpos) != 0) {
+                int index = left.dataIndex(bitpos);
+                K key = left.keyAt(index);
+                boolean present = (right.dataMap & bitpos) != 0
+                        ? Objects.equals(key, right.keyAt(right.dataIndex(bitpos)))
+                        : right.nodeAtBit(bitpos).containsKey(shift + BITS_IN_INDEX, hash(key), key);
+                if (present)
+                    builder.pair(bitpos, key, left.valueAt(index));
+                else
+                    sameAsLeft = false;
+            } else {
+                Node<K, V> sub = left.nodeAtBit(bitpos);
+                if ((right.dataMap & bitpos) != 0) {
+                    K key = right.keyAt(right.dataIndex(bitpos));
+                    int hash = hash(key);
+                    if (sub.containsKey(shift + BITS_IN_INDEX, hash, key))
+                        builder.pair(bitpos, key, sub.getOrElse(shift + BITS_IN_INDEX, hash, key, null));
+                    sameAsLeft = false;
+                } else {
+                    Node<K, V> kept = intersection(sub, right.nodeAtBit(bitpos), shift + BITS_IN_INDEX);
+                    builder.node(bitpos, kept);
+                    sameAsLeft &= kept == sub;
+                }
+            }
+        }
+        return sameAsLeft ? left : builder.build(shift);
+    }
+
+    static <K, V> Node<K, V> difference(Node<K, V> a, Node<K, Object> b, int shift) {
+        if (a == b)
+            return empty();
+        if (a.size() == 0 || b.size() == 0)
+            return a;
+        if (a instanceof HashCollisionNode)
+            return filterCollision((HashCollisionNode<K, V>) a, b, shift, false);
+        if (!(b instanceof BitmapIndexedNode)) {
+            Node<K, V> result = a;
+            for (Tuple2<K, V> next : a) {
+                K key = next._1();
+                if (b.containsKey(shift, hash(key), key))
+                    result = result.minus(shift, hash(key), key);
+            }
+            return result;
+        }
+        BitmapIndexedNode<K, V> left = (BitmapIndexedNode<K, V>) a;
+        BitmapIndexedNode<K, Object> right = (BitmapIndexedNode<K, Object>) b;
+        int bits = left.dataMap | left.nodeMap;
+        if ((bits & (right.dataMap | right.nodeMap)) == 0)
+            return left;
+        Builder<K, V> builder = new Builder<>(bits);
+        boolean sameAsLeft = true;
+        for (int remaining = bits; remaining != 0; remaining &= remaining - 1) {
+            int bitpos = Integer.lowestOneBit(remaining);
+            if ((left.dataMap & bitpos) != 0) {
+                int index = left.dataIndex(bitpos);
+                K key = left.keyAt(index);
+                boolean present = (right.dataMap & bitpos) != 0
+                        ? Objects.equals(key, right.keyAt(right.dataIndex(bitpos)))
+                        : (right.nodeMap & bitpos) != 0
+                          && right.nodeAtBit(bitpos).containsKey(shift + BITS_IN_INDEX, hash(key), key);
+                if (present)
+                    sameAsLeft = false;
+                else
+                    builder.pair(bitpos, key, left.valueAt(index));
+            } else {
+                Node<K, V> sub = left.nodeAtBit(bitpos);
+                Node<K, V> kept;
+                if ((right.dataMap & bitpos) != 0) {
+                    K key = right.keyAt(right.dataIndex(bitpos));
+                    kept = sub.minus(shift + BITS_IN_INDEX, hash(key), key);
+                } else if ((right.nodeMap & bitpos) != 0) {
+                    kept = difference(sub, right.nodeAtBit(bitpos), shift + BITS_IN_INDEX);
+                } else {
+                    kept = sub;
+                }
+                builder.node(bitpos, kept);
+                sameAsLeft &= kept == sub;
+            }
+        }
+        return sameAsLeft ? left : builder.build(shift);
+    }
+
+    /*
+     * Assembles a BitmapIndexedNode from positions supplied in ascending bit order, keeping the canonical form:
+     * empty sub-nodes are dropped and single entry sub-nodes are inlined.
+     */
+    /*
+     * Keeps the entries of a collision node whose keys are (or, when !present, are not) in other. The survivors are
+     * collected in one pass, removing keys one at a time would leave a single pair laid out for shift 0 part way
+     * through, which later removals at this shift would not find.
+     */
+    private static <K, V> Node<K, V> filterCollision(HashCollisionNode<K, V> node, Node<K, Object> other, int shift,
+                                                     boolean present) {
+        Object[] keys = new Object[node.keys.length];
+        Object[] values = new Object[node.values.length];
+        int count = 0;
+        for (int i = 0; i < node.keys.length; i++) {
+            K key = node.keyAt(i);
+            if (other.containsKey(shift, node.hash, key) == present) {
+                keys[count] = key;
+                values[count++] = node.valueAt(i);
+            }
+        }
+        if (count == node.keys.length)
+            return node;
+        if (count == 0)
+            return empty();
+        if (count == 1)
+            return new BitmapIndexedNode<>(bitpos(mask(node.hash, 0)), 0, new Object[]{keys[0], values[0]}, 1);
+        return new HashCollisionNode<>(node.hash, Arrays.copyOf(keys, count), Arrays.copyOf(values, count));
+    }
+
+    private static final class Builder<K, V> {
+        private final Object[] pairs;
+        private final Object[] nodes;
+        private int pairCount;
+        private int nodeCount;
+        private int dataMap;
+        private int nodeMap;
+        private int size;
+
+        Builder(int bits) {
+            int positions = Integer.bitCount(bits);
+            pairs = new Object[2 * positions];
+            nodes = new Object[positions];
+        }
+
+        void pair(int bitpos, K key, V value) {
+            pairs[2 * pairCount] = key;
+            pairs[2 * pairCount + 1] = value;
+            pairCount++;
+            dataMap |= bitpos;
+            size++;
+        }
+
+        void node(int bitpos, Node<K, V> node) {
+            if (node.size() == 0)
+                return;
+            if (node.size() == 1) {
+                pair(bitpos, node.keyAt(0), node.valueAt(0));
+                return;
+            }
+            nodes[nodeCount++] = node;
+            nodeMap |= bitpos;
+            size += node.size();
+        }
+
+        Node<K, V> build(int shift) {
+            if (size == 0)
+                return empty();
+            if (shift > 0 && pairCount == 1 && nodeCount == 0) {
+                //the pair will be inlined by the parent (or become the root)
+                K key = (K) pairs[0];
+                return new BitmapIndexedNode<>(bitpos(mask(hash(key), 0)), 0, new Object[]{key, pairs[1]}, 1);
+            }
+            Object[] content = new Object[2 * pairCount + nodeCount];
+            System.arraycopy(pairs, 0, content, 0, 2 * pairCount);
+            for (int i = 0; i < nodeCount; i++)
+                content[content.length - 1 - i] = nodes[i];
+            return new BitmapIndexedNode<>(dataMap, nodeMap, content, size);
+        }
+    }
+
+    static <K, V> Node<K, V> mergeTwo(K key0, V value0, int hash0, K key1, V value1, int hash1, int bitShiftDepth) {
+        if (bitShiftDepth >= HASH_CODE_LENGTH)
+            return new HashCollisionNode<>(hash0, new Object[]{key0, key1}, new Object[]{value0, value1});
+        int mask0 = mask(hash0, bitShiftDepth);
+        int mask1 = mask(hash1, bitShiftDepth);
+        if (mask0 != mask1) {
+            Object[] content = mask0 < mask1 ? new Object[]{key0, value0, key1, value1}
+                                             : new Object[]{key1, value1, key0, value0};
+            return new BitmapIndexedNode<>(bitpos(mask0) | bitpos(mask1), 0, content, 2);
+        }
+        Node<K, V> sub = mergeTwo(key0, value0, hash0, key1, value1, hash1, bitShiftDepth + BITS_IN_INDEX);
+        return new BitmapIndexedNode<>(0, bitpos(mask0), new Object[]{sub}, 2);
+    }
+
+    /**
+     * Depth first traversal, pairs stored in a node are visited before its sub-nodes
+     */
+    static final class NodeIterator<K, V> implements Iterator<Tuple2<K, V>> {
+        private final Node<K, V>[] nodes = new Node[MAX_DEPTH];
+        private final int[] nextNode = new int[MAX_DEPTH];
+        private int depth = 0;
+        private Node<K, V> payloadNode;
+        private int payloadIndex = 0;
+
+        NodeIterator(Node<K, V> root) {
+            nodes[0] = root;
+            payloadNode = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (payloadIndex < payloadNode.payloadArity())
+                return true;
+            while (depth >= 0) {
+                Node<K, V> node = nodes[depth];
+                if (nextNode[depth] < node.nodeArity()) {
+                    Node<K, V> child = node.nodeAt(nextNode[depth]++);
+                    depth++;
+                    nodes[depth] = child;
+                    nextNode[depth] = 0;
+                    if (child.payloadArity() > 0) {
+                        payloadNode = child;
+                        payloadIndex = 0;
+                        return true;
+                    }
+                } else {
+                    nodes[depth--] = null;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Tuple2<K, V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            int index = payloadIndex++;
+            return Tuple.tuple(payloadNode.keyAt(index), payloadNode.valueAt(index));
+        }
+    }
+
+    static final class DiffIterator<K, V> implements Iterator<Tuple2<K, Ior<V, V>>> {
+        private final ArrayDeque<DiffFrame<K, V>> frames = new ArrayDeque<>();
+        private final ArrayDeque<Tuple2<K, Ior<V, V>>> pending = new ArrayDeque<>();
+
+        DiffIterator(Node<K, V> from, Node<K, V> to) {
+            push(from, to, 0);
+        }
+
+        private void push(Node<K, V> from, Node<K, V> to, int shift) {
+            if (from == to)
+                return;
+            if (from instanceof BitmapIndexedNode && to instanceof BitmapIndexedNode) {
+                frames.push(new DiffFrame<>((BitmapIndexedNode<K, V>) from, (BitmapIndexedNode<K, V>) to, shift));
+                return;
+            }
+            //hash collisions, small enough to compare directly
+            for (Tuple2<K, V> next : from) {
+                K key = next._1();
+                if (!to.containsKey(shift, hash(key), key))
+                    removed(key, next._2());
+                else
+                    compare(key, next._2(), to.getOrElse(shift, hash(key), key, null));
+            }
+            for (Tuple2<K, V> next : to) {
+                if (!from.containsKey(shift, hash(next._1()), next._1()))
+                    added(next._1(), next._2());
+            }
+        }
+
+        private void removed(K key, V value) {
+            pending.add(Tuple.tuple(key, Ior.left(value)));
+        }
+
+        private void added(K key, V value) {
+            pending.add(Tuple.tuple(key, Ior.right(value)));
+        }
+
+        private void compare(K key, V from, V to) {
+            if (from != to && !Objects.equals(from, to))
+                pending.add(Tuple.tuple(key, Ior.both(from, to)));
+        }
+
+        private Node<K, V> singleton(K key, V value, int shift) {
+            int hash = hash(key);
+            if (shift >= HASH_CODE_LENGTH)
+                return new HashCollisionNode<>(hash, new Object[]{key}, new Object[]{value});
+            return new BitmapIndexedNode<>(bitpos(mask(hash, shift)), 0, new Object[]{key, value}, 1);
+        }
+
+        private void step(DiffFrame<K, V> frame) {
+            BitmapIndexedNode<K, V> from = frame.from;
+            BitmapIndexedNode<K, V> to = frame.to;
+            int bitpos = Integer.lowestOneBit(frame.remaining);
+            frame.remaining &= frame.remaining - 1;
+            int shift = frame.shift + BITS_IN_INDEX;
+            if ((from.dataMap & bitpos) != 0) {
+                int index = from.dataIndex(bitpos);
+                K key = from.keyAt(index);
+                V value = from.valueAt(index);
+                if ((to.dataMap & bitpos) != 0) {
+                    int toIndex = to.dataIndex(bitpos);
+                    K toKey = to.keyAt(toIndex);
+                    if (Objects.equals(key, toKey)) {
+                        compare(key, value, to.valueAt(toIndex));
+                    } else {
+                        removed(key, value);
+                        added(toKey, to.valueAt(toIndex));
+                    }
+                } else if ((to.nodeMap & bitpos) != 0) {
+                    push(singleton(key, value, shift), to.nodeAtBit(bitpos), shift);
+                } else {
+                    removed(key, value);
+                }
+            } else if ((from.nodeMap & bitpos) != 0) {
+                Node<K, V> sub = from.nodeAtBit(bitpos);
+                if ((to.dataMap & bitpos) != 0) {
+                    int toIndex = to.dataIndex(bitpos);
+                    push(sub, singleton(to.keyAt(toIndex), to.valueAt(toIndex), shift), shift);
+                } else if ((to.nodeMap & bitpos) != 0) {
+                    push(sub, to.nodeAtBit(bitpos), shift);
+                } else {
+                    push(sub, empty(), shift);
+                }
+            } else if ((to.dataMap & bitpos) != 0) {
+                int toIndex = to.dataIndex(bitpos);
+                added(to.keyAt(toIndex), to.valueAt(toIndex));
+            } else {
+                push(empty(), to.nodeAtBit(bitpos), shift);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending.isEmpty() && !frames.isEmpty()) {
+                DiffFrame<K, V> frame = frames.peek();
+                if (frame.remaining == 0)
+                    frames.pop();
+                else
+                    step(frame);
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public Tuple2<K, Ior<V, V>> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return pending.poll();
+        }
+    }
+
+    private static final class DiffFrame<K, V> {
+        final BitmapIndexedNode<K, V> from;
+        final BitmapIndexedNode<K, V> to;
+        final int shift;
+        int remaining;
+
+        DiffFrame(BitmapIndexedNode<K, V> from, BitmapIndexedNode<K, V> to, int shift) {
+            this.from = from;
+            this.to = to;
+            this.shift = shift;
+            this.remaining = from.dataMap | from.nodeMap | to.dataMap | to.nodeMap;
+        }
+    }
+}
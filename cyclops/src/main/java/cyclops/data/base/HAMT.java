@@ -18,6 +18,11 @@ import java.util.Objects;
 import java.util.function.Supplier;
 
 
+/**
+ * @deprecated HashMap, HashSet and Bag are backed by {@link CHAMP}, which stores pairs inline and deletes
+ * canonically. This implementation is kept for comparison benchmarks.
+ */
+@Deprecated
 @AllArgsConstructor
 public final class HAMT<K, V>  implements Serializable {
 
@@ -15,7 +15,9 @@ import cyclops.data.tuple.Tuple2;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public interface HashedPatriciaTrie<K, V>  {
@@ -41,6 +43,90 @@ public interface HashedPatriciaTrie<K, V>  {
 
 
 
+    /**
+     * Structural union, walking both tries in lockstep. Sub-tries shared by reference are reused without being
+     * visited and unchanged branches are returned as-is, so the union of two mostly-shared tries costs time
+     * proportional to the branches that differ. Entries of left are kept where both tries contain a key.
+     */
+    static <K, V> Node<K, V> union(Node<K, V> left, Node<K, V> right) {
+        if (left == right || right instanceof EmptyNode)
+            return left;
+        if (left instanceof EmptyNode)
+            return right;
+        if (left instanceof ArrayNode) {
+            Node<K, V>[] nodes = ((ArrayNode<K, V>) left).nodes;
+            if (right instanceof ArrayNode)
+                return ArrayNode.zip(nodes, ((ArrayNode<K, V>) right).nodes, HashedPatriciaTrie::union, left, right);
+            //keys in a leaf have no hash bits left, they belong in the first branch
+            return ArrayNode.withFirst(nodes, union(nodes[0], right), left);
+        }
+        if (right instanceof ArrayNode) {
+            Node<K, V>[] nodes = ((ArrayNode<K, V>) right).nodes;
+            return ArrayNode.withFirst(nodes, union(left, nodes[0]), right);
+        }
+        Node<K, V> result = left;
+        for (Tuple2<K, V> next : leafEntries(right)) {
+            if (!left.get(0, next._1()).isPresent())
+                result = result.put(0, next._1(), next._2());
+        }
+        return result;
+    }
+
+    /**
+     * Structural intersection, keeping the entries of left whose keys are also present in right
+     */
+    static <K, V> Node<K, V> intersection(Node<K, V> left, Node<K, ?> right) {
+        if (left == right)
+            return left;
+        if (left instanceof EmptyNode || right instanceof EmptyNode)
+            return empty();
+        if (left instanceof ArrayNode) {
+            Node<K, V>[] nodes = ((ArrayNode<K, V>) left).nodes;
+            if (right instanceof ArrayNode)
+                return ArrayNode.zip(nodes, ((ArrayNode<K, Object>) right).nodes,
+                                     HashedPatriciaTrie::intersection, left, null);
+            return intersection(nodes[0], right);
+        }
+        return filterLeaf(left, k -> right.get(0, k).isPresent());
+    }
+
+    /**
+     * Structural difference, keeping the entries of left whose keys are not present in right
+     */
+    static <K, V> Node<K, V> difference(Node<K, V> left, Node<K, ?> right) {
+        if (left == right)
+            return empty();
+        if (left instanceof EmptyNode || right instanceof EmptyNode)
+            return left;
+        if (left instanceof ArrayNode) {
+            Node<K, V>[] nodes = ((ArrayNode<K, V>) left).nodes;
+            if (right instanceof ArrayNode)
+                return ArrayNode.zip(nodes, ((ArrayNode<K, Object>) right).nodes,
+                                     HashedPatriciaTrie::difference, left, null);
+            return ArrayNode.withFirst(nodes, difference(nodes[0], right), left);
+        }
+        return filterLeaf(left, k -> !right.get(0, k).isPresent());
+    }
+
+    static <K, V> LazySeq<Tuple2<K, V>> leafEntries(Node<K, V> leaf) {
+        if (leaf instanceof SingleNode)
+            return ((SingleNode<K, V>) leaf).bucket();
+        return ((CollisionNode<K, V>) leaf).bucket;
+    }
+
+    static <K, V> Node<K, V> filterLeaf(Node<K, V> leaf, Predicate<? super K> keep) {
+        LazySeq<Tuple2<K, V>> entries = leafEntries(leaf);
+        LazySeq<Tuple2<K, V>> kept = entries.filter(t2 -> keep.test(t2._1()));
+        int size = kept.size();
+        if (size == entries.size())
+            return leaf;
+        if (size == 0)
+            return empty();
+        if (size == 1)
+            return new SingleNode<>(kept.get(0).orElse(null));
+        return new CollisionNode<>(kept);
+    }
+
     interface Node<K, V> extends Sealed4<EmptyNode<K,V>,SingleNode<K,V>,CollisionNode<K,V>,ArrayNode<K,V>> ,Serializable{
 
         boolean isEmpty();
@@ -318,6 +404,39 @@ public interface HashedPatriciaTrie<K, V>  {
             this.nodes = nodes;
         }
 
+        /*
+         * Combines the branches of two ArrayNodes pairwise, reusing left or right (when not null) if every branch
+         * of the result is identical to theirs
+         */
+        static <K, V, V2> Node<K, V> zip(Node<K, V>[] left, Node<K, V2>[] right,
+                                         BiFunction<Node<K, V>, Node<K, V2>, Node<K, V>> fn,
+                                         Node<K, V> reuseLeft, Node<K, V> reuseRight) {
+            Node<K, V>[] result = new Node[BUCKET_SIZE];
+            boolean sameAsLeft = true;
+            boolean sameAsRight = reuseRight != null;
+            boolean empty = true;
+            for (int i = 0; i < BUCKET_SIZE; i++) {
+                result[i] = fn.apply(left[i], right[i]);
+                sameAsLeft &= result[i] == left[i];
+                sameAsRight &= result[i] == right[i];
+                empty &= result[i] instanceof EmptyNode;
+            }
+            if (sameAsLeft)
+                return reuseLeft;
+            if (sameAsRight)
+                return reuseRight;
+            return empty ? EmptyNode.Instance : new ArrayNode<>(result);
+        }
+
+        static <K, V> Node<K, V> withFirst(Node<K, V>[] nodes, Node<K, V> first, Node<K, V> current) {
+            if (first == nodes[0])
+                return current;
+            Node<K, V>[] newNodes = Arrays.copyOf(nodes, nodes.length);
+            newNodes[0] = first;
+            Node<K, V> branch = new ArrayNode<>(newNodes);
+            return first instanceof EmptyNode && branch.isEmpty() ? EmptyNode.Instance : branch;
+        }
+
         @Override
         public Node<K, V> put(int hash, K key, V value) {
             int newHash = hash >>> BITS;
@@ -3,6 +3,7 @@ package cyclops.data.base;
 
 import com.oath.cyclops.matching.Deconstruct.Deconstruct5;
 import com.oath.cyclops.matching.Sealed2;
+import cyclops.control.Ior;
 import cyclops.control.Option;
 
 import cyclops.matching.Api;
@@ -13,10 +14,15 @@ import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
 import cyclops.data.tuple.Tuple3;
 import cyclops.data.tuple.Tuple5;
-import lombok.experimental.Wither;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -33,13 +39,332 @@ public interface RedBlackTree extends Serializable{
         Tree<K,V> tree[] = new Tree[1];
         tree[0]= new Leaf(comp);
         stream.forEach(t->{
-            tree[0] = tree[0].plus(t._1(),t._2());
+            tree[0] = rootIsBlack(tree[0].plus(t._1(),t._2()));
         });
         return tree[0];
     }
     public static <K,V> Tree<K,V> empty(Comparator<? super K> comp){
         return new Leaf<K,V>(comp);
     }
+
+    /**
+     * Build a balanced tree bottom up in O(n) from entries already in ascending key order. Where consecutive keys
+     * compare as equal the later entry wins, as it would with repeated puts.
+     *
+     * @throws IllegalArgumentException if the entries are not in ascending key order
+     */
+    public static <K,V> Tree<K,V> fromSorted(Comparator<? super K> comp, Iterator<? extends Tuple2<? extends K, ? extends V>> entries){
+        List<Tuple2<K,V>> sorted = new ArrayList<>();
+        while(entries.hasNext()){
+            Tuple2<K,V> next = (Tuple2<K,V>)entries.next();
+            if(!sorted.isEmpty()){
+                int last = sorted.size()-1;
+                int compRes = comp.compare(sorted.get(last)._1(),next._1());
+                if(compRes>0)
+                    throw new IllegalArgumentException("Entries are not sorted, "+next._1()+" follows "+sorted.get(last)._1());
+                if(compRes==0){
+                    sorted.set(last,next);
+                    continue;
+                }
+            }
+            sorted.add(next);
+        }
+        return fromSortedList(comp,sorted);
+    }
+
+    /**
+     * Merge two trees ordered by the same Comparator in O(m + n), where keys present in both take their value from
+     * right
+     */
+    public static <K,V> Tree<K,V> merge(Tree<K,V> left, Tree<K,V> right){
+        Comparator<? super K> comp = left.comparator();
+        List<Tuple2<K,V>> sorted = new ArrayList<>(left.size()+right.size());
+        Iterator<Tuple2<K,V>> leftIt = left.iterator();
+        Iterator<Tuple2<K,V>> rightIt = right.iterator();
+        Tuple2<K,V> nextLeft = leftIt.hasNext() ? leftIt.next() : null;
+        Tuple2<K,V> nextRight = rightIt.hasNext() ? rightIt.next() : null;
+        while(nextLeft!=null && nextRight!=null){
+            int compRes = comp.compare(nextLeft._1(),nextRight._1());
+            if(compRes<0){
+                sorted.add(nextLeft);
+                nextLeft = leftIt.hasNext() ? leftIt.next() : null;
+            }else{
+                sorted.add(nextRight);
+                nextRight = rightIt.hasNext() ? rightIt.next() : null;
+                if(compRes==0)
+                    nextLeft = leftIt.hasNext() ? leftIt.next() : null;
+            }
+        }
+        if(nextLeft!=null)
+            sorted.add(nextLeft);
+        leftIt.forEachRemaining(sorted::add);
+        if(nextRight!=null)
+            sorted.add(nextRight);
+        rightIt.forEachRemaining(sorted::add);
+        return fromSortedList(comp,sorted);
+    }
+
+    /*
+     * Every level of the result is full except possibly the deepest, whose nodes are coloured red so that all paths
+     * have the same number of black nodes
+     */
+    static <K,V> Tree<K,V> fromSortedList(Comparator<? super K> comp, List<Tuple2<K,V>> sorted){
+        int redLevel = 0;
+        for(int remaining = sorted.size()-1; remaining>=0; remaining = remaining/2-1)
+            redLevel++;
+        return build(comp,sorted,0,sorted.size()-1,0,redLevel);
+    }
+
+    static <K,V> Tree<K,V> build(Comparator<? super K> comp, List<Tuple2<K,V>> sorted, int lo, int hi, int level, int redLevel){
+        if(lo>hi)
+            return new Leaf<>(comp);
+        int mid = (lo+hi)>>>1;
+        Tree<K,V> left = build(comp,sorted,lo,mid-1,level+1,redLevel);
+        Tree<K,V> right = build(comp,sorted,mid+1,hi,level+1,redLevel);
+        Tuple2<K,V> entry = sorted.get(mid);
+        return new Node<>(level!=redLevel || level==0,left,right,entry._1(),entry._2(),(Comparator<K>)comp);
+    }
+    static <K,V> Option<Tuple2<K,V>> below(Tree<K,V> tree, K key, boolean inclusive){
+        Node<K,V> best = null;
+        while(!tree.isEmpty()){
+            Node<K,V> node = (Node<K,V>)tree;
+            int compRes = node.comp.compare(node.key,key);
+            if(compRes<0 || (compRes==0 && inclusive)){
+                best = node;
+                if(compRes==0)
+                    break;
+                tree = node.right;
+            }else{
+                tree = node.left;
+            }
+        }
+        return best==null ? Option.none() : Option.some(Tuple.tuple(best.key,best.value));
+    }
+
+    static <K,V> Option<Tuple2<K,V>> above(Tree<K,V> tree, K key, boolean inclusive){
+        Node<K,V> best = null;
+        while(!tree.isEmpty()){
+            Node<K,V> node = (Node<K,V>)tree;
+            int compRes = node.comp.compare(node.key,key);
+            if(compRes>0 || (compRes==0 && inclusive)){
+                best = node;
+                if(compRes==0)
+                    break;
+                tree = node.left;
+            }else{
+                tree = node.right;
+            }
+        }
+        return best==null ? Option.none() : Option.some(Tuple.tuple(best.key,best.value));
+    }
+
+    /**
+     * Split a tree around key in O(log n) (Blelloch, Ferizovic &amp; Sun, Just Join for Parallel Ordered Sets)
+     *
+     * @return Tree of the keys less than key, the entry for key if present, tree of the keys greater than key. The
+     * roots of the returned trees may be red.
+     */
+    static <K,V> Tuple3<Tree<K,V>,Option<Tuple2<K,V>>,Tree<K,V>> split(Tree<K,V> tree, K key){
+        if(tree.isEmpty())
+            return Tuple.tuple(tree,Option.none(),tree);
+        Node<K,V> node = (Node<K,V>)tree;
+        int compRes = node.comp.compare(key,node.key);
+        if(compRes==0)
+            return Tuple.tuple(node.left,Option.some(Tuple.tuple(node.key,node.value)),node.right);
+        if(compRes<0){
+            Tuple3<Tree<K,V>,Option<Tuple2<K,V>>,Tree<K,V>> parts = split(node.left,key);
+            return Tuple.tuple(parts._1(),parts._2(),join(parts._3(),node.key,node.value,node.right));
+        }
+        Tuple3<Tree<K,V>,Option<Tuple2<K,V>>,Tree<K,V>> parts = split(node.right,key);
+        return Tuple.tuple(join(node.left,node.key,node.value,parts._1()),parts._2(),parts._3());
+    }
+
+    /**
+     * Join two trees and a key, where every key in left is less than key and every key in right greater than key,
+     * in O(|black height(left) - black height(right)|). The root of the result may be red.
+     */
+    static <K,V> Tree<K,V> join(Tree<K,V> left, K key, V value, Tree<K,V> right){
+        left = rootIsBlack(left);
+        right = rootIsBlack(right);
+        int leftHeight = blackHeight(left);
+        int rightHeight = blackHeight(right);
+        if(leftHeight>rightHeight){
+            Node<K,V> joined = joinRight(left,key,value,right,leftHeight,rightHeight);
+            return joined.isRed() && joined.right.isRed() ? joined.withBlack(true) : joined;
+        }
+        if(leftHeight<rightHeight){
+            Node<K,V> joined = joinLeft(left,key,value,right,leftHeight,rightHeight);
+            return joined.isRed() && joined.left.isRed() ? joined.withBlack(true) : joined;
+        }
+        return RED(left,right,key,value,left.comparator());
+    }
+
+    /*
+     * Descend the right spine of left to a black node with the same black height as right, and hang a red node
+     * joining the two there, rotating away any red-red violation on the way back up
+     */
+    static <K,V> Node<K,V> joinRight(Tree<K,V> left, K key, V value, Tree<K,V> right, int leftHeight, int rightHeight){
+        if(left.isBlack() && leftHeight==rightHeight)
+            return RED(left,right,key,value,left.comparator());
+        Node<K,V> node = (Node<K,V>)left;
+        Node<K,V> joined = joinRight(node.right,key,value,right,node.isBlack ? leftHeight-1 : leftHeight,rightHeight);
+        if(node.isBlack && joined.isRed() && joined.right.isRed()){
+            Node<K,V> rotatedLeft = BLACK(node.left,joined.left,node.key,node.value,node.comp);
+            return RED(rotatedLeft,((Node<K,V>)joined.right).withBlack(true),joined.key,joined.value,node.comp);
+        }
+        return new Node<>(node.isBlack,node.left,joined,node.key,node.value,node.comp);
+    }
+
+    static <K,V> Node<K,V> joinLeft(Tree<K,V> left, K key, V value, Tree<K,V> right, int leftHeight, int rightHeight){
+        if(right.isBlack() && leftHeight==rightHeight)
+            return RED(left,right,key,value,right.comparator());
+        Node<K,V> node = (Node<K,V>)right;
+        Node<K,V> joined = joinLeft(left,key,value,node.left,leftHeight,node.isBlack ? rightHeight-1 : rightHeight);
+        if(node.isBlack && joined.isRed() && joined.left.isRed()){
+            Node<K,V> rotatedRight = BLACK(joined.right,node.right,node.key,node.value,node.comp);
+            return RED(((Node<K,V>)joined.left).withBlack(true),rotatedRight,joined.key,joined.value,node.comp);
+        }
+        return new Node<>(node.isBlack,joined,node.right,node.key,node.value,node.comp);
+    }
+
+    /*
+     * Functional red-black deletion (Kahrs, "Red-black trees with types"), deleting from a black subtree leaves it
+     * one black node short and balLeft / balRight restore the black height on the way back up. The root of the
+     * result may be red.
+     */
+    static <K,V> Tree<K,V> delete(Tree<K,V> tree, K key){
+        if(tree.isEmpty())
+            return tree;
+        Node<K,V> node = (Node<K,V>)tree;
+        int compRes = node.comp.compare(key,node.key);
+        if(compRes<0){
+            Tree<K,V> left = delete(node.left,key);
+            if(isBlackNode(node.left))
+                return balLeft(left,node.key,node.value,node.right);
+            return RED(left,node.right,node.key,node.value,node.comp);
+        }
+        if(compRes>0){
+            Tree<K,V> right = delete(node.right,key);
+            if(isBlackNode(node.right))
+                return balRight(node.left,node.key,node.value,right);
+            return RED(node.left,right,node.key,node.value,node.comp);
+        }
+        return append(node.left,node.right);
+    }
+
+    static boolean isBlackNode(Tree<?,?> tree){
+        return !tree.isEmpty() && tree.isBlack();
+    }
+
+    static <K,V> Tree<K,V> balLeft(Tree<K,V> shortLeft, K key, V value, Tree<K,V> right){
+        Comparator<? super K> comp = right.comparator();
+        if(shortLeft.isRed())
+            return RED(((Node<K,V>)shortLeft).withBlack(true),right,key,value,comp);
+        Node<K,V> r = (Node<K,V>)right;
+        if(r.isBlack)
+            return rebalance(shortLeft,key,value,r.withBlack(false));
+        Node<K,V> rl = (Node<K,V>)r.left;
+        return RED(BLACK(shortLeft,rl.left,key,value,comp),
+                   rebalance(rl.right,r.key,r.value,((Node<K,V>)r.right).withBlack(false)),rl.key,rl.value,comp);
+    }
+
+    static <K,V> Tree<K,V> balRight(Tree<K,V> left, K key, V value, Tree<K,V> shortRight){
+        Comparator<? super K> comp = left.comparator();
+        if(shortRight.isRed())
+            return RED(left,((Node<K,V>)shortRight).withBlack(true),key,value,comp);
+        Node<K,V> l = (Node<K,V>)left;
+        if(l.isBlack)
+            return rebalance(l.withBlack(false),key,value,shortRight);
+        Node<K,V> lr = (Node<K,V>)l.right;
+        return RED(rebalance(((Node<K,V>)l.left).withBlack(false),l.key,l.value,lr.left),
+                   BLACK(lr.right,shortRight,key,value,comp),lr.key,lr.value,comp);
+    }
+
+    /*
+     * Black node over left and right, rotating away a red-red violation in either child
+     */
+    static <K,V> Tree<K,V> rebalance(Tree<K,V> left, K key, V value, Tree<K,V> right){
+        Comparator<? super K> comp = left.comparator();
+        if(left.isRed() && right.isRed())
+            return RED(((Node<K,V>)left).withBlack(true),((Node<K,V>)right).withBlack(true),key,value,comp);
+        if(left.isRed()){
+            Node<K,V> l = (Node<K,V>)left;
+            if(l.left.isRed())
+                return RED(((Node<K,V>)l.left).withBlack(true),BLACK(l.right,right,key,value,comp),l.key,l.value,comp);
+            if(l.right.isRed()){
+                Node<K,V> lr = (Node<K,V>)l.right;
+                return RED(BLACK(l.left,lr.left,l.key,l.value,comp),BLACK(lr.right,right,key,value,comp),lr.key,lr.value,comp);
+            }
+        }
+        if(right.isRed()){
+            Node<K,V> r = (Node<K,V>)right;
+            if(r.right.isRed())
+                return RED(BLACK(left,r.left,key,value,comp),((Node<K,V>)r.right).withBlack(true),r.key,r.value,comp);
+            if(r.left.isRed()){
+                Node<K,V> rl = (Node<K,V>)r.left;
+                return RED(BLACK(left,rl.left,key,value,comp),BLACK(rl.right,r.right,r.key,r.value,comp),rl.key,rl.value,comp);
+            }
+        }
+        return BLACK(left,right,key,value,comp);
+    }
+
+    /*
+     * Join the two children of a deleted node, every key in left is less than every key in right
+     */
+    static <K,V> Tree<K,V> append(Tree<K,V> left, Tree<K,V> right){
+        if(left.isEmpty())
+            return right;
+        if(right.isEmpty())
+            return left;
+        Node<K,V> l = (Node<K,V>)left;
+        Node<K,V> r = (Node<K,V>)right;
+        Comparator<? super K> comp = l.comp;
+        if(l.isRed() && r.isRed()){
+            Tree<K,V> middle = append(l.right,r.left);
+            if(middle.isRed()){
+                Node<K,V> m = (Node<K,V>)middle;
+                return RED(RED(l.left,m.left,l.key,l.value,comp),RED(m.right,r.right,r.key,r.value,comp),m.key,m.value,comp);
+            }
+            return RED(l.left,RED(middle,r.right,r.key,r.value,comp),l.key,l.value,comp);
+        }
+        if(l.isBlack && r.isBlack){
+            Tree<K,V> middle = append(l.right,r.left);
+            if(middle.isRed()){
+                Node<K,V> m = (Node<K,V>)middle;
+                return RED(BLACK(l.left,m.left,l.key,l.value,comp),BLACK(m.right,r.right,r.key,r.value,comp),m.key,m.value,comp);
+            }
+            return balLeft(l.left,l.key,l.value,BLACK(middle,r.right,r.key,r.value,comp));
+        }
+        if(r.isRed())
+            return RED(append(left,r.left),r.right,r.key,r.value,comp);
+        return RED(l.left,append(l.right,right),l.key,l.value,comp);
+    }
+
+    /*
+     * Number of black nodes on the path from the root to a leaf (excluding the leaf)
+     */
+    static int blackHeight(Tree<?,?> tree){
+        int height = 0;
+        while(!tree.isEmpty()){
+            Node<?,?> node = (Node<?,?>)tree;
+            if(node.isBlack)
+                height++;
+            tree = node.left;
+        }
+        return height;
+    }
+
+    /**
+     * Lazily compute the changes that turn from into to (both ordered by the same Comparator). Both trees are walked
+     * in key order and subtrees shared by reference are skipped, so comparing two snapshots that share most of their
+     * structure costs time proportional to their differences (times a log factor).
+     *
+     * @return Changed keys in key order, with Ior.left(old value) for removed entries, Ior.right(new value) for added
+     * entries and Ior.both(old value, new value) for entries whose values are not equal
+     */
+    static <K,V> Iterator<Tuple2<K,Ior<V,V>>> diff(Tree<K,V> from, Tree<K,V> to){
+        return new DiffIterator<>(from,to);
+    }
     public static interface Tree<K,V> extends Sealed2<Node<K,V>,Leaf<K,V>> {
 
         boolean isEmpty();
@@ -54,9 +379,132 @@ public interface RedBlackTree extends Serializable{
         Tree<K,V> minus(K key);
         Comparator<? super K> comparator();
         ReactiveSeq<Tuple2<K,V>> stream();
+        default Iterator<Tuple2<K,V>> iterator(){
+            return new InOrderIterator<>(this);
+        }
         int size();
         String tree();
 
+        /**
+         * @return Entry with the greatest key less than or equal to key
+         */
+        default Option<Tuple2<K,V>> floor(K key){
+            return below(this,key,true);
+        }
+
+        /**
+         * @return Entry with the greatest key strictly less than key
+         */
+        default Option<Tuple2<K,V>> lower(K key){
+            return below(this,key,false);
+        }
+
+        /**
+         * @return Entry with the least key greater than or equal to key
+         */
+        default Option<Tuple2<K,V>> ceiling(K key){
+            return above(this,key,true);
+        }
+
+        /**
+         * @return Entry with the least key strictly greater than key
+         */
+        default Option<Tuple2<K,V>> higher(K key){
+            return above(this,key,false);
+        }
+
+        default Option<Tuple2<K,V>> min(){
+            if(isEmpty())
+                return Option.none();
+            Node<K,V> node = (Node<K,V>)this;
+            while(!node.left.isEmpty())
+                node = (Node<K,V>)node.left;
+            return Option.some(Tuple.tuple(node.key,node.value));
+        }
+
+        default Option<Tuple2<K,V>> max(){
+            if(isEmpty())
+                return Option.none();
+            Node<K,V> node = (Node<K,V>)this;
+            while(!node.right.isEmpty())
+                node = (Node<K,V>)node.right;
+            return Option.some(Tuple.tuple(node.key,node.value));
+        }
+
+        /**
+         * @return Number of keys strictly less than key, O(log n)
+         */
+        default int rank(K key){
+            int rank = 0;
+            Tree<K,V> tree = this;
+            while(!tree.isEmpty()){
+                Node<K,V> node = (Node<K,V>)tree;
+                int compRes = node.comp.compare(node.key,key);
+                if(compRes<0){
+                    rank += node.left.size()+1;
+                    tree = node.right;
+                }else{
+                    if(compRes==0)
+                        return rank + node.left.size();
+                    tree = node.left;
+                }
+            }
+            return rank;
+        }
+
+        /**
+         * @return Entry at (zero based) position index in key order, O(log n)
+         */
+        default Option<Tuple2<K,V>> select(int index){
+            if(index<0 || index>=size())
+                return Option.none();
+            Node<K,V> node = (Node<K,V>)this;
+            while(true){
+                int leftSize = node.left.size();
+                if(index<leftSize){
+                    node = (Node<K,V>)node.left;
+                }else if(index==leftSize){
+                    return Option.some(Tuple.tuple(node.key,node.value));
+                }else{
+                    index -= leftSize+1;
+                    node = (Node<K,V>)node.right;
+                }
+            }
+        }
+
+        /**
+         * @return Tree of the entries with keys less than (or equal to, if inclusive) to, O(log n)
+         */
+        default Tree<K,V> headTree(K to, boolean inclusive){
+            Tuple3<Tree<K,V>,Option<Tuple2<K,V>>,Tree<K,V>> parts = split(this,to);
+            return rootIsBlack(parts._2().filter(t->inclusive)
+                                         .fold(t->join(parts._1(),t._1(),t._2(),empty(comparator())),()->parts._1()));
+        }
+
+        /**
+         * @return Tree of the entries with keys greater than (or equal to, if inclusive) from, O(log n)
+         */
+        default Tree<K,V> tailTree(K from, boolean inclusive){
+            Tuple3<Tree<K,V>,Option<Tuple2<K,V>>,Tree<K,V>> parts = split(this,from);
+            return rootIsBlack(parts._2().filter(t->inclusive)
+                                         .fold(t->join(empty(comparator()),t._1(),t._2(),parts._3()),()->parts._3()));
+        }
+
+        /**
+         * Lazily iterate over the entries with keys between from and to, without building a new tree
+         */
+        default Iterator<Tuple2<K,V>> iterator(K from, boolean fromInclusive, K to, boolean toInclusive){
+            return new InOrderIterator<>(this,true,from,fromInclusive,true,to,toInclusive);
+        }
+
+        default Iterator<Tuple2<K,V>> iteratorFrom(K from, boolean inclusive){
+            return new InOrderIterator<>(this,true,from,inclusive,false,null,false);
+        }
+
+        default Iterator<Tuple2<K,V>> iteratorTo(K to, boolean inclusive){
+            return new InOrderIterator<>(this,false,null,false,true,to,inclusive);
+        }
+
 
 
 
@@ -117,8 +565,6 @@ public interface RedBlackTree extends Serializable{
         }
     }
 
-    @AllArgsConstructor
-    @Wither
     public static final class Node<K,V> implements Tree<K,V>, Deconstruct5<Boolean,Tree<K,V>,Tree<K,V>, K,V> {
         private final boolean isBlack;
         private final Tree<K,V> left;
@@ -126,8 +572,44 @@ public interface RedBlackTree extends Serializable{
         private final K key;
         private final V value;
         private final Comparator<K> comp;
+        private final int size;
 
-        private static final long serialVersionUID = 1L;
+        //2L since the cached subtree size was added to the serialized form
+        private static final long serialVersionUID = 2L;
+
+        public Node(boolean isBlack, Tree<K,V> left, Tree<K,V> right, K key, V value, Comparator<K> comp) {
+            this.isBlack = isBlack;
+            this.left = left;
+            this.right = right;
+            this.key = key;
+            this.value = value;
+            this.comp = comp;
+            this.size = left.size() + right.size() + 1;
+        }
+
+        public Node<K,V> withBlack(boolean isBlack){
+            return this.isBlack == isBlack ? this : new Node<>(isBlack,left,right,key,value,comp);
+        }
+
+        public Node<K,V> withLeft(Tree<K,V> left){
+            return this.left == left ? this : new Node<>(isBlack,left,right,key,value,comp);
+        }
+
+        public Node<K,V> withRight(Tree<K,V> right){
+            return this.right == right ? this : new Node<>(isBlack,left,right,key,value,comp);
+        }
+
+        public Node<K,V> withKey(K key){
+            return this.key == key ? this : new Node<>(isBlack,left,right,key,value,comp);
+        }
+
+        public Node<K,V> withValue(V value){
+            return this.value == value ? this : new Node<>(isBlack,left,right,key,value,comp);
+        }
+
+        public Node<K,V> withComp(Comparator<K> comp){
+            return this.comp == comp ? this : new Node<>(isBlack,left,right,key,value,comp);
+        }
 
 
         static <K,V> Node<K,V> RED(Tree<K,V> left, Tree<K,V> right,K key, V value,Comparator<? super K> comp){
@@ -217,30 +699,9 @@ public interface RedBlackTree extends Serializable{
 
         @Override
         public Tree<K, V> minus(K key) {
-            int compRes = comp.compare(this.key,key);
-            if (compRes>0)
-                return balance(isBlack, left.minus(key), right,this.key, this.value);
-            else if (compRes==0){
-               return left.fold(leftNode->{
-                    return right.fold(rightNode->{
-                        Tuple3<Tree<K, V>, K, V> t3 = rightNode.removeMin();
-                        return balance(isBlack,left,t3._1(),t3._2(),t3._3());
-                    },leftLeaf->left);
-
-                },leftLeaf->{
-                    return right.fold(rightNode->right, leftNode->new Leaf(comp));
-                });
-
-            }
-            return balance(isBlack, left,right.minus(key), this.key, this.value);
-
-        }
-
-        public Tuple3<Tree<K, V>,K,V> removeMin() {
-            return left.fold(node->{
-                Tuple3<Tree<K, V>, K, V> t3 = node.removeMin();
-                return Tuple.tuple(balance(isBlack, t3._1(), right, key, value),t3._2(),t3._3());
-            },leaf->Tuple.tuple(right,key,value));
+            if(!get(key).isPresent())
+                return this;
+            return delete(this,key);
         }
 
         @Override
@@ -263,7 +724,7 @@ public interface RedBlackTree extends Serializable{
 
         @Override
         public int size() {
-            return left.size() +right.size() +1;
+            return size;
         }
     }
     @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -331,4 +792,187 @@ public interface RedBlackTree extends Serializable{
         }
 
     }
+
+    /**
+     * In-order traversal with an explicit stack of at most O(log n) nodes, O(1) amortized per element.
+     */
+    final class InOrderIterator<K,V> implements Iterator<Tuple2<K,V>> {
+        private final ArrayDeque<Node<K,V>> stack = new ArrayDeque<>();
+        private final boolean bounded;
+        private final K to;
+        private final boolean toInclusive;
+
+        InOrderIterator(Tree<K,V> root) {
+            this.bounded = false;
+            this.to = null;
+            this.toInclusive = false;
+            pushLeft(root);
+        }
+
+        /*
+         * Only the path to the first key at or after from is pushed, iteration stops at the first key after to
+         */
+        InOrderIterator(Tree<K,V> root, boolean hasFrom, K from, boolean fromInclusive, boolean hasTo, K to, boolean toInclusive) {
+            this.bounded = hasTo;
+            this.to = to;
+            this.toInclusive = toInclusive;
+            if(!hasFrom){
+                pushLeft(root);
+                return;
+            }
+            Tree<K,V> tree = root;
+            while (!tree.isEmpty()) {
+                Node<K,V> node = (Node<K,V>) tree;
+                int compRes = node.comp.compare(node.key,from);
+                if(compRes<0 || (compRes==0 && !fromInclusive)){
+                    tree = node.right;
+                }else{
+                    stack.push(node);
+                    tree = node.left;
+                }
+            }
+        }
+
+        private void pushLeft(Tree<K,V> tree) {
+            while (!tree.isEmpty()) {
+                Node<K,V> node = (Node<K,V>) tree;
+                stack.push(node);
+                tree = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (bounded && !stack.isEmpty()) {
+                Node<K,V> node = stack.peek();
+                int compRes = node.comp.compare(node.key,to);
+                if (compRes>0 || (compRes==0 && !toInclusive))
+                    stack.clear();
+            }
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public Tuple2<K,V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Node<K,V> node = stack.pop();
+            pushLeft(node.right);
+            return Tuple.tuple(node.key, node.value);
+        }
+    }
+
+    /**
+     * Each side is a stack holding unexpanded subtrees (Nodes) and single entries (Tuple2s) in key order. The side
+     * with the smaller first key advances, and where both sides start with the same key the subtree covering the
+     * wider key range is expanded, so a subtree present in both trees reaches the top of both stacks together and is
+     * skipped.
+     */
+    final class DiffIterator<K,V> implements Iterator<Tuple2<K,Ior<V,V>>> {
+        private final ArrayDeque<Object> from = new ArrayDeque<>();
+        private final ArrayDeque<Object> to = new ArrayDeque<>();
+        private final Comparator<? super K> comp;
+        private Tuple2<K,Ior<V,V>> next;
+
+        DiffIterator(Tree<K,V> from, Tree<K,V> to) {
+            this.comp = from.comparator();
+            push(this.from,from);
+            push(this.to,to);
+        }
+
+        private static void push(ArrayDeque<Object> stack, Tree<?,?> tree){
+            if(!tree.isEmpty())
+                stack.push(tree);
+        }
+
+        private static void expand(ArrayDeque<Object> stack){
+            Node<?,?> node = (Node<?,?>)stack.pop();
+            push(stack,node.right);
+            stack.push(Tuple.tuple(node.key,node.value));
+            push(stack,node.left);
+        }
+
+        private K firstKey(Object top){
+            if(top instanceof Tuple2)
+                return ((Tuple2<K,V>)top)._1();
+            Node<K,V> node = (Node<K,V>)top;
+            while(!node.left.isEmpty())
+                node = (Node<K,V>)node.left;
+            return node.key;
+        }
+
+        private K lastKey(Object top){
+            Node<K,V> node = (Node<K,V>)top;
+            while(!node.right.isEmpty())
+                node = (Node<K,V>)node.right;
+            return node.key;
+        }
+
+        /*
+         * Expand the top of the stack if it is a subtree, otherwise remove and return its entry
+         */
+        private Tuple2<K,V> advance(ArrayDeque<Object> stack){
+            if(stack.peek() instanceof Tuple2)
+                return (Tuple2<K,V>)stack.pop();
+            expand(stack);
+            return null;
+        }
+
+        private Tuple2<K,Ior<V,V>> computeNext(){
+            while(true){
+                Object a = from.peek();
+                Object b = to.peek();
+                if(a==null && b==null)
+                    return null;
+                if(a==b){
+                    from.pop();
+                    to.pop();
+                    continue;
+                }
+                int c = a==null ? 1 : b==null ? -1 : comp.compare(firstKey(a),firstKey(b));
+                if(c<0){
+                    Tuple2<K,V> removed = advance(from);
+                    if(removed!=null)
+                        return Tuple.tuple(removed._1(),Ior.left(removed._2()));
+                }else if(c>0){
+                    Tuple2<K,V> added = advance(to);
+                    if(added!=null)
+                        return Tuple.tuple(added._1(),Ior.right(added._2()));
+                }else if(a instanceof Tuple2 && b instanceof Tuple2){
+                    from.pop();
+                    to.pop();
+                    Tuple2<K,V> old = (Tuple2<K,V>)a;
+                    V value = ((Tuple2<K,V>)b)._2();
+                    if(old._2()!=value && !Objects.equals(old._2(),value))
+                        return Tuple.tuple(old._1(),Ior.both(old._2(),value));
+                }else if(a instanceof Tuple2){
+                    expand(to);
+                }else if(b instanceof Tuple2){
+                    expand(from);
+                }else{
+                    int range = comp.compare(lastKey(a),lastKey(b));
+                    if(range>=0)
+                        expand(from);
+                    if(range<=0)
+                        expand(to);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(next==null)
+                next = computeNext();
+            return next!=null;
+        }
+
+        @Override
+        public Tuple2<K,Ior<V,V>> next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            Tuple2<K,Ior<V,V>> result = next;
+            next = null;
+            return result;
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package cyclops.function;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of values, used where elements of a Stream must leave the heap (e.g. the spill files written by
+ * {@link cyclops.reactive.ReactiveSeq#sortedExternal(java.util.Comparator, int, Codec, java.nio.file.Path)}).
+ *
+ * A Codec must be able to read back every value it writes, in order, from the same underlying bytes.
+ *
+ * @param <T> Type of value encoded
+ */
+public interface Codec<T> {
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+
+    static Codec<Integer> ints() {
+        return Codecs.INTS;
+    }
+
+    static Codec<Long> longs() {
+        return Codecs.LONGS;
+    }
+
+    static Codec<Double> doubles() {
+        return Codecs.DOUBLES;
+    }
+
+    /**
+     * @return Codec for Strings of any length, encoded as length prefixed UTF-8
+     */
+    static Codec<String> strings() {
+        return Codecs.STRINGS;
+    }
+
+    /**
+     * @return Codec that uses Java Serialization for each value (convenient, but slow and verbose compared with a
+     * hand written Codec)
+     */
+    static <T extends Serializable> Codec<T> serializable() {
+        return (Codec<T>) Codecs.SERIALIZABLE;
+    }
+
+    final class Codecs {
+        private Codecs() {
+        }
+
+        static final Codec<Integer> INTS = new Codec<Integer>() {
+            @Override
+            public void write(Integer value, DataOutput out) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+        static final Codec<Long> LONGS = new Codec<Long>() {
+            @Override
+            public void write(Long value, DataOutput out) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long read(DataInput in) throws IOException {
+                return in.readLong();
+            }
+        };
+        static final Codec<Double> DOUBLES = new Codec<Double>() {
+            @Override
+            public void write(Double value, DataOutput out) throws IOException {
+                out.writeDouble(value);
+            }
+
+            @Override
+            public Double read(DataInput in) throws IOException {
+                return in.readDouble();
+            }
+        };
+        static final Codec<String> STRINGS = new Codec<String>() {
+            @Override
+            public void write(String value, DataOutput out) throws IOException {
+                writeBytes(value.getBytes(StandardCharsets.UTF_8), out);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            }
+        };
+        static final Codec<Serializable> SERIALIZABLE = new Codec<Serializable>() {
+            @Override
+            public void write(Serializable value, DataOutput out) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                    oos.writeObject(value);
+                }
+                writeBytes(bytes.toByteArray(), out);
+            }
+
+            @Override
+            public Serializable read(DataInput in) throws IOException {
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+                    return (Serializable) ois.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+
+        private static void writeBytes(byte[] bytes, DataOutput out) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static byte[] readBytes(DataInput in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package cyclops.reactive;
+
+import com.oath.cyclops.internal.stream.ReactiveStreamX;
+import com.oath.cyclops.internal.stream.ReactiveStreamX.Type;
+import com.oath.cyclops.internal.stream.spliterators.push.IntFusedOperator;
+import com.oath.cyclops.internal.stream.spliterators.push.IntOperator;
+import com.oath.cyclops.internal.stream.spliterators.push.IntToObjOperator;
+import com.oath.cyclops.util.ExceptionSoftener;
+import cyclops.control.Future;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A push based Stream of unboxed int values. Values remain unboxed until a reference typed operator (boxed, mapToObj)
+ * is applied, at which point the Stream continues as a standard (push based) ReactiveSeq.
+ *
+ * Consecutive map / filter / peek / skip / limit stages are fused into a single stage.
+ *
+ * <pre>
+ * {@code
+ *   Spouts.rangeInts(0,1_000_000)
+ *         .map(i->i*2)
+ *         .filter(i->i%3==0)
+ *         .sum();
+ * }
+ * </pre>
+ */
+public class IntSpout {
+
+    private final IntOperator source;
+    private final Type type;
+
+    /**
+     * @param source Operator emitting the unboxed values
+     * @param type Whether the source is synchronous, backpressure aware or asynchronous
+     */
+    public IntSpout(IntOperator source, Type type){
+        this.source = source;
+        this.type = type;
+    }
+
+    /**
+     * @param fn Mapping function, applied without boxing
+     * @return IntSpout of mapped values
+     */
+    public IntSpout map(IntUnaryOperator fn){
+        return new IntSpout(IntFusedOperator.map(source,fn),type);
+    }
+
+    /**
+     * @param fn Predicate that values must match to be retained
+     * @return IntSpout of the matching values
+     */
+    public IntSpout filter(IntPredicate fn){
+        return new IntSpout(IntFusedOperator.filter(source,fn),type);
+    }
+
+    /**
+     * @param c Consumer to call with each value as it passes through the Stream
+     * @return IntSpout of the same values
+     */
+    public IntSpout peek(IntConsumer c){
+        return map(i->{c.accept(i); return i;});
+    }
+
+    /**
+     * Emit at most num values and then complete. The source is cancelled once the limit is reached, so limit can be
+     * applied to very large or unbounded sources.
+     *
+     * @param num Maximum number of values to emit
+     * @return IntSpout of at most num values
+     */
+    public IntSpout limit(long num){
+        return new IntSpout(IntFusedOperator.limit(source,num),type);
+    }
+
+    /**
+     * @param num Number of values to drop from the start of the Stream
+     * @return IntSpout without the first num values
+     */
+    public IntSpout skip(long num){
+        return new IntSpout(IntFusedOperator.skip(source,num),type);
+    }
+
+    /**
+     * Map each value to a reference type, continuing as a ReactiveSeq
+     *
+     * @param fn Mapping function
+     * @param <R> Type of the returned Stream
+     * @return ReactiveSeq of mapped values
+     */
+    public <R> ReactiveSeq<R> mapToObj(IntFunction<? extends R> fn){
+        return new ReactiveStreamX<R>(new IntToObjOperator<R>(source,fn),type);
+    }
+
+    /**
+     * @return ReactiveSeq of boxed values
+     */
+    public ReactiveSeq<Integer> boxed(){
+        return mapToObj(i->i);
+    }
+
+    /**
+     * Subscribe to this Stream, no values are emitted until requested via the returned Subscription
+     *
+     * @return Subscription to request values from
+     */
+    public Subscription forEachSubscribe(IntConsumer onNext, Consumer<? super Throwable> onError, Runnable onComplete){
+        return source.subscribe(onNext,onError,onComplete);
+    }
+
+    /**
+     * Run this Stream to completion, passing each value to the supplied action
+     *
+     * @param action Consumer of each value
+     */
+    public void forEach(IntConsumer action){
+        run(action);
+    }
+
+    /**
+     * @param identity Initial value, returned if the Stream is empty
+     * @param op Associative function combining the running result with each value
+     * @return Result of combining every value in this Stream
+     */
+    public int reduce(int identity, IntBinaryOperator op){
+        int[] result = {identity};
+        run(i->result[0]=op.applyAsInt(result[0],i));
+        return result[0];
+    }
+
+    /**
+     * @return Sum of the values in this Stream
+     */
+    public int sum(){
+        return reduce(0,(a,b)->a+b);
+    }
+
+    /**
+     * @return Number of values in this Stream
+     */
+    public long count(){
+        long[] count = {0};
+        run(i->count[0]++);
+        return count[0];
+    }
+
+    /**
+     * @return Smallest value in this Stream, or empty if the Stream is empty
+     */
+    public OptionalInt min(){
+        return extreme(true);
+    }
+
+    /**
+     * @return Largest value in this Stream, or empty if the Stream is empty
+     */
+    public OptionalInt max(){
+        return extreme(false);
+    }
+
+    /**
+     * @return Arithmetic mean of the values in this Stream, or empty if the Stream is empty
+     */
+    public OptionalDouble average(){
+        double[] sum = {0};
+        long[] count = {0};
+        run(i->{
+            sum[0]+=i;
+            count[0]++;
+        });
+        return count[0]==0 ? OptionalDouble.empty() : OptionalDouble.of(sum[0]/count[0]);
+    }
+
+    /**
+     * Count the values in this Stream that fall into each of buckets equal width buckets between min (inclusive)
+     * and max (exclusive). Values outside of that range are not counted.
+     *
+     * <pre>
+     * {@code
+     *   Spouts.rangeInts(0,100)
+     *         .histogram(0,100,4);
+     *
+     *   //[25,25,25,25]
+     * }
+     * </pre>
+     *
+     * @param min Lower bound (inclusive)
+     * @param max Upper bound (exclusive)
+     * @param buckets Number of buckets
+     * @return Counts per bucket
+     */
+    public long[] histogram(int min, int max, int buckets){
+        if(buckets<=0 || !(max>min))
+            throw new IllegalArgumentException("histogram requires at least one bucket and max > min");
+        long[] counts = new long[buckets];
+        double width = ((double)max - min) / buckets;
+        run(i->{
+            if(i>=min && i<max){
+                int bucket = (int)(((double)i - min) / width);
+                counts[Math.min(bucket,buckets-1)]++;
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * @return Array of the values in this Stream, in order
+     */
+    public int[] toArray(){
+        int[][] buffer = {new int[16]};
+        int[] size = {0};
+        run(i->{
+            if(size[0]==buffer[0].length)
+                buffer[0] = Arrays.copyOf(buffer[0],size[0]*2);
+            buffer[0][size[0]++]=i;
+        });
+        return Arrays.copyOf(buffer[0],size[0]);
+    }
+
+    private OptionalInt extreme(boolean min){
+        int[] result = {0};
+        boolean[] found = {false};
+        run(i->{
+            if(!found[0] || (min ? i<result[0] : i>result[0])){
+                result[0]=i;
+                found[0]=true;
+            }
+        });
+        return found[0] ? OptionalInt.of(result[0]) : OptionalInt.empty();
+    }
+
+    private void run(IntConsumer action){
+        Future<Boolean> complete = Future.future();
+        if (type == Type.BACKPRESSURE) {
+            source.subscribe(action, complete::completeExceptionally, () -> complete.complete(true)).request(Long.MAX_VALUE);
+        } else {
+            source.subscribeAll(action, complete::completeExceptionally, () -> complete.complete(true));
+        }
+        complete.get().fold(s->s, e->{throw ExceptionSoftener.throwSoftenedException(e);});
+    }
+}
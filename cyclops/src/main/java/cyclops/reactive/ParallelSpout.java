@@ -0,0 +1,167 @@
+package cyclops.reactive;
+
+import com.oath.cyclops.internal.stream.ReactiveStreamX;
+import com.oath.cyclops.internal.stream.ReactiveStreamX.Type;
+import com.oath.cyclops.internal.stream.spliterators.push.Indexed;
+import com.oath.cyclops.internal.stream.spliterators.push.Operator;
+import com.oath.cyclops.internal.stream.spliterators.push.ParallelOperator;
+import com.oath.cyclops.internal.stream.spliterators.push.PublisherToOperator;
+import org.reactivestreams.Publisher;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A push based Stream split into a fixed number of rails. Elements are assigned to rails round-robin (or by key),
+ * each rail applies the map / filter / peek / concatMap stages independently (on an Executor, if one is supplied via
+ * runOn), and the rails are merged back into a single ReactiveSeq via sequential (unordered) or ordered.
+ *
+ * Each rail is backpressured independently, with up to prefetch elements buffered per rail.
+ *
+ * <pre>
+ * {@code
+ *   Spouts.range(0,1_000)
+ *         .parallel(4)
+ *         .runOn(Executors.newFixedThreadPool(4))
+ *         .map(this::expensiveCalculation)
+ *         .ordered()
+ *         .toList();
+ * }
+ * </pre>
+ *
+ * @param <T> Data type of the elements on each rail
+ */
+public class ParallelSpout<T> {
+
+    public static final int DEFAULT_PREFETCH = 128;
+
+    private final Operator<Object> source;
+    private final int rails;
+    private final Function<Object, ?> key;
+    private final Executor executor;
+    private final int prefetch;
+    private final Function<ReactiveSeq<Indexed<Object>>, ReactiveSeq<Indexed<T>>> pipeline;
+
+    private ParallelSpout(Operator<Object> source, int rails, Function<Object, ?> key, Executor executor, int prefetch,
+                          Function<ReactiveSeq<Indexed<Object>>, ReactiveSeq<Indexed<T>>> pipeline) {
+        this.source = source;
+        this.rails = rails;
+        this.key = key;
+        this.executor = executor;
+        this.prefetch = prefetch;
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * @param source Publisher to split
+     * @param rails Number of rails
+     * @param key Function used to assign elements to rails (elements with equal keys share a rail), or null for
+     *            round-robin assignment
+     * @return ParallelSpout running each rail on the emitting thread (see runOn)
+     */
+    static <T> ParallelSpout<T> of(Publisher<? extends T> source, int rails, Function<? super T, ?> key){
+        if(rails<=0)
+            throw new IllegalArgumentException("The number of rails must be positive");
+        Operator<Object> op = source instanceof ReactiveStreamX ? ((ReactiveStreamX<Object>)source).getSource()
+                                                                : new PublisherToOperator<Object>((Publisher)source);
+        return new ParallelSpout<T>(op,rails,(Function<Object,?>)key,null,DEFAULT_PREFETCH,s->(ReactiveSeq)s);
+    }
+
+    /**
+     * @return Number of rails
+     */
+    public int rails(){
+        return rails;
+    }
+
+    /**
+     * Run each rail (and the stages applied to it) on the supplied Executor. Elements on a given rail are processed
+     * sequentially, different rails are processed concurrently.
+     *
+     * @param executor Executor to run rails on
+     * @return ParallelSpout running on the supplied Executor
+     */
+    public ParallelSpout<T> runOn(Executor executor){
+        return runOn(executor,prefetch);
+    }
+
+    /**
+     * @param executor Executor to run rails on
+     * @param prefetch Number of elements to request and buffer per rail
+     * @return ParallelSpout running on the supplied Executor
+     */
+    public ParallelSpout<T> runOn(Executor executor, int prefetch){
+        if(prefetch<=0)
+            throw new IllegalArgumentException("Prefetch must be positive");
+        return new ParallelSpout<>(source,rails,key,executor,prefetch,pipeline);
+    }
+
+    public <R> ParallelSpout<R> map(Function<? super T, ? extends R> fn){
+        return withPipeline(s->s.map(i->i.map(fn)));
+    }
+
+    /**
+     * Remove elements that don't match the predicate. Removed elements are replaced on their rail by a marker that
+     * the merge discards, so ordered merges keep advancing even if every element on a rail is removed.
+     *
+     * @param fn Predicate that elements must match to be retained
+     * @return ParallelSpout of the matching elements
+     */
+    public ParallelSpout<T> filter(Predicate<? super T> fn){
+        return withPipeline(s->s.map(i->i.isSkipped() || fn.test(i.value) ? i : Indexed.<T>skipped(i.index)));
+    }
+
+    public ParallelSpout<T> peek(Consumer<? super T> c){
+        return withPipeline(s->s.peek(i->{
+            if(!i.isSkipped())
+                c.accept(i.value);
+        }));
+    }
+
+    /**
+     * Expand each element into zero or more elements on the same rail
+     *
+     * @param fn Function to expand each element
+     * @return ParallelSpout of expanded elements
+     */
+    public <R> ParallelSpout<R> concatMap(Function<? super T, ? extends Iterable<? extends R>> fn){
+        return withPipeline(s->s.concatMap(i->i.isSkipped() ? ReactiveSeq.of(Indexed.<R>skipped(i.index))
+                                                            : ReactiveSeq.fromIterable(fn.apply(i.value))
+                                                                         .map(r->new Indexed<R>(i.index,r))
+                                                                         .onEmpty(Indexed.<R>skipped(i.index))));
+    }
+
+    /**
+     * Merge the rails back into a single Stream, emitting elements as soon as they are available on any rail. Order
+     * is preserved within each rail (so per key when rails are assigned by key), but not across rails.
+     *
+     * @return Merged ReactiveSeq
+     */
+    public ReactiveSeq<T> sequential(){
+        return merge(false);
+    }
+
+    /**
+     * Merge the rails back into a single Stream in the order of the source Stream. Only supported for round-robin
+     * rails, as ordering would otherwise require buffering an unbounded number of elements. Works with infinite sources
+     * and with filters that remove every element on some rails.
+     *
+     * @return Merged ReactiveSeq in source order
+     */
+    public ReactiveSeq<T> ordered(){
+        if(key!=null)
+            throw new IllegalStateException("Ordered merges are only supported for round-robin rails");
+        return merge(true);
+    }
+
+    private ReactiveSeq<T> merge(boolean ordered){
+        return new ReactiveStreamX<>(new ParallelOperator<Object,T>(source,rails,key,executor,prefetch,pipeline,ordered),
+                                     Type.BACKPRESSURE);
+    }
+
+    private <R> ParallelSpout<R> withPipeline(Function<ReactiveSeq<Indexed<T>>, ReactiveSeq<Indexed<R>>> stage){
+        return new ParallelSpout<R>(source,rails,key,executor,prefetch,pipeline.andThen(stage));
+    }
+}
@@ -15,6 +15,10 @@ import cyclops.control.*;
 import cyclops.data.Enumeration;
 
 import com.oath.cyclops.internal.stream.OneShotStreamX;
+import com.oath.cyclops.internal.stream.operators.ExternalSortOperator;
+import com.oath.cyclops.internal.stream.operators.HashJoinOperator;
+import com.oath.cyclops.internal.stream.operators.MergeJoinOperator;
+import com.oath.cyclops.internal.stream.operators.TopKOperator;
 import com.oath.cyclops.internal.stream.spliterators.doubles.ReversingDoubleArraySpliterator;
 import com.oath.cyclops.internal.stream.spliterators.ints.ReversingIntArraySpliterator;
 import com.oath.cyclops.internal.stream.spliterators.ints.ReversingRangeIntSpliterator;
@@ -37,6 +41,7 @@ import cyclops.data.Seq;
 
 import cyclops.data.Vector;
 import cyclops.data.HashMap;
+import cyclops.function.Codec;
 import cyclops.function.Function3;
 import cyclops.function.Function4;
 import cyclops.function.Monoid;
@@ -53,6 +58,7 @@ import org.reactivestreams.Subscriber;
 
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
@@ -813,6 +819,47 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
 
     }
 
+    /**
+     * Convert to a push based Stream of unboxed ints. Subsequent map / filter / reduce operations remain unboxed until
+     * a reference typed operator (boxed, mapToObj) is applied.
+     *
+     * <pre>
+     * {@code
+     *   Spouts.of("a","bb","ccc")
+     *         .mapToInts(String::length)
+     *         .sum();
+     *
+     *   //6
+     * }
+     * </pre>
+     *
+     * @param fn Function to convert elements to ints
+     * @return IntSpout
+     */
+    default IntSpout mapToInts(ToIntFunction<? super T> fn){
+        return Spouts.fromIterable(this).mapToInts(fn);
+    }
+    /**
+     * Convert to a push based Stream of unboxed longs
+     *
+     * @see ReactiveSeq#mapToInts(ToIntFunction)
+     * @param fn Function to convert elements to longs
+     * @return LongSpout
+     */
+    default LongSpout mapToLongs(ToLongFunction<? super T> fn){
+        return Spouts.fromIterable(this).mapToLongs(fn);
+    }
+    /**
+     * Convert to a push based Stream of unboxed doubles
+     *
+     * @see ReactiveSeq#mapToInts(ToIntFunction)
+     * @param fn Function to convert elements to doubles
+     * @return DoubleSpout
+     */
+    default DoubleSpout mapToDoubles(ToDoubleFunction<? super T> fn){
+        return Spouts.fromIterable(this).mapToDoubles(fn);
+    }
+
 
 
     /**
@@ -853,6 +900,28 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
     @Override
     public <T> ReactiveSeq<T> unit(T unit);
 
+    /**
+     * Split this Stream into rails that can be processed in parallel (see {@link ParallelSpout#runOn(java.util.concurrent.Executor)}),
+     * while remaining push based and backpressure aware. Elements are assigned to rails round-robin.
+     *
+     * <pre>
+     * {@code
+     *   Spouts.range(0,1_000)
+     *         .parallel(4)
+     *         .runOn(ex)
+     *         .map(this::expensiveCalculation)
+     *         .ordered()
+     *         .toList();
+     * }
+     * </pre>
+     *
+     * @param rails Number of rails
+     * @return ParallelSpout with the specified number of rails
+     */
+    default ParallelSpout<T> parallel(int rails){
+        return Spouts.parallel(this,rails);
+    }
+
     default <R> ReactiveSeq<R> parallel(Function<? super Stream<T>,? extends Stream<? extends R>> fn){
         Queue<R> queue = QueueFactories.<R>unboundedNonBlockingQueue()
                                                                   .build();
@@ -926,6 +995,45 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
         return queue.stream();
 
 
+    }
+    /**
+     * Apply the supplied function asynchronously on the provided Executor, processing elements with different keys
+     * concurrently but elements that share a key strictly sequentially and in the order they arrive.
+     * Results are emitted as they complete, with at most {@link SerialLanes#DEFAULT_MAX_CONCURRENCY} elements in flight.
+     *
+     * <pre>
+     * {@code
+     *    ReactiveSeq.of(event1,event2,event3)
+     *               .parallelByKey(Event::getAccountId,this::process,Executors.newFixedThreadPool(4))
+     *               .forEach(System.out::println);
+     *
+     *    //events for the same account are never processed concurrently or out of order
+     * }
+     * </pre>
+     *
+     * @param keyFn Function to determine the key (and so the serial lane) for each element
+     * @param fn Function to apply to each element
+     * @param ex Executor to execute fn on
+     * @return ReactiveSeq of results
+     */
+    default <K,R> ReactiveSeq<R> parallelByKey(Function<? super T,? extends K> keyFn, Function<? super T,? extends R> fn, Executor ex){
+        return parallelByKey(SerialLanes.DEFAULT_MAX_CONCURRENCY,keyFn,fn,ex);
+    }
+
+    /**
+     * Apply the supplied function asynchronously on the provided Executor, processing elements with different keys
+     * concurrently but elements that share a key strictly sequentially and in the order they arrive.
+     *
+     * @see ReactiveSeq#parallelByKey(Function, Function, Executor)
+     * @param maxConcurrency Maximum number of elements in flight at any one time (across all keys)
+     * @param keyFn Function to determine the key (and so the serial lane) for each element
+     * @param fn Function to apply to each element
+     * @param ex Executor to execute fn on
+     * @return ReactiveSeq of results
+     */
+    default <K,R> ReactiveSeq<R> parallelByKey(int maxConcurrency,Function<? super T,? extends K> keyFn, Function<? super T,? extends R> fn, Executor ex){
+        SerialLanes<K> lanes = new SerialLanes<>(ex);
+        return mergeMap(maxConcurrency,t->Future.of(lanes.<R>submit(keyFn.apply(t),()->fn.apply(t))));
     }
     default <R> R foldParallel(Function<? super Stream<T>,? extends R> fn){
 
@@ -1793,6 +1901,116 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
 
     }
 
+    /**
+     * Sort this Stream without holding it in memory. Runs of at most maxInMemory elements are sorted in memory and
+     * spilled to temporary files in tempDir, the runs are then lazily merged back together as the returned
+     * ReactiveSeq is consumed. The sort is stable.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.range(0,10_000_000)
+     *             .map(i->i%1000)
+     *             .sortedExternal(Comparator.naturalOrder(),100_000,Codec.ints(),Paths.get("/tmp"))
+     *             .forEach(System.out::println);
+     * }
+     * </pre>
+     *
+     * Spill files are removed once the sort has been fully consumed, or fails. For push based Streams (Spouts) the
+     * runs being merged are also closed when the Stream is cancelled (e.g. by limit). A partially consumed sort that is
+     * simply abandoned leaves nothing on disk (on POSIX platforms), and its file handles are released when it is garbage collected.
+     *
+     * @param c Comparator to sort with
+     * @param maxInMemory Maximum number of elements to sort in memory at once
+     * @param codec Codec used to write elements to, and read them back from, the spill files
+     * @param tempDir Directory for the spill files, or null to use the default temporary-file directory
+     * @return Sorted Stream
+     */
+    default ReactiveSeq<T> sortedExternal(Comparator<? super T> c, int maxInMemory, Codec<T> codec, Path tempDir) {
+        ExternalSortOperator<T> sort = new ExternalSortOperator<>(c, maxInMemory, codec, tempDir);
+        return ReactiveSeq.fromIterable(() -> sort.sort(iterator()));
+    }
+
+    /**
+     * Sort this Stream without holding it in memory, spilling to the default temporary-file directory
+     *
+     * @see #sortedExternal(Comparator, int, Codec, Path)
+     */
+    default ReactiveSeq<T> sortedExternal(Comparator<? super T> c, int maxInMemory, Codec<T> codec) {
+        return sortedExternal(c, maxInMemory, codec, null);
+    }
+
+    /**
+     * The k greatest elements of this Stream (according to the comparator), greatest first. Only k elements are held
+     * in memory at once, so this is O(n log k) rather than the O(n log n) of sorted(c).limit(k).
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(4,9,1,7,3)
+     *             .topK(2,Comparator.naturalOrder())
+     *             .toList();
+     *
+     *  //[9,7]
+     * }
+     * </pre>
+     *
+     * @param k Number of elements to keep
+     * @param c Comparator to rank elements with
+     * @return ReactiveSeq of at most k elements
+     */
+    default ReactiveSeq<T> topK(int k, Comparator<? super T> c) {
+        if (k < 0)
+            throw new IllegalArgumentException("k must not be negative, was " + k);
+        return coflatMap(r -> {
+            TopKOperator<T> heap = new TopKOperator<>(k, c);
+            r.forEach(heap::offer);
+            return heap.toList();
+        }).flatMap(l -> l.stream());
+    }
+
+    /**
+     * The k smallest elements of this Stream (according to the comparator), smallest first.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(4,9,1,7,3)
+     *             .bottomK(2,Comparator.naturalOrder())
+     *             .toList();
+     *
+     *  //[1,3]
+     * }
+     * </pre>
+     *
+     * @see ReactiveSeq#topK(int, Comparator)
+     * @param k Number of elements to keep
+     * @param c Comparator to rank elements with
+     * @return ReactiveSeq of at most k elements
+     */
+    default ReactiveSeq<T> bottomK(int k, Comparator<? super T> c) {
+        return topK(k, c.reversed());
+    }
+
+    /**
+     * Track the k greatest elements seen so far, emitting a snapshot of them (greatest first) at the end of each
+     * time period in which new elements arrived, and a final snapshot on completion.
+     *
+     * <pre>
+     * {@code
+     *  Spouts.from(trades)
+     *        .topK(10,Comparator.comparing(Trade::getVolume),1,TimeUnit.SECONDS)
+     *        .forEach(this::publishLeaderboard);
+     * }
+     * </pre>
+     *
+     * @param k Number of elements to keep
+     * @param c Comparator to rank elements with
+     * @param time Length of each time period
+     * @param t Time unit
+     * @return ReactiveSeq of periodic top k snapshots
+     */
+    default ReactiveSeq<Vector<T>> topK(int k, Comparator<? super T> c, long time, TimeUnit t) {
+        return Spouts.fromIterable(this).topK(k, c, time, t);
+    }
+
 
     @Override
     default ReactiveSeq<T> takeWhile(final Predicate<? super T> p) {
@@ -2447,6 +2665,30 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
 
     <R> ReactiveSeq<R> mergeMap(Function<? super T, ? extends Publisher<? extends R>> fn);
     <R> ReactiveSeq<R> mergeMap(int maxConcurrency, Function<? super T, ? extends Publisher<? extends R>> fn);
+
+    /**
+     * Merge the output of the Publishers returned by the supplied function, subscribing to at most maxConcurrency
+     * of them at a time. Each inner Publisher is asked for up to prefetch elements at a time, which are buffered until
+     * there is downstream demand.
+     *
+     * <pre>
+     * {@code
+     *  Spouts.of(1,2,3)
+     *        .mergeMap(2,64,i->Spouts.range(0,i))
+     *        .toList();
+     *
+     *  //[0,0,1,0,1,2] (in an order determined by the inner Publishers)
+     * }
+     * </pre>
+     *
+     * @param maxConcurrency Maximum number of inner Publishers to subscribe to at once
+     * @param prefetch Number of elements to request (and buffer) from each inner Publisher
+     * @param fn Function to map each element to a Publisher
+     * @return ReactiveSeq of merged elements
+     */
+    default <R> ReactiveSeq<R> mergeMap(int maxConcurrency, int prefetch, Function<? super T, ? extends Publisher<? extends R>> fn){
+        return Spouts.fromIterable(this).mergeMap(maxConcurrency,prefetch,fn);
+    }
     /**
      * flatMap operation
      *
@@ -3571,9 +3813,96 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
      */
     ReactiveSeq<T> onePer(long time, TimeUnit t);
 
+    /**
+     * Non-blocking token bucket rate limiter. Up to permits elements may be emitted in a burst, the bucket is refilled
+     * each time period. Emission resumes on a shared timer Thread when the bucket is empty, rather than parking the
+     * emitting Thread.
+     *
+     * <pre>
+     * {@code
+     * Spouts.iterate(1,i->i+1)
+     *       .rateLimit(100,1,TimeUnit.SECONDS)
+     *       .forEach(this::callRemoteService);
+     *
+     * //at most 100 calls per second
+     * }
+     * </pre>
+     *
+     * Synchronous Streams are converted to asynchronous push based Streams (via Spouts) by this operator.
+     *
+     * @param permits Maximum number of elements to emit per time period
+     * @param per Time period
+     * @param unit Time unit
+     * @return ReactiveSeq that emits at most permits elements per time period
+     */
+    default ReactiveSeq<T> rateLimit(long permits, long per, TimeUnit unit){
+        return Spouts.fromIterable(this).rateLimit(permits,per,unit);
+    }
+
+    /**
+     * Non-blocking leaky bucket rate limiter. Elements are emitted evenly spaced, one every per / permits, with no
+     * bursts.
+     *
+     * <pre>
+     * {@code
+     * Spouts.of(1,2,3,4,5)
+     *       .leakyRateLimit(10,1,TimeUnit.SECONDS)
+     *       .toList();
+     *
+     * //[1,2,3,4,5] emitted one every 100ms
+     * }
+     * </pre>
+     *
+     * @param permits Number of elements to emit per time period
+     * @param per Time period
+     * @param unit Time unit
+     * @return ReactiveSeq that emits elements evenly spaced within each time period
+     */
+    default ReactiveSeq<T> leakyRateLimit(long permits, long per, TimeUnit unit){
+        return Spouts.fromIterable(this).leakyRateLimit(permits,per,unit);
+    }
+
+    /**
+     * Batch the demand signalled upstream. Up to prefetch elements are requested up front, and the outstanding demand
+     * is topped back up to prefetch each time it falls to lowTide, irrespective of how the downstream Subscriber
+     * requests elements. Elements received ahead of downstream demand are buffered (at most prefetch).
+     *
+     * <pre>
+     * {@code
+     * Spouts.reactiveBuffer(10_000,s->...)
+     *       .limitRate(256,64)
+     *       .forEach(this::process);
+     *
+     * //requests 256 elements, then 192 at a time as they are consumed
+     * }
+     * </pre>
+     *
+     * Pull based (synchronous) Streams do not signal demand and are returned unchanged.
+     *
+     * @param prefetch Maximum number of elements requested but not yet emitted
+     * @param lowTide Outstanding demand at which to replenish
+     * @return ReactiveSeq that signals demand upstream in batches
+     */
+    default ReactiveSeq<T> limitRate(int prefetch, int lowTide){
+        return this;
+    }
+
+    /**
+     * Batch the demand signalled upstream, replenishing once 75% of prefetch elements have been emitted
+     *
+     * @see ReactiveSeq#limitRate(int, int)
+     * @param prefetch Maximum number of elements requested but not yet emitted
+     * @return ReactiveSeq that signals demand upstream in batches
+     */
+    default ReactiveSeq<T> limitRate(int prefetch){
+        return limitRate(prefetch,prefetch>>2);
+    }
+
     /**
      * Allow one element through per time period, drop all other elements in
-     * that time period
+     * that time period. This is leading edge (the first element of each time period is kept,
+     * as by {@link ReactiveSeq#throttleFirst(long, TimeUnit)}), for trailing edge debouncing that keeps the last
+     * element of each burst see {@link ReactiveSeq#debounceLast(long, TimeUnit)}
      *
      * <pre>
      * {@code
@@ -3590,6 +3919,107 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
      */
     ReactiveSeq<T> debounce(long time, TimeUnit t);
 
+    /**
+     * Emit the first element in each time period, dropping all other elements in that time period. A time period
+     * starts with each element that is emitted, so the first element to arrive after it ends is emitted next.
+     *
+     * This is the conventional name for the leading edge behaviour that {@link ReactiveSeq#debounce(long, TimeUnit)}
+     * has always had in cyclops, and it is implemented by it. The trailing edge counterpart (emit once a burst of
+     * elements ends) is {@link ReactiveSeq#debounceLast(long, TimeUnit)}.
+     *
+     * <pre>
+     * {@code
+     *  Spouts.from(clicks)
+     *        .throttleFirst(500,TimeUnit.MILLISECONDS)
+     *        .forEach(this::submit);
+     *
+     *  //the first click submits, further clicks within 500ms are dropped
+     * }
+     * </pre>
+     *
+     * @param time Length of each time period
+     * @param t Time unit
+     * @return ReactiveSeq with the first element of each time period
+     */
+    default ReactiveSeq<T> throttleFirst(long time, TimeUnit t){
+        return debounce(time,t);
+    }
+
+    /**
+     * Emit the most recent element (if any) at the end of each time period, dropping all other elements. The timing
+     * is driven by a shared timer, so a sample is emitted even if no further elements arrive.
+     *
+     * <pre>
+     * {@code
+     *  Spouts.from(mouseMoves)
+     *        .throttleLast(100,TimeUnit.MILLISECONDS)
+     *        .forEach(this::render);
+     *
+     *  //at most one position rendered every 100ms
+     * }
+     * </pre>
+     *
+     * @param time Length of each time period
+     * @param t Time unit
+     * @return ReactiveSeq that emits the latest element at the end of each time period
+     */
+    default ReactiveSeq<T> throttleLast(long time, TimeUnit t){
+        return Spouts.fromIterable(this).throttleLast(time,t);
+    }
+
+    /**
+     * @see ReactiveSeq#throttleLast(long, TimeUnit)
+     * @param time Length of each time period
+     * @param t Time unit
+     * @return ReactiveSeq that emits the latest element at the end of each time period
+     */
+    default ReactiveSeq<T> sample(long time, TimeUnit t){
+        return throttleLast(time,t);
+    }
+
+    /**
+     * Emit an element only once the time period has passed without a newer element arriving (the last element is
+     * emitted on completion). Unlike {@link ReactiveSeq#debounce(long, TimeUnit)}, which keeps the first element of
+     * a burst, this keeps the last.
+     *
+     * <pre>
+     * {@code
+     *  Spouts.from(keyPresses)
+     *        .debounceLast(300,TimeUnit.MILLISECONDS)
+     *        .forEach(this::search);
+     *
+     *  //search once typing pauses for 300ms
+     * }
+     * </pre>
+     *
+     * @param time Quiet period
+     * @param t Time unit
+     * @return ReactiveSeq of the last element of each burst
+     */
+    default ReactiveSeq<T> debounceLast(long time, TimeUnit t){
+        return Spouts.fromIterable(this).debounceLast(time,t);
+    }
+
+    /**
+     * Signal a TimeoutException and complete if no element arrives within the time period (measured from the
+     * start of the Stream and then from each element).
+     *
+     * <pre>
+     * {@code
+     *  Spouts.from(prices)
+     *        .timeout(5,TimeUnit.SECONDS)
+     *        .forEach(this::update,e->reconnect());
+     * }
+     * </pre>
+     *
+     * @param time Maximum time between elements
+     * @param t Time unit
+     * @return ReactiveSeq that errors and completes if an element is not received in time
+     */
+    default ReactiveSeq<T> timeout(long time, TimeUnit t){
+        return Spouts.fromIterable(this).timeout(time,t);
+    }
+
     /**
      * emit elements after a fixed delay
      *
@@ -4203,6 +4633,132 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
         return forEach2(a->other, Tuple::tuple);
     }
 
+    /**
+     * Hash join this Stream with the supplied Iterable, pairing each element with every element of other that has an
+     * equal key. The Iterable (which should be the smaller input) is loaded into a hash table once, the first time the
+     * join is traversed, and this Stream is joined element by element without being buffered.
+     *
+     * <pre>
+     * {@code
+     *  Spouts.from(trades)
+     *        .innerJoin(instruments,Trade::getIsin,Instrument::getIsin)
+     *        .map(t->t.transform(this::enrich));
+     * }
+     * </pre>
+     *
+     * @param other Iterable to build the hash table from
+     * @param key Key of elements in this Stream
+     * @param otherKey Key of elements in other
+     * @return ReactiveSeq of matching pairs
+     */
+    default <U, K> ReactiveSeq<Tuple2<T, U>> innerJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key,
+                                                     Function<? super U, ? extends K> otherKey) {
+        return innerJoin(other, 0, key, otherKey);
+    }
+
+    /**
+     * @see ReactiveSeq#innerJoin(Iterable, Function, Function)
+     * @param other Iterable to build the hash table from
+     * @param sizeHint Expected number of elements in other, used to size the hash table
+     * @param key Key of elements in this Stream
+     * @param otherKey Key of elements in other
+     * @return ReactiveSeq of matching pairs
+     */
+    default <U, K> ReactiveSeq<Tuple2<T, U>> innerJoin(Iterable<? extends U> other, int sizeHint, Function<? super T, ? extends K> key,
+                                                     Function<? super U, ? extends K> otherKey) {
+        HashJoinOperator<T, U, K> join = new HashJoinOperator<>(other, sizeHint, key, otherKey);
+        return concatMap(join::inner);
+    }
+
+    /**
+     * Hash join this Stream with the supplied Iterable, keeping elements of this Stream that have no match.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(1,2,3)
+     *             .leftJoin(Arrays.asList("1","3"),i->i,Integer::parseInt)
+     *             .toList();
+     *
+     *  //[(1,Some[1]),(2,None),(3,Some[3])]
+     * }
+     * </pre>
+     *
+     * @see ReactiveSeq#innerJoin(Iterable, Function, Function)
+     * @param other Iterable to build the hash table from
+     * @param key Key of elements in this Stream
+     * @param otherKey Key of elements in other
+     * @return ReactiveSeq of each element paired with each match (or None)
+     */
+    default <U, K> ReactiveSeq<Tuple2<T, Option<U>>> leftJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key,
+                                                            Function<? super U, ? extends K> otherKey) {
+        return leftJoin(other, 0, key, otherKey);
+    }
+
+    default <U, K> ReactiveSeq<Tuple2<T, Option<U>>> leftJoin(Iterable<? extends U> other, int sizeHint, Function<? super T, ? extends K> key,
+                                                            Function<? super U, ? extends K> otherKey) {
+        HashJoinOperator<T, U, K> join = new HashJoinOperator<>(other, sizeHint, key, otherKey);
+        return concatMap(join::left);
+    }
+
+    /**
+     * Hash join this Stream with the supplied Iterable, keeping unmatched elements from both sides. Unmatched elements
+     * of other are emitted once this Stream completes.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(1,2)
+     *             .fullJoin(Arrays.asList("2","3"),i->i,Integer::parseInt)
+     *             .toList();
+     *
+     *  //[(Some[1],None),(Some[2],Some[2]),(None,Some[3])]
+     * }
+     * </pre>
+     *
+     * @see ReactiveSeq#innerJoin(Iterable, Function, Function)
+     * @param other Iterable to build the hash table from
+     * @param key Key of elements in this Stream
+     * @param otherKey Key of elements in other
+     * @return ReactiveSeq of matching and unmatched elements
+     */
+    default <U, K> ReactiveSeq<Tuple2<Option<T>, Option<U>>> fullJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key,
+                                                                    Function<? super U, ? extends K> otherKey) {
+        return fullJoin(other, 0, key, otherKey);
+    }
+
+    default <U, K> ReactiveSeq<Tuple2<Option<T>, Option<U>>> fullJoin(Iterable<? extends U> other, int sizeHint, Function<? super T, ? extends K> key,
+                                                                    Function<? super U, ? extends K> otherKey) {
+        HashJoinOperator<T, U, K> join = new HashJoinOperator<>(other, sizeHint, key, otherKey);
+        return ReactiveSeq.defer(() -> ((ReactiveSeq<Object>) this).append(HashJoinOperator.END)
+                                                                     .concatMap(join.full()));
+    }
+
+    /**
+     * Sort-merge join this Stream with the supplied Iterable, both of which must be sorted in ascending key order.
+     * The two inputs are advanced in step, so (unlike innerJoin) only the elements of other that share the current key
+     * are held in memory.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(1,2,2,4)
+     *             .mergeJoin(Arrays.asList(2,3,4),i->i,i->i,Comparator.naturalOrder())
+     *             .toList();
+     *
+     *  //[(2,2),(2,2),(4,4)]
+     * }
+     * </pre>
+     *
+     * @param other Iterable sorted by otherKey
+     * @param key Key of elements in this Stream
+     * @param otherKey Key of elements in other
+     * @param comparator Comparator both inputs are sorted by
+     * @return ReactiveSeq of matching pairs
+     */
+    default <U, K> ReactiveSeq<Tuple2<T, U>> mergeJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key,
+                                                     Function<? super U, ? extends K> otherKey, Comparator<? super K> comparator) {
+        MergeJoinOperator<T, U, K> join = new MergeJoinOperator<>(other, key, otherKey, comparator);
+        return ReactiveSeq.defer(() -> concatMap(join.probe()));
+    }
+
     /**
      * Perform a two level nested internal iteration over this Stream and the
      * supplied stream
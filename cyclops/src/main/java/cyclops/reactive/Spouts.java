@@ -92,6 +92,13 @@ public interface Spouts {
      * Create a push based Stream with <b>no backpressure</b> fromm the provided Stream.
      * The provided Stream will be executed on the provided executor and pushed to the returned Stream
      *
+     * For Streams dominated by blocking I/O the virtual thread Executor from ThreadPools can be used
+     * <pre>
+     *     {@code
+     *       Spouts.async(ReactiveSeq.generate(this::readBlocking),ThreadPools.getVirtualThreadExecutor());
+     *     }
+     * </pre>
+     *
      * @param seq Stream to execute and push to a new non-backpressure aware Stream
      * @param exec
      * @param <T>
@@ -165,6 +172,28 @@ public interface Spouts {
     static <T> ReactiveSeq<T> reactiveBuffer(Queue<T> buffer,BufferOverflowPolicy policy, Consumer<? super Subscriber<T>> onNext){
         return Spouts.reactiveStream(new BufferingSinkOperator<T>(buffer, onNext, policy));
     }
+
+    /**
+     * Create a backpressure aware Stream backed by a buffer, that requests prefetch elements from the Subscription
+     * passed to the Subscriber up front and replenishes in batches (once 75% have been emitted), rather than
+     * forwarding each downstream request across the async boundary.
+     *
+     * @param buffer Buffer size
+     * @param prefetch Number of elements to request in advance (must not exceed buffer)
+     * @param onNext Subscriber to push data to
+     * @param <T> Data type
+     * @return ReactiveSeq backed by a prefetching buffer
+     */
+    static <T> ReactiveSeq<T> reactiveBuffer(int buffer, int prefetch, Consumer<? super Subscriber<T>> onNext){
+        if(prefetch<=0 || prefetch>buffer)
+            throw new IllegalArgumentException("Prefetch must be positive and no larger than the buffer size");
+        return Spouts.reactiveStream(new BufferingSinkOperator<T>(new ManyToManyConcurrentArrayQueue<T>(buffer), onNext, BufferOverflowPolicy.DROP,prefetch));
+    }
+    static <T> ReactiveSeq<T> reactiveBufferBlock(int buffer, int prefetch, Consumer<? super Subscriber<T>> onNext){
+        if(prefetch<=0 || prefetch>buffer)
+            throw new IllegalArgumentException("Prefetch must be positive and no larger than the buffer size");
+        return Spouts.reactiveStream(new BufferingSinkOperator<T>(new ManyToManyConcurrentArrayQueue<T>(buffer), onNext,BufferOverflowPolicy.BLOCK,prefetch));
+    }
     static <T> ReactiveSeq<T> asyncBuffer(int buffer, Consumer<? super PushSubscriber<T>> onNext){
         return Spouts.asyncStream(new BufferingSinkOperator<T>(new ManyToManyConcurrentArrayQueue<T>(buffer),c-> onNext.accept(PushSubscriber.of(c)), BufferOverflowPolicy.DROP));
     }
@@ -275,6 +304,64 @@ public interface Spouts {
         else
             return syncStream(new RangeLongOperator(end,start));
     }
+    /**
+     * Create a push based Stream of unboxed ints, values are only boxed if a reference typed operator is applied
+     *
+     * <pre>
+     * {@code
+     *   Spouts.rangeInts(0,100)
+     *         .filter(i->i%2==0)
+     *         .sum();
+     *
+     *   //2450
+     * }
+     * </pre>
+     *
+     * @param start Start of range (inclusive)
+     * @param end End of range (exclusive)
+     * @return Unboxed range of ints
+     */
+    public static IntSpout rangeInts(int start, int end){
+        if(start<end)
+            return new IntSpout(IntIndexedOperator.range(start,end),Type.SYNC);
+        else
+            return new IntSpout(IntIndexedOperator.range(end,start),Type.SYNC);
+    }
+    /**
+     * Create a push based Stream of unboxed longs, values are only boxed if a reference typed operator is applied
+     *
+     * @see Spouts#rangeInts(int, int)
+     * @param start Start of range (inclusive)
+     * @param end End of range (exclusive)
+     * @return Unboxed range of longs
+     */
+    public static LongSpout rangeLongs(long start, long end){
+        if(start<end)
+            return new LongSpout(LongIndexedOperator.range(start,end),Type.SYNC);
+        else
+            return new LongSpout(LongIndexedOperator.range(end,start),Type.SYNC);
+    }
+    /**
+     * @param values Values to emit
+     * @return Push based Stream of the unboxed values
+     */
+    public static IntSpout ofInts(int... values){
+        return new IntSpout(IntIndexedOperator.of(values),Type.SYNC);
+    }
+    /**
+     * @param values Values to emit
+     * @return Push based Stream of the unboxed values
+     */
+    public static LongSpout ofLongs(long... values){
+        return new LongSpout(LongIndexedOperator.of(values),Type.SYNC);
+    }
+    /**
+     * @param values Values to emit
+     * @return Push based Stream of the unboxed values
+     */
+    public static DoubleSpout ofDoubles(double... values){
+        return new DoubleSpout(DoubleIndexedOperator.of(values),Type.SYNC);
+    }
     public static  <T> ReactiveSeq<T> of(T value){
         return syncStream(new SingleValueOperator<T>(value));
     }
@@ -312,6 +399,30 @@ public interface Spouts {
             return (ReactiveSeq<T>)pub;
         return reactiveStream(new PublisherToOperator<T>((Publisher<T>)pub));
     }
+    /**
+     * Split a Publisher into rails that can be processed in parallel, assigning elements to rails round-robin
+     *
+     * @see ParallelSpout
+     * @param source Publisher to split
+     * @param rails Number of rails
+     * @return ParallelSpout with the specified number of rails
+     */
+    static <T> ParallelSpout<T> parallel(Publisher<? extends T> source, int rails){
+        return ParallelSpout.of(source,rails,null);
+    }
+
+    /**
+     * Split a Publisher into rails that can be processed in parallel, elements with the same key are always assigned
+     * to the same rail (and so are processed in order)
+     *
+     * @param source Publisher to split
+     * @param rails Number of rails
+     * @param key Function to extract the key used to assign elements to rails
+     * @return ParallelSpout with the specified number of rails
+     */
+    static <T> ParallelSpout<T> parallel(Publisher<? extends T> source, int rails, Function<? super T, ?> key){
+        return ParallelSpout.of(source,rails,key);
+    }
     static <T> ReactiveSeq<T> merge(Publisher<? extends Publisher<T>> publisher){
         return mergeLatest((Publisher[])Spouts.from(publisher).toArray());
     }
@@ -0,0 +1,115 @@
+package com.oath.cyclops.async;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class HashedWheelTimerTest {
+
+    HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8, r->{
+        Thread t = new Thread(r,"test-wheel-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @After
+    public void teardown(){
+        timer.stop();
+    }
+
+    @Test
+    public void runsAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] ranAt = {0};
+        timer.schedule(()->{
+            ranAt[0] = System.nanoTime();
+            latch.countDown();
+        },50,TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5,TimeUnit.SECONDS));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(ranAt[0]-start),greaterThanOrEqualTo(50l));
+        assertThat(timer.pending(),equalTo(0l));
+    }
+    @Test
+    public void delaysLongerThanOneRotation() throws InterruptedException {
+        //8 buckets of 1ms, so 30ms requires several rotations of the wheel
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timer.schedule(latch::countDown,30,TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5,TimeUnit.SECONDS));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-start),greaterThanOrEqualTo(30l));
+    }
+    @Test
+    public void runsInDeadlineOrder() throws InterruptedException {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        timer.schedule(()->{order.add(3);latch.countDown();},60,TimeUnit.MILLISECONDS);
+        timer.schedule(()->{order.add(1);latch.countDown();},10,TimeUnit.MILLISECONDS);
+        timer.schedule(()->{order.add(2);latch.countDown();},35,TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5,TimeUnit.SECONDS));
+        assertThat(order,equalTo(java.util.Arrays.asList(1,2,3)));
+    }
+    @Test
+    public void cancelledTimeoutsDoNotRun() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger(0);
+        HashedWheelTimer.Timeout timeout = timer.schedule(runs::incrementAndGet,20,TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        Thread.sleep(60);
+        assertThat(runs.get(),equalTo(0));
+        assertThat(timer.pending(),equalTo(0l));
+    }
+    @Test
+    public void manyTimeoutsShareOneThread() throws InterruptedException {
+        int count = 10_000;
+        CountDownLatch latch = new CountDownLatch(count);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        for(int i=0;i<count;i++) {
+            timer.schedule(() -> {
+                if(latch.getCount()==1)
+                    threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            }, i % 100, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(latch.await(10,TimeUnit.SECONDS));
+        assertThat(threads,equalTo(java.util.Arrays.asList("test-wheel-timer")));
+    }
+    @Test
+    public void resumesAfterIdle() throws InterruptedException {
+        CountDownLatch first = new CountDownLatch(1);
+        timer.schedule(first::countDown,5,TimeUnit.MILLISECONDS);
+        assertTrue(first.await(5,TimeUnit.SECONDS));
+        Thread.sleep(50);
+        CountDownLatch second = new CountDownLatch(1);
+        timer.schedule(second::countDown,5,TimeUnit.MILLISECONDS);
+        assertTrue(second.await(5,TimeUnit.SECONDS));
+    }
+    @Test
+    public void errorsDoNotStopTheTimer() throws InterruptedException {
+        Thread.UncaughtExceptionHandler handler = (t,e)->{};
+        HashedWheelTimer quiet = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8, r->{
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            t.setUncaughtExceptionHandler(handler);
+            return t;
+        });
+        CountDownLatch latch = new CountDownLatch(1);
+        quiet.schedule(()->{throw new RuntimeException("boo");},1,TimeUnit.MILLISECONDS);
+        quiet.schedule(latch::countDown,5,TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5,TimeUnit.SECONDS));
+        quiet.stop();
+    }
+}
@@ -0,0 +1,117 @@
+package com.oath.cyclops.async;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class SerialLanesTest {
+
+    ExecutorService ex = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown(){
+        ex.shutdownNow();
+    }
+
+    @Test
+    public void sameKeyRunsInOrder() throws Exception {
+        SerialLanes<String> lanes = new SerialLanes<>(ex);
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger active = new AtomicInteger(0);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for(int i=0;i<1000;i++){
+            int next = i;
+            results.add(lanes.submit("key",()->{
+                assertThat(active.incrementAndGet(),equalTo(1));
+                seen.add(next);
+                active.decrementAndGet();
+                return next;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        for(int i=0;i<1000;i++)
+            assertThat(seen.get(i),equalTo(i));
+        while(lanes.activeLanes()>0){
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void differentKeysRunConcurrently() throws Exception {
+        SerialLanes<Integer> lanes = new SerialLanes<>(ex);
+        AtomicInteger active = new AtomicInteger(0);
+        AtomicInteger max = new AtomicInteger(0);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for(int i=0;i<40;i++){
+            results.add(lanes.submit(i%4,()->{
+                max.accumulateAndGet(active.incrementAndGet(),Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                }
+                return active.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertTrue(max.get()>1);
+        assertTrue(max.get()<=4);
+    }
+
+    @Test
+    public void errorsCompleteExceptionally() throws Exception {
+        SerialLanes<Integer> lanes = new SerialLanes<>(ex);
+        CompletableFuture<Integer> failed = lanes.submit(1,()->{ throw new RuntimeException("boom"); });
+        CompletableFuture<Integer> next = lanes.submit(1,()->2);
+        assertThat(next.get(10,TimeUnit.SECONDS),equalTo(2));
+        assertTrue(failed.isCompletedExceptionally());
+    }
+    @Test
+    public void rejectedLanesFailTheirTaskAndRecover() throws Exception {
+        AtomicInteger rejections = new AtomicInteger(1);
+        List<CompletableFuture<Integer>> queuedBehind = new ArrayList<>();
+        List<SerialLanes<Integer>> holder = new ArrayList<>();
+        SerialLanes<Integer> lanes = new SerialLanes<>(r->{
+            if(rejections.getAndDecrement()>0){
+                //another task for the same key arrives while the lane is being started
+                queuedBehind.add(holder.get(0).submit(1,()->3));
+                throw new RejectedExecutionException("saturated");
+            }
+            ex.execute(r);
+        });
+        holder.add(lanes);
+
+        CompletableFuture<Integer> rejected = lanes.submit(1,()->1);
+        assertTrue(rejected.isCompletedExceptionally());
+        try {
+            rejected.join();
+        }catch(CompletionException e){
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertThat(queuedBehind.get(0).get(10,TimeUnit.SECONDS),equalTo(3));
+        assertThat(lanes.submit(1,()->2).get(10,TimeUnit.SECONDS),equalTo(2));
+
+        rejections.set(1);
+        SerialLanes<Integer> shutdown = new SerialLanes<>(r->{
+            if(rejections.getAndDecrement()>0)
+                throw new RejectedExecutionException("shutdown");
+            ex.execute(r);
+        });
+        assertTrue(shutdown.submit(2,()->1).isCompletedExceptionally());
+        assertThat(shutdown.activeLanes(),equalTo(0));
+        assertThat(shutdown.submit(2,()->2).get(10,TimeUnit.SECONDS),equalTo(2));
+    }
+}
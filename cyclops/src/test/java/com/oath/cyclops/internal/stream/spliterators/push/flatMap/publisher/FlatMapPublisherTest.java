@@ -644,6 +644,54 @@ public class FlatMapPublisherTest {
         }
 
     }
+    @Test
+    public void manyConcurrentInners(){
+        List<Integer> res = new ArrayList<>(Spouts.range(0,1000)
+                                                  .mergeMap(500,8,i->flux(i,i+1000))
+                                                  .toList());
+        res.sort(null);
+        assertThat(res,equalTo(ReactiveSeq.range(0,2000).toList()));
+    }
+    @Test
+    public void innerDemandBoundedByPrefetch(){
+        AtomicInteger emitted = new AtomicInteger(0);
+        List<Integer> res = new ArrayList<>();
+        Subscription s = Spouts.of(1,2)
+                               .mergeMap(2,16,i->Spouts.iterate(0,n->n+1).peek(n->emitted.incrementAndGet()))
+                               .forEachSubscribe(res::add,e->{},()->{});
+        s.request(4);
+        assertThat(res.size(),equalTo(4));
+        //16 per inner, with no replenishment yet
+        assertThat(emitted.get(),equalTo(32));
+        s.request(20);
+        assertThat(res.size(),equalTo(24));
+        assertThat(emitted.get(),Matchers.lessThanOrEqualTo(56));
+        s.cancel();
+    }
+    @Test
+    public void cancelStopsInners(){
+        AtomicInteger emitted = new AtomicInteger(0);
+        Subscription s = Spouts.of(1,2,3)
+                               .mergeMap(3,4,i->Spouts.iterate(0,n->n+1).peek(n->emitted.incrementAndGet()))
+                               .forEachSubscribe(e->{},e->{},()->{});
+        s.request(100);
+        s.cancel();
+        int afterCancel = emitted.get();
+        s.request(100);
+        assertThat(emitted.get(),equalTo(afterCancel));
+    }
+    @Test
+    public void mapperErrorDoesNotStallMerge(){
+        List<Integer> res = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        AtomicBoolean complete = new AtomicBoolean(false);
+        Spouts.of(1,2,3,4)
+              .mergeMap(1,4,i->{ if(i==2) throw new RuntimeException("boo"); return Spouts.of(i);})
+              .forEach(Long.MAX_VALUE,res::add,errors::add,()->complete.set(true));
+        assertThat(res,equalTo(Arrays.asList(1,3,4)));
+        assertThat(errors.size(),equalTo(1));
+        assertThat(complete.get(),equalTo(true));
+    }
     AtomicInteger start= new AtomicInteger(0);
 
     private ReactiveSeq<Integer> nextAsync() {
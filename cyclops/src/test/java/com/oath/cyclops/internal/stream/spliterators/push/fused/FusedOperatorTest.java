@@ -0,0 +1,70 @@
+package com.oath.cyclops.internal.stream.spliterators.push.fused;
+
+import com.oath.cyclops.internal.stream.spliterators.push.*;
+import cyclops.reactive.Spouts;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Fused map / filter / skip / limit chains
+ */
+public class FusedOperatorTest extends AbstractOperatorTest {
+
+    private static Operator<Integer> chain(Operator<Integer> source, long skip){
+        Operator<Integer> mapped = FusedOperator.map(source, i -> i * 2);
+        Operator<Integer> filtered = FusedOperator.filter(mapped, i -> i > 0);
+        Operator<Integer> skipped = FusedOperator.skip(filtered, skip);
+        return FusedOperator.map(FusedOperator.limit(skipped, 100), i -> i / 2);
+    }
+
+    public Operator<Integer> createEmpty(){
+       return chain(new ArrayOfValuesOperator<>(1,2),2);
+    }
+    public Operator<Integer> createOne(){
+        return chain(new SingleValueOperator<>(1), 0);
+    }
+
+    public Operator<Integer> createThree(){
+        return chain(new ArrayOfValuesOperator<>(1,2,3,4,5,6),3);
+    }
+    public Operator<Integer> createTwoAndError(){
+        return chain(Fixtures.twoAndErrorSource, 0);
+    }
+    public Operator<Integer> createThreeErrors(){
+        return chain(Fixtures.threeErrorsSource, 0);
+    }
+
+    @Test
+    public void consecutiveStagesAreCollapsed(){
+        Operator<Integer> op = chain(new ArrayOfValuesOperator<>(1,2,3),0);
+        assertThat(((FusedOperator)op).stages(),equalTo(5));
+    }
+
+    @Test
+    public void branchesDoNotShareStages(){
+        Operator<Integer> source = FusedOperator.map(new ArrayOfValuesOperator<>(1,2,3),i->i+1);
+        Operator<Integer> left = FusedOperator.map(source,i->i*10);
+        Operator<Integer> right = FusedOperator.filter(source,i->i%2==0);
+        left.subscribeAll(values::add,errors::add,()->{});
+        assertThat(values,equalTo(Arrays.asList(20,30,40)));
+        values.clear();
+        right.subscribeAll(values::add,errors::add,()->{});
+        assertThat(values,equalTo(Arrays.asList(2,4)));
+    }
+
+    @Test
+    public void limitThenSkipOrderIsRespected(){
+        assertThat(Spouts.of(1,2,3,4,5,6).limit(4).skip(1).map(i->i*2).toList(),equalTo(Arrays.asList(4,6,8)));
+        assertThat(Spouts.of(1,2,3,4,5,6).skip(1).limit(4).filter(i->i%2==0).toList(),equalTo(Arrays.asList(2,4)));
+    }
+
+    @Test
+    public void fusedLimitCompletesInfiniteStream(){
+        assertThat(Spouts.iterate(1,i->i+1).filter(i->i%2==0).map(i->i*10).limit(3).toList(),
+            equalTo(Arrays.asList(20,40,60)));
+    }
+}
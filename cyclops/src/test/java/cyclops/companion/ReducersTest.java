@@ -1,9 +1,16 @@
 package cyclops.companion;
 
 import cyclops.data.Bag;
+import cyclops.data.Vector;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.equalTo;
@@ -17,5 +24,35 @@ public class ReducersTest {
         assertThat(Bag.empty().plusAll(Arrays.asList(10)),equalTo(Bag.of(10)));
         assertThat(Bag.empty().plus(5).plusAll(Arrays.asList(10,20)),equalTo(Bag.of(5,10,20)));
     }
+    @Test
+    public void topK() {
+        assertThat(Reducers.<Integer>topK(3, Comparator.naturalOrder()).foldMap(Stream.of(5, 1, 9, 3, 7))
+                           .sorted(Comparator.reverseOrder()), equalTo(Vector.of(9, 7, 5)));
+        assertThat(Reducers.<Integer>bottomK(2, Comparator.naturalOrder()).foldMap(Stream.of(5, 1, 9, 3, 7))
+                           .sorted(), equalTo(Vector.of(1, 3)));
+        assertThat(Reducers.<Integer>topK(10, Comparator.naturalOrder()).foldMap(Stream.of(2, 1))
+                           .sorted(), equalTo(Vector.of(1, 2)));
+        assertThat(Reducers.<Integer>topK(0, Comparator.naturalOrder()).foldMap(Stream.of(2, 1)),
+                   equalTo(Vector.empty()));
+    }
+    @Test
+    public void topKZeroKeepsNothing() {
+        assertThat(Reducers.<Integer>topK(0, Comparator.naturalOrder()).foldMap(Stream.of(5, 1, 9).parallel()),
+                   equalTo(Vector.empty()));
+        assertThat(Reducers.<Integer>bottomK(0, Comparator.naturalOrder()).foldMap(Stream.of(5)),
+                   equalTo(Vector.empty()));
+    }
+    @Test(expected = IllegalArgumentException.class)
+    public void topKRejectsNegativeK() {
+        Reducers.<Integer>topK(-1, Comparator.naturalOrder());
+    }
+    @Test
+    public void topKParallel() {
+        List<Integer> data = new Random(11).ints(100_000).boxed().collect(Collectors.toList());
+        List<Integer> expected = new ArrayList<>(data);
+        expected.sort(Collections.reverseOrder());
+        Vector<Integer> top = Reducers.<Integer>topK(100, Comparator.naturalOrder()).foldMap(data.parallelStream());
+        assertThat(top.sorted(Comparator.reverseOrder()).toList(), equalTo(expected.subList(0, 100)));
+    }
 
 }
@@ -0,0 +1,135 @@
+package cyclops.data;
+
+import cyclops.companion.Monoids;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class FingerTreeTest {
+
+    static FingerTree<Integer,Integer> counted(){
+        return FingerTree.empty(Monoids.intSum,i->1);
+    }
+
+    static FingerTree<Integer,Integer> range(int start, int end){
+        return FingerTree.fromStream(Monoids.intSum,i->1,ReactiveSeq.range(start,end));
+    }
+
+    @Test
+    public void empty(){
+        FingerTree<Integer,Integer> tree = counted();
+        assertTrue(tree.isEmpty());
+        assertThat(tree.measure(),equalTo(0));
+        assertThat(tree.headOption(),equalTo(Option.none()));
+        assertThat(tree.lastOption(),equalTo(Option.none()));
+        assertThat(tree.tail(),equalTo(tree));
+        assertThat(tree.split(n->n>0),equalTo(Tuple.tuple(tree,tree)));
+        assertFalse(tree.iterator().hasNext());
+    }
+
+    @Test
+    public void dequeMatchesList(){
+        Random r = new Random(7);
+        List<Integer> expected = new ArrayList<>();
+        FingerTree<Integer,Integer> tree = counted();
+        for(int i=0;i<50_000;i++){
+            switch(r.nextInt(4)){
+                case 0:
+                    expected.add(0,i);
+                    tree = tree.prepend(i);
+                    break;
+                case 1:
+                    expected.add(i);
+                    tree = tree.append(i);
+                    break;
+                case 2:
+                    if(!expected.isEmpty())
+                        expected.remove(0);
+                    tree = tree.tail();
+                    break;
+                default:
+                    if(!expected.isEmpty())
+                        expected.remove(expected.size()-1);
+                    tree = tree.init();
+            }
+            assertThat(tree.measure(),equalTo(expected.size()));
+            assertThat(tree.headOption(),equalTo(expected.isEmpty() ? Option.none() : Option.some(expected.get(0))));
+            assertThat(tree.lastOption(),equalTo(expected.isEmpty() ? Option.none() : Option.some(expected.get(expected.size()-1))));
+        }
+        assertThat(tree.toList(),equalTo(expected));
+    }
+
+    @Test
+    public void splitByCount(){
+        FingerTree<Integer,Integer> tree = range(0,1000);
+        for(int i=0;i<=1000;i+=7){
+            int index = i;
+            Tuple2<FingerTree<Integer,Integer>,FingerTree<Integer,Integer>> split = tree.split(n->n>index);
+            assertThat(split._1().toList(),equalTo(ReactiveSeq.range(0,i).toList()));
+            assertThat(split._2().toList(),equalTo(ReactiveSeq.range(i,1000).toList()));
+            assertThat(split._1().measure()+split._2().measure(),equalTo(1000));
+            assertThat(split._1().appendTree(split._2()),equalTo(tree));
+        }
+    }
+
+    @Test
+    public void concatMatchesList(){
+        Random r = new Random(11);
+        for(int run=0;run<200;run++){
+            int a = r.nextInt(300);
+            int b = r.nextInt(300);
+            FingerTree<Integer,Integer> joined = range(0,a).appendTree(range(a,a+b));
+            assertThat(joined.measure(),equalTo(a+b));
+            assertThat(joined.toList(),equalTo(ReactiveSeq.range(0,a+b).toList()));
+            int at = r.nextInt(a+b+1);
+            assertThat(joined.split(n->n>at)._2().headOption(),equalTo(at<a+b ? Option.some(at) : Option.none()));
+        }
+    }
+
+    @Test
+    public void runningSum(){
+        FingerTree<Integer,Integer> weights = FingerTree.of(Monoids.intSum,i->i,5,10,20,1);
+        assertThat(weights.measure(),equalTo(36));
+        assertThat(weights.find(total->total>12),equalTo(Option.some(10)));
+        assertThat(weights.lookup(total->total>15),equalTo(Option.some(Tuple.tuple(15,20))));
+        assertThat(weights.find(total->total>36),equalTo(Option.none()));
+        assertThat(weights.takeUntil(total->total>=35).toList(),equalTo(Arrays.asList(5,10)));
+        assertThat(weights.dropUntil(total->total>=35).toList(),equalTo(Arrays.asList(20,1)));
+    }
+
+    @Test
+    public void maxPriority(){
+        Random r = new Random(3);
+        List<Integer> values = new ArrayList<>();
+        for(int i=0;i<5_000;i++)
+            values.add(r.nextInt());
+        FingerTree<Integer,Integer> tree = FingerTree.fromIterable(Monoids.intMax,i->i,values);
+        int max = tree.measure();
+        assertThat(max,equalTo(ReactiveSeq.fromIterable(values).maximum(Integer::compare).orElse(null)));
+        assertThat(tree.find(m->m>=max),equalTo(Option.some(max)));
+        assertThat(tree.split(m->m>=max)._1().measure()<max,equalTo(true));
+    }
+
+    @Test
+    public void mapAndFilter(){
+        FingerTree<Integer,Integer> tree = range(0,100);
+        assertThat(tree.filter(i->i%2==0).measure(),equalTo(50));
+        FingerTree<Integer,String> strings = tree.map(String::valueOf,Monoids.intSum,String::length);
+        assertThat(strings.measure(),equalTo(10+180));
+        assertThat(strings.headOption(),equalTo(Option.some("0")));
+        assertThat(tree.prependAll(Arrays.asList(-2,-1)).toList(),equalTo(ReactiveSeq.range(-2,100).toList()));
+        assertThat(range(0,3).toString(),equalTo("[0, 1, 2]"));
+    }
+}
@@ -4,7 +4,9 @@ import cyclops.control.Maybe;
 import cyclops.control.Option;
 import cyclops.data.tuple.Tuple2;
 import cyclops.data.basetests.BaseImmutableSetTest;
+import cyclops.data.base.HAMT;
 import org.hamcrest.MatcherAssert;
+import cyclops.reactive.ReactiveSeq;
 import org.junit.Test;
 
 import java.util.Objects;
@@ -16,6 +18,7 @@ import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertTrue;
 
 public class HashSetTest extends BaseImmutableSetTest{
     @Override
@@ -84,4 +87,28 @@ public class HashSetTest extends BaseImmutableSetTest{
         assertThat(of(1).lastIndexOfSlice(Seq.of(1,2,3)),equalTo(Maybe.nothing()));
         assertThat(of(0,1,2,3,4,5,6,1,2,3).lastIndexOfSlice(Seq.of(1,2,3)),equalTo(Maybe.just(1l)));
     }
+    @Test
+    public void structuralSetAlgebra(){
+        HashSet<Integer> base = HashSet.fromStream(ReactiveSeq.range(0,10_000));
+        HashSet<Integer> other = base.plus(-1).plus(-2).removeValue(5);
+        assertThat(base.union(other),equalTo(base.plus(-1).plus(-2)));
+        assertThat(base.intersection(other),equalTo(base.removeValue(5)));
+        assertThat(base.difference(other),equalTo(HashSet.of(5)));
+        assertThat(other.difference(base),equalTo(HashSet.of(-1,-2)));
+        assertTrue(base.union(base)==base);
+        assertTrue(base.intersection(base)==base);
+        assertThat(base.plusAll(other),equalTo(base.union(other)));
+        assertThat(base.retainAll(other),equalTo(base.intersection(other)));
+        assertThat(base.removeAll(other),equalTo(HashSet.of(5)));
+        assertThat(HashSet.of(1,2,3).union(HashSet.empty()),equalTo(HashSet.of(1,2,3)));
+        assertThat(HashSet.of(1,2,3).intersection(HashSet.of(4)),equalTo(HashSet.empty()));
+    }
+    @Test
+    public void deprecatedHamtAdaptersKeepTheElements(){
+        HashSet<Integer> set = HashSet.fromStream(ReactiveSeq.range(0,1000));
+        HAMT.Node<Integer,Integer> hamt = set.getMap();
+        assertThat(hamt.size(),equalTo(1000));
+        assertTrue(set.stream().allMatch(hamt::containsKey));
+        assertThat(new HashMap<>(hamt),equalTo(HashMap.fromStream(set.stream().map(i->Tuple2.of(i,i)))));
+    }
 }
@@ -3,11 +3,15 @@ package cyclops.data;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
 import cyclops.data.basetests.BaseImmutableMapTest;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
 
 import java.util.Map;
 import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 
 public class ImmutableHashMapTest extends BaseImmutableMapTest {
@@ -34,4 +38,34 @@ public class ImmutableHashMapTest extends BaseImmutableMapTest {
         HashMap<String, Integer> x = HashMap.fromStream(s);
         return x;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void structuralMerge(){
+        HashMap<Integer,Integer> base = HashMap.fromStream(ReactiveSeq.range(0,10_000).map(i->Tuple.tuple(i,i)));
+        HashMap<Integer,Integer> other = base.put(-1,-1).put(5,50).remove(6);
+
+        assertThat(base.merge(other,(a,b)->a+b),equalTo(base.mapValues(i->i*2).put(-1,-1).put(5,55).put(6,6)));
+        assertThat(base.putAll(other),equalTo(base.put(-1,-1).put(5,50)));
+        assertTrue(base.putAll(base)==base);
+        assertThat(base.retainKeys(other),equalTo(base.remove(6)));
+        assertThat(base.removeAllKeys(HashSet.of(1,2,3)),equalTo(base.remove(1).remove(2).remove(3)));
+        assertThat(base.removeAllKeys(Seq.of(1,2,3)),equalTo(base.remove(1).remove(2).remove(3)));
+    }
+
+    @Test
+    public void mergeAppliesMergerToEveryCommonKey(){
+        assertThat(HashMap.of("a",1).merge(HashMap.of("a",1),Integer::sum),equalTo(HashMap.of("a",2)));
+        assertThat(HashMap.of("a",1000).merge(HashMap.of("a",1000),Integer::sum),equalTo(HashMap.of("a",2000)));
+        HashMap<String,Integer> m = HashMap.of("a",1,"b",2);
+        assertThat(m.merge(m,Integer::sum),equalTo(HashMap.of("a",2,"b",4)));
+    }
+
+    @Test
+    public void collidingKeysAreRemoved(){
+        //"Aa", "BB" and "C#" share a hashCode
+        assertThat(HashSet.of("Aa","BB").difference(HashSet.of("Aa","BB","x")),equalTo(HashSet.empty()));
+        assertThat(HashSet.of("Aa","BB","C#").intersection(HashSet.of("C#","x")),equalTo(HashSet.of("C#")));
+        assertThat(HashMap.of("Aa",1,"BB",2).put("C#",3).removeAllKeys(HashSet.of("Aa","BB","C#")),equalTo(HashMap.empty()));
+        assertThat(HashMap.of("Aa",1,"BB",2).put("C#",3).retainKeys(HashMap.of("BB",0)),equalTo(HashMap.of("BB",2)));
+    }
+}
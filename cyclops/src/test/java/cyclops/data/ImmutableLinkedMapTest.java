@@ -3,10 +3,17 @@ package cyclops.data;
 import cyclops.data.basetests.BaseImmutableMapTest;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
 
+import org.junit.Test;
+
+import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
 
 public class ImmutableLinkedMapTest extends BaseImmutableMapTest {
 
@@ -32,4 +39,34 @@ public class ImmutableLinkedMapTest extends BaseImmutableMapTest {
         LinkedMap<String, Integer> x = LinkedMap.fromStream(s);
         return x;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void insertionOrder() {
+        LinkedMap<String, Integer> map = LinkedMap.<String, Integer>empty().put("c", 1).put("a", 2).put("b", 3);
+        assertThat(map.stream().map(t -> t._1()).toList(), equalTo(Arrays.asList("c", "a", "b")));
+        assertThat(map.put("a", 20).stream().toList(),
+                   equalTo(Arrays.asList(Tuple.tuple("c", 1), Tuple.tuple("a", 20), Tuple.tuple("b", 3))));
+        assertThat(map.remove("a").put("a", 2).stream().map(t -> t._1()).toList(), equalTo(Arrays.asList("c", "b", "a")));
+        assertThat(map.remove("a").size(), equalTo(2));
+        assertThat(map.remove("x"), equalTo(map));
+    }
+
+    @Test
+    public void putAllKeepsExistingEntries() {
+        LinkedMap<String, Integer> map = LinkedMap.of("a", 1, "b", 2).putAll(LinkedMap.of("b", 20, "c", 3));
+        assertThat(map.stream().toList(),
+                   equalTo(Arrays.asList(Tuple.tuple("a", 1), Tuple.tuple("b", 20), Tuple.tuple("c", 3))));
+    }
+
+    @Test
+    public void evictOldest() {
+        LinkedMap<Integer, Integer> map = LinkedMap.empty();
+        for (int i = 0; i < 1000; i++)
+            map = map.put(i, i);
+        for (int i = 0; i < 100_000; i++)
+            map = map.remove(i).put(1000 + i, i);
+        assertThat(map.size(), equalTo(1000));
+        assertThat(map.iterator().next(), equalTo(Tuple.tuple(100_000, 99_000)));
+        assertThat(map.stream().map(t -> t._1()).toList(), equalTo(ReactiveSeq.range(100_000, 101_000).toList()));
+    }
+}
@@ -0,0 +1,106 @@
+package cyclops.data;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedDequeTest {
+
+    @Test
+    public void basics(){
+        IndexedDeque<Integer> deque = IndexedDeque.of(1,2,3).prepend(0).append(4);
+        assertThat(deque.toList(),equalTo(Arrays.asList(0,1,2,3,4)));
+        assertThat(deque.size(),equalTo(5));
+        assertThat(deque.get(2),equalTo(Option.some(2)));
+        assertThat(deque.get(5),equalTo(Option.none()));
+        assertThat(deque.get(-1),equalTo(Option.none()));
+        assertThat(deque.getOrElse(7,-1),equalTo(-1));
+        assertThat(deque.headOption(),equalTo(Option.some(0)));
+        assertThat(deque.lastOption(),equalTo(Option.some(4)));
+        assertThat(deque.insertAt(1,10).toList(),equalTo(Arrays.asList(0,10,1,2,3,4)));
+        assertThat(deque.updateAt(4,40).toList(),equalTo(Arrays.asList(0,1,2,3,40)));
+        assertThat(deque.removeAt(0).toList(),equalTo(Arrays.asList(1,2,3,4)));
+        assertThat(deque.take(2).toList(),equalTo(Arrays.asList(0,1)));
+        assertThat(deque.drop(3).toList(),equalTo(Arrays.asList(3,4)));
+        assertThat(deque.reverse().toList(),equalTo(Arrays.asList(4,3,2,1,0)));
+        assertThat(deque.map(i->i*2).toList(),equalTo(Arrays.asList(0,2,4,6,8)));
+        assertThat(deque.toString(),equalTo("[0, 1, 2, 3, 4]"));
+        assertTrue(IndexedDeque.empty().isEmpty());
+    }
+
+    @Test
+    public void matchesArrayList(){
+        Random r = new Random(17);
+        List<Integer> expected = new ArrayList<>();
+        IndexedDeque<Integer> deque = IndexedDeque.empty();
+        for(int i=0;i<20_000;i++){
+            int index = expected.isEmpty() ? 0 : r.nextInt(expected.size());
+            switch(r.nextInt(6)){
+                case 0:
+                    expected.add(0,i);
+                    deque = deque.prepend(i);
+                    break;
+                case 1:
+                    expected.add(i);
+                    deque = deque.append(i);
+                    break;
+                case 2:
+                    expected.add(index,i);
+                    deque = deque.insertAt(index,i);
+                    break;
+                case 3:
+                    if(!expected.isEmpty())
+                        expected.remove(index);
+                    deque = deque.removeAt(index);
+                    break;
+                case 4:
+                    if(!expected.isEmpty())
+                        expected.set(index,-i);
+                    deque = deque.updateAt(index,-i);
+                    break;
+                default:
+                    assertThat(deque.get(index),equalTo(expected.isEmpty() ? Option.none() : Option.some(expected.get(index))));
+            }
+            assertThat(deque.size(),equalTo(expected.size()));
+        }
+        assertThat(deque.toList(),equalTo(expected));
+    }
+
+    @Test
+    public void splitAndConcat(){
+        IndexedDeque<Integer> deque = IndexedDeque.fromStream(ReactiveSeq.range(0,1000));
+        for(int i=0;i<=1000;i+=13){
+            Tuple2<IndexedDeque<Integer>,IndexedDeque<Integer>> split = deque.splitAt(i);
+            assertThat(split._1().size(),equalTo(i));
+            assertThat(split._2().headOption(),equalTo(i<1000 ? Option.some(i) : Option.none()));
+            assertThat(split._1().appendAll(split._2()),equalTo(deque));
+            assertThat(split._2().prependAll(split._1()),equalTo(deque));
+        }
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        IndexedDeque<Integer> deque = IndexedDeque.fromStream(ReactiveSeq.range(0,100));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(deque);
+        }
+        IndexedDeque<Integer> read = (IndexedDeque<Integer>)new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertThat(read,equalTo(deque));
+        assertThat(read.append(100).get(100),equalTo(Option.some(100)));
+    }
+}
@@ -0,0 +1,82 @@
+package cyclops.data;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple3;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class IntervalTreeTest {
+
+    @Test
+    public void meetings(){
+        IntervalTree<Integer,String> meetings = IntervalTree.<Integer,String>empty()
+                                                            .insert(11,13,"review")
+                                                            .insert(9,10,"standup")
+                                                            .insert(12,14,"lunch");
+        assertThat(meetings.size(),equalTo(3));
+        assertThat(meetings.stabbing(12).toList(),equalTo(Arrays.asList(Tuple.tuple(11,13,"review"),Tuple.tuple(12,14,"lunch"))));
+        assertThat(meetings.stabbing(10).toList(),equalTo(Arrays.asList(Tuple.tuple(9,10,"standup"))));
+        assertThat(meetings.anyOverlapping(15,20),equalTo(Option.none()));
+        assertThat(meetings.highest(),equalTo(Option.some(Tuple.tuple(12,14,"lunch"))));
+        assertThat(meetings.removeHighest().highest(),equalTo(Option.some(Tuple.tuple(11,13,"review"))));
+        assertThat(meetings.remove(11,13,"review").size(),equalTo(2));
+        assertThat(meetings.remove(11,13,"other"),equalTo(meetings));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invertedInterval(){
+        IntervalTree.<Integer,String>empty().insert(2,1,"x");
+    }
+
+    static boolean overlaps(Tuple3<Integer,Integer,Integer> t, int low, int high){
+        return t._1()<=high && t._2()>=low;
+    }
+
+    @Test
+    public void matchesScan(){
+        Random r = new Random(23);
+        List<Tuple3<Integer,Integer,Integer>> expected = new ArrayList<>();
+        IntervalTree<Integer,Integer> tree = IntervalTree.empty();
+        for(int i=0;i<3_000;i++){
+            int low = r.nextInt(10_000);
+            int high = low + r.nextInt(200);
+            expected.add(Tuple.tuple(low,high,i));
+            tree = tree.insert(low,high,i);
+            if(r.nextInt(5)==0){
+                Tuple3<Integer,Integer,Integer> removed = expected.remove(r.nextInt(expected.size()));
+                tree = tree.remove(removed._1(),removed._2(),removed._3());
+            }
+        }
+        expected.sort(Comparator.comparing(Tuple3::_1));
+        assertThat(tree.size(),equalTo(expected.size()));
+        assertThat(tree.toList(),equalTo(expected));
+
+        for(int i=0;i<500;i++){
+            int low = r.nextInt(10_500);
+            int high = low + r.nextInt(50);
+            List<Tuple3<Integer,Integer,Integer>> overlapping = expected.stream()
+                                                                       .filter(t->overlaps(t,low,high))
+                                                                       .collect(Collectors.toList());
+            assertThat(tree.overlapping(low,high).toList(),equalTo(overlapping));
+            assertThat(tree.anyOverlapping(low,high),equalTo(overlapping.isEmpty() ? Option.none() : Option.some(overlapping.get(0))));
+        }
+
+        IntervalTree<Integer,Integer> drained = tree;
+        for(int i=0;i<100;i++){
+            int maxHigh = drained.stream().map(Tuple3::_2).maximum(Integer::compare).orElse(null);
+            assertThat(drained.highest().map(Tuple3::_2),equalTo(Option.some(maxHigh)));
+            drained = drained.removeHighest();
+        }
+        assertThat(drained.size(),equalTo(expected.size()-100));
+    }
+}
@@ -0,0 +1,112 @@
+package cyclops.data;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class PriorityQueueTest {
+
+    @Test
+    public void empty(){
+        PriorityQueue<Integer> q = PriorityQueue.empty();
+        assertTrue(q.isEmpty());
+        assertThat(q.size(),equalTo(0));
+        assertThat(q.findMin(),equalTo(Option.none()));
+        assertThat(q.deleteMin(),equalTo(q));
+        assertThat(q.dequeue(-1),equalTo(Tuple.tuple(-1,q)));
+        assertFalse(q.iterator().hasNext());
+    }
+
+    @Test
+    public void ordersAndKeepsDuplicates(){
+        PriorityQueue<Integer> q = PriorityQueue.of(5,1,3,1,4);
+        assertThat(q.size(),equalTo(5));
+        assertThat(q.findMin(),equalTo(Option.some(1)));
+        assertThat(q.toList(),equalTo(Arrays.asList(1,1,3,4,5)));
+        assertThat(q.deleteMin().toList(),equalTo(Arrays.asList(1,3,4,5)));
+        assertThat(q.dequeue(-1)._1(),equalTo(1));
+        assertThat(q.get(2),equalTo(Option.some(3)));
+        assertThat(q.get(5),equalTo(Option.none()));
+        assertThat(q.drop(2).toList(),equalTo(Arrays.asList(3,4,5)));
+        assertThat(q.take(2).toList(),equalTo(Arrays.asList(1,1)));
+    }
+
+    @Test
+    public void persistent(){
+        PriorityQueue<Integer> q = PriorityQueue.of(3,2,1);
+        PriorityQueue<Integer> q2 = q.enqueue(0);
+        PriorityQueue<Integer> q3 = q.deleteMin();
+        assertThat(q.toList(),equalTo(Arrays.asList(1,2,3)));
+        assertThat(q2.toList(),equalTo(Arrays.asList(0,1,2,3)));
+        assertThat(q3.toList(),equalTo(Arrays.asList(2,3)));
+        assertThat(q.deleteMin().toList(),equalTo(Arrays.asList(2,3)));
+    }
+
+    @Test
+    public void matchesJavaPriorityQueue(){
+        Random r = new Random(31);
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        PriorityQueue<Integer> q = PriorityQueue.empty();
+        for(int i=0;i<100_000;i++){
+            if(r.nextInt(3)==0){
+                assertThat(q.findMin().orElse(null),equalTo(expected.poll()));
+                q = q.deleteMin();
+            }else{
+                int next = r.nextInt(1_000);
+                expected.add(next);
+                q = q.enqueue(next);
+            }
+            assertThat(q.size(),equalTo(expected.size()));
+        }
+        List<Integer> drained = new ArrayList<>();
+        while(!expected.isEmpty())
+            drained.add(expected.poll());
+        assertThat(q.toList(),equalTo(drained));
+    }
+
+    @Test
+    public void meld(){
+        PriorityQueue<Integer> evens = PriorityQueue.fromStream(ReactiveSeq.range(0,1000).map(i->i*2));
+        PriorityQueue<Integer> odds = PriorityQueue.fromStream(ReactiveSeq.range(0,1000).map(i->i*2+1));
+        PriorityQueue<Integer> all = evens.meld(odds);
+        assertThat(all.size(),equalTo(2000));
+        assertThat(all.toList(),equalTo(ReactiveSeq.range(0,2000).toList()));
+        assertThat(PriorityQueue.<Integer>empty().meld(evens),equalTo(evens));
+        assertThat(evens.appendAll(odds),equalTo(all));
+
+        PriorityQueue<Integer> descending = PriorityQueue.of(Comparator.<Integer>reverseOrder(),1,2);
+        assertThat(descending.meld(PriorityQueue.of(3,0)).toList(),equalTo(Arrays.asList(3,2,1,0)));
+    }
+
+    @Test
+    public void comparatorIsRetained(){
+        PriorityQueue<String> q = PriorityQueue.of(Comparator.comparing(String::length),"ccc","a","bb");
+        assertThat(q.toList(),equalTo(Arrays.asList("a","bb","ccc")));
+        assertThat(q.filter(s->!s.equals("bb")).enqueue("dd").toList(),equalTo(Arrays.asList("a","dd","ccc")));
+        assertThat(q.removeValue("a").enqueue("").toList(),equalTo(Arrays.asList("","bb","ccc")));
+        assertThat(q.reverse().toList(),equalTo(Arrays.asList("ccc","bb","a")));
+        assertThat(q.replace("bb","dddd").toList(),equalTo(Arrays.asList("a","ccc","dddd")));
+        assertThat(q.map(String::length).toList(),equalTo(Arrays.asList(1,2,3)));
+        assertThat(q.map(String::length,Comparator.<Integer>reverseOrder()).toList(),equalTo(Arrays.asList(3,2,1)));
+    }
+
+    @Test
+    public void equalsQueues(){
+        assertThat(PriorityQueue.of(3,1,2),equalTo(BankersQueue.of(1,2,3)));
+        assertThat(PriorityQueue.of(3,1,2).hashCode(),equalTo(BankersQueue.of(1,2,3).hashCode()));
+        assertThat(PriorityQueue.empty(),equalTo(BankersQueue.empty()));
+        assertThat(PriorityQueue.of(1,2).toString(),equalTo(BankersQueue.of(1,2).toString()));
+    }
+}
@@ -100,7 +100,7 @@ public class RBTTest {
         assertThat(tree.size(),equalTo(9));
 
         tree = RedBlackTree.rootIsBlack(tree.minus(102));
-        assertThat(tree.tree(),equalTo("{BLACK:5 {RED:-2 {BLACK:-5 {RED:-7}} {BLACK:-1}} {RED:101 {BLACK:100 {RED:7}}}}"));
+        assertThat(tree.tree(),equalTo("{BLACK:5 {RED:-2 {BLACK:-5 {RED:-7}} {BLACK:-1}} {RED:100 {BLACK:7} {BLACK:101}}}"));
         assertThat(tree.size(),equalTo(8));
 
     }
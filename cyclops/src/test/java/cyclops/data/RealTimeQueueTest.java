@@ -0,0 +1,138 @@
+package cyclops.data;
+
+import com.oath.cyclops.types.traversable.IterableX;
+import cyclops.control.Option;
+import cyclops.data.basetests.BaseImmutableQueueTest;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class RealTimeQueueTest extends BaseImmutableQueueTest {
+
+    @Override
+    protected <T> ImmutableQueue<T> fromStream(Stream<T> s) {
+        return RealTimeQueue.fromStream(s);
+    }
+
+    @Override
+    public <T> ImmutableQueue<T> empty() {
+        return RealTimeQueue.empty();
+    }
+
+    @Override
+    public <T> ImmutableQueue<T> of(T... values) {
+        return RealTimeQueue.of(values);
+    }
+
+    @Override
+    public IterableX<Integer> range(int start, int end) {
+        return RealTimeQueue.fromStream(ReactiveSeq.range(start,end));
+    }
+
+    @Override
+    public IterableX<Long> rangeLong(long start, long end) {
+        return RealTimeQueue.fromStream(ReactiveSeq.rangeLong(start,end));
+    }
+
+    @Override
+    public <T> IterableX<T> iterate(int times, T seed, UnaryOperator<T> fn) {
+        return RealTimeQueue.fromStream(ReactiveSeq.iterate(seed,fn).limit(times));
+    }
+
+    @Override
+    public <T> IterableX<T> generate(int times, Supplier<T> fn) {
+        return RealTimeQueue.fromStream(ReactiveSeq.generate(fn).limit(times));
+    }
+
+    @Override
+    public <U, T> IterableX<T> unfold(U seed, Function<? super U, Option<Tuple2<T, U>>> unfolder) {
+        return RealTimeQueue.fromStream(ReactiveSeq.unfold(seed,unfolder));
+    }
+
+    @Test
+    public void enqueueDequeue(){
+        RealTimeQueue<Integer> q = RealTimeQueue.of(1,2,3).enqueue(4);
+        assertThat(q.dequeue(-1),equalTo(Tuple.tuple(1,RealTimeQueue.of(2,3,4))));
+        assertThat(q.prepend(0).toList(),equalTo(Arrays.asList(0,1,2,3,4)));
+        assertThat(RealTimeQueue.<Integer>empty().dequeue(-1)._1(),equalTo(-1));
+        assertThat(q.get(3),equalTo(Option.some(4)));
+        assertThat(q,equalTo(BankersQueue.of(1,2,3,4)));
+        assertThat(q.hashCode(),equalTo(BankersQueue.of(1,2,3,4).hashCode()));
+    }
+
+    @Test
+    public void matchesArrayDeque(){
+        Random r = new Random(13);
+        Deque<Integer> expected = new ArrayDeque<>();
+        RealTimeQueue<Integer> q = RealTimeQueue.empty();
+        for(int i=0;i<100_000;i++){
+            int op = r.nextInt(5);
+            if(op<2){
+                expected.addLast(i);
+                q = q.enqueue(i);
+            }else if(op==2){
+                expected.addFirst(i);
+                q = q.prepend(i);
+            }else{
+                assertThat(q.dequeue(-1)._1(),equalTo(expected.isEmpty() ? -1 : expected.pollFirst()));
+                q = q.tail();
+            }
+            assertThat(q.size(),equalTo(expected.size()));
+        }
+        assertThat(q.toList(),equalTo(new ArrayList<>(expected)));
+    }
+
+    @Test
+    public void persistentDuringRotation(){
+        List<RealTimeQueue<Integer>> versions = new ArrayList<>();
+        RealTimeQueue<Integer> q = RealTimeQueue.empty();
+        for(int i=0;i<1_000;i++){
+            q = i%3==0 ? q.tail() : q.enqueue(i);
+            versions.add(q);
+        }
+        List<Integer> expected = new ArrayList<>();
+        for(int i=0;i<1_000;i++){
+            if(i%3==0){
+                if(!expected.isEmpty())
+                    expected.remove(0);
+            }else{
+                expected.add(i);
+            }
+            RealTimeQueue<Integer> version = versions.get(i);
+            assertThat(version.toList(),equalTo(expected));
+            assertThat(version.enqueue(-1).tail().toList(),equalTo(ReactiveSeq.fromIterable(expected).append(-1).drop(1).toList()));
+        }
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        RealTimeQueue<Integer> q = RealTimeQueue.fromStream(ReactiveSeq.range(0,1000)).tail().enqueue(1000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(q);
+            out.writeObject(RealTimeQueue.empty());
+        }
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(in.readObject(),equalTo(q));
+        assertThat(in.readObject(),equalTo(RealTimeQueue.empty()));
+    }
+}
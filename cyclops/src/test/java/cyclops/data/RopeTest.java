@@ -0,0 +1,175 @@
+package cyclops.data;
+
+import cyclops.control.Option;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class RopeTest {
+
+    @Test
+    public void basics(){
+        Rope rope = Rope.of("hello ").concat(Rope.of("world"));
+        assertThat(rope.toString(),equalTo("hello world"));
+        assertThat(rope.length(),equalTo(11));
+        assertThat(rope.size(),equalTo(11));
+        assertThat(rope.charAt(4),equalTo('o'));
+        assertThat(rope.get(6),equalTo(Option.some('w')));
+        assertThat(rope.get(11),equalTo(Option.none()));
+        assertThat(rope.getOrElse(-1,'x'),equalTo('x'));
+        assertThat(rope.substring(6).toString(),equalTo("world"));
+        assertThat(rope.substring(2,7).toString(),equalTo("llo w"));
+        assertThat(rope.subSequence(0,5).toString(),equalTo("hello"));
+        assertThat(rope.insertAt(5,',').toString(),equalTo("hello, world"));
+        assertThat(rope.updateAt(0,'j').toString(),equalTo("jello world"));
+        assertThat(rope.updateAt(11,'j'),equalTo(rope));
+        assertThat(rope.removeAt(5).toString(),equalTo("helloworld"));
+        assertThat(rope.deleteBetween(1,10).toString(),equalTo("hd"));
+        assertThat(rope.reverse().toString(),equalTo("dlrow olleh"));
+        assertThat(rope.toUpperCase().toString(),equalTo("HELLO WORLD"));
+        assertThat(rope.mapChar(c->c=='o' ? '0' : c).toString(),equalTo("hell0 w0rld"));
+        assertThat(rope.words().map(Rope::toString).toList(),equalTo(Arrays.asList("hello","world")));
+        assertThat(Rope.of("a\n\nb").lines().map(Rope::toString).toList(),equalTo(Arrays.asList("a","","b")));
+        assertThat(rope.indexOf('o',5),equalTo(7));
+        assertThat(rope.indexOf('z',0),equalTo(-1));
+        assertThat(rope.chars().count(),equalTo(11L));
+        assertThat(rope.filter(Character::isLetter).toString(),equalTo("helloworld"));
+        assertTrue(Rope.empty().isEmpty());
+        assertTrue(Rope.of("").isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAtOutOfBounds(){
+        Rope.of("abc").charAt(3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void subSequenceOutOfBounds(){
+        Rope.of("abc").subSequence(2,1);
+    }
+
+    @Test
+    public void equalsAndHashCode(){
+        Rope rope = Rope.of("ab").concat(Rope.of("c"));
+        assertThat(rope,equalTo(Rope.of("abc")));
+        assertThat(rope.hashCode(),equalTo(Rope.of("abc").hashCode()));
+        assertThat(rope.hashCode(),equalTo(Arrays.asList('a','b','c').hashCode()));
+        assertTrue(rope.equals(Vector.of('a','b','c')));
+        assertFalse(rope.equals(Rope.of("abd")));
+        assertFalse(rope.equals(Rope.of("ab")));
+    }
+
+    @Test
+    public void charSequence(){
+        Rope text = Rope.of("the quick brown fox");
+        assertTrue(Pattern.compile("qu.ck").matcher(text).find());
+        StringBuilder builder = new StringBuilder().append(text,4,9);
+        assertThat(builder.toString(),equalTo("quick"));
+        assertThat(text.subSequence(4,9).toString(),equalTo("quick"));
+    }
+
+    @Test
+    public void matchesStringBuilder(){
+        Random r = new Random(23);
+        StringBuilder expected = new StringBuilder();
+        Rope rope = Rope.empty();
+        for(int i=0;i<5_000;i++){
+            int pos = expected.length()==0 ? 0 : r.nextInt(expected.length());
+            switch(r.nextInt(6)){
+                case 0:
+                case 1:
+                    String text = randomString(r,r.nextInt(600));
+                    expected.insert(pos,text);
+                    rope = rope.insertAt(pos,Rope.of(text));
+                    break;
+                case 2:
+                    String appended = randomString(r,r.nextInt(40));
+                    expected.append(appended);
+                    rope = rope.concat(Rope.of(appended));
+                    break;
+                case 3:
+                    if(expected.length()>0){
+                        expected.deleteCharAt(pos);
+                        rope = rope.removeAt(pos);
+                    }
+                    break;
+                case 4:
+                    int end = pos+r.nextInt(expected.length()-pos+1);
+                    expected.delete(pos,end);
+                    rope = rope.deleteBetween(pos,end);
+                    break;
+                default:
+                    int to = pos+r.nextInt(expected.length()-pos+1);
+                    assertThat(rope.subSequence(pos,to).toString(),equalTo(expected.substring(pos,to)));
+            }
+            assertThat(rope.length(),equalTo(expected.length()));
+            if(expected.length()>0){
+                int index = r.nextInt(expected.length());
+                assertThat(rope.charAt(index),equalTo(expected.charAt(index)));
+            }
+        }
+        assertThat(rope.toString(),equalTo(expected.toString()));
+    }
+
+    @Test
+    public void staysBalanced(){
+        Rope rope = Rope.empty();
+        for(int i=0;i<200_000;i++){
+            rope = rope.append((char)('a'+i%26));
+        }
+        for(int i=0;i<200_000;i++){
+            rope = Rope.of("x").concat(rope);
+        }
+        assertThat(rope.length(),equalTo(400_000));
+        assertThat(rope.charAt(200_001),equalTo('b'));
+        assertThat(rope.substring(199_999,200_003).toString(),equalTo("xabc"));
+        assertThat(rope.drop(100).take(3).toString(),equalTo("xxx"));
+    }
+
+    @Test
+    public void fromLargeText(){
+        StringBuilder builder = new StringBuilder();
+        for(int i=0;i<100_000;i++)
+            builder.append(i%10);
+        Rope rope = Rope.of(builder);
+        assertThat(rope.toString(),equalTo(builder.toString()));
+        assertThat(rope.substring(12_345,12_350).toString(),equalTo("56789"));
+        assertThat(rope.reverse().charAt(0),equalTo('9'));
+    }
+
+    @Test
+    public void fold(){
+        assertThat(Rope.of("abc").fold(s->s.head(),n->'z'),equalTo('a'));
+        assertThat(Rope.empty().fold(s->s.head(),n->'z'),equalTo('z'));
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        Rope rope = Rope.of("hello ").concat(Rope.of("world")).substring(3);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(rope);
+        }
+        try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))){
+            assertThat(in.readObject(),equalTo(rope));
+        }
+    }
+
+    private static String randomString(Random r, int length){
+        char[] chars = new char[length];
+        for(int i=0;i<length;i++)
+            chars[i] = (char)('a'+r.nextInt(26));
+        return new String(chars);
+    }
+}
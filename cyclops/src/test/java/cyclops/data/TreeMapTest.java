@@ -1,9 +1,22 @@
 package cyclops.data;
 
 
+import cyclops.control.Ior;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by johnmcclean on 02/09/2017.
@@ -22,4 +35,122 @@ public class TreeMapTest {
 
         System.out.println(map.put(10,"boo!").elementAt(10).orElse(null));
     }
+
+    @Test
+    public void diffMatchesScan(){
+        Random r = new Random(11);
+        TreeMap<Integer,Integer> from = TreeMap.empty(Comparator.<Integer>naturalOrder());
+        for(int i=0;i<5000;i++)
+            from = from.put(r.nextInt(10_000),i);
+        TreeMap<Integer,Integer> to = from;
+        for(int i=0;i<300;i++){
+            int key = r.nextInt(10_000);
+            to = r.nextBoolean() ? to.put(key,-i) : to.remove(key);
+        }
+        List<Tuple2<Integer,Ior<Integer,Integer>>> expected = HashMap.fromStream(from.stream()).diffStream(HashMap.fromStream(to.stream()))
+                                                                      .sorted(Comparator.comparing(Tuple2::_1)).toList();
+        assertThat(from.diffStream(to).toList(),equalTo(expected));
+    }
+
+    @Test
+    public void diffSkipsSharedSubtrees(){
+        AtomicInteger comparisons = new AtomicInteger(0);
+        Comparator<Integer> counting = (a,b)->{
+            comparisons.incrementAndGet();
+            return Integer.compare(a,b);
+        };
+        TreeMap<Integer,Integer> from = TreeMap.empty(counting);
+        for(int i=0;i<100_000;i++)
+            from = from.put(i,i);
+        TreeMap<Integer,Integer> to = from.put(50_000,-1).put(-1,-1);
+
+        comparisons.set(0);
+        assertThat(from.diffStream(to).toList(),equalTo(Arrays.asList(Tuple.tuple(-1,Ior.right(-1)),
+                                                                      Tuple.tuple(50_000,Ior.both(50_000,-1)))));
+        assertTrue(comparisons.get()+" comparisons",comparisons.get()<5_000);
+    }
+
+    @Test
+    public void rangeQueries(){
+        TreeMap<Integer,String> map = TreeMap.empty(Comparator.<Integer>naturalOrder());
+        for(int i=0;i<100;i+=10)
+            map = map.put(i,"v"+i);
+
+        assertThat(map.subMap(20,50).stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(20,30,40)));
+        assertThat(map.subMap(20,false,50,true).stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(30,40,50)));
+        assertThat(map.headMap(30).stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(0,10,20)));
+        assertThat(map.tailMap(75).stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(80,90)));
+        assertThat(map.tailMap(80,false).stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(90)));
+        assertThat(map.subMap(20,50).get(30),equalTo(Option.some("v30")));
+        assertThat(map.subMap(20,50).size(),equalTo(3));
+        assertThat(map.rangeStream(15,true,45,true).map(Tuple2::_1).toList(),equalTo(Arrays.asList(20,30,40)));
+        assertThat(map.streamFrom(70,false).map(Tuple2::_1).toList(),equalTo(Arrays.asList(80,90)));
+        assertThat(map.streamTo(10,true).map(Tuple2::_1).toList(),equalTo(Arrays.asList(0,10)));
+
+        assertThat(map.floor(25),equalTo(Option.some(Tuple.tuple(20,"v20"))));
+        assertThat(map.floor(20),equalTo(Option.some(Tuple.tuple(20,"v20"))));
+        assertThat(map.lower(20),equalTo(Option.some(Tuple.tuple(10,"v10"))));
+        assertThat(map.ceiling(25),equalTo(Option.some(Tuple.tuple(30,"v30"))));
+        assertThat(map.higher(90),equalTo(Option.none()));
+        assertThat(map.lower(0),equalTo(Option.none()));
+        assertThat(map.first(),equalTo(Option.some(Tuple.tuple(0,"v0"))));
+        assertThat(map.last(),equalTo(Option.some(Tuple.tuple(90,"v90"))));
+
+        assertThat(map.rank(35),equalTo(4));
+        assertThat(map.rank(-1),equalTo(0));
+        assertThat(map.select(4),equalTo(Option.some(Tuple.tuple(40,"v40"))));
+        assertThat(map.select(10),equalTo(Option.none()));
+    }
+
+    @Test
+    public void rangeQueriesAfterRemoval(){
+        TreeMap<Integer,String> map = TreeMap.empty(Comparator.<Integer>naturalOrder());
+        for(int i=0;i<1_000;i++)
+            map = map.put(i,"v"+i);
+        for(int i=0;i<1_000;i+=3)
+            map = map.remove(i);
+
+        assertThat(map.size(),equalTo(666));
+        assertThat(map.subMap(10,20).stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(10,11,13,14,16,17,19)));
+        assertThat(map.headMap(6).stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(1,2,4,5)));
+        assertThat(map.tailMap(994).stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(994,995,997,998)));
+        assertThat(map.subMap(100,900).size(),equalTo(534));
+        assertThat(map.rank(500),equalTo(333));
+        assertThat(map.select(333),equalTo(Option.some(Tuple.tuple(500,"v500"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subMapInvertedRange(){
+        TreeMap.<Integer,String>empty(Comparator.<Integer>naturalOrder()).subMap(5,1);
+    }
+
+    @Test
+    public void fromSorted(){
+        TreeMap<Integer,String> map = TreeMap.fromSorted(Seq.of(Tuple.tuple(1,"a"),Tuple.tuple(2,"b"),Tuple.tuple(3,"c")),
+                                                        Comparator.<Integer>naturalOrder());
+        assertThat(map,equalTo(TreeMap.of(Comparator.<Integer>naturalOrder(),1,"a",2,"b").put(3,"c")));
+        assertThat(map.get(2),equalTo(Option.some("b")));
+        assertThat(map.put(0,"z").stream().map(Tuple2::_1).toList(),equalTo(Arrays.asList(0,1,2,3)));
+    }
+
+    @Test
+    public void putAllMerges(){
+        Comparator<Integer> comp = Comparator.naturalOrder();
+        TreeMap<Integer,Integer> evens = TreeMap.empty(comp);
+        TreeMap<Integer,Integer> odds = TreeMap.empty(comp);
+        java.util.TreeMap<Integer,Integer> expected = new java.util.TreeMap<>();
+        for(int i=0;i<1000;i++){
+            evens = evens.put(i*2,i);
+            odds = odds.put(i*3,-i);
+            expected.put(i*2,i);
+        }
+        for(int i=0;i<1000;i++)
+            expected.put(i*3,-i);
+        TreeMap<Integer,Integer> merged = evens.putAll(odds);
+        assertThat(merged.size(),equalTo(expected.size()));
+        assertThat(merged.stream().toList(),equalTo(ReactiveSeq.fromIterable(expected.entrySet())
+                                                               .map(e->Tuple.tuple(e.getKey(),e.getValue())).toList()));
+        assertThat(evens.putAll(TreeMap.of(comp,-1,-1)).get(-1),equalTo(Option.some(-1)));
+        assertThat(TreeMap.<Integer,Integer>empty(comp).putAll(odds),equalTo(odds));
+    }
 }
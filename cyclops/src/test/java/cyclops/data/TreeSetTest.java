@@ -6,6 +6,7 @@ import cyclops.control.Maybe;
 import cyclops.control.Option;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
 import cyclops.data.basetests.BaseImmutableSortedSetTest;
 import org.hamcrest.MatcherAssert;
 import org.junit.Ignore;
@@ -117,4 +118,33 @@ public class TreeSetTest extends BaseImmutableSortedSetTest{
         MatcherAssert.assertThat(of(1).lastIndexOfSlice(Seq.of(1,2,3)),equalTo(Maybe.nothing()));
         MatcherAssert.assertThat(of(0,1,2,3,4,5,6,1,2,3).lastIndexOfSlice(Seq.of(1,2,3)),equalTo(Maybe.just(1l)));
     }
+
+    @Test
+    public void rangeQueries(){
+        TreeSet<Integer> set = TreeSet.of(Comparator.naturalOrder(),0,10,20,30,40,50);
+        assertThat(set.subSet(10,40),equalTo(TreeSet.of(Comparator.naturalOrder(),10,20,30)));
+        assertThat(set.subSet(15,true,40,true),equalTo(TreeSet.of(Comparator.naturalOrder(),20,30,40)));
+        assertThat(set.headSet(20),equalTo(TreeSet.of(Comparator.naturalOrder(),0,10)));
+        assertThat(set.tailSet(20,false),equalTo(TreeSet.of(Comparator.naturalOrder(),30,40,50)));
+        assertThat(set.rangeStream(5,true,25,true).toList(),equalTo(java.util.Arrays.asList(10,20)));
+        assertThat(set.floor(15),equalTo(Option.some(10)));
+        assertThat(set.ceiling(15),equalTo(Option.some(20)));
+        assertThat(set.lower(0),equalTo(Option.none()));
+        assertThat(set.higher(40),equalTo(Option.some(50)));
+        assertThat(set.rank(25),equalTo(3));
+        assertThat(set.select(3),equalTo(Option.some(30)));
+        assertThat(set.get(6),equalTo(Option.none()));
+        assertThat(set.first(),equalTo(Option.some(0)));
+        assertThat(set.last(),equalTo(Option.some(50)));
+    }
+
+    @Test
+    public void fromSortedAndMerge(){
+        TreeSet<Integer> set = TreeSet.fromSorted(ReactiveSeq.range(0,1000),Comparator.naturalOrder());
+        assertThat(set,equalTo(TreeSet.fromStream(ReactiveSeq.range(0,1000),Comparator.naturalOrder())));
+        assertThat(set.size(),equalTo(1000));
+        TreeSet<Integer> more = TreeSet.fromSorted(ReactiveSeq.range(500,1500),set.comparator());
+        assertThat(set.plusAll(more),equalTo(TreeSet.fromStream(ReactiveSeq.range(0,1500),Comparator.naturalOrder())));
+        assertThat(set.take(3),equalTo(TreeSet.of(0,1,2)));
+    }
 }
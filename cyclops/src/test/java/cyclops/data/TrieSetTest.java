@@ -4,6 +4,7 @@ import cyclops.control.Maybe;
 import cyclops.control.Option;
 import cyclops.data.tuple.Tuple2;
 import cyclops.data.basetests.BaseImmutableSetTest;
+import cyclops.reactive.ReactiveSeq;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -106,4 +107,20 @@ public class TrieSetTest extends BaseImmutableSetTest{
     }
 
 
+    @Test
+    public void structuralSetAlgebra(){
+        TrieSet<Integer> base = TrieSet.fromStream(ReactiveSeq.range(0,10_000));
+        TrieSet<Integer> other = base.plus(-1).plus(-2).removeValue(5);
+        assertThat(base.union(other),equalTo(base.plus(-1).plus(-2)));
+        assertThat(base.intersection(other),equalTo(base.removeValue(5)));
+        assertThat(base.difference(other),equalTo(TrieSet.of(5)));
+        assertThat(other.difference(base),equalTo(TrieSet.of(-1,-2)));
+        assertTrue(base.union(base)==base);
+        assertTrue(base.intersection(base)==base);
+        assertThat(base.plusAll(other),equalTo(base.union(other)));
+        assertThat(base.retainAll(other),equalTo(base.intersection(other)));
+        assertThat(base.removeAll(other),equalTo(TrieSet.of(5)));
+        assertThat(TrieSet.of(1,2,3).union(TrieSet.empty()),equalTo(TrieSet.of(1,2,3)));
+        assertThat(TrieSet.of(1,2,3).intersection(TrieSet.of(4)),equalTo(TrieSet.empty()));
+    }
 }
@@ -0,0 +1,311 @@
+package cyclops.data.base;
+
+import cyclops.control.Ior;
+import cyclops.control.Option;
+import cyclops.data.HashMap;
+import cyclops.data.MapDiff;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.base.CHAMP.Node;
+import cyclops.data.tuple.Tuple2;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CHAMPTest {
+
+  static class BadHash {
+    final int value;
+    final int hash;
+
+    BadHash(int value, int hash) {
+      this.value = value;
+      this.hash = hash;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof BadHash && ((BadHash) o).value == value;
+    }
+
+    @Override
+    public String toString() {
+      return "BadHash[" + value + "]";
+    }
+  }
+
+  @Test
+  public void empty() {
+    Node<Integer, Integer> node = CHAMP.empty();
+    assertThat(node.size(), equalTo(0));
+    assertFalse(node.iterator().hasNext());
+    assertThat(node.minus(10), equalTo(node));
+  }
+
+  @Test
+  public void putGetReplace() {
+    Node<Integer, Integer> node = CHAMP.<Integer, Integer>empty().put(1, 1);
+    assertThat(node.get(1), equalTo(Option.some(1)));
+    node = node.put(1, 2);
+    assertThat(node.size(), equalTo(1));
+    assertThat(node.get(1), equalTo(Option.some(2)));
+    assertThat(node.getOrElse(2, -1), equalTo(-1));
+    assertTrue(node.put(1, node.getOrElse(1, null)) == node);
+  }
+
+  @Test
+  public void matchesJavaHashMap() {
+    Random r = new Random(42);
+    Map<Integer, Integer> expected = new java.util.HashMap<>();
+    Node<Integer, Integer> node = CHAMP.empty();
+    for (int i = 0; i < 50_000; i++) {
+      Integer key = r.nextInt(5_000) * (r.nextBoolean() ? 1 : 65536);
+      if (r.nextInt(3) == 0) {
+        expected.remove(key);
+        node = node.minus(key);
+      } else {
+        expected.put(key, i);
+        node = node.put(key, i);
+      }
+    }
+    assertThat(node.size(), equalTo(expected.size()));
+    for (Map.Entry<Integer, Integer> e : expected.entrySet())
+      assertThat(node.get(e.getKey()), equalTo(Option.some(e.getValue())));
+    int count = 0;
+    for (Tuple2<Integer, Integer> t : node) {
+      assertThat(expected.get(t._1()), equalTo(t._2()));
+      count++;
+    }
+    assertThat(count, equalTo(expected.size()));
+  }
+
+  @Test
+  public void collisions() {
+    Node<BadHash, Integer> node = CHAMP.empty();
+    for (int i = 0; i < 10; i++)
+      node = node.put(new BadHash(i, 7), i);
+    node = node.put(new BadHash(100, 8), 100);
+    assertThat(node.size(), equalTo(11));
+    for (int i = 0; i < 10; i++)
+      assertThat(node.get(new BadHash(i, 7)), equalTo(Option.some(i)));
+    assertFalse(node.containsKey(new BadHash(11, 7)));
+    for (int i = 0; i < 10; i++)
+      node = node.minus(new BadHash(i, 7));
+    assertThat(node, equalTo(CHAMP.<BadHash, Integer>empty().put(new BadHash(100, 8), 100)));
+  }
+
+  @Test
+  public void canonicalRegardlessOfOrder() {
+    List<Integer> keys = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++)
+      keys.add(i * 31);
+    Node<Integer, Integer> a = CHAMP.empty();
+    for (Integer k : keys)
+      a = a.put(k, k);
+    Collections.shuffle(keys, new Random(1));
+    Node<Integer, Integer> b = CHAMP.empty();
+    for (Integer k : keys)
+      b = b.put(k, k);
+    assertThat(a, equalTo(b));
+    assertThat(a.hashCode(), equalTo(b.hashCode()));
+
+    Node<Integer, Integer> withExtra = a;
+    for (int i = 0; i < 500; i++)
+      withExtra = withExtra.put(-i - 1, i);
+    for (int i = 0; i < 500; i++)
+      withExtra = withExtra.minus(-i - 1);
+    assertThat(withExtra, equalTo(a));
+  }
+
+  @Test
+  public void canonicalCollisions() {
+    Node<BadHash, Integer> a = CHAMP.<BadHash, Integer>empty().put(new BadHash(1, 5), 1).put(new BadHash(2, 5), 2);
+    Node<BadHash, Integer> b = CHAMP.<BadHash, Integer>empty().put(new BadHash(2, 5), 2).put(new BadHash(1, 5), 1);
+    assertThat(a, equalTo(b));
+    assertThat(a.hashCode(), equalTo(b.hashCode()));
+  }
+
+  @Test
+  public void removeAll() {
+    Node<Integer, Integer> node = CHAMP.empty();
+    for (int i = 0; i < 1026; i++)
+      node = node.put(i, i);
+    for (int i = 0; i < 1026; i++) {
+      node = node.minus(i);
+      assertThat(node.size(), equalTo(1025 - i));
+      if (i < 1025)
+        assertThat(node.get(1025), equalTo(Option.some(1025)));
+    }
+    assertThat(node, equalTo(CHAMP.empty()));
+  }
+
+  private static Node<BadHash, Integer> build(Set<BadHash> keys) {
+    Node<BadHash, Integer> node = CHAMP.empty();
+    for (BadHash k : keys)
+      node = node.put(k, k.value);
+    return node;
+  }
+
+  @Test
+  public void setAlgebraMatchesJavaSets() {
+    Random r = new Random(3);
+    for (int run = 0; run < 50; run++) {
+      Set<BadHash> left = new java.util.HashSet<>();
+      Set<BadHash> right = new java.util.HashSet<>();
+      int bound = 1 + r.nextInt(3_000);
+      for (int i = 0; i < r.nextInt(2_000); i++) {
+        int v = r.nextInt(bound);
+        left.add(new BadHash(v, v % 97 == 0 ? 13 : v * 0x9E3779B9));
+      }
+      for (int i = 0; i < r.nextInt(2_000); i++) {
+        int v = r.nextInt(bound);
+        right.add(new BadHash(v, v % 97 == 0 ? 13 : v * 0x9E3779B9));
+      }
+      Node<BadHash, Integer> a = build(left);
+      Node<BadHash, Integer> b = build(right);
+
+      Set<BadHash> union = new java.util.HashSet<>(left);
+      union.addAll(right);
+      Set<BadHash> intersection = new java.util.HashSet<>(left);
+      intersection.retainAll(right);
+      Set<BadHash> difference = new java.util.HashSet<>(left);
+      difference.removeAll(right);
+
+      //results are canonical, so they equal the same keys inserted one at a time
+      assertThat(CHAMP.union(a, b, (x, y) -> x), equalTo(build(union)));
+      assertThat(CHAMP.intersection(a, b), equalTo(build(intersection)));
+      assertThat(CHAMP.difference(a, b), equalTo(build(difference)));
+      assertThat(CHAMP.union(a, b, (x, y) -> x).size(), equalTo(union.size()));
+      assertThat(CHAMP.intersection(a, b).size(), equalTo(intersection.size()));
+      assertThat(CHAMP.difference(a, b).size(), equalTo(difference.size()));
+    }
+  }
+
+  @Test
+  public void unionResolvesValues() {
+    Node<Integer, Integer> a = CHAMP.<Integer, Integer>empty().put(1, 10).put(2, 20);
+    Node<Integer, Integer> b = CHAMP.<Integer, Integer>empty().put(2, 2).put(3, 30);
+    Node<Integer, Integer> merged = CHAMP.union(a, b, (x, y) -> x + y);
+    assertThat(merged, equalTo(CHAMP.<Integer, Integer>empty().put(1, 10).put(2, 22).put(3, 30)));
+  }
+
+  @Test
+  public void unionResolvesSharedValues() {
+    Node<Integer, Integer> a = CHAMP.<Integer, Integer>empty().put(1, 1).put(1000, 1000);
+    Node<Integer, Integer> expected = CHAMP.<Integer, Integer>empty().put(1, 2).put(1000, 2000);
+    assertThat(CHAMP.union(a, a, (x, y) -> x + y), equalTo(expected));
+    assertThat(CHAMP.union(a, CHAMP.<Integer, Integer>empty().put(1, 1).put(1000, 1000), (x, y) -> x + y),
+               equalTo(expected));
+  }
+
+  @Test
+  public void collidingKeysAreRemovedFromCollisionNodes() {
+    //"Aa", "BB" and "C#" share a hashCode
+    Node<String, Integer> all = CHAMP.<String, Integer>empty().put("Aa", 1).put("BB", 2).put("C#", 3);
+    Node<String, Integer> two = CHAMP.<String, Integer>empty().put("Aa", 1).put("BB", 2);
+    Node<String, Integer> withOther = two.put("x", 4);
+
+    assertThat(CHAMP.difference(two, withOther), equalTo(CHAMP.empty()));
+    assertThat(CHAMP.difference(all, two), equalTo(CHAMP.<String, Integer>empty().put("C#", 3)));
+    assertThat(CHAMP.difference(all, all.minus("Aa")), equalTo(CHAMP.<String, Integer>empty().put("Aa", 1)));
+    assertThat(CHAMP.difference(all, CHAMP.<String, Integer>empty().put("BB", 0).put("C#", 0).put("Aa", 0)),
+               equalTo(CHAMP.empty()));
+    assertThat(CHAMP.intersection(all, CHAMP.<String, Integer>empty().put("C#", 0).put("y", 0)),
+               equalTo(CHAMP.<String, Integer>empty().put("C#", 3)));
+    assertThat(CHAMP.intersection(all, withOther), equalTo(two));
+    assertThat(CHAMP.intersection(two, CHAMP.<String, Integer>empty().put("x", 0)), equalTo(CHAMP.empty()));
+  }
+
+  @Test
+  public void sharedStructureIsReused() {
+    Node<Integer, Integer> base = CHAMP.empty();
+    for (int i = 0; i < 100_000; i++)
+      base = base.put(i, i);
+    Node<Integer, Integer> changed = base.put(-1, -1).minus(50);
+
+    assertSame(base, CHAMP.union(base, base, true));
+    assertSame(base, CHAMP.intersection(base, base));
+    assertSame(base, CHAMP.union(base, base.minus(10), true));
+    assertSame(base, CHAMP.intersection(base, base.put(-2, -2)));
+    assertSame(base, CHAMP.difference(base, CHAMP.<Integer, Integer>empty().put(-5, -5)));
+    assertThat(CHAMP.difference(base, base), equalTo(CHAMP.empty()));
+
+    Node<Integer, Integer> merged = CHAMP.union(base, changed, true);
+    assertThat(merged.size(), equalTo(100_001));
+    int shared = 0;
+    for (int i = 0; i < ((CHAMP.BitmapIndexedNode) merged).nodeArity(); i++) {
+      if (merged.nodeAt(i) == base.nodeAt(i))
+        shared++;
+    }
+    assertTrue(shared >= merged.nodeArity() - 2);
+    assertThat(CHAMP.difference(changed, base), equalTo(CHAMP.<Integer, Integer>empty().put(-1, -1)));
+  }
+
+  private static <K, V> Map<K, Ior<V, V>> diffByScan(Node<K, V> from, Node<K, V> to) {
+    Map<K, Ior<V, V>> changes = new java.util.HashMap<>();
+    for (Tuple2<K, V> t : from) {
+      if (!to.containsKey(t._1()))
+        changes.put(t._1(), Ior.left(t._2()));
+      else if (!t._2().equals(to.getOrElse(t._1(), null)))
+        changes.put(t._1(), Ior.both(t._2(), to.getOrElse(t._1(), null)));
+    }
+    for (Tuple2<K, V> t : to) {
+      if (!from.containsKey(t._1()))
+        changes.put(t._1(), Ior.right(t._2()));
+    }
+    return changes;
+  }
+
+  @Test
+  public void diffMatchesScan() {
+    Random r = new Random(5);
+    for (int run = 0; run < 30; run++) {
+      Node<BadHash, Integer> from = CHAMP.empty();
+      for (int i = 0; i < r.nextInt(3_000); i++) {
+        int v = r.nextInt(5_000);
+        from = from.put(new BadHash(v, v % 61 == 0 ? 3 : v * 0x9E3779B9), i);
+      }
+      Node<BadHash, Integer> to = from;
+      for (int i = 0; i < r.nextInt(200); i++) {
+        int v = r.nextInt(5_000);
+        BadHash key = new BadHash(v, v % 61 == 0 ? 3 : v * 0x9E3779B9);
+        to = r.nextBoolean() ? to.put(key, -i) : to.minus(key);
+      }
+      Map<BadHash, Ior<Integer, Integer>> changes = new java.util.HashMap<>();
+      java.util.Iterator<Tuple2<BadHash, Ior<Integer, Integer>>> it = CHAMP.diff(from, to);
+      while (it.hasNext()) {
+        Tuple2<BadHash, Ior<Integer, Integer>> next = it.next();
+        assertThat(changes.put(next._1(), next._2()), equalTo(null));
+      }
+      assertThat(changes, equalTo(diffByScan(from, to)));
+    }
+  }
+
+  @Test
+  public void hashMapDiff() {
+    HashMap<Integer, Integer> from = HashMap.empty();
+    for (int i = 0; i < 100_000; i++)
+      from = from.put(i, i);
+    HashMap<Integer, Integer> to = from.put(-1, -1).remove(7).put(42, 0);
+    MapDiff<Integer, Integer> diff = from.diff(to);
+    assertThat(diff.added().toList(), equalTo(java.util.Arrays.asList(Tuple.tuple(-1, -1))));
+    assertThat(diff.removed().toList(), equalTo(java.util.Arrays.asList(Tuple.tuple(7, 7))));
+    assertThat(diff.changed().toList(), equalTo(java.util.Arrays.asList(Tuple.tuple(42, 42, 0))));
+    assertFalse(from.diffStream(from).iterator().hasNext());
+  }
+}
@@ -0,0 +1,210 @@
+package cyclops.data.base;
+
+import cyclops.control.Option;
+import cyclops.data.base.RedBlackTree.Node;
+import cyclops.data.base.RedBlackTree.Tree;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.data.tuple.Tuple5;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class RedBlackTreeTest {
+
+  //returns the black height, failing on red-red violations, bad cached sizes or out of order keys
+  private static int checkInvariants(Tree<Integer, Integer> tree, Integer lo, Integer hi) {
+    return tree.fold(node -> {
+      Tuple5<Boolean, Tree<Integer, Integer>, Tree<Integer, Integer>, Integer, Integer> t = node.unapply();
+      if (!t._1())
+        assertTrue("red node with a red child", t._2().isBlack() && t._3().isBlack());
+      assertTrue(lo == null || t._4() > lo);
+      assertTrue(hi == null || t._4() < hi);
+      assertThat(node.size(), equalTo(t._2().size() + t._3().size() + 1));
+      int left = checkInvariants(t._2(), lo, t._4());
+      int right = checkInvariants(t._3(), t._4(), hi);
+      assertThat("black height", left, equalTo(right));
+      return left + (t._1() ? 1 : 0);
+    }, leaf -> 1);
+  }
+
+  private static void check(Tree<Integer, Integer> tree, Map<Integer, Integer> expected) {
+    assertTrue(tree.isBlack());
+    checkInvariants(tree, null, null);
+    assertThat(tree.size(), equalTo(expected.size()));
+    List<Tuple2<Integer, Integer>> entries = new ArrayList<>();
+    for (Map.Entry<Integer, Integer> e : expected.entrySet())
+      entries.add(Tuple.tuple(e.getKey(), e.getValue()));
+    assertThat(toList(tree.iterator()), equalTo(entries));
+  }
+
+  private static List<Tuple2<Integer, Integer>> toList(Iterator<Tuple2<Integer, Integer>> it) {
+    List<Tuple2<Integer, Integer>> list = new ArrayList<>();
+    it.forEachRemaining(list::add);
+    return list;
+  }
+
+  private static Option<Tuple2<Integer, Integer>> entry(Map.Entry<Integer, Integer> e) {
+    return e == null ? Option.none() : Option.some(Tuple.tuple(e.getKey(), e.getValue()));
+  }
+
+  @Test
+  public void rangesMatchJavaTreeMap() {
+    Random r = new Random(17);
+    for (int run = 0; run < 40; run++) {
+      NavigableMap<Integer, Integer> expected = new java.util.TreeMap<>();
+      Tree<Integer, Integer> tree = RedBlackTree.empty(Comparator.naturalOrder());
+      int bound = 1 + r.nextInt(2_000);
+      for (int i = 0; i < r.nextInt(1_500); i++) {
+        int key = r.nextInt(bound);
+        if (r.nextInt(4) == 0) {
+          expected.remove(key);
+          tree = RedBlackTree.rootIsBlack(tree.minus(key));
+        } else {
+          expected.put(key, i);
+          tree = RedBlackTree.rootIsBlack(tree.plus(key, i));
+        }
+      }
+      check(tree, expected);
+      for (int i = 0; i < 50; i++) {
+        int a = r.nextInt(bound + 2) - 1;
+        int b = r.nextInt(bound + 2) - 1;
+        int from = Math.min(a, b);
+        int to = Math.max(a, b);
+        boolean fromInclusive = r.nextBoolean();
+        boolean toInclusive = r.nextBoolean();
+
+        check(tree.headTree(to, toInclusive), expected.headMap(to, toInclusive));
+        check(tree.tailTree(from, fromInclusive), expected.tailMap(from, fromInclusive));
+        check(tree.headTree(to, toInclusive).tailTree(from, fromInclusive),
+              expected.subMap(from, fromInclusive, to, toInclusive));
+        assertThat(toList(tree.iterator(from, fromInclusive, to, toInclusive)),
+                   equalTo(toList(tree.headTree(to, toInclusive).tailTree(from, fromInclusive).iterator())));
+        assertThat(toList(tree.iteratorFrom(from, fromInclusive)), equalTo(toList(tree.tailTree(from, fromInclusive).iterator())));
+        assertThat(toList(tree.iteratorTo(to, toInclusive)), equalTo(toList(tree.headTree(to, toInclusive).iterator())));
+
+        assertThat(tree.floor(a), equalTo(entry(expected.floorEntry(a))));
+        assertThat(tree.ceiling(a), equalTo(entry(expected.ceilingEntry(a))));
+        assertThat(tree.lower(a), equalTo(entry(expected.lowerEntry(a))));
+        assertThat(tree.higher(a), equalTo(entry(expected.higherEntry(a))));
+        assertThat(tree.rank(a), equalTo(expected.headMap(a, false).size()));
+      }
+      List<Map.Entry<Integer, Integer>> ordered = new ArrayList<>(expected.entrySet());
+      for (int i = 0; i < ordered.size(); i++)
+        assertThat(tree.select(i), equalTo(entry(ordered.get(i))));
+      assertFalse(tree.select(-1).isPresent());
+      assertFalse(tree.select(ordered.size()).isPresent());
+      assertThat(tree.min(), equalTo(entry(expected.firstEntry())));
+      assertThat(tree.max(), equalTo(entry(expected.lastEntry())));
+    }
+  }
+
+  @Test
+  public void joinUnevenHeights() {
+    Random r = new Random(23);
+    for (int run = 0; run < 200; run++) {
+      NavigableMap<Integer, Integer> expected = new java.util.TreeMap<>();
+      Tree<Integer, Integer> left = RedBlackTree.empty(Comparator.naturalOrder());
+      Tree<Integer, Integer> right = RedBlackTree.empty(Comparator.naturalOrder());
+      int leftSize = r.nextInt(run % 2 == 0 ? 5 : 3_000);
+      int rightSize = r.nextInt(run % 2 == 0 ? 3_000 : 5);
+      for (int i = 0; i < leftSize; i++) {
+        int key = -1 - r.nextInt(10_000);
+        expected.put(key, key);
+        left = RedBlackTree.rootIsBlack(left.plus(key, key));
+      }
+      for (int i = 0; i < rightSize; i++) {
+        int key = 1 + r.nextInt(10_000);
+        expected.put(key, key);
+        right = RedBlackTree.rootIsBlack(right.plus(key, key));
+      }
+      expected.put(0, 0);
+      check(RedBlackTree.rootIsBlack(RedBlackTree.join(left, 0, 0, right)), expected);
+    }
+  }
+
+  @Test
+  public void splitSharesStructure() {
+    Tree<Integer, Integer> tree = RedBlackTree.empty(Comparator.naturalOrder());
+    for (int i = 0; i < 100_000; i++)
+      tree = RedBlackTree.rootIsBlack(tree.plus(i, i));
+    Tree<Integer, Integer> head = tree.headTree(99_990, false);
+    assertThat(head.size(), equalTo(99_990));
+    assertThat(head.getOrElse(12_345, -1), equalTo(12_345));
+    assertThat(tree.rank(50_000), equalTo(50_000));
+    assertThat(tree.select(70_000), equalTo(Option.some(Tuple.tuple(70_000, 70_000))));
+  }
+
+  @Test
+  public void fromSortedIsBalanced() {
+    for (int size = 0; size < 300; size++) {
+      NavigableMap<Integer, Integer> expected = new java.util.TreeMap<>();
+      List<Tuple2<Integer, Integer>> entries = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+        expected.put(i * 2, i);
+        entries.add(Tuple.tuple(i * 2, i));
+      }
+      Tree<Integer, Integer> tree = RedBlackTree.fromSorted(Comparator.naturalOrder(), entries.iterator());
+      check(tree, expected);
+      check(RedBlackTree.rootIsBlack(tree.plus(-1, -1).minus(size)), putRemove(expected, -1, size));
+    }
+  }
+
+  private static NavigableMap<Integer, Integer> putRemove(NavigableMap<Integer, Integer> map, int put, int remove) {
+    NavigableMap<Integer, Integer> copy = new java.util.TreeMap<>(map);
+    copy.put(put, put);
+    copy.remove(remove);
+    return copy;
+  }
+
+  @Test
+  public void fromSortedKeepsLastDuplicate() {
+    List<Tuple2<Integer, String>> entries = new ArrayList<>();
+    entries.add(Tuple.tuple(1, "a"));
+    entries.add(Tuple.tuple(1, "b"));
+    entries.add(Tuple.tuple(2, "c"));
+    Tree<Integer, String> tree = RedBlackTree.fromSorted(Comparator.naturalOrder(), entries.iterator());
+    assertThat(tree.size(), equalTo(2));
+    assertThat(tree.get(1), equalTo(Option.some("b")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fromSortedRejectsUnsortedInput() {
+    List<Tuple2<Integer, Integer>> entries = new ArrayList<>();
+    entries.add(Tuple.tuple(2, 2));
+    entries.add(Tuple.tuple(1, 1));
+    RedBlackTree.fromSorted(Comparator.naturalOrder(), entries.iterator());
+  }
+
+  @Test
+  public void mergeMatchesJavaTreeMap() {
+    Random r = new Random(29);
+    for (int run = 0; run < 50; run++) {
+      NavigableMap<Integer, Integer> expected = new java.util.TreeMap<>();
+      Tree<Integer, Integer> left = RedBlackTree.empty(Comparator.naturalOrder());
+      Tree<Integer, Integer> right = RedBlackTree.empty(Comparator.naturalOrder());
+      for (int i = 0; i < r.nextInt(1_000); i++) {
+        int key = r.nextInt(2_000);
+        expected.put(key, key);
+        left = RedBlackTree.rootIsBlack(left.plus(key, key));
+      }
+      for (int i = 0; i < r.nextInt(1_000); i++) {
+        int key = r.nextInt(2_000);
+        expected.put(key, -key);
+        right = RedBlackTree.rootIsBlack(right.plus(key, -key));
+      }
+      check(RedBlackTree.merge(left, right), expected);
+    }
+  }
+}
@@ -276,4 +276,23 @@ public abstract  class BaseImmutableMapTest {
     assertThat(map.remove((Object)1),equalTo("hello"));
 
   }
+
+  @Test
+  public void diff(){
+    ImmutableMap<Integer,String> v1 = empty();
+    for(int i=0;i<1000;i++){
+      v1 = v1.put(i,""+i);
+    }
+    ImmutableMap<Integer,String> v2 = v1.put(5,"five").remove(10).put(2000,"2000").put(7,new String("7"));
+
+    MapDiff<Integer,String> diff = v1.diff(v2);
+    assertThat(diff.added(),equalTo(Vector.of(Tuple.tuple(2000,"2000"))));
+    assertThat(diff.removed(),equalTo(Vector.of(Tuple.tuple(10,"10"))));
+    assertThat(diff.changed(),equalTo(Vector.of(Tuple.tuple(5,"5","five"))));
+    assertThat(v2.diff(v1).added(),equalTo(Vector.of(Tuple.tuple(10,"10"))));
+    assertThat(v1.diffStream(v2).count(),equalTo(3l));
+    assertTrue(v1.diff(v1).isEmpty());
+    assertThat(this.<Integer,String>empty().diff(v1).added().size(),equalTo(1000));
+    assertThat(v1.diff(empty()).removed().size(),equalTo(1000));
+  }
 }
@@ -0,0 +1,172 @@
+package cyclops.streams;
+
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.function.Codec;
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ExternalSortTest {
+
+    Path dir;
+
+    @Before
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("external-sort-test");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(f -> f.toFile().delete());
+        }
+        Files.delete(dir);
+    }
+
+    private long spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void sortsInMemoryWithoutSpilling() throws IOException {
+        assertThat(ReactiveSeq.of(4, 3, 6, 7).sortedExternal(Comparator.naturalOrder(), 10, Codec.ints(), dir).toList(),
+                   equalTo(Arrays.asList(3, 4, 6, 7)));
+        assertThat(ReactiveSeq.<Integer>empty().sortedExternal(Comparator.naturalOrder(), 10, Codec.ints(), dir).toList(),
+                   equalTo(Arrays.asList()));
+        assertThat(spillFiles(), equalTo(0l));
+    }
+
+    @Test
+    public void spillsAndMerges() throws IOException {
+        Random r = new Random(7);
+        List<Integer> data = r.ints(10_000).boxed().collect(Collectors.toList());
+        List<Integer> expected = new ArrayList<>(data);
+        expected.sort(Comparator.reverseOrder());
+
+        ReactiveSeq<Integer> sorted = ReactiveSeq.fromIterable(data)
+                                                 .sortedExternal(Comparator.reverseOrder(), 100, Codec.ints(), dir);
+        assertThat(spillFiles(), equalTo(0l));
+        assertThat(sorted.toList(), equalTo(expected));
+        assertThat(sorted.toList(), equalTo(expected));
+        assertThat(spillFiles(), equalTo(0l));
+        assertThat(Spouts.fromIterable(data).sortedExternal(Comparator.reverseOrder(), 100, Codec.ints(), dir).toList(),
+                   equalTo(expected));
+    }
+
+    @Test
+    public void multiplePassMerge() throws IOException {
+        List<String> data = ReactiveSeq.range(0, 5000).map(i -> "s" + (i * 7919 % 5000)).toList();
+        List<String> expected = new ArrayList<>(data);
+        expected.sort(Comparator.naturalOrder());
+        //5000 / 10 = 500 runs, more than can be merged in a single pass
+        assertThat(ReactiveSeq.fromIterable(data).sortedExternal(Comparator.naturalOrder(), 10, Codec.strings(), dir).toList(),
+                   equalTo(expected));
+        assertThat(spillFiles(), equalTo(0l));
+    }
+
+    @Test
+    public void stable() {
+        Codec<Tuple2<Integer, Integer>> codec = new Codec<Tuple2<Integer, Integer>>() {
+            @Override
+            public void write(Tuple2<Integer, Integer> value, DataOutput out) throws IOException {
+                out.writeInt(value._1());
+                out.writeInt(value._2());
+            }
+
+            @Override
+            public Tuple2<Integer, Integer> read(DataInput in) throws IOException {
+                return Tuple.tuple(in.readInt(), in.readInt());
+            }
+        };
+        List<Tuple2<Integer, Integer>> sorted = ReactiveSeq.range(0, 1000)
+                                                           .map(i -> Tuple.tuple(i % 3, i))
+                                                           .sortedExternal(Comparator.comparing(Tuple2::_1), 7, codec, dir)
+                                                           .toList();
+        assertThat(sorted.size(), equalTo(1000));
+        for (int i = 1; i < sorted.size(); i++) {
+            Tuple2<Integer, Integer> prev = sorted.get(i - 1);
+            Tuple2<Integer, Integer> next = sorted.get(i);
+            assertThat(prev._1() < next._1() || (prev._1().equals(next._1()) && prev._2() < next._2()), equalTo(true));
+        }
+    }
+
+    @Test
+    public void serializableCodec() {
+        assertThat(ReactiveSeq.of(5l, 1l, 3l, 2l, 4l).sortedExternal(Comparator.naturalOrder(), 2, Codec.<Long>serializable(), dir)
+                              .toList(), equalTo(Arrays.asList(1l, 2l, 3l, 4l, 5l)));
+    }
+
+    @Test
+    public void failingSourceLeavesNoSpillFiles() throws IOException {
+        Iterator<Integer> failing = new Iterator<Integer>() {
+            int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == 550)
+                    throw new IllegalStateException("boom");
+                return next++;
+            }
+        };
+        try {
+            ReactiveSeq.fromIterator(failing).sortedExternal(Comparator.naturalOrder(), 100, Codec.ints(), dir).toList();
+            fail("Expected the source error to be rethrown");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), equalTo("boom"));
+        }
+        assertThat(spillFiles(), equalTo(0l));
+    }
+
+    @Test
+    public void cancellingClosesRuns() throws IOException {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        Assume.assumeTrue(os instanceof UnixOperatingSystemMXBean);
+        List<Integer> data = ReactiveSeq.range(0, 5000).map(i -> i * 7919 % 5000).toList();
+        long before = ((UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+        for (int i = 0; i < 20; i++) {
+            //50 runs open per sort
+            assertThat(Spouts.fromIterable(data).sortedExternal(Comparator.naturalOrder(), 100, Codec.ints(), dir).limit(3).toList(),
+                       equalTo(Arrays.asList(0, 1, 2)));
+        }
+        assertThat(((UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount(), lessThan(before + 50));
+        assertThat(spillFiles(), equalTo(0l));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxInMemoryMustBePositive() {
+        ReactiveSeq.of(1).sortedExternal(Comparator.naturalOrder(), 0, Codec.ints(), dir);
+    }
+}
@@ -0,0 +1,99 @@
+package cyclops.streams;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class JoinTest {
+
+    List<String> names = Arrays.asList("1:one","2:two","2:deux","4:four");
+
+    private Integer key(String s){
+        return Integer.parseInt(s.split(":")[0]);
+    }
+
+    @Test
+    public void innerJoin(){
+        List<Tuple2<Integer,String>> expected = Arrays.asList(Tuple.tuple(1,"1:one"),Tuple.tuple(2,"2:two"),Tuple.tuple(2,"2:deux"));
+        assertThat(ReactiveSeq.of(1,2,3).innerJoin(names,i->i,this::key).toList(),equalTo(expected));
+        assertThat(Spouts.of(1,2,3).innerJoin(names,i->i,this::key).toList(),equalTo(expected));
+        assertThat(ReactiveSeq.of(1,2,3).innerJoin(names,100,i->i,this::key).toList(),equalTo(expected));
+    }
+    @Test
+    public void leftJoin(){
+        List<Tuple2<Integer,Option<String>>> expected = Arrays.asList(Tuple.tuple(1,Option.some("1:one")),
+                                                                     Tuple.tuple(3,Option.none()),
+                                                                     Tuple.tuple(4,Option.some("4:four")));
+        assertThat(ReactiveSeq.of(1,3,4).leftJoin(names,i->i,this::key).toList(),equalTo(expected));
+        assertThat(Spouts.of(1,3,4).leftJoin(names,i->i,this::key).toList(),equalTo(expected));
+    }
+    @Test
+    public void fullJoin(){
+        List<Tuple2<Option<Integer>,Option<String>>> expected = Arrays.asList(Tuple.tuple(Option.some(3),Option.none()),
+                                                                             Tuple.tuple(Option.some(4),Option.some("4:four")),
+                                                                             Tuple.tuple(Option.none(),Option.some("1:one")),
+                                                                             Tuple.tuple(Option.none(),Option.some("2:two")),
+                                                                             Tuple.tuple(Option.none(),Option.some("2:deux")));
+        ReactiveSeq<Tuple2<Option<Integer>,Option<String>>> joined = ReactiveSeq.of(3,4).fullJoin(names,i->i,this::key);
+        assertThat(joined.toList().subList(0,2),equalTo(expected.subList(0,2)));
+        assertThat(joined.toList(),containsInAnyOrder(expected.toArray()));
+        //each traversal tracks its own matches
+        assertThat(joined.toList().size(),equalTo(5));
+        assertThat(Spouts.of(3,4).fullJoin(names,i->i,this::key).toList(),containsInAnyOrder(expected.toArray()));
+    }
+    @Test
+    public void buildSideLoadedOnce(){
+        AtomicInteger loads = new AtomicInteger(0);
+        Iterable<String> counting = ()->{
+            loads.incrementAndGet();
+            return names.iterator();
+        };
+        ReactiveSeq<Tuple2<Integer,String>> joined = ReactiveSeq.range(0,1000).innerJoin(counting,i->i%5,this::key);
+        assertThat(joined.count(),equalTo(800l));
+        assertThat(joined.count(),equalTo(800l));
+        assertThat(loads.get(),equalTo(1));
+    }
+    @Test
+    public void mergeJoin(){
+        List<Tuple2<Integer,String>> expected = Arrays.asList(Tuple.tuple(2,"2:two"),Tuple.tuple(2,"2:deux"),
+                                                              Tuple.tuple(2,"2:two"),Tuple.tuple(2,"2:deux"),
+                                                              Tuple.tuple(4,"4:four"));
+        assertThat(ReactiveSeq.of(0,2,2,3,4,5).mergeJoin(names,i->i,this::key,Comparator.naturalOrder()).toList(),equalTo(expected));
+        assertThat(Spouts.of(0,2,2,3,4,5).mergeJoin(names,i->i,this::key,Comparator.naturalOrder()).toList(),equalTo(expected));
+        assertThat(ReactiveSeq.<Integer>empty().mergeJoin(names,i->i,this::key,Comparator.naturalOrder()).toList(),equalTo(Arrays.asList()));
+    }
+    @Test
+    public void mergeJoinAdvancesInStep(){
+        AtomicInteger pulled = new AtomicInteger(0);
+        Iterable<Integer> evens = ()->new Iterator<Integer>() {
+            int next = 0;
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+            @Override
+            public Integer next() {
+                pulled.incrementAndGet();
+                int res = next;
+                next+=2;
+                return res;
+            }
+        };
+        assertThat(ReactiveSeq.range(0,10).mergeJoin(evens,i->i,i->i,Comparator.naturalOrder()).map(Tuple2::_1).toList(),
+                   equalTo(Arrays.asList(0,2,4,6,8)));
+        assertThat(pulled.get(),equalTo(6));
+    }
+}
@@ -0,0 +1,75 @@
+package cyclops.streams;
+
+import cyclops.data.Vector;
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class TopKTest {
+
+    @Test
+    public void topK() {
+        assertThat(ReactiveSeq.of(4, 9, 1, 7, 3).topK(2, Comparator.naturalOrder()).toList(), equalTo(Arrays.asList(9, 7)));
+        assertThat(Spouts.of(4, 9, 1, 7, 3).topK(2, Comparator.naturalOrder()).toList(), equalTo(Arrays.asList(9, 7)));
+        assertThat(ReactiveSeq.of(4, 9).topK(5, Comparator.naturalOrder()).toList(), equalTo(Arrays.asList(9, 4)));
+        assertThat(ReactiveSeq.of(4, 9).topK(0, Comparator.naturalOrder()).toList(), equalTo(Arrays.asList()));
+        assertThat(ReactiveSeq.<Integer>empty().topK(3, Comparator.naturalOrder()).toList(), equalTo(Arrays.asList()));
+    }
+
+    @Test
+    public void bottomK() {
+        assertThat(ReactiveSeq.of(4, 9, 1, 7, 3).bottomK(2, Comparator.naturalOrder()).toList(), equalTo(Arrays.asList(1, 3)));
+        assertThat(Spouts.of(4, 9, 1, 7, 3).bottomK(2, Comparator.naturalOrder()).toList(), equalTo(Arrays.asList(1, 3)));
+    }
+
+    @Test
+    public void matchesSortedLimit() {
+        List<Integer> data = new Random(3).ints(50_000, 0, 1000).boxed().collect(Collectors.toList());
+        List<Integer> expected = new ArrayList<>(data);
+        expected.sort(Collections.reverseOrder());
+        ReactiveSeq<Integer> top = ReactiveSeq.fromIterable(data).topK(100, Comparator.naturalOrder());
+        assertThat(top.toList(), equalTo(expected.subList(0, 100)));
+        assertThat(top.toList(), equalTo(expected.subList(0, 100)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeK() {
+        ReactiveSeq.of(1).topK(-1, Comparator.naturalOrder());
+    }
+
+    @Test
+    public void periodicSnapshots() {
+        List<Vector<Integer>> snapshots = Spouts.range(0, 20)
+                                                .peek(i -> sleep(10))
+                                                .topK(3, Comparator.<Integer>naturalOrder(), 50, TimeUnit.MILLISECONDS)
+                                                .toList();
+        assertThat(snapshots.size(), greaterThan(1));
+        assertThat(snapshots.get(snapshots.size() - 1), equalTo(Vector.of(19, 18, 17)));
+        for (Vector<Integer> snapshot : snapshots)
+            assertThat(snapshot, equalTo(snapshot.sorted(Comparator.reverseOrder())));
+
+        assertThat(ReactiveSeq.range(0, 20).topK(3, Comparator.<Integer>naturalOrder(), 50, TimeUnit.MILLISECONDS).toList(),
+                   equalTo(Arrays.asList(Vector.of(19, 18, 17))));
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
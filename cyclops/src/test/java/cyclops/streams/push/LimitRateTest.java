@@ -0,0 +1,150 @@
+package cyclops.streams.push;
+
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class LimitRateTest {
+
+    @Test
+    public void preservesElements(){
+        assertThat(Spouts.range(0,1000)
+                         .limitRate(16,4)
+                         .toList(),equalTo(ReactiveSeq.range(0,1000).toList()));
+        assertThat(Spouts.of(1,2,3).limitRate(10).toList(),equalTo(Arrays.asList(1,2,3)));
+        assertThat(Spouts.empty().limitRate(10).toList(),equalTo(Arrays.asList()));
+    }
+    @Test
+    public void pullStreamsUnchanged(){
+        ReactiveSeq<Integer> seq = ReactiveSeq.of(1,2,3);
+        assertThat(seq.limitRate(10,2)==seq,equalTo(true));
+    }
+    @Test(expected=IllegalArgumentException.class)
+    public void invalidLowTide(){
+        Spouts.of(1,2,3).limitRate(10,10);
+    }
+    @Test
+    public void unboundedDemandIsBatched(){
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        AtomicLong emitted = new AtomicLong(0);
+        Spouts.from((Publisher<Integer>)sub->{
+            sub.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                    for(long i=0;i<n && emitted.get()<100;i++)
+                        sub.onNext((int)emitted.incrementAndGet());
+                    if(emitted.get()==100)
+                        sub.onComplete();
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        }).limitRate(20,5)
+          .toList();
+
+        assertThat(requests.get(0),equalTo(20l));
+        for(Long n : requests.subList(1,requests.size()))
+            assertThat(n,equalTo(15l));
+    }
+    @Test
+    public void singleRequestsAreBatched(){
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        AtomicInteger emitted = new AtomicInteger(0);
+        List<Integer> result = new ArrayList<>();
+        Subscription s = Spouts.from((Publisher<Integer>)sub->{
+            sub.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                    for(long i=0;i<n;i++)
+                        sub.onNext(emitted.getAndIncrement());
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        }).limitRate(32,8)
+          .forEachSubscribe(result::add,e->{},()->{});
+        for(int i=0;i<100;i++)
+            s.request(1);
+        assertThat(result,equalTo(ReactiveSeq.range(0,100).toList()));
+        //topped up by 24 after each 24 elements emitted
+        assertThat(requests,equalTo(Arrays.asList(32l,24l,24l,24l,24l)));
+    }
+    @Test
+    public void bufferBoundedByPrefetch(){
+        AtomicLong requestedUpstream = new AtomicLong(0);
+        List<Integer> result = new ArrayList<>();
+        Subscription s = Spouts.iterate(0,i->i+1)
+                               .peek(i->requestedUpstream.incrementAndGet())
+                               .limitRate(10,2)
+                               .forEachSubscribe(result::add,e->{},()->{});
+        s.request(3);
+        assertThat(result,equalTo(Arrays.asList(0,1,2)));
+        assertThat(requestedUpstream.get(),equalTo(10l));
+        s.request(8);
+        assertThat(result.size(),equalTo(11));
+        assertThat(requestedUpstream.get(),lessThanOrEqualTo(20l));
+    }
+    @Test
+    public void errorsAreForwarded(){
+        List<Throwable> errors = new ArrayList<>();
+        List<Integer> result = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger(0);
+        Spouts.of(1,2,3)
+              .map(i->{ if(i==2) throw new RuntimeException("boo"); return i;})
+              .limitRate(2,0)
+              .forEach(Long.MAX_VALUE,result::add,errors::add,completed::incrementAndGet);
+        assertThat(result,equalTo(Arrays.asList(1,3)));
+        assertThat(errors.size(),equalTo(1));
+        assertThat(completed.get(),equalTo(1));
+    }
+    @Test
+    public void reactiveBufferPrefetch(){
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscriber<? super Integer>> sink = new AtomicReference<>();
+        AtomicLong demand = new AtomicLong(0);
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        Subscription s = Spouts.<Integer>reactiveBuffer(64,16,sub->{
+            sink.set(sub);
+            sub.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                    demand.addAndGet(n);
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        }).forEachSubscribe(result::add,e->{},()->{});
+
+        for(int i=0;i<10;i++)
+            s.request(1);
+        assertThat(requests,equalTo(Arrays.asList(16l)));
+        for(int i=0;i<16;i++)
+            sink.get().onNext(i);
+        //10 emitted, 6 buffered
+        assertThat(result,equalTo(ReactiveSeq.range(0,10).toList()));
+        s.request(10);
+        assertThat(result,equalTo(ReactiveSeq.range(0,16).toList()));
+        assertThat(requests,equalTo(Arrays.asList(16l,12l)));
+    }
+}
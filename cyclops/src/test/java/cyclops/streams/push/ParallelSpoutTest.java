@@ -0,0 +1,185 @@
+package cyclops.streams.push;
+
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class ParallelSpoutTest {
+
+    ExecutorService ex;
+
+    @Before
+    public void setup(){
+        ex = Executors.newFixedThreadPool(4);
+    }
+    @After
+    public void teardown(){
+        ex.shutdownNow();
+    }
+
+    @Test
+    public void orderedOnCallingThread(){
+        assertThat(Spouts.range(0,1000)
+                         .parallel(4)
+                         .map(i->i*2)
+                         .ordered()
+                         .toList(),equalTo(ReactiveSeq.range(0,1000).map(i->i*2).toList()));
+    }
+    @Test
+    public void orderedOnExecutor(){
+        for(int run=0;run<20;run++) {
+            assertThat(Spouts.range(0, 5000)
+                             .parallel(4)
+                             .runOn(ex, 16)
+                             .map(i -> i + 1)
+                             .filter(i -> i % 3 != 0)
+                             .ordered()
+                             .toList(), equalTo(ReactiveSeq.range(0, 5000).map(i -> i + 1).filter(i -> i % 3 != 0).toList()));
+        }
+    }
+    @Test(timeout=20000)
+    public void orderedInfiniteSourceWithFilter(){
+        assertThat(Spouts.iterate(0,i->i+1)
+                         .parallel(2)
+                         .filter(i->i%2==1)
+                         .ordered()
+                         .limit(5)
+                         .toList(),equalTo(Arrays.asList(1,3,5,7,9)));
+        assertThat(Spouts.iterate(0,i->i+1)
+                         .parallel(4)
+                         .filter(i->i%1000==0)
+                         .ordered()
+                         .limit(5)
+                         .toList(),equalTo(Arrays.asList(0,1000,2000,3000,4000)));
+        assertThat(Spouts.iterate(0,i->i+1)
+                         .parallel(4)
+                         .runOn(ex,16)
+                         .filter(i->i%1000==0)
+                         .ordered()
+                         .limit(5)
+                         .toList(),equalTo(Arrays.asList(0,1000,2000,3000,4000)));
+    }
+    @Test(timeout=20000)
+    public void orderedWithRailsThatRemoveEverything(){
+        assertThat(Spouts.range(0,1000)
+                         .parallel(3)
+                         .concatMap(i->i%3==0 ? Arrays.asList(i,i) : Arrays.<Integer>asList())
+                         .ordered()
+                         .toList(),equalTo(ReactiveSeq.range(0,1000).filter(i->i%3==0).concatMap(i->Arrays.asList(i,i)).toList()));
+        assertThat(Spouts.iterate(0,i->i+1)
+                         .parallel(2)
+                         .filter(i->i%2==1)
+                         .sequential()
+                         .limit(3)
+                         .toList().size(),equalTo(3));
+    }
+    @Test
+    public void sequentialContainsAllElements(){
+        List<Integer> result = new ArrayList<>(Spouts.range(0,5000)
+                                                     .parallel(3)
+                                                     .runOn(ex)
+                                                     .map(i->i*2)
+                                                     .sequential()
+                                                     .toList());
+        result.sort(null);
+        assertThat(result,equalTo(ReactiveSeq.range(0,5000).map(i->i*2).toList()));
+    }
+    @Test
+    public void railsRunConcurrently(){
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Spouts.range(0,1000)
+              .parallel(4)
+              .runOn(ex)
+              .peek(i->threads.add(Thread.currentThread().getName()))
+              .sequential()
+              .toList();
+        assertThat(threads.size(),greaterThan(1));
+    }
+    @Test
+    public void keyedRailsPreserveOrderPerKey(){
+        List<Integer> result = Spouts.parallel(Spouts.range(0,1000),4,i->i%7)
+                                     .runOn(ex)
+                                     .sequential()
+                                     .toList();
+        assertThat(result.size(),equalTo(1000));
+        for(int k=0;k<7;k++){
+            int key = k;
+            assertThat(ReactiveSeq.fromIterable(result).filter(i->i%7==key).toList(),
+                       equalTo(ReactiveSeq.range(0,1000).filter(i->i%7==key).toList()));
+        }
+    }
+    @Test(expected=IllegalStateException.class)
+    public void orderedRequiresRoundRobin(){
+        Spouts.parallel(Spouts.of(1,2,3),2,i->i).ordered();
+    }
+    @Test
+    public void concatMapOrdered(){
+        assertThat(Spouts.of(1,2,3)
+                         .parallel(2)
+                         .runOn(ex)
+                         .concatMap(i->Arrays.asList(i,i*10))
+                         .ordered()
+                         .toList(),equalTo(Arrays.asList(1,10,2,20,3,30)));
+    }
+    @Test
+    public void emptyAndSingleRail(){
+        assertThat(Spouts.<Integer>empty().parallel(4).runOn(ex).ordered().toList(),equalTo(Arrays.asList()));
+        assertThat(Spouts.of(1,2,3).parallel(1).map(i->i+1).ordered().toList(),equalTo(Arrays.asList(2,3,4)));
+        assertThat(ReactiveSeq.of(1,2,3).parallel(2).ordered().toList(),equalTo(Arrays.asList(1,2,3)));
+    }
+    @Test
+    public void upstreamDemandBoundedPerRail(){
+        AtomicLong emitted = new AtomicLong(0);
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        Subscription s = Spouts.iterate(0,i->i+1)
+                               .peek(i->emitted.incrementAndGet())
+                               .parallel(2)
+                               .runOn(ex,8)
+                               .ordered()
+                               .forEachSubscribe(result::add,e->{},()->{});
+        s.request(5);
+        long deadline = System.currentTimeMillis()+2000;
+        while(result.size()<5 && System.currentTimeMillis()<deadline)
+            Thread.yield();
+        assertThat(result,equalTo(Arrays.asList(0,1,2,3,4)));
+        //2 rails * prefetch of 8, plus one replenishment
+        assertThat(emitted.get(),lessThanOrEqualTo(32l));
+        s.cancel();
+    }
+    @Test
+    public void errorsAreForwarded(){
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        AtomicInteger completed = new AtomicInteger(0);
+        Spouts.of(1,2,3,4)
+              .parallel(2)
+              .runOn(ex)
+              .map(i->{ if(i==2) throw new RuntimeException("boo"); return i;})
+              .ordered()
+              .forEach(Long.MAX_VALUE,result::add,errors::add,completed::incrementAndGet);
+        long deadline = System.currentTimeMillis()+2000;
+        while(completed.get()==0 && System.currentTimeMillis()<deadline)
+            Thread.yield();
+        assertThat(result,equalTo(Arrays.asList(1,3,4)));
+        assertThat(errors.size(),equalTo(1));
+    }
+}
@@ -0,0 +1,148 @@
+package cyclops.streams.push;
+
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveSpoutsTest {
+
+    @Test
+    public void rangeIntsSum(){
+        assertThat(Spouts.rangeInts(0,100).sum(),equalTo(4950));
+        assertThat(Spouts.rangeInts(100,0).count(),equalTo(100l));
+        assertThat(Spouts.rangeInts(0,0).count(),equalTo(0l));
+    }
+    @Test
+    public void mapFilterReduce(){
+        assertThat(Spouts.rangeInts(0,10)
+                         .map(i->i*2)
+                         .filter(i->i%3==0)
+                         .reduce(0,(a,b)->a+b),equalTo(0+6+12+18));
+        assertThat(Spouts.rangeLongs(0,10)
+                         .map(i->i*2)
+                         .filter(i->i%3==0)
+                         .sum(),equalTo(36l));
+        assertThat(Spouts.ofDoubles(1.5,2.5,3.5)
+                         .map(d->d*2)
+                         .filter(d->d>4)
+                         .sum(),equalTo(12d));
+    }
+    @Test
+    public void skipLimit(){
+        assertThat(Spouts.rangeInts(0,100).skip(10).limit(5).toArray(),equalTo(new int[]{10,11,12,13,14}));
+        assertThat(Spouts.ofLongs(1,2,3,4).limit(2).toArray(),equalTo(new long[]{1,2}));
+        assertThat(Spouts.rangeInts(0,Integer.MAX_VALUE).limit(3).toArray(),equalTo(new int[]{0,1,2}));
+    }
+    @Test(timeout=10000)
+    public void limitStopsPullingFromLargeSources(){
+        AtomicInteger pulled = new AtomicInteger(0);
+        assertThat(Spouts.rangeInts(0,Integer.MAX_VALUE).peek(i->pulled.incrementAndGet()).limit(5).sum(),equalTo(10));
+        assertThat(pulled.get(),equalTo(5));
+        assertThat(Spouts.rangeInts(0,Integer.MAX_VALUE).map(i->i*2).limit(3).toArray(),equalTo(new int[]{0,2,4}));
+        assertThat(Spouts.rangeInts(0,Integer.MAX_VALUE).filter(i->i%2==1).limit(3).skip(1).toArray(),equalTo(new int[]{3,5}));
+        assertThat(Spouts.rangeInts(0,Integer.MAX_VALUE).limit(0).count(),equalTo(0l));
+        assertThat(Spouts.rangeLongs(0,Long.MAX_VALUE).limit(4).sum(),equalTo(6l));
+        assertThat(Spouts.rangeLongs(0,Long.MAX_VALUE).map(i->i+1).limit(2).toArray(),equalTo(new long[]{1,2}));
+    }
+    @Test(timeout=10000)
+    public void limitStopsUnboundedSources(){
+        assertThat(Spouts.iterate(0,i->i+1).mapToInts(i->i).limit(5).toArray(),equalTo(new int[]{0,1,2,3,4}));
+        assertThat(Spouts.iterate(0l,i->i+1).mapToLongs(i->i).filter(i->i%2==0).limit(3).sum(),equalTo(6l));
+        assertThat(Spouts.iterate(0d,d->d+0.5).mapToDoubles(d->d).limit(3).toArray(),equalTo(new double[]{0,0.5,1}));
+    }
+    @Test
+    public void minMaxAverage(){
+        assertThat(Spouts.ofInts(5,1,9).min(),equalTo(OptionalInt.of(1)));
+        assertThat(Spouts.ofInts(5,1,9).max(),equalTo(OptionalInt.of(9)));
+        assertThat(Spouts.ofInts().max(),equalTo(OptionalInt.empty()));
+        assertThat(Spouts.ofLongs(5,1,9).min(),equalTo(OptionalLong.of(1)));
+        assertThat(Spouts.ofInts(1,2,3,4).average(),equalTo(OptionalDouble.of(2.5)));
+        assertThat(Spouts.ofDoubles().average(),equalTo(OptionalDouble.empty()));
+    }
+    @Test
+    public void histogram(){
+        assertThat(Spouts.rangeInts(0,100).histogram(0,100,4),equalTo(new long[]{25,25,25,25}));
+        assertThat(Spouts.ofDoubles(0.5,10.5,60.5,99.5).histogram(0,100,4),equalTo(new long[]{2,0,1,1}));
+        //out of range values are ignored
+        assertThat(Spouts.ofLongs(-1,0,5,10,11).histogram(0,10,2),equalTo(new long[]{1,1}));
+    }
+    @Test(expected=IllegalArgumentException.class)
+    public void histogramInvalidBuckets(){
+        Spouts.rangeInts(0,10).histogram(0,10,0);
+    }
+    @Test
+    public void mapToIntsFromReactiveSeq(){
+        assertThat(Spouts.of("a","bb","ccc").mapToInts(String::length).sum(),equalTo(6));
+        assertThat(ReactiveSeq.of("a","bb","ccc").mapToInts(String::length).sum(),equalTo(6));
+        assertThat(ReactiveSeq.ofInts(1,2,3).mapToLongs(i->i).sum(),equalTo(6l));
+        assertThat(Spouts.of(1,2,3).mapToDoubles(i->i/2d).sum(),equalTo(3d));
+    }
+    @Test
+    public void backToReferenceTypes(){
+        assertThat(Spouts.rangeInts(0,5).boxed().toList(),equalTo(Arrays.asList(0,1,2,3,4)));
+        assertThat(Spouts.ofInts(1,2,3).mapToObj(i->"x"+i).toList(),equalTo(Arrays.asList("x1","x2","x3")));
+        assertThat(Spouts.of(1,2,3)
+                         .mapToInts(i->i*10)
+                         .map(i->i+1)
+                         .boxed()
+                         .map(i->i*2)
+                         .toList(),equalTo(Arrays.asList(22,42,62)));
+    }
+    @Test
+    public void honoursDemand(){
+        List<Integer> result = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger(0);
+        Subscription s = Spouts.rangeInts(0,10)
+                               .filter(i->i%2==0)
+                               .forEachSubscribe(result::add,e->{},completed::incrementAndGet);
+        s.request(2);
+        assertThat(result,equalTo(Arrays.asList(0,2)));
+        s.request(10);
+        assertThat(result,equalTo(Arrays.asList(0,2,4,6,8)));
+        assertThat(completed.get(),equalTo(1));
+    }
+    @Test
+    public void errorsArePropagated(){
+        List<Throwable> errors = new ArrayList<>();
+        List<Integer> result = new ArrayList<>();
+        Spouts.ofInts(1,2,3)
+              .map(i->{ if(i==2) throw new RuntimeException("boo"); return i;})
+              .forEachSubscribe(result::add,errors::add,()->{})
+              .request(Long.MAX_VALUE);
+        assertThat(result,equalTo(Arrays.asList(1,3)));
+        assertThat(errors.size(),equalTo(1));
+    }
+    @Test(expected=RuntimeException.class)
+    public void terminalOpsRethrow(){
+        Spouts.ofInts(1,2,3)
+              .map(i->{ if(i==2) throw new RuntimeException("boo"); return i;})
+              .sum();
+    }
+    @Test
+    public void asyncStreamStaysUnboxed(){
+        int sum = Spouts.<Integer>async(s->{
+            new Thread(()->{
+                for(int i=0;i<100;i++)
+                    s.onNext(i);
+                s.onComplete();
+            }).start();
+        }).mapToInts(i->i)
+          .filter(i->i%2==1)
+          .sum();
+        assertThat(sum,equalTo(2500));
+        assertTrue(Spouts.rangeInts(0,10).map(i->i+1).peek(i->{}).count()==10);
+    }
+}
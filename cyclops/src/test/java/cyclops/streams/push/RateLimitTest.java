@@ -0,0 +1,177 @@
+package cyclops.streams.push;
+
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class RateLimitTest {
+
+    @Test
+    public void rateLimitPreservesElements(){
+        assertThat(Spouts.of(1,2,3,4,5,6)
+                         .rateLimit(2,10,TimeUnit.MILLISECONDS)
+                         .toList(),equalTo(Arrays.asList(1,2,3,4,5,6)));
+    }
+    @Test
+    public void rateLimitEmpty(){
+        assertThat(Spouts.empty()
+                         .rateLimit(2,1,TimeUnit.SECONDS)
+                         .toList(),equalTo(Arrays.asList()));
+    }
+    @Test
+    public void rateLimitSynchronousStream(){
+        assertThat(ReactiveSeq.of(1,2,3)
+                              .rateLimit(1,1,TimeUnit.MILLISECONDS)
+                              .toList(),equalTo(Arrays.asList(1,2,3)));
+    }
+    @Test
+    public void rateLimitTakesAtLeastTheConfiguredPeriods(){
+        long start = System.currentTimeMillis();
+        Spouts.range(0,10)
+              .rateLimit(5,100,TimeUnit.MILLISECONDS)
+              .toList();
+        //first 5 immediately, second 5 after one refill
+        assertThat(System.currentTimeMillis()-start,greaterThanOrEqualTo(90l));
+    }
+    @Test
+    public void leakyRateLimitSpacesElements(){
+        long start = System.currentTimeMillis();
+        assertThat(Spouts.of(1,2,3,4,5)
+                         .leakyRateLimit(50,1,TimeUnit.SECONDS)
+                         .toList(),equalTo(Arrays.asList(1,2,3,4,5)));
+        assertThat(System.currentTimeMillis()-start,greaterThanOrEqualTo(70l));
+    }
+    @Test
+    public void leakyRateLimitAboveTheTimerTickRate(){
+        //10,000 per second refills every 100 micros, faster than the 1ms timer tick
+        long start = System.currentTimeMillis();
+        List<Integer> result = Spouts.range(0,5000)
+                                     .leakyRateLimit(10000,1,TimeUnit.SECONDS)
+                                     .toList();
+        long elapsed = System.currentTimeMillis()-start;
+        assertThat(result.size(),equalTo(5000));
+        assertThat(result.get(4999),equalTo(4999));
+        assertThat(elapsed,greaterThanOrEqualTo(400l));
+        assertThat(elapsed,lessThanOrEqualTo(2000l));
+    }
+    @Test
+    public void onePerAndXPerDoNotBlockSubscriber(){
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        AtomicInteger completed = new AtomicInteger(0);
+        Spouts.of(1,2,3)
+              .onePer(200,TimeUnit.MILLISECONDS)
+              .forEach(Long.MAX_VALUE,result::add,e->{},completed::incrementAndGet);
+        //subscribing thread returns before the elements are emitted
+        assertThat(result.size(),lessThanOrEqualTo(2));
+        while(completed.get()==0)
+            Thread.yield();
+        assertThat(result,equalTo(Arrays.asList(1,2,3)));
+
+        assertThat(Spouts.of(1,2,3,4).xPer(2,10,TimeUnit.MILLISECONDS).toList(),equalTo(Arrays.asList(1,2,3,4)));
+    }
+    @Test
+    public void firstElementEmittedImmediately(){
+        List<Integer> onePer = new CopyOnWriteArrayList<>();
+        List<Integer> leaky = new CopyOnWriteArrayList<>();
+        List<Integer> xPer = new CopyOnWriteArrayList<>();
+        Spouts.of(1,2,3).onePer(1,TimeUnit.HOURS).forEach(Long.MAX_VALUE,onePer::add,e->{},()->{});
+        Spouts.of(1,2,3).leakyRateLimit(1,1,TimeUnit.HOURS).forEach(Long.MAX_VALUE,leaky::add,e->{},()->{});
+        Spouts.of(1,2,3).xPer(2,1,TimeUnit.HOURS).forEach(Long.MAX_VALUE,xPer::add,e->{},()->{});
+        long deadline = System.currentTimeMillis()+500;
+        while((onePer.size()<1 || leaky.size()<1 || xPer.size()<2) && System.currentTimeMillis()<deadline)
+            Thread.yield();
+        assertThat(onePer,equalTo(Arrays.asList(1)));
+        assertThat(leaky,equalTo(Arrays.asList(1)));
+        assertThat(xPer,equalTo(Arrays.asList(1,2)));
+    }
+    @Test
+    public void onePerSpacesElementsAfterTheFirst(){
+        List<Long> times = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        Spouts.of(1,2,3)
+              .onePer(100,TimeUnit.MILLISECONDS)
+              .forEach(Long.MAX_VALUE,i->times.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-start)),e->{},()->{});
+        long deadline = System.currentTimeMillis()+5000;
+        while(times.size()<3 && System.currentTimeMillis()<deadline)
+            Thread.yield();
+        assertThat(times.size(),equalTo(3));
+        assertThat(times.get(0),lessThanOrEqualTo(50l));
+        assertThat(times.get(1),greaterThanOrEqualTo(90l));
+        assertThat(times.get(2),greaterThanOrEqualTo(190l));
+    }
+    @Test
+    public void refillDrivenEmissionsAreNotOnTheTimerThread(){
+        List<String> threads = new CopyOnWriteArrayList<>();
+        AtomicInteger completed = new AtomicInteger(0);
+        Spouts.of(1,2,3)
+              .onePer(10,TimeUnit.MILLISECONDS)
+              .forEach(Long.MAX_VALUE,i->threads.add(Thread.currentThread().getName()),e->{},completed::incrementAndGet);
+        while(completed.get()==0)
+            Thread.yield();
+        assertThat(threads.size(),equalTo(3));
+        for(String name : threads)
+            assertThat(name,not(equalTo("cyclops-wheel-timer")));
+    }
+    @Test
+    public void upstreamDemandCappedAtCapacity(){
+        AtomicLong requestedUpstream = new AtomicLong(0);
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        Spouts.iterate(0,i->i+1)
+              .peek(i->requestedUpstream.incrementAndGet())
+              .rateLimit(3,1,TimeUnit.HOURS)
+              .forEachSubscribe(result::add,e->{},()->{})
+              .request(Long.MAX_VALUE);
+
+        long deadline = System.currentTimeMillis()+200;
+        while(System.currentTimeMillis()<deadline)
+            Thread.yield();
+        assertThat(result,equalTo(Arrays.asList(0,1,2)));
+        //3 emitted, plus at most one bucket prefetched
+        assertThat(requestedUpstream.get(),equalTo(6l));
+    }
+    @Test
+    public void honoursDownstreamDemand(){
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        Subscription s = Spouts.of(1,2,3,4,5)
+                               .rateLimit(10,1,TimeUnit.MILLISECONDS)
+                               .forEachSubscribe(result::add,e->{},()->{});
+        s.request(2);
+        long deadline = System.currentTimeMillis()+100;
+        while(System.currentTimeMillis()<deadline)
+            Thread.yield();
+        assertThat(result,equalTo(Arrays.asList(1,2)));
+        s.request(3);
+        deadline = System.currentTimeMillis()+2000;
+        while(result.size()<5 && System.currentTimeMillis()<deadline)
+            Thread.yield();
+        assertThat(result,equalTo(Arrays.asList(1,2,3,4,5)));
+    }
+    @Test
+    public void errorsAreForwarded(){
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        AtomicInteger completed = new AtomicInteger(0);
+        Spouts.of(1,2,3)
+              .map(i->{ if(i==2) throw new RuntimeException("boo"); return i;})
+              .rateLimit(1,1,TimeUnit.MILLISECONDS)
+              .forEach(Long.MAX_VALUE,result::add,errors::add,completed::incrementAndGet);
+        while(completed.get()==0)
+            Thread.yield();
+        assertThat(result,equalTo(Arrays.asList(1,3)));
+        assertThat(errors.size(),equalTo(1));
+    }
+}
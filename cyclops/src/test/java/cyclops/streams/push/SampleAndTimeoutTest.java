@@ -0,0 +1,155 @@
+package cyclops.streams.push;
+
+import cyclops.companion.Streams;
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class SampleAndTimeoutTest {
+
+    AtomicReference<Subscriber<? super Integer>> sink = new AtomicReference<>();
+
+    private ReactiveSeq<Integer> hot(){
+        return Spouts.<Integer>reactiveBuffer(16,s->{
+            sink.set(s);
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        });
+    }
+    private void await(Supplier<Boolean> condition){
+        long deadline = System.currentTimeMillis()+5000;
+        while(!condition.get() && System.currentTimeMillis()<deadline)
+            Thread.yield();
+    }
+
+    @Test
+    public void throttleLastEmitsLatestPerPeriod() throws InterruptedException {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        hot().throttleLast(50,TimeUnit.MILLISECONDS)
+             .forEach(Long.MAX_VALUE,result::add,e->{},()->{});
+        sink.get().onNext(1);
+        sink.get().onNext(2);
+        sink.get().onNext(3);
+        await(()->result.size()==1);
+        Thread.sleep(120);
+        assertThat(result,equalTo(Arrays.asList(3)));
+        sink.get().onNext(4);
+        sink.get().onNext(5);
+        await(()->result.size()==2);
+        assertThat(result,equalTo(Arrays.asList(3,5)));
+    }
+    @Test
+    public void debounceLastWaitsForQuietPeriod(){
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        AtomicInteger completed = new AtomicInteger(0);
+        hot().debounceLast(50,TimeUnit.MILLISECONDS)
+             .forEach(Long.MAX_VALUE,result::add,e->{},completed::incrementAndGet);
+        sink.get().onNext(1);
+        sink.get().onNext(2);
+        sink.get().onNext(3);
+        await(()->result.size()==1);
+        assertThat(result,equalTo(Arrays.asList(3)));
+        sink.get().onNext(4);
+        sink.get().onComplete();
+        await(()->completed.get()==1);
+        assertThat(result,equalTo(Arrays.asList(3,4)));
+    }
+    @Test
+    public void latestEmittedOnComplete(){
+        assertThat(Spouts.of(1,2,3).debounceLast(1,TimeUnit.DAYS).toList(),equalTo(Arrays.asList(3)));
+        assertThat(Spouts.of(1,2,3).sample(1,TimeUnit.DAYS).toList(),equalTo(Arrays.asList(3)));
+        assertThat(ReactiveSeq.of(1,2,3).debounceLast(1,TimeUnit.DAYS).toList(),equalTo(Arrays.asList(3)));
+        assertThat(Spouts.<Integer>empty().throttleLast(1,TimeUnit.DAYS).toList(),equalTo(Arrays.asList()));
+    }
+    @Test
+    public void throttleFirstKeepsFirst(){
+        assertThat(Spouts.of(1,2,3).throttleFirst(1,TimeUnit.DAYS).toList(),equalTo(Arrays.asList(1)));
+        assertThat(Streams.debounce(Stream.of(1,2,3,4,5,6),1,TimeUnit.DAYS).collect(Collectors.toList()),equalTo(Arrays.asList(1)));
+        assertThat(Streams.debounce(Stream.of(1,2,3,4,5,6),1,TimeUnit.NANOSECONDS).count(),equalTo(6l));
+    }
+    @Test
+    public void throttleFirstIsLeadingEdge() throws InterruptedException {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        hot().throttleFirst(50,TimeUnit.MILLISECONDS)
+             .forEach(Long.MAX_VALUE,result::add,e->{},()->{});
+        sink.get().onNext(1);
+        sink.get().onNext(2);
+        sink.get().onNext(3);
+        assertThat(result,equalTo(Arrays.asList(1)));
+        Thread.sleep(100);
+        sink.get().onNext(4);
+        sink.get().onNext(5);
+        assertThat(result,equalTo(Arrays.asList(1,4)));
+    }
+    @Test
+    public void streamsDebounceKeepsFirstElementAfterEachPeriod(){
+        Stream<Integer> bursts = Stream.of(0,1,2,3,4)
+                                       .peek(i->{
+                                           if(i==3){
+                                               try {
+                                                   Thread.sleep(100);
+                                               } catch (InterruptedException e) {
+                                               }
+                                           }
+                                       });
+        assertThat(Streams.debounce(bursts,50,TimeUnit.MILLISECONDS).collect(Collectors.toList()),
+                   equalTo(Arrays.asList(0,3)));
+    }
+    @Test
+    public void timedSignalsAreNotDeliveredOnTheTimerThread(){
+        List<String> threads = new CopyOnWriteArrayList<>();
+        hot().timeout(20,TimeUnit.MILLISECONDS)
+             .forEach(Long.MAX_VALUE,i->{},e->threads.add(Thread.currentThread().getName()),()->{});
+        hot().throttleLast(20,TimeUnit.MILLISECONDS)
+             .forEach(Long.MAX_VALUE,i->threads.add(Thread.currentThread().getName()),e->{},()->{});
+        sink.get().onNext(1);
+        await(()->threads.size()==2);
+        assertThat(threads.size(),equalTo(2));
+        for(String name : threads)
+            assertThat(name,not(equalTo("cyclops-wheel-timer")));
+    }
+    @Test
+    public void timeoutErrorsWithoutElements(){
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        AtomicInteger completed = new AtomicInteger(0);
+        hot().timeout(50,TimeUnit.MILLISECONDS)
+             .forEach(Long.MAX_VALUE,result::add,errors::add,completed::incrementAndGet);
+        sink.get().onNext(1);
+        await(()->completed.get()==1);
+        assertThat(completed.get(),equalTo(1));
+        assertThat(errors.size(),equalTo(1));
+        assertThat(errors.get(0),instanceOf(TimeoutException.class));
+        sink.get().onNext(2);
+        assertThat(result,equalTo(Arrays.asList(1)));
+    }
+    @Test
+    public void timelyElementsPassThrough(){
+        assertThat(Spouts.range(0,1000).timeout(1,TimeUnit.SECONDS).toList(),equalTo(ReactiveSeq.range(0,1000).toList()));
+        assertThat(ReactiveSeq.of(1,2,3).timeout(1,TimeUnit.SECONDS).toList(),equalTo(Arrays.asList(1,2,3)));
+    }
+}
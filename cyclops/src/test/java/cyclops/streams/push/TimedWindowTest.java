@@ -0,0 +1,182 @@
+package cyclops.streams.push;
+
+import cyclops.data.Vector;
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class TimedWindowTest {
+
+    private void waitFor(List<?> list, int size){
+        long deadline = System.currentTimeMillis()+5000;
+        while(list.size()<size && System.currentTimeMillis()<deadline)
+            Thread.yield();
+    }
+
+    private ReactiveSeq<Integer> source(AtomicReference<Subscriber<? super Integer>> sink){
+        return Spouts.<Integer>reactiveBuffer(16,s->{
+            sink.set(s);
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        });
+    }
+
+    @Test
+    public void timedSignalsAreNotDeliveredOnTheTimerThread(){
+        List<String> threads = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscriber<? super Integer>> windowSink = new AtomicReference<>();
+        source(windowSink).groupedByTime(20,TimeUnit.MILLISECONDS)
+                          .forEach(Long.MAX_VALUE,w->threads.add(Thread.currentThread().getName()));
+        windowSink.get().onNext(1);
+
+        AtomicReference<Subscriber<? super Integer>> takeSink = new AtomicReference<>();
+        source(takeSink).take(20,TimeUnit.MILLISECONDS)
+                        .forEach(Long.MAX_VALUE,i->{},e->{},()->threads.add(Thread.currentThread().getName()));
+        waitFor(threads,2);
+        assertThat(threads.size(),equalTo(2));
+        for(String name : threads)
+            assertThat(name,not(equalTo("cyclops-wheel-timer")));
+    }
+    @Test
+    public void slowSubscriberDoesNotDelayOtherWindows() throws InterruptedException {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        AtomicReference<Subscriber<? super Integer>> slowSink = new AtomicReference<>();
+        source(slowSink).groupedByTime(10,TimeUnit.MILLISECONDS)
+                        .forEach(Long.MAX_VALUE,w->{
+                            slowStarted.countDown();
+                            try {
+                                Thread.sleep(2_000);
+                            } catch (InterruptedException e) {
+                            }
+                        });
+        slowSink.get().onNext(1);
+        slowStarted.await();
+
+        List<Vector<Integer>> windows = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscriber<? super Integer>> sink = new AtomicReference<>();
+        source(sink).groupedByTime(10,TimeUnit.MILLISECONDS)
+                    .forEach(Long.MAX_VALUE,windows::add);
+        long start = System.currentTimeMillis();
+        sink.get().onNext(2);
+        waitFor(windows,1);
+        assertThat(windows,equalTo(Arrays.asList(Vector.of(2))));
+        assertThat(System.currentTimeMillis()-start,lessThan(1_000l));
+    }
+    @Test
+    public void groupedByTimeClosesWithoutNewElements(){
+        AtomicReference<Subscriber<? super Integer>> sink = new AtomicReference<>();
+        List<Vector<Integer>> windows = new CopyOnWriteArrayList<>();
+        Spouts.<Integer>reactiveBuffer(16,s->{
+            sink.set(s);
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        }).groupedByTime(50,TimeUnit.MILLISECONDS)
+          .forEach(Long.MAX_VALUE,windows::add);
+
+        sink.get().onNext(1);
+        sink.get().onNext(2);
+        //no further elements, the partial window is still emitted
+        waitFor(windows,1);
+        assertThat(windows,equalTo(Arrays.asList(Vector.of(1,2))));
+    }
+    @Test
+    public void groupedBySizeAndTimeClosesWithoutNewElements(){
+        AtomicReference<Subscriber<? super Integer>> sink = new AtomicReference<>();
+        List<Vector<Integer>> windows = new CopyOnWriteArrayList<>();
+        Spouts.<Integer>reactiveBuffer(16,s->{
+            sink.set(s);
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        }).groupedBySizeAndTime(3,50,TimeUnit.MILLISECONDS)
+          .forEach(Long.MAX_VALUE,windows::add);
+
+        for(int i=1;i<=4;i++)
+            sink.get().onNext(i);
+        waitFor(windows,2);
+        assertThat(windows,equalTo(Arrays.asList(Vector.of(1,2,3),Vector.of(4))));
+    }
+    @Test
+    public void dueWindowEmittedOnRequest() throws InterruptedException {
+        AtomicReference<Subscriber<? super Integer>> sink = new AtomicReference<>();
+        List<Vector<Integer>> windows = new CopyOnWriteArrayList<>();
+        Subscription sub = Spouts.<Integer>reactiveBuffer(16,s->{
+            sink.set(s);
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        }).groupedByTime(20,TimeUnit.MILLISECONDS)
+          .forEachSubscribe(windows::add,e->{},()->{});
+        sub.request(1);
+        sink.get().onNext(1);
+        waitFor(windows,1);
+        sink.get().onNext(2);
+        Thread.sleep(60);
+        //window is due, but there is no demand
+        assertThat(windows,equalTo(Arrays.asList(Vector.of(1))));
+        sub.request(1);
+        assertThat(windows,equalTo(Arrays.asList(Vector.of(1),Vector.of(2))));
+    }
+    @Test
+    public void takeTimeCompletesWithoutNewElements(){
+        AtomicInteger completed = new AtomicInteger(0);
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscriber<? super Integer>> sink = new AtomicReference<>();
+        ReactiveSeq<Integer> timed = Spouts.<Integer>reactiveBuffer(16,s->{
+            sink.set(s);
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+        }).take(50,TimeUnit.MILLISECONDS);
+        timed.forEach(Long.MAX_VALUE,result::add,e->{},completed::incrementAndGet);
+        sink.get().onNext(1);
+        long deadline = System.currentTimeMillis()+5000;
+        while(completed.get()==0 && System.currentTimeMillis()<deadline)
+            Thread.yield();
+        assertThat(completed.get(),equalTo(1));
+        sink.get().onNext(2);
+        assertThat(result,equalTo(Arrays.asList(1)));
+    }
+}